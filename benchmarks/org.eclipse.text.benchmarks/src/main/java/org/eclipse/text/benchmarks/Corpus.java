@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Provides the texts the benchmarks operate on. By default a synthetic, Java-like text is
+ * generated. A real-world corpus can be used instead by pointing the system property
+ * <code>org.eclipse.text.benchmarks.corpus</code> to a UTF-8 file, e.g. with
+ * <code>-jvmArgs -Dorg.eclipse.text.benchmarks.corpus=/path/to/file</code>. The file is repeated
+ * or truncated to the requested size.
+ */
+final class Corpus {
+
+	/** The system property naming a file to use as corpus. */
+	static final String CORPUS_PROPERTY= "org.eclipse.text.benchmarks.corpus";
+
+	private static final String[] WORDS= { "int", "return", "final", "value", "index", "offset", "length", "document", "region", "if", "for", "while", "new", "null", "this" };
+
+	private Corpus() {
+	}
+
+	/**
+	 * Returns a text of the given size, either from the configured corpus file or generated.
+	 *
+	 * @param size the number of characters
+	 * @return the text
+	 */
+	static String text(int size) {
+		String corpus= System.getProperty(CORPUS_PROPERTY);
+		if (corpus == null) {
+			return generate(size, 42);
+		}
+
+		String content;
+		try {
+			content= Files.readString(Path.of(corpus), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (content.isEmpty()) {
+			throw new IllegalArgumentException("Empty corpus: " + corpus);
+		}
+		StringBuilder builder= new StringBuilder(size);
+		while (builder.length() < size) {
+			builder.append(content, 0, Math.min(content.length(), size - builder.length()));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Generates a Java-like text with line and block comments, string literals and lines of
+	 * varying length.
+	 *
+	 * @param size the number of characters
+	 * @param seed the seed of the generator
+	 * @return the text
+	 */
+	static String generate(int size, long seed) {
+		Random random= new Random(seed);
+		StringBuilder builder= new StringBuilder(size + 100);
+		while (builder.length() < size) {
+			int kind= random.nextInt(20);
+			if (kind == 0) {
+				builder.append("/*\n * ");
+				appendWords(builder, random, 12);
+				builder.append("\n */\n");
+			} else if (kind == 1) {
+				builder.append("\t// ");
+				appendWords(builder, random, 8);
+				builder.append('\n');
+			} else if (kind == 2) {
+				builder.append("\tString s= \"");
+				appendWords(builder, random, 4);
+				builder.append("\";\n");
+			} else {
+				builder.append('\t');
+				appendWords(builder, random, 1 + random.nextInt(10));
+				builder.append(";\n");
+			}
+		}
+		builder.setLength(size);
+		return builder.toString();
+	}
+
+	private static void appendWords(StringBuilder builder, Random random, int count) {
+		for (int i= 0; i < count; i++) {
+			if (i > 0) {
+				builder.append(' ');
+			}
+			builder.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.Position;
+
+/**
+ * Measures editing a document with many positions and querying the positions of a range, as
+ * annotation models and painters do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+@Fork(1)
+public class DocumentBenchmark {
+
+	private static final String CATEGORY= "benchmark";
+
+	@Param({ "1000", "100000" })
+	public int positions;
+
+	private String fText;
+	private Document fDocument;
+	private int fCaret;
+	private int fQueryOffset;
+
+	@Setup(Level.Trial)
+	public void createText() {
+		fText= Corpus.text(10 * 1024 * 1024);
+	}
+
+	@Setup(Level.Iteration)
+	public void createDocument() throws BadLocationException, BadPositionCategoryException {
+		fDocument= new Document(fText);
+		fDocument.addPositionCategory(CATEGORY);
+		int distance= fText.length() / positions;
+		for (int i= 0; i < positions; i++) {
+			// every tenth position is long and overlaps many others, like a folding region
+			int length= i % 10 == 0 ? 20 * distance : distance / 2;
+			int offset= i * distance;
+			fDocument.addPosition(CATEGORY, new Position(offset, Math.min(length, fText.length() - offset)));
+		}
+		fCaret= fText.length() / 2;
+		fQueryOffset= 0;
+	}
+
+	/**
+	 * Types one character after the other, which updates all positions after the caret.
+	 *
+	 * @return the length of the document
+	 * @throws BadLocationException if the caret is outside the document
+	 */
+	@Benchmark
+	public int typing() throws BadLocationException {
+		fDocument.replace(fCaret++, 0, "x");
+		return fDocument.getLength();
+	}
+
+	/**
+	 * Asks for the positions overlapping a screen full of text, moving through the document.
+	 *
+	 * @return the number of positions found
+	 * @throws BadPositionCategoryException if the category is unknown
+	 */
+	@Benchmark
+	public int overlappingPositions() throws BadPositionCategoryException {
+		fQueryOffset= (fQueryOffset + 4099) % (fText.length() - 4000);
+		return fDocument.getPositions(CATEGORY, fQueryOffset, 4000, true, true).length;
+	}
+
+	/**
+	 * Types a character and asks for the positions at the caret, like the editor does for every
+	 * key stroke.
+	 *
+	 * @return the number of positions found
+	 * @throws BadLocationException if the caret is outside the document
+	 * @throws BadPositionCategoryException if the category is unknown
+	 */
+	@Benchmark
+	public int typingAndQuery() throws BadLocationException, BadPositionCategoryException {
+		fDocument.replace(fCaret++, 0, "x");
+		return fDocument.getPositions(CATEGORY, fCaret - 2000, 4000, true, true).length;
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.TextUtilities;
+
+/**
+ * Measures the line tracker: loading a text, scanning it for delimiters and keeping the line
+ * information up to date while typing and pasting.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+@Fork(1)
+public class LineTrackerBenchmark {
+
+	@Param({ "1000000", "100000000" })
+	public int size;
+
+	private String fText;
+	private String fPaste;
+	private ILineTracker fTracker;
+	private int fCaret;
+
+	@Setup(Level.Trial)
+	public void createText() {
+		fText= Corpus.text(size);
+		fPaste= Corpus.generate(1024 * 1024, 7);
+	}
+
+	@Setup(Level.Iteration)
+	public void createTracker() throws BadLocationException {
+		fTracker= new DefaultLineTracker();
+		fTracker.set(fText);
+		// switch to the tree representation used while editing
+		fTracker.replace(0, 0, "");
+		fCaret= size / 2;
+	}
+
+	/**
+	 * Sets the text and asks for the lines at its start, as when a document is opened.
+	 *
+	 * @return the offset of a line
+	 * @throws BadLocationException if the line does not exist
+	 */
+	@Benchmark
+	public int openDocument() throws BadLocationException {
+		ILineTracker tracker= new DefaultLineTracker();
+		tracker.set(fText);
+		return tracker.getLineOffset(50);
+	}
+
+	/**
+	 * Sets the text and asks for the number of lines, which requires a full scan.
+	 *
+	 * @return the number of lines
+	 */
+	@Benchmark
+	public int countLines() {
+		ILineTracker tracker= new DefaultLineTracker();
+		tracker.set(fText);
+		return tracker.getNumberOfLines();
+	}
+
+	/**
+	 * Scans the whole text for delimiters with the tracker.
+	 *
+	 * @return the number of delimiters
+	 */
+	@Benchmark
+	public int computeNumberOfLines() {
+		return fTracker.computeNumberOfLines(fText);
+	}
+
+	/**
+	 * Scans the whole text for delimiters with {@link TextUtilities#nextDelimiter(CharSequence, int)}.
+	 *
+	 * @return the number of delimiters
+	 */
+	@Benchmark
+	public int nextDelimiter() {
+		int count= 0;
+		DelimiterInfo info= TextUtilities.nextDelimiter(fText, 0);
+		while (info.delimiterIndex != -1) {
+			count++;
+			info= TextUtilities.nextDelimiter(fText, info.delimiterIndex + info.delimiterLength);
+		}
+		return count;
+	}
+
+	/**
+	 * Types one character after the other, with a line break every 60 characters.
+	 *
+	 * @return the line of the caret
+	 * @throws BadLocationException if the caret is outside the text
+	 */
+	@Benchmark
+	public int typing() throws BadLocationException {
+		fTracker.replace(fCaret, 0, fCaret % 60 == 0 ? "\n" : "x");
+		fCaret++;
+		return fTracker.getLineNumberOfOffset(fCaret);
+	}
+
+	/**
+	 * Pastes one megabyte of text and removes it again.
+	 *
+	 * @return the number of lines
+	 * @throws BadLocationException if the caret is outside the text
+	 */
+	@Benchmark
+	public int largePaste() throws BadLocationException {
+		fTracker.replace(fCaret, 0, fPaste);
+		fTracker.replace(fCaret, fPaste.length(), "");
+		return fTracker.getNumberOfLines();
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+
+/**
+ * Measures the {@link FastPartitioner} with a rule based scanner for a Java like language:
+ * partitioning a document initially, asking for partitions and re-partitioning while typing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+@Fork(1)
+public class PartitionerBenchmark {
+
+	private static final String COMMENT= "__comment";
+	private static final String LINE_COMMENT= "__line_comment";
+	private static final String STRING= "__string";
+	private static final String[] CONTENT_TYPES= { COMMENT, LINE_COMMENT, STRING };
+
+	@Param({ "1000000", "10000000" })
+	public int size;
+
+	private String fText;
+	private Document fDocument;
+	private int fCaret;
+	private int fQueryOffset;
+
+	@Setup(Level.Trial)
+	public void createText() {
+		fText= Corpus.text(size);
+	}
+
+	@Setup(Level.Iteration)
+	public void createDocument() {
+		fDocument= createPartitionedDocument();
+		fCaret= fText.indexOf("*/", size / 2);
+		fQueryOffset= 0;
+	}
+
+	private Document createPartitionedDocument() {
+		Document document= new Document(fText);
+		IDocumentPartitioner partitioner= new FastPartitioner(createScanner(), CONTENT_TYPES);
+		partitioner.connect(document);
+		document.setDocumentPartitioner(partitioner);
+		return document;
+	}
+
+	private static RuleBasedPartitionScanner createScanner() {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] {
+				new EndOfLineRule("//", new Token(LINE_COMMENT)),
+				new SingleLineRule("\"", "\"", new Token(STRING), '\\'),
+				new MultiLineRule("/*", "*/", new Token(COMMENT), (char) 0, true)
+		});
+		return scanner;
+	}
+
+	/**
+	 * Partitions the whole document, as when an editor is opened.
+	 *
+	 * @return the number of partitions
+	 * @throws BadLocationException if the range is outside the document
+	 */
+	@Benchmark
+	public int initialPartitioning() throws BadLocationException {
+		return createPartitionedDocument().computePartitioning(0, size).length;
+	}
+
+	/**
+	 * Asks for the partition at offsets moving through the document.
+	 *
+	 * @return the length of the partition
+	 * @throws BadLocationException if the offset is outside the document
+	 */
+	@Benchmark
+	public int getPartition() throws BadLocationException {
+		fQueryOffset= (fQueryOffset + 4099) % size;
+		return fDocument.getPartition(fQueryOffset).getLength();
+	}
+
+	/**
+	 * Asks for the partitions of a screen full of text, moving through the document.
+	 *
+	 * @return the number of partitions
+	 * @throws BadLocationException if the range is outside the document
+	 */
+	@Benchmark
+	public int computePartitioning() throws BadLocationException {
+		fQueryOffset= (fQueryOffset + 4099) % (size - 4000);
+		return fDocument.computePartitioning(fQueryOffset, 4000).length;
+	}
+
+	/**
+	 * Types one character after the other at the end of a block comment.
+	 *
+	 * @return the length of the document
+	 * @throws BadLocationException if the caret is outside the document
+	 */
+	@Benchmark
+	public int typingInComment() throws BadLocationException {
+		fDocument.replace(fCaret++, 0, "x");
+		return fDocument.getLength();
+	}
+
+	/**
+	 * Opens and closes a block comment, which changes the partitioning of the rest of the
+	 * document.
+	 *
+	 * @return the length of the document
+	 * @throws BadLocationException if the caret is outside the document
+	 */
+	@Benchmark
+	public int toggleComment() throws BadLocationException {
+		int offset= size / 4;
+		fDocument.replace(offset, 0, "/*");
+		fDocument.replace(offset, 2, "");
+		return fDocument.getLength();
+	}
+}
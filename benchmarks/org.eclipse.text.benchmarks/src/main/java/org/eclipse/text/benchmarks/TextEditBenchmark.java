@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+
+/**
+ * Measures applying a {@link MultiTextEdit} with many children, like a rename or a format of the
+ * whole document, and undoing it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+@Fork(1)
+public class TextEditBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int edits;
+
+	@Param({ "false", "true" })
+	public boolean batched;
+
+	private String fText;
+	private int[] fOffsets;
+
+	@Setup
+	public void createText() {
+		fText= Corpus.text(10 * 1024 * 1024);
+		fOffsets= new int[edits];
+		int distance= fText.length() / edits;
+		for (int i= 0; i < edits; i++) {
+			fOffsets[i]= i * distance;
+		}
+	}
+
+	private MultiTextEdit createEdit() {
+		MultiTextEdit edit= new MultiTextEdit();
+		for (int offset : fOffsets) {
+			edit.addChild(new ReplaceEdit(offset, 1, "xy"));
+		}
+		return edit;
+	}
+
+	/**
+	 * Applies the edit to a new document.
+	 *
+	 * @return the length of the document
+	 * @throws BadLocationException if an edit is outside the document
+	 */
+	@Benchmark
+	public int apply() throws BadLocationException {
+		Document document= new Document(fText);
+		createEdit().apply(document, batched ? TextEdit.BATCH_CHANGES : TextEdit.NONE);
+		return document.getLength();
+	}
+
+	/**
+	 * Applies the edit to a new document and undoes it again.
+	 *
+	 * @return the length of the document
+	 * @throws BadLocationException if an edit is outside the document
+	 */
+	@Benchmark
+	public int applyAndUndo() throws BadLocationException {
+		Document document= new Document(fText);
+		int style= batched ? TextEdit.BATCH_CHANGES : TextEdit.NONE;
+		UndoEdit undo= createEdit().apply(document, TextEdit.CREATE_UNDO | style);
+		undo.apply(document, style);
+		return document.getLength();
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.CopyOnWriteTextStore;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
+
+/**
+ * Measures typing, pasting and replacing the whole content in the text store implementations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+@Fork(1)
+public class TextStoreBenchmark {
+
+	@Param({ "GapTextStore", "CopyOnWriteTextStore", "PieceTableTextStore" })
+	public String store;
+
+	@Param({ "1000000", "10000000" })
+	public int size;
+
+	private String fText;
+	private String fPaste;
+	private ITextStore fStore;
+	private int fCaret;
+
+	@Setup(Level.Trial)
+	public void createText() {
+		fText= Corpus.text(size);
+		fPaste= Corpus.generate(1024 * 1024, 7);
+	}
+
+	@Setup(Level.Iteration)
+	public void createStore() {
+		fStore= switch (store) {
+			case "GapTextStore" -> new GapTextStore();
+			case "CopyOnWriteTextStore" -> new CopyOnWriteTextStore(new GapTextStore());
+			case "PieceTableTextStore" -> new PieceTableTextStore();
+			default -> throw new IllegalArgumentException(store);
+		};
+		fStore.set(fText);
+		fCaret= size / 2;
+	}
+
+	/**
+	 * Types one character after the other in the middle of the text.
+	 *
+	 * @return the character at the caret
+	 */
+	@Benchmark
+	public char typing() {
+		fStore.replace(fCaret++, 0, "x");
+		return fStore.get(fCaret - 1);
+	}
+
+	/**
+	 * Types at alternating places, e.g. when editing with multiple carets or replacing all
+	 * occurrences one by one.
+	 *
+	 * @return the length of the store
+	 */
+	@Benchmark
+	public int typingAtTwoPlaces() {
+		fStore.replace(fCaret, 0, "x");
+		fStore.replace(fStore.getLength() - fCaret, 0, "y");
+		fCaret= (fCaret + 997) % (fStore.getLength() / 2);
+		return fStore.getLength();
+	}
+
+	/**
+	 * Pastes one megabyte into the middle of the text and removes it again.
+	 *
+	 * @return the length of the store
+	 */
+	@Benchmark
+	public int largePaste() {
+		fStore.replace(fCaret, 0, fPaste);
+		fStore.replace(fCaret, fPaste.length(), "");
+		return fStore.getLength();
+	}
+
+	/**
+	 * Replaces the whole content and reads it back.
+	 *
+	 * @return the length of the content
+	 */
+	@Benchmark
+	public int bulkReplace() {
+		fStore.replace(0, fStore.getLength(), fText);
+		return fStore.get(0, fStore.getLength()).length();
+	}
+}
@@ -48,6 +48,8 @@ final class FileBuffersMessages extends NLS {
 	public static String TextFileBufferManager_error_documentFactoryFailed;
 	public static String TextFileBufferManager_warning_documentSetupInstallsDefaultPartitioner;
 	public static String DocumentInputStream_error_streamClosed;
+	public static String LargeFileCharSequence_error_tooLarge;
+	public static String LargeFileCharSequence_error_modified;
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, FileBuffersMessages.class);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2023 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,6 +58,7 @@ import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.PieceTableTextStore;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 /**
@@ -70,7 +71,11 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 
 		@Override
 		public void documentAboutToBeChanged(DocumentEvent event) {
-			// do nothing
+			// a dirty document must not depend on a file that can be changed before it is saved
+			if (fLargeFileStore != null) {
+				TextFileBufferManager.detachLargeFileTextStore(fLargeFileStore);
+				fLargeFileStore= null;
+			}
 		}
 
 		@Override
@@ -115,6 +120,11 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	 * @since 3.2
 	 */
 	private boolean fIsCacheUpdated= false;
+	/**
+	 * The text store which decodes the content of a large file lazily, or <code>null</code> if
+	 * the document does not refer to the file.
+	 */
+	private PieceTableTextStore fLargeFileStore;
 
 
 	public FileStoreTextFileBuffer(TextFileBufferManager manager) {
@@ -227,7 +237,8 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		}
 
 		String originalContents= original.get();
-		boolean replaceContents= !originalContents.equals(fDocument.get());
+		// a document which still refers to the file cannot be compared with it, the file may have changed
+		boolean replaceContents= fLargeFileStore != null || !originalContents.equals(fDocument.get());
 
 		if (!replaceContents && !fCanBeSaved) {
 			return;
@@ -239,6 +250,7 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 			if (replaceContents)  {
 				fManager.fireBufferContentAboutToBeReplaced(this);
 				fDocument.set(original.get());
+				fLargeFileStore= null;
 			}
 
 			boolean fireDirtyStateChanged= fCanBeSaved;
@@ -319,9 +331,15 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	@Override
 	protected void initializeFileBufferContent(IProgressMonitor monitor) throws CoreException {
 		try {
-			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			cacheEncodingState();
-			setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			boolean skipUTF8BOM= fHasBOM && StandardCharsets.UTF_8.name().equals(fEncoding);
+			fLargeFileStore= fManager.createLargeFileTextStore(fFileStore.toLocalFile(EFS.NONE, null), fEncoding, skipUTF8BOM);
+			if (fLargeFileStore != null) {
+				fDocument= fManager.createDocument(fLargeFileStore, getLocationOrName(), LocationKind.LOCATION);
+			} else {
+				fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
+				setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			}
 		} catch (CoreException x) {
 			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			fStatus= x.getStatus();
@@ -401,9 +419,10 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 
 		byte[] bytes;
 		int bytesLength;
+		String content= fDocument.get();
 
 		try {
-			ByteBuffer byteBuffer= encoder.encode(CharBuffer.wrap(fDocument.get()));
+			ByteBuffer byteBuffer= encoder.encode(CharBuffer.wrap(content));
 			bytesLength= byteBuffer.limit();
 			if (byteBuffer.hasArray()) {
 				bytes= byteBuffer.array();
@@ -418,6 +437,10 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 			throw new CoreException(s);
 		}
 
+		// the document must no longer refer to the file once it gets overwritten
+		TextFileBufferManager.detachLargeFileTextStore(fLargeFileStore, content);
+		fLargeFileStore= null;
+
 		IFileInfo fileInfo= fFileStore.fetchInfo();
 		if (fileInfo != null && fileInfo.exists()) {
 
@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+/**
+ * A read-only character sequence backed by a file that is decoded lazily in windows. Opening the
+ * sequence streams once over the file to compute the number of characters and the byte offset of
+ * every window, but keeps no characters. The characters of a window are decoded on demand and a
+ * few recently used windows are cached, so the heap used by the sequence does not depend on the
+ * file size.
+ * <p>
+ * Windows are read with positional reads instead of a memory mapping: a mapping cannot be
+ * released deterministically and prevents the file from being truncated on some platforms,
+ * which would make it impossible to save the file while the sequence is alive.
+ * </p>
+ * <p>
+ * Only encodings which can be decoded starting at any character boundary are supported, see
+ * {@link #isSupported(Charset)}. The file must not be modified while the sequence is in use;
+ * clients have to copy the content into memory before they overwrite the file.
+ * </p>
+ * <p>
+ * External modifications are detected by the size and the modification time of the file, which
+ * are checked whenever a window is read. The content the sequence was opened on is lost then, so
+ * the sequence copies the current content of the file into memory once and serves all
+ * characters from that copy, cut or padded with {@link #REPLACEMENT_CHARACTER} to the original
+ * length. Reads never fail and never mix windows of different versions of the file, clients
+ * replace the content of their document once they are notified about the change.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+final class LargeFileCharSequence implements CharSequence {
+
+	/** A decoded window of the file. */
+	private static final class Window {
+		final int fIndex;
+		final int fOffset;
+		final char[] fChars;
+
+		Window(int index, int offset, char[] chars) {
+			fIndex= index;
+			fOffset= offset;
+			fChars= chars;
+		}
+	}
+
+	/** The number of bytes decoded into one window. */
+	private static final int WINDOW_SIZE= 256 * 1024;
+	/** The number of decoded windows kept in memory. */
+	private static final int CACHED_WINDOWS= 4;
+	/** The character standing for characters beyond the end of a modified file. */
+	private static final char REPLACEMENT_CHARACTER= '\uFFFD';
+
+
+	/** The file */
+	private final Path fPath;
+	/** The encoding of the file */
+	private final Charset fCharset;
+	/** The size of the file when the sequence was opened */
+	private final long fFileSize;
+	/** The modification time of the file when the sequence was opened */
+	private final FileTime fLastModified;
+	/** The byte offset of every window, followed by the end of the last window */
+	private final long[] fByteOffsets;
+	/** The character offset of every window, followed by the length of the sequence */
+	private final int[] fCharOffsets;
+	/** The number of windows */
+	private final int fWindowCount;
+	/** The recently used windows, guarded by <code>this</code> */
+	private final Window[] fCache= new Window[CACHED_WINDOWS];
+	/** The index in {@link #fCache} to be replaced next, guarded by <code>this</code> */
+	private int fNextCacheSlot;
+	/** The most recently used window */
+	private volatile Window fLastWindow;
+	/**
+	 * The content of the file when a modification has been detected, <code>null</code> as long as
+	 * the file is unchanged.
+	 */
+	private volatile String fModifiedContent;
+
+
+	private LargeFileCharSequence(Path path, Charset charset, BasicFileAttributes attributes, long[] byteOffsets, int[] charOffsets, int windowCount) {
+		fPath= path;
+		fCharset= charset;
+		fFileSize= attributes.size();
+		fLastModified= attributes.lastModifiedTime();
+		fByteOffsets= byteOffsets;
+		fCharOffsets= charOffsets;
+		fWindowCount= windowCount;
+	}
+
+	/**
+	 * Tells whether files in the given encoding can be decoded lazily. This is the case for UTF-8
+	 * and for all single byte encodings.
+	 *
+	 * @param charset the encoding
+	 * @return <code>true</code> if the encoding is supported
+	 */
+	static boolean isSupported(Charset charset) {
+		if (StandardCharsets.UTF_8.equals(charset)) {
+			return true;
+		}
+		return charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1 && charset.newDecoder().maxCharsPerByte() == 1;
+	}
+
+	/**
+	 * Opens a lazily decoded view of the given file.
+	 *
+	 * @param path the file
+	 * @param charset the encoding of the file, must be {@link #isSupported(Charset) supported}
+	 * @param start the number of bytes to skip at the beginning of the file, e.g. for a BOM
+	 * @return the character sequence
+	 * @throws IOException if the file cannot be read or has more characters than a document can
+	 *             hold
+	 */
+	static LargeFileCharSequence open(Path path, Charset charset, long start) throws IOException {
+		long[] byteOffsets= new long[64];
+		int[] charOffsets= new int[64];
+		int windowCount= 0;
+		byteOffsets[0]= start;
+
+		CharsetDecoder decoder= newDecoder(charset);
+		ByteBuffer bytes= ByteBuffer.allocate(WINDOW_SIZE);
+		CharBuffer chars= CharBuffer.allocate(WINDOW_SIZE);
+
+		BasicFileAttributes attributes= Files.readAttributes(path, BasicFileAttributes.class);
+		try (FileChannel channel= FileChannel.open(path, StandardOpenOption.READ)) {
+			long position= start;
+			long consumed= start;
+			long length= 0;
+			boolean endOfInput= false;
+			while (!endOfInput) {
+				int read= channel.read(bytes, position);
+				if (read < 0) {
+					endOfInput= true;
+				} else {
+					position+= read;
+				}
+
+				bytes.flip();
+				chars.clear();
+				decode(decoder, bytes, chars, endOfInput);
+				consumed+= bytes.position();
+				bytes.compact();
+
+				if (chars.position() > 0) {
+					length+= chars.position();
+					if (length > Integer.MAX_VALUE) {
+						throw new IOException(NLSUtility.format(FileBuffersMessages.LargeFileCharSequence_error_tooLarge, path));
+					}
+					if (windowCount + 1 == byteOffsets.length) {
+						byteOffsets= Arrays.copyOf(byteOffsets, 2 * byteOffsets.length);
+						charOffsets= Arrays.copyOf(charOffsets, 2 * charOffsets.length);
+					}
+					windowCount++;
+					byteOffsets[windowCount]= consumed;
+					charOffsets[windowCount]= (int) length;
+				}
+			}
+		}
+
+		LargeFileCharSequence sequence= new LargeFileCharSequence(path, charset, attributes, byteOffsets, charOffsets, windowCount);
+		if (sequence.isModified()) {
+			throw new IOException(NLSUtility.format(FileBuffersMessages.LargeFileCharSequence_error_modified, path));
+		}
+		return sequence;
+	}
+
+	@Override
+	public int length() {
+		return fCharOffsets[fWindowCount];
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length()) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		Window window= getWindow(index);
+		if (window == null) {
+			String content= fModifiedContent;
+			return index < content.length() ? content.charAt(index) : REPLACEMENT_CHARACTER;
+		}
+		return window.fChars[index - window.fOffset];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length() || start > end) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		char[] result= new char[end - start];
+		int index= start;
+		while (index < end) {
+			Window window= getWindow(index);
+			if (window == null) {
+				return getModifiedSubSequence(start, end);
+			}
+			int windowStart= index - window.fOffset;
+			int count= Math.min(end - index, window.fChars.length - windowStart);
+			System.arraycopy(window.fChars, windowStart, result, index - start, count);
+			index+= count;
+		}
+		return new String(result);
+	}
+
+	@Override
+	public String toString() {
+		return subSequence(0, length()).toString();
+	}
+
+	/**
+	 * Returns the given range of the content copied after the file has been modified.
+	 *
+	 * @param start the start of the range
+	 * @param end the end of the range
+	 * @return the characters of the range
+	 */
+	private String getModifiedSubSequence(int start, int end) {
+		String content= fModifiedContent;
+		char[] result= new char[end - start];
+		Arrays.fill(result, REPLACEMENT_CHARACTER);
+		if (start < content.length()) {
+			content.getChars(start, Math.min(end, content.length()), result, 0);
+		}
+		return new String(result);
+	}
+
+	/**
+	 * Returns the window containing the given character offset.
+	 *
+	 * @param index the character offset, must be inside the sequence
+	 * @return the decoded window, or <code>null</code> if the file has been modified and the
+	 *         characters have to be taken from {@link #fModifiedContent}
+	 */
+	private Window getWindow(int index) {
+		if (fModifiedContent != null) {
+			return null;
+		}
+		Window window= fLastWindow;
+		if (window != null && window.fOffset <= index && index < window.fOffset + window.fChars.length) {
+			return window;
+		}
+
+		int windowIndex= Arrays.binarySearch(fCharOffsets, 0, fWindowCount + 1, index);
+		if (windowIndex < 0) {
+			windowIndex= -windowIndex - 2;
+		}
+
+		synchronized (this) {
+			if (fModifiedContent != null) {
+				return null;
+			}
+			for (Window cached : fCache) {
+				if (cached != null && cached.fIndex == windowIndex) {
+					fLastWindow= cached;
+					return cached;
+				}
+			}
+
+			char[] chars= readWindow(windowIndex);
+			if (chars == null) {
+				copyModifiedContent();
+				return null;
+			}
+			window= new Window(windowIndex, fCharOffsets[windowIndex], chars);
+			fCache[fNextCacheSlot]= window;
+			fNextCacheSlot= (fNextCacheSlot + 1) % CACHED_WINDOWS;
+			fLastWindow= window;
+			return window;
+		}
+	}
+
+	/**
+	 * Reads and decodes the given window.
+	 *
+	 * @param windowIndex the window index
+	 * @return the characters of the window, or <code>null</code> if the file has been modified
+	 *         or cannot be read anymore
+	 */
+	private char[] readWindow(int windowIndex) {
+		long byteOffset= fByteOffsets[windowIndex];
+		int byteLength= (int) (fByteOffsets[windowIndex + 1] - byteOffset);
+		int charLength= fCharOffsets[windowIndex + 1] - fCharOffsets[windowIndex];
+
+		if (isModified()) {
+			return null;
+		}
+		try (FileChannel channel= FileChannel.open(fPath, StandardOpenOption.READ)) {
+			ByteBuffer bytes= ByteBuffer.allocate(byteLength);
+			while (bytes.hasRemaining()) {
+				if (channel.read(bytes, byteOffset + bytes.position()) < 0) {
+					return null;
+				}
+			}
+			bytes.flip();
+
+			CharBuffer chars= CharBuffer.allocate(charLength);
+			CharsetDecoder decoder= newDecoder(fCharset);
+			boolean endOfInput= windowIndex == fWindowCount - 1;
+			// bytes written after the check above may decode to more characters than the window holds
+			CoderResult result= decoder.decode(bytes, chars, endOfInput);
+			if (endOfInput && result.isUnderflow()) {
+				result= decoder.flush(chars);
+			}
+			if (!result.isUnderflow() || chars.hasRemaining() || bytes.hasRemaining()) {
+				return null;
+			}
+			// the file may have been written while the window was read
+			return isModified() ? null : chars.array();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Tells whether the size or the modification time of the file differ from the ones when the
+	 * sequence was opened. A file which cannot be accessed anymore counts as modified.
+	 *
+	 * @return <code>true</code> if the file has been modified
+	 */
+	private boolean isModified() {
+		try {
+			BasicFileAttributes attributes= Files.readAttributes(fPath, BasicFileAttributes.class);
+			return attributes.size() != fFileSize || !attributes.lastModifiedTime().equals(fLastModified);
+		} catch (IOException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Copies the current content of the file into memory after a modification has been detected
+	 * and drops the cached windows. Must be called while holding the lock of this sequence.
+	 */
+	private void copyModifiedContent() {
+		String content;
+		try {
+			byte[] bytes= Files.readAllBytes(fPath);
+			int start= (int) Math.min(fByteOffsets[0], bytes.length);
+			content= new String(bytes, start, bytes.length - start, fCharset);
+		} catch (IOException | OutOfMemoryError e) {
+			content= ""; //$NON-NLS-1$
+		}
+		Arrays.fill(fCache, null);
+		fLastWindow= null;
+		fModifiedContent= content;
+	}
+
+	/**
+	 * Decodes the given bytes. With <code>endOfInput</code> set to <code>false</code>, an
+	 * incomplete character at the end of the input remains in the byte buffer.
+	 *
+	 * @param decoder the decoder
+	 * @param bytes the bytes to decode
+	 * @param chars the buffer to decode into, must be large enough
+	 * @param endOfInput whether the bytes end the file
+	 */
+	private static void decode(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars, boolean endOfInput) {
+		CoderResult result= decoder.decode(bytes, chars, endOfInput);
+		if (endOfInput && result.isUnderflow()) {
+			result= decoder.flush(chars);
+		}
+		// the decoder replaces malformed input, an overflow is impossible as no window has more characters than bytes
+		if (!result.isUnderflow()) {
+			throw new IllegalStateException(result.toString());
+		}
+	}
+
+	/**
+	 * Creates a decoder that behaves like {@link String#String(byte[], Charset)}.
+	 *
+	 * @param charset the encoding
+	 * @return the decoder
+	 */
+	private static CharsetDecoder newDecoder(Charset charset) {
+		return charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+}
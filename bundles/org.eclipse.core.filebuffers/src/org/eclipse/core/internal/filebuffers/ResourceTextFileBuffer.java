@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,6 +37,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResourceStatus;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -50,6 +51,7 @@ import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.PieceTableTextStore;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.osgi.util.NLS;
 
@@ -63,7 +65,11 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 
 		@Override
 		public void documentAboutToBeChanged(DocumentEvent event) {
-			// do nothing
+			// a dirty document must not depend on a file that can be changed before it is saved
+			if (fLargeFileStore != null) {
+				TextFileBufferManager.detachLargeFileTextStore(fLargeFileStore);
+				fLargeFileStore= null;
+			}
 		}
 
 		@Override
@@ -111,6 +117,11 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 	 * @since 3.2
 	 */
 	private final Object fAnnotationModelCreationLock= new Object();
+	/**
+	 * The text store which decodes the content of a large file lazily, or <code>null</code> if
+	 * the document does not refer to the file.
+	 */
+	private PieceTableTextStore fLargeFileStore;
 
 
 	public ResourceTextFileBuffer(ResourceTextFileBufferManager manager) {
@@ -239,8 +250,13 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			}
 
 
-			fDocument= getManager().createEmptyDocument(fFile);
-			setDocumentContent(fDocument, fFile, fEncoding);
+			fLargeFileStore= createLargeFileTextStore();
+			if (fLargeFileStore != null) {
+				fDocument= getManager().createDocument(fLargeFileStore, fFile);
+			} else {
+				fDocument= getManager().createEmptyDocument(fFile);
+				setDocumentContent(fDocument, fFile, fEncoding);
+			}
 
 		} catch (CoreException x) {
 			fDocument= getManager().createEmptyDocument(fFile);
@@ -248,6 +264,21 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		}
 	}
 
+	/**
+	 * Creates a text store which decodes the content of the file lazily if the file is large.
+	 *
+	 * @return the text store or <code>null</code> if the content has to be read into a string
+	 */
+	private PieceTableTextStore createLargeFileTextStore() {
+		IPath location= fFile.getLocation();
+		if (location == null) {
+			return null;
+		}
+		String encoding= fEncoding != null ? fEncoding : fManager.getDefaultEncoding();
+		boolean skipUTF8BOM= fBOM != null && StandardCharsets.UTF_8.name().equals(encoding);
+		return fManager.createLargeFileTextStore(location.toFile(), encoding, skipUTF8BOM);
+	}
+
 	/**
 	 * Caches the BOM of the underlying file.
 	 *
@@ -318,10 +349,11 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
 
 		InputStream stream;
+		String content= fDocument.get();
 
 		try {
 			byte[] bytes;
-			ByteBuffer byteBuffer= encoder.encode(CharBuffer.wrap(fDocument.get()));
+			ByteBuffer byteBuffer= encoder.encode(CharBuffer.wrap(content));
 			if (byteBuffer.hasArray()) {
 				bytes= byteBuffer.array();
 			} else {
@@ -349,6 +381,10 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			stream= new SequenceInputStream(new ByteArrayInputStream(IContentDescription.BOM_UTF_16LE), stream);
 		}
 
+		// the document must no longer refer to the file once it gets overwritten
+		TextFileBufferManager.detachLargeFileTextStore(fLargeFileStore, content);
+		fLargeFileStore= null;
+
 		if (fFile.exists()) {
 
 			// here the file synchronizer should actually be removed and afterwards added again. However,
@@ -449,7 +485,8 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		}
 
 		String newContent= document.get();
-		boolean replaceContent= updateModificationStamp || !newContent.equals(fDocument.get());
+		// a document which still refers to the file cannot be compared with it, the file has changed
+		boolean replaceContent= updateModificationStamp || fLargeFileStore != null || !newContent.equals(fDocument.get());
 
 		if (replaceContent) {
 			fManager.fireBufferContentAboutToBeReplaced(this);
@@ -463,6 +500,7 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			} else {
 				fDocument.set(newContent);
 			}
+			fLargeFileStore= null;
 		}
 		fCanBeSaved= false;
 		fStatus= status;
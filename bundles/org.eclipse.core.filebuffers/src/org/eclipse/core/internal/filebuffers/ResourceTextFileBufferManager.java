@@ -49,8 +49,10 @@ import org.eclipse.core.filebuffers.IFileBuffer;
 import org.eclipse.core.filebuffers.IStateValidationSupport;
 import org.eclipse.core.filebuffers.LocationKind;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.ITextStore;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 
@@ -138,6 +140,39 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 			document= new SynchronizableDocument();
 		}
 
+		setUpDocument(document, file);
+		return document;
+	}
+
+	/**
+	 * Creates a document for the given file whose content is the current content of the given
+	 * text store. Unlike {@link #createEmptyDocument(IFile)} no document factory is consulted, as
+	 * factories can only create empty documents.
+	 *
+	 * @param textStore the text store holding the initial content of the document
+	 * @param file the file to be connected
+	 * @return the document
+	 */
+	IDocument createDocument(ITextStore textStore, IFile file) {
+		SynchronizableDocument document= new SynchronizableDocument(textStore);
+		// match the modification stamp a document gets when its content is read from the file
+		try {
+			document.replace(0, 0, "", file.getModificationStamp()); //$NON-NLS-1$
+		} catch (BadLocationException x) {
+			// cannot happen
+		}
+		setUpDocument(document, file);
+		return document;
+	}
+
+	/**
+	 * Sets the initial line delimiter of the given document and runs the document setup
+	 * participants for the given file on it.
+	 *
+	 * @param document the document to set up
+	 * @param file the file to be connected
+	 */
+	private void setUpDocument(final IDocument document, final IFile file) {
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
 			String initalLineDelimiter= getLineDelimiterPreference(file);
@@ -173,8 +208,6 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 				SafeRunner.run(runnable);
 			}
 		}
-
-		return document;
 	}
 
 	/**
@@ -26,6 +26,7 @@ import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.ITextStore;
 import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.Position;
 
@@ -42,6 +43,23 @@ public class SynchronizableDocument extends Document implements ISynchronizable
 
 	private Object fLockObject;
 
+	/**
+	 * Creates a new empty document.
+	 */
+	public SynchronizableDocument() {
+		super();
+	}
+
+	/**
+	 * Creates a new document which stores its content in the given text store. The current
+	 * content of the text store becomes the initial content of the document.
+	 *
+	 * @param textStore the text store to use
+	 */
+	public SynchronizableDocument(ITextStore textStore) {
+		super(textStore);
+	}
+
 	@Override
 	protected void updateDocumentStructures(DocumentEvent event) {
 		Object lockObject= getLockObject();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,10 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -41,6 +43,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
 
 import org.eclipse.core.filebuffers.IAnnotationModelFactory;
 import org.eclipse.core.filebuffers.IDocumentSetupParticipant;
@@ -55,6 +58,8 @@ import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 
@@ -72,6 +77,17 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
+	/** The plug-in which owns the large file association preferences. */
+	private static final String WORKBENCH_PLUGIN_ID= "org.eclipse.ui.workbench"; //$NON-NLS-1$
+	/** Preference telling whether the default large file limit is enabled. */
+	private static final String LARGE_FILE_LIMITS_DEFAULT_ENABLED= "largeFileLimits_default_enabled"; //$NON-NLS-1$
+	/** Preference holding the default large file limit in bytes. */
+	private static final String LARGE_FILE_LIMITS_DEFAULT_VALUE= "largeFileLimits_default_value"; //$NON-NLS-1$
+	/** System property overriding {@link #DEFAULT_LARGE_FILE_THRESHOLD}. */
+	private static final String LARGE_FILE_THRESHOLD_PROPERTY= "org.eclipse.core.filebuffers.largeFileThreshold"; //$NON-NLS-1$
+	/** The size in bytes above which files are loaded lazily if the workbench does not define a limit. */
+	private static final long DEFAULT_LARGE_FILE_THRESHOLD= 64 * 1024 * 1024;
+
 	private final Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
 	private final Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new HashMap<>();
 	private final List<IFileBufferListener> fFileBufferListeners= new ArrayList<>();
@@ -458,6 +474,35 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 			return document;
 		}
 
+		setUpDocument(document, location, locationKind);
+		return document;
+	}
+
+	/**
+	 * Creates a document for the given location whose content is the current content of the given
+	 * text store. Unlike {@link #createEmptyDocument(IPath, LocationKind)} no document factory is
+	 * consulted, as factories can only create empty documents.
+	 *
+	 * @param textStore the text store holding the initial content of the document
+	 * @param location the location of the file to be connected
+	 * @param locationKind the kind of the given location
+	 * @return the document
+	 */
+	IDocument createDocument(ITextStore textStore, IPath location, LocationKind locationKind) {
+		IDocument document= new SynchronizableDocument(textStore);
+		setUpDocument(document, location, locationKind);
+		return document;
+	}
+
+	/**
+	 * Sets the initial line delimiter of the given document and runs the document setup
+	 * participants for the given location on it.
+	 *
+	 * @param document the document to set up
+	 * @param location the location of the file to be connected
+	 * @param locationKind the kind of the given location
+	 */
+	private void setUpDocument(final IDocument document, final IPath location, final LocationKind locationKind) {
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
 			String initalLineDelimiter= getLineDelimiterPreference(location, locationKind);
@@ -493,8 +538,91 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 				SafeRunner.run(runnable);
 			}
 		}
+	}
 
-		return document;
+	/**
+	 * Creates a text store whose content is decoded lazily from the given local file, if the file
+	 * is large enough to be worth it. Large files are loaded this way so that connecting to them
+	 * takes neither the time nor the memory needed to decode them into a string. The store keeps
+	 * referring to the file until its content is replaced, see
+	 * {@link #detachLargeFileTextStore(PieceTableTextStore)}, which buffers do before the
+	 * document is changed for the first time.
+	 * <p>
+	 * A file is large if it is bigger than the default limit of the workbench's large file
+	 * associations, if that limit is enabled, or else bigger than 64 MB. The latter can be
+	 * changed with the system property <code>org.eclipse.core.filebuffers.largeFileThreshold</code>.
+	 * </p>
+	 *
+	 * @param file the local file
+	 * @param encoding the encoding of the file
+	 * @param skipUTF8BOM whether the file starts with a UTF-8 BOM that must be skipped
+	 * @return the text store or <code>null</code> if the file is not large, its encoding cannot be
+	 *         decoded lazily or it cannot be read
+	 */
+	PieceTableTextStore createLargeFileTextStore(File file, String encoding, boolean skipUTF8BOM) {
+		if (file == null || encoding == null || file.length() <= getLargeFileThreshold()) {
+			return null;
+		}
+
+		try {
+			Charset charset= Charset.forName(encoding);
+			if (!LargeFileCharSequence.isSupported(charset)) {
+				return null;
+			}
+			int start= skipUTF8BOM ? IContentDescription.BOM_UTF_8.length : 0;
+			return new PieceTableTextStore(LargeFileCharSequence.open(file.toPath(), charset, start));
+		} catch (IllegalArgumentException | IOException e) {
+			// read the file the regular way, which reports the problem if there is one
+			return null;
+		}
+	}
+
+	/**
+	 * Makes the given text store independent of the file it has been created from by replacing
+	 * its content with a copy of it. Must be called before the file is overwritten.
+	 * <p>
+	 * The copy is taken from the store itself rather than from its document: while a document
+	 * sends out the event of a batched change, it presents the content from before the batch,
+	 * whereas the store already holds the changes.
+	 * </p>
+	 *
+	 * @param textStore the text store created by
+	 *            {@link #createLargeFileTextStore(File, String, boolean)} or <code>null</code>
+	 */
+	static void detachLargeFileTextStore(PieceTableTextStore textStore) {
+		if (textStore != null) {
+			detachLargeFileTextStore(textStore, textStore.get(0, textStore.getLength()));
+		}
+	}
+
+	/**
+	 * Makes the given text store independent of the file it has been created from by replacing
+	 * its content with the given string. Must be called before the file is overwritten.
+	 *
+	 * @param textStore the text store created by
+	 *            {@link #createLargeFileTextStore(File, String, boolean)} or <code>null</code>
+	 * @param content the current content of the text store
+	 */
+	static void detachLargeFileTextStore(PieceTableTextStore textStore, String content) {
+		if (textStore != null) {
+			textStore.set(content);
+		}
+	}
+
+	/**
+	 * Returns the size in bytes above which files are loaded lazily.
+	 *
+	 * @return the large file threshold
+	 */
+	private long getLargeFileThreshold() {
+		IPreferencesService preferences= Platform.getPreferencesService();
+		if (preferences != null && preferences.getBoolean(WORKBENCH_PLUGIN_ID, LARGE_FILE_LIMITS_DEFAULT_ENABLED, false, null)) {
+			long limit= preferences.getLong(WORKBENCH_PLUGIN_ID, LARGE_FILE_LIMITS_DEFAULT_VALUE, 0, null);
+			if (limit > 0) {
+				return limit;
+			}
+		}
+		return Long.getLong(LARGE_FILE_THRESHOLD_PROPERTY, DEFAULT_LARGE_FILE_THRESHOLD).longValue();
 	}
 
 	/**
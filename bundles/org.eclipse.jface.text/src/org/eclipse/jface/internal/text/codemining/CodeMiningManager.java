@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -80,6 +80,13 @@ public class CodeMiningManager implements Runnable {
 	 */
 	private IProgressMonitor fMonitor;
 
+	/**
+	 * The stage which renders the code minings of the last update. It is created by this manager
+	 * and can be canceled without affecting the futures of the providers, which may be cached or
+	 * shared.
+	 */
+	private CompletableFuture<Void> fUpdate;
+
 	/**
 	 * Constructor of codemining manager with the given arguments.
 	 *
@@ -144,7 +151,7 @@ public class CodeMiningManager implements Runnable {
 		fMonitor= new CancellationExceptionMonitor();
 		IProgressMonitor monitor= fMonitor;
 		// Collect the code minings for the viewer
-		getCodeMinings(fViewer, fCodeMiningProviders, monitor).thenAccept(symbols -> {
+		fUpdate= getCodeMinings(fViewer, fCodeMiningProviders, monitor).thenAccept(symbols -> {
 			// check if request was canceled.
 			monitor.isCanceled();
 			// then group code minings by lines position
@@ -162,6 +169,12 @@ public class CodeMiningManager implements Runnable {
 		if (fMonitor != null) {
 			fMonitor.setCanceled(true);
 		}
+		// Ignore the result of the last update, the futures of the providers are left untouched
+		CompletableFuture<Void> update= fUpdate;
+		fUpdate= null;
+		if (update != null) {
+			update.cancel(false);
+		}
 	}
 
 	private static void logCodeMiningProviderException(Throwable e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2025 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +31,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -74,6 +76,15 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 
 	private final PopupVisibleTimer fPopupVisibleTimer= new PopupVisibleTimer();
 
+	/**
+	 * The number of proposals at the start of {@link #fComputedProposals}, not counting the
+	 * computing proposal, which are sorted already. The proposals after them have been added by the
+	 * processors which completed since.
+	 *
+	 * @since 3.29
+	 */
+	private int fSortedCount;
+
 	private static final class ComputingProposal implements ICompletionProposal, ICompletionProposalExtension {
 
 		private final int fOffset;
@@ -193,6 +204,7 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 		List<CompletableFuture<List<ICompletionProposal>>> computationFutures= buildCompletionFuturesOrJobs(offset);
 		toCancelFutures.addAll(computationFutures);
 		fComputedProposals= Collections.synchronizedList(new ArrayList<>());
+		fSortedCount= 0;
 		List<CompletableFuture<Void>> populateFutures= computationFutures.stream().map(future -> future.thenAccept(fComputedProposals::addAll)).collect(Collectors.toList());
 		toCancelFutures.addAll(populateFutures);
 		CompletableFuture<?> aggregatedPopulateFuture= CompletableFuture.allOf(populateFutures.toArray(new CompletableFuture[populateFutures.size()]));
@@ -233,8 +245,10 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 			}
 			ComputingProposal computingProposal= new ComputingProposal(offset, populateFutures.size());
 			fComputedProposals.add(0, computingProposal);
-			setProposals(fComputedProposals, false);
+			setSortedProposals(fComputedProposals);
 			AtomicInteger remaining= new AtomicInteger(populateFutures.size());
+			// processors completing while an update is pending are shown by that update
+			AtomicBoolean updatePending= new AtomicBoolean();
 			final List<ICompletionProposal> requestSpecificProposals= fComputedProposals; //fComputedProposals can be changed/reset later
 			populateFutures= populateFutures.stream().map(future -> future.thenRun(() -> {
 				computingProposal.setRemaining(remaining.decrementAndGet());
@@ -242,8 +256,9 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 					requestSpecificProposals.remove(computingProposal);
 				}
 				Control control= fContentAssistSubjectControlAdapter.getControl();
-				if (!control.isDisposed() && offset == fInvocationOffset) {
+				if (!control.isDisposed() && offset == fInvocationOffset && updatePending.compareAndSet(false, true)) {
 					control.getDisplay().asyncExec(() -> {
+						updatePending.set(false);
 						// Skip if offset has changed while runnable was scheduled
 						// nor when completion "session" was modified or canceled.
 						if (offset != fInvocationOffset || fComputedProposals != requestSpecificProposals) {
@@ -269,7 +284,7 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 									|| (!stillComputing && !fComputedProposals.isEmpty());
 
 							if ((autoActivated && hasProposals) || !autoActivated) {
-								setProposals(fComputedProposals, false);
+								setSortedProposals(fComputedProposals);
 								displayProposals(true);
 							} else if (isValid(fProposalShell) && (!fProposalShell.isVisible() || !hasProposals) && remaining.get() == 0) {
 								hide(); // we only tear down if the popup is not visible or it is visible but has no proposals.
@@ -285,6 +300,78 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 		displayProposals(!autoActivated);
 	}
 
+	/**
+	 * Sets the given computed proposals, which may still be augmented by running processors. The
+	 * proposals added since the last call are sorted and merged into the already sorted ones, so
+	 * that the whole list is not sorted again whenever another processor completes. The computing
+	 * proposal stays at the top.
+	 *
+	 * @param proposals the computed proposals, a synchronized list
+	 * @since 3.29
+	 */
+	private void setSortedProposals(List<ICompletionProposal> proposals) {
+		if (fSorter != null) {
+			synchronized (proposals) {
+				int start= !proposals.isEmpty() && proposals.get(0) instanceof ComputingProposal ? 1 : 0;
+				mergeSorted(proposals, start, start + fSortedCount, fSorter::compare);
+				fSortedCount= proposals.size() - start;
+			}
+			fIsInitialSort= true;
+		}
+		setProposals(proposals, false);
+		fIsInitialSort= false;
+	}
+
+	/**
+	 * Sorts the proposals at the end of the given list and merges them into the sorted proposals
+	 * before them. The position of every added proposal is found by a binary search, so only a
+	 * logarithmic number of comparisons is needed for each of them. Like a stable sort of the whole
+	 * range, proposals which compare equal keep their order.
+	 *
+	 * @param proposals the proposals
+	 * @param start the index of the first sorted proposal
+	 * @param sortedEnd the index after the last sorted proposal
+	 * @param comparator the comparator
+	 * @since 3.29
+	 */
+	static void mergeSorted(List<ICompletionProposal> proposals, int start, int sortedEnd, Comparator<? super ICompletionProposal> comparator) {
+		int size= proposals.size();
+		if (sortedEnd >= size) {
+			return;
+		}
+
+		List<ICompletionProposal> added= new ArrayList<>(proposals.subList(sortedEnd, size));
+		added.sort(comparator);
+
+		ICompletionProposal[] merged= new ICompletionProposal[size - start];
+		int index= 0;
+		int next= start;
+		for (ICompletionProposal proposal : added) {
+			// insert after the sorted proposals which are not greater
+			int low= next;
+			int high= sortedEnd;
+			while (low < high) {
+				int middle= (low + high) >>> 1;
+				if (comparator.compare(proposals.get(middle), proposal) <= 0) {
+					low= middle + 1;
+				} else {
+					high= middle;
+				}
+			}
+			while (next < low) {
+				merged[index++]= proposals.get(next++);
+			}
+			merged[index++]= proposal;
+		}
+		while (next < sortedEnd) {
+			merged[index++]= proposals.get(next++);
+		}
+
+		for (int i= 0; i < merged.length; i++) {
+			proposals.set(start + i, merged[i]);
+		}
+	}
+
 	@Override
 	void displayProposals(boolean showPopup) {
 		if (showPopup) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -287,6 +287,24 @@ class CompletionProposalPopup implements IContentAssistListener {
 		}
 	}
 
+	/**
+	 * The proposals which have been valid for a prefix typed since the proposals have been
+	 * computed.
+	 *
+	 * @since 3.29
+	 */
+	private static final class FilterState {
+		/** The text between the invocation offset and the filter offset. */
+		final String fPrefix;
+		/** The proposals which have been valid for the prefix. */
+		final List<ICompletionProposal> fProposals;
+
+		FilterState(String prefix, List<ICompletionProposal> proposals) {
+			fPrefix= prefix;
+			fProposals= proposals;
+		}
+	}
+
 
 	/** The associated text viewer. */
 	ITextViewer fViewer;
@@ -353,6 +371,26 @@ class CompletionProposalPopup implements IContentAssistListener {
 	 * @since 3.1
 	 */
 	private boolean fIsFilteredSubset;
+	/**
+	 * The filter results for the prefixes typed since the proposals have been computed, each
+	 * prefix extending the one before. Allows to filter from the proposals which have been valid
+	 * for the remaining prefix instead of from all computed proposals when characters are deleted.
+	 *
+	 * @since 3.29
+	 */
+	private final List<FilterState> fFilterHistory= new ArrayList<>();
+	/**
+	 * The computed proposals {@link #fFilterHistory} has been built from.
+	 *
+	 * @since 3.29
+	 */
+	private List<ICompletionProposal> fFilterHistoryBase;
+	/**
+	 * The number of computed proposals when {@link #fFilterHistory} has been started.
+	 *
+	 * @since 3.29
+	 */
+	private int fFilterHistoryBaseSize;
 	/**
 	 * The filter runnable.
 	 *
@@ -1164,6 +1202,8 @@ class CompletionProposalPopup implements IContentAssistListener {
 
 		fFilteredProposals= null;
 		fComputedProposals= null;
+		fFilterHistory.clear();
+		fFilterHistoryBase= null;
 
 		fContentAssistant.possibleCompletionsClosed();
 	}
@@ -1588,9 +1628,18 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return fComputedProposals;
 		}
 
+		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
+		String prefix= getFilterPrefix(document, offset);
+		if (fFilterHistoryBase != fComputedProposals || fComputedProposals == null || fFilterHistoryBaseSize != fComputedProposals.size()) {
+			// the proposals have been recomputed since
+			fFilterHistory.clear();
+			fFilterHistoryBase= fComputedProposals;
+			fFilterHistoryBaseSize= fComputedProposals == null ? 0 : fComputedProposals.size();
+		}
+
 		List<ICompletionProposal> proposals;
 		if (offset < fFilterOffset) {
-			proposals= fComputedProposals;
+			proposals= getFilteredProposals(prefix);
 			fIsFilteredSubset= false;
 		} else {
 			proposals= fFilteredProposals;
@@ -1602,7 +1651,6 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return null;
 		}
 
-		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
 		int length= proposals.size();
 		List<ICompletionProposal> filtered= new ArrayList<>(length);
 		for (ICompletionProposal proposal : proposals) {
@@ -1635,9 +1683,74 @@ class CompletionProposalPopup implements IContentAssistListener {
 			}
 		}
 
+		if (prefix != null) {
+			addFilterState(prefix, filtered);
+		}
 		return filtered;
 	}
 
+	/**
+	 * Returns the text typed since the proposals have been computed.
+	 *
+	 * @param document the document
+	 * @param offset the offset up to which the proposals are filtered
+	 * @return the text between the invocation offset and the given offset, or <code>null</code>
+	 *         if not available
+	 * @since 3.29
+	 */
+	private String getFilterPrefix(IDocument document, int offset) {
+		if (document == null) {
+			return null;
+		}
+		try {
+			return document.get(fInvocationOffset, offset - fInvocationOffset);
+		} catch (BadLocationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the proposals to filter for the given prefix, which is shorter than the one the
+	 * displayed proposals have been filtered for. These are the proposals which have been valid for
+	 * the longest prefix of it that has been filtered for before, as the proposals which have not
+	 * been valid for a prefix are not valid if more characters are typed either.
+	 *
+	 * @param prefix the text typed since the proposals have been computed, may be
+	 *            <code>null</code>
+	 * @return the proposals to filter
+	 * @since 3.29
+	 */
+	private List<ICompletionProposal> getFilteredProposals(String prefix) {
+		if (prefix != null) {
+			for (int i= fFilterHistory.size() - 1; i >= 0; i--) {
+				FilterState state= fFilterHistory.get(i);
+				if (prefix.startsWith(state.fPrefix)) {
+					return state.fProposals;
+				}
+			}
+		}
+		return fComputedProposals;
+	}
+
+	/**
+	 * Remembers the proposals which are valid for the given prefix. The filter results for prefixes
+	 * which the given one does not extend are discarded.
+	 *
+	 * @param prefix the text typed since the proposals have been computed
+	 * @param proposals the proposals which are valid for the prefix
+	 * @since 3.29
+	 */
+	private void addFilterState(String prefix, List<ICompletionProposal> proposals) {
+		for (int i= fFilterHistory.size() - 1; i >= 0; i--) {
+			String previous= fFilterHistory.get(i).fPrefix;
+			if (previous.length() < prefix.length() && prefix.startsWith(previous)) {
+				break;
+			}
+			fFilterHistory.remove(i);
+		}
+		fFilterHistory.add(new FilterState(prefix, proposals));
+	}
+
 	/**
 	 * Requests the proposal shell to take focus.
 	 *
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.presentation;
+
+import java.util.Arrays;
+
+import org.eclipse.jface.text.AbstractDocument;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.ITextStore;
+
+
+/**
+ * An immutable copy of the content of a document, used to compute the presentation of the
+ * document in a background thread. The line information of the snapshot is computed lazily, so
+ * taking a snapshot costs a copy of the document's text.
+ * <p>
+ * The snapshot has no partitioning and ignores all modifications. As it is never modified, it may
+ * be read from any thread.
+ * </p>
+ *
+ * @since 3.29
+ */
+final class DocumentSnapshot extends AbstractDocument {
+
+	/** A read-only text store backed by a string. */
+	private static final class StringTextStore implements ITextStore {
+
+		private final String fContent;
+
+		StringTextStore(String content) {
+			fContent= content;
+		}
+
+		@Override
+		public char get(int offset) {
+			return fContent.charAt(offset);
+		}
+
+		@Override
+		public String get(int offset, int length) {
+			return fContent.substring(offset, offset + length);
+		}
+
+		@Override
+		public int getLength() {
+			return fContent.length();
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			// not allowed
+		}
+
+		@Override
+		public void set(String text) {
+			// not allowed
+		}
+	}
+
+	/**
+	 * Creates a snapshot of the current content of the given document.
+	 *
+	 * @param document the document, must be accessed in the thread which modifies it
+	 */
+	DocumentSnapshot(IDocument document) {
+		String content= document.get();
+		String[] lineDelimiters= document.getLegalLineDelimiters();
+		setTextStore(new StringTextStore(content));
+
+		boolean hasDefaultDelims= Arrays.equals(lineDelimiters, DefaultLineTracker.DELIMITERS);
+		ILineTracker tracker= hasDefaultDelims ? new DefaultLineTracker() : new ConfigurableLineTracker(lineDelimiters);
+		setLineTracker(tracker);
+		getTracker().set(content);
+		completeInitialization();
+	}
+
+	@Override
+	public void replace(int pos, int length, String text) {
+		// not allowed
+	}
+
+	@Override
+	public void replace(int pos, int length, String text, long modificationStamp) {
+		// not allowed
+	}
+
+	@Override
+	public void set(String text) {
+		// not allowed
+	}
+
+	@Override
+	public void set(String text, long modificationStamp) {
+		// not allowed
+	}
+}
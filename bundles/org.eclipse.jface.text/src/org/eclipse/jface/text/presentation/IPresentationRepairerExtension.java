@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.presentation;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextPresentation;
+
+
+/**
+ * Extension interface for {@link IPresentationRepairer}. Adds the ability to
+ * repair the presentation based on a given document instead of the working
+ * document of the repairer. This allows a presentation reconciler to compute
+ * the presentation of an immutable snapshot of the document in a background
+ * thread, see
+ * {@link PresentationReconciler#setBackgroundRepairEnabled(boolean)}.
+ *
+ * @since 3.29
+ */
+public interface IPresentationRepairerExtension {
+
+	/**
+	 * Fills the given presentation with the style ranges which when applied to the
+	 * presentation reconciler's text viewer repair the presentation damage described by
+	 * the given region of the given document.
+	 * <p>
+	 * This method may be called in a thread other than the UI thread, but it is never
+	 * called concurrently with itself or with
+	 * {@link IPresentationRepairer#createPresentation(TextPresentation, ITypedRegion)}.
+	 * Implementers must only read the given document and must not access the working
+	 * document set with {@link IPresentationRepairer#setDocument(IDocument)}.
+	 * </p>
+	 *
+	 * @param presentation the text presentation to be filled by this repairer
+	 * @param damage the damage to be repaired
+	 * @param document the document whose content is used to repair the damage, the
+	 *            working document or an immutable snapshot of it
+	 */
+	void createPresentation(TextPresentation presentation, ITypedRegion damage, IDocument document);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,13 +14,22 @@
 
 package org.eclipse.jface.text.presentation;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.ControlEvent;
+import org.eclipse.swt.events.ControlListener;
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
@@ -29,6 +38,7 @@ import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IDocumentPartitioningListener;
 import org.eclipse.jface.text.IDocumentPartitioningListenerExtension;
@@ -40,6 +50,8 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
@@ -52,9 +64,24 @@ import org.eclipse.jface.text.TypedPosition;
  * Standard implementation of <code>IPresentationReconciler</code>. This
  * implementation assumes that the tasks performed by its presentation damagers
  * and repairers are lightweight and of low cost. This presentation reconciler
- * runs in the UI thread and always repairs the complete damage caused by a
- * document change rather than just the portion overlapping with the viewer's
- * viewport.
+ * runs in the UI thread and by default always repairs the complete damage
+ * caused by a document change rather than just the portion overlapping with the
+ * viewer's viewport.
+ * <p>
+ * For large documents, clients may enable the viewport repair mode with
+ * {@link #setViewportRepairEnabled(boolean)}. In this mode only the damage in the
+ * lines visible in the viewer and in a margin around them is repaired
+ * immediately. The remaining damage is remembered and repaired as soon as it
+ * comes close to the viewport, e.g. when the viewer is scrolled or resized. As
+ * the viewer keeps the presentation of repaired text, scrolling back to a
+ * repaired range does not compute its presentation again.
+ * </p>
+ * <p>
+ * Clients whose presentation repairers are expensive may enable the background
+ * repair mode with {@link #setBackgroundRepairEnabled(boolean)}. In this mode the
+ * presentation is computed in a background job based on an immutable snapshot of
+ * the document and only applied if the document has not been modified meanwhile.
+ * </p>
  * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
@@ -63,6 +90,86 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 	/** Prefix of the name of the position category for tracking damage regions. */
 	protected final static String TRACKED_PARTITION= "__reconciler_tracked_partition"; //$NON-NLS-1$
+	/**
+	 * Prefix of the name of the position category for tracking the damage which has not been
+	 * repaired yet.
+	 *
+	 * @since 3.29
+	 */
+	private final static String UNREPAIRED_DAMAGE= "__reconciler_unrepaired_damage"; //$NON-NLS-1$
+	/**
+	 * The minimal number of lines above and below the viewport which are repaired in the viewport
+	 * repair mode.
+	 *
+	 * @since 3.29
+	 */
+	private final static int MINIMAL_VIEWPORT_MARGIN= 50;
+	/**
+	 * The number of characters after which the damage is split into separately repaired chunks in
+	 * the background repair mode.
+	 *
+	 * @since 3.29
+	 */
+	private final static int BACKGROUND_REPAIR_CHUNK_SIZE= 32 * 1024;
+	/**
+	 * Tells for each repairer class whether it repairs snapshots the same way as its working
+	 * document. That is not the case if the class overrides
+	 * {@link IPresentationRepairer#createPresentation(TextPresentation, ITypedRegion)} below the
+	 * class implementing
+	 * {@link IPresentationRepairerExtension#createPresentation(TextPresentation, ITypedRegion, IDocument)},
+	 * like a subclass of {@link org.eclipse.jface.text.rules.DefaultDamagerRepairer} written
+	 * before the extension existed.
+	 *
+	 * @since 3.29
+	 */
+	private final static ClassValue<Boolean> REPAIRS_SNAPSHOTS= new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				Method method= type.getMethod("createPresentation", TextPresentation.class, ITypedRegion.class); //$NON-NLS-1$
+				Method extensionMethod= type.getMethod("createPresentation", TextPresentation.class, ITypedRegion.class, IDocument.class); //$NON-NLS-1$
+				Class<?> declaringClass= method.getDeclaringClass();
+				Class<?> extensionDeclaringClass= extensionMethod.getDeclaringClass();
+				return Boolean.valueOf(declaringClass == extensionDeclaringClass || !extensionDeclaringClass.isAssignableFrom(declaringClass));
+			} catch (NoSuchMethodException | SecurityException e) {
+				return Boolean.FALSE;
+			}
+		}
+	};
+
+
+	/**
+	 * A request to repair the presentation of some regions of a document in the background.
+	 *
+	 * @since 3.29
+	 */
+	private static final class BackgroundRepair {
+
+		/** The document whose presentation is repaired. */
+		final IDocument fDocument;
+		/** The modification stamp of the document when the snapshot was taken. */
+		final long fModificationStamp;
+		/** The immutable snapshot of the document. */
+		final IDocument fSnapshot;
+		/** The display in which the computed presentation is applied. */
+		final Display fDisplay;
+		/** The repairers by content type. */
+		final Map<String, IPresentationRepairer> fRepairers;
+		/** The regions to repair in the order in which they are repaired. */
+		final List<IRegion> fRegions;
+		/** The partitioning of each region to repair. */
+		final List<ITypedRegion[]> fPartitionings;
+
+		BackgroundRepair(IDocument document, IDocument snapshot, Display display, Map<String, IPresentationRepairer> repairers, List<IRegion> regions, List<ITypedRegion[]> partitionings) {
+			fDocument= document;
+			fModificationStamp= ((IDocumentExtension4) document).getModificationStamp();
+			fSnapshot= snapshot;
+			fDisplay= display;
+			fRepairers= repairers;
+			fRegions= regions;
+			fPartitionings= partitionings;
+		}
+	}
 
 
 	/**
@@ -70,7 +177,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	class InternalListener implements
 			ITextInputListener, IDocumentListener, ITextListener,
-			IDocumentPartitioningListener, IDocumentPartitioningListenerExtension, IDocumentPartitioningListenerExtension2 {
+			IDocumentPartitioningListener, IDocumentPartitioningListenerExtension, IDocumentPartitioningListenerExtension2,
+			IViewportListener, ControlListener {
 
 		/** Set to <code>true</code> if between a document about to be changed and a changed event. */
 		private boolean fDocumentChanging= false;
@@ -83,6 +191,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		@Override
 		public void inputDocumentAboutToBeChanged(IDocument oldDocument, IDocument newDocument) {
 			if (oldDocument != null) {
+				cancelBackgroundRepair();
 				try {
 
 					fViewer.removeTextListener(this);
@@ -92,6 +201,9 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 					oldDocument.removePositionUpdater(fPositionUpdater);
 					oldDocument.removePositionCategory(fPositionCategory);
 
+					oldDocument.removePositionUpdater(fUnrepairedDamageUpdater);
+					oldDocument.removePositionCategory(fUnrepairedDamageCategory);
+
 				} catch (BadPositionCategoryException x) {
 					// should not happened for former input documents;
 				}
@@ -112,6 +224,9 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 				newDocument.addPositionCategory(fPositionCategory);
 				newDocument.addPositionUpdater(fPositionUpdater);
 
+				newDocument.addPositionCategory(fUnrepairedDamageCategory);
+				newDocument.addPositionUpdater(fUnrepairedDamageUpdater);
+
 				newDocument.addDocumentPartitioningListener(this);
 				newDocument.addDocumentListener(this);
 				fViewer.addTextListener(this);
@@ -144,9 +259,25 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		@Override
 		public void documentPartitioningChanged(DocumentPartitioningChangedEvent event) {
 			IRegion changedRegion= event.getChangedRegion(getDocumentPartitioning());
-			if (changedRegion != null) {
-				documentPartitioningChanged(event.getDocument(), changedRegion);
+			if (changedRegion == null) {
+				return;
+			}
+
+			StyledText textWidget= fViewer.getTextWidget();
+			if (textWidget != null && !textWidget.isDisposed() && textWidget.getDisplay().getThread() != Thread.currentThread()) {
+				// partitioners may report partitioning done in the background
+				IDocument document= event.getDocument();
+				textWidget.getDisplay().asyncExec(() -> {
+					if (!textWidget.isDisposed() && fViewer.getDocument() == document) {
+						int end= Math.min(changedRegion.getOffset() + changedRegion.getLength(), document.getLength());
+						int offset= Math.min(changedRegion.getOffset(), end);
+						documentPartitioningChanged(document, new Region(offset, end - offset));
+					}
+				});
+				return;
 			}
+
+			documentPartitioningChanged(event.getDocument(), changedRegion);
 		}
 
 		@Override
@@ -222,6 +353,37 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 			fChangedDocumentPartitions= null;
 		}
 
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			repairViewport();
+		}
+
+		@Override
+		public void controlResized(ControlEvent e) {
+			// the viewport listeners are not informed about a resized viewer
+			repairViewport();
+		}
+
+		@Override
+		public void controlMoved(ControlEvent e) {
+		}
+
+		/**
+		 * Repairs the unrepaired damage close to the viewport of the viewer.
+		 *
+		 * @since 3.29
+		 */
+		private void repairViewport() {
+			if (!fViewportRepairEnabled || fDocumentChanging || !fCachedRedrawState) {
+				return;
+			}
+
+			IDocument document= fViewer.getDocument();
+			if (document != null) {
+				repairUnrepairedDamage(document, getViewportRegion(document));
+			}
+		}
+
 		/**
 		 * Translates the given text event into the corresponding range of the viewer's document.
 		 *
@@ -268,6 +430,36 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * The name of the position category to track the damage which has not been repaired yet.
+	 * @since 3.29
+	 */
+	private final String fUnrepairedDamageCategory;
+	/**
+	 * The position updater for the unrepaired damage.
+	 * @since 3.29
+	 */
+	private final IPositionUpdater fUnrepairedDamageUpdater;
+	/**
+	 * Tells whether only the damage close to the viewport is repaired.
+	 * @since 3.29
+	 */
+	private boolean fViewportRepairEnabled= false;
+	/**
+	 * Tells whether the presentation is computed in a background job.
+	 * @since 3.29
+	 */
+	private boolean fBackgroundRepairEnabled= false;
+	/**
+	 * The job computing the presentation in the background, <code>null</code> until needed.
+	 * @since 3.29
+	 */
+	private Job fBackgroundRepairJob;
+	/**
+	 * The latest background repair request or <code>null</code> if there is none.
+	 * @since 3.29
+	 */
+	private volatile BackgroundRepair fBackgroundRepair;
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -279,6 +471,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= IDocumentExtension3.DEFAULT_PARTITIONING;
 		fPositionCategory= TRACKED_PARTITION + hashCode();
 		fPositionUpdater= new DefaultPositionUpdater(fPositionCategory);
+		fUnrepairedDamageCategory= UNREPAIRED_DAMAGE + hashCode();
+		fUnrepairedDamageUpdater= new DefaultPositionUpdater(fUnrepairedDamageCategory);
 	}
 
 	/**
@@ -292,6 +486,93 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= partitioning;
 	}
 
+	/**
+	 * Enables or disables the viewport repair mode. If enabled, this presentation reconciler
+	 * immediately repairs only the damage in the lines which are visible in the viewer and in a
+	 * margin of about a page above and below them. The rest of the damage is repaired when it comes
+	 * close to the viewport because the viewer is scrolled or resized, or because a document
+	 * change moves it there. When the mode is disabled, any damage which has not been repaired yet
+	 * is repaired immediately.
+	 * <p>
+	 * The viewport repair mode avoids computing the presentation of the complete document when it
+	 * is set into the viewer, which can take a long time for large documents. It requires the
+	 * presentation repairers to be able to repair regions starting at a line start, as the damage
+	 * is split at line boundaries. By default the mode is disabled.
+	 * </p>
+	 *
+	 * @param enabled <code>true</code> to repair only the damage close to the viewport
+	 * @since 3.29
+	 */
+	public void setViewportRepairEnabled(boolean enabled) {
+		fViewportRepairEnabled= enabled;
+
+		if (!enabled && fViewer != null) {
+			IDocument document= fViewer.getDocument();
+			if (document != null) {
+				repairUnrepairedDamage(document, null);
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the viewport repair mode is enabled.
+	 *
+	 * @return <code>true</code> if only the damage close to the viewport is repaired
+	 * @see #setViewportRepairEnabled(boolean)
+	 * @since 3.29
+	 */
+	public boolean isViewportRepairEnabled() {
+		return fViewportRepairEnabled;
+	}
+
+	/**
+	 * Enables or disables the background repair mode. If enabled, this presentation reconciler
+	 * computes the presentation in a background job based on an immutable snapshot of the
+	 * document, so expensive presentation repairers do not block the UI thread. The computed
+	 * presentation is applied in the UI thread only if the document has not been modified since
+	 * the snapshot was taken. Every modification cancels the computation in progress and starts a
+	 * new one. Until then, the damaged text keeps its previous presentation. When the mode is
+	 * disabled, any damage which has not been repaired yet is repaired immediately.
+	 * <p>
+	 * The damage is split at line boundaries into chunks, and the chunks close to the viewport are
+	 * repaired first. The presentation is repaired in the background only if all registered
+	 * presentation repairers implement {@link IPresentationRepairerExtension} and do not override
+	 * {@link IPresentationRepairer#createPresentation(TextPresentation, ITypedRegion)} below the
+	 * class implementing the extension, if the document implements {@link IDocumentExtension4}
+	 * and if the viewer has a text widget. Otherwise it is repaired in the UI thread, after the
+	 * background repair in progress has stopped. Subclasses which override
+	 * {@link #createPresentation(IRegion, IDocument)} should not enable the background repair
+	 * mode. By default the mode is disabled.
+	 * </p>
+	 *
+	 * @param enabled <code>true</code> to compute the presentation in the background
+	 * @since 3.29
+	 */
+	public void setBackgroundRepairEnabled(boolean enabled) {
+		fBackgroundRepairEnabled= enabled;
+
+		if (!enabled) {
+			cancelBackgroundRepair();
+			if (fViewer != null) {
+				IDocument document= fViewer.getDocument();
+				if (document != null) {
+					repairUnrepairedDamage(document, fViewportRepairEnabled ? getViewportRegion(document) : null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the background repair mode is enabled.
+	 *
+	 * @return <code>true</code> if the presentation is computed in the background
+	 * @see #setBackgroundRepairEnabled(boolean)
+	 * @since 3.29
+	 */
+	public boolean isBackgroundRepairEnabled() {
+		return fBackgroundRepairEnabled;
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.presentation.IPresentationReconcilerExtension#geDocumenttPartitioning()
 	 * @since 3.0
@@ -353,6 +634,11 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		fViewer= viewer;
 		fViewer.addTextInputListener(fInternalListener);
+		fViewer.addViewportListener(fInternalListener);
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget != null) {
+			textWidget.addControlListener(fInternalListener);
+		}
 
 		IDocument document= viewer.getDocument();
 		if (document != null) {
@@ -363,6 +649,11 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	@Override
 	public void uninstall() {
 		fViewer.removeTextInputListener(fInternalListener);
+		fViewer.removeViewportListener(fInternalListener);
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget != null && !textWidget.isDisposed()) {
+			textWidget.removeControlListener(fInternalListener);
+		}
 
 		// Ensure we uninstall all listeners
 		fInternalListener.inputDocumentAboutToBeChanged(fViewer.getDocument(), null);
@@ -563,6 +854,12 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
+			if (fViewportRepairEnabled || fBackgroundRepairEnabled) {
+				addUnrepairedDamage(damage, document);
+				repairUnrepairedDamage(document, fViewportRepairEnabled ? getViewportRegion(document) : null);
+				return;
+			}
+
 			TextPresentation p= createPresentation(damage, document);
 			if (p != null) {
 				applyTextRegionCollection(p);
@@ -570,6 +867,335 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		}
 	}
 
+	/**
+	 * Remembers the given damage as not repaired. Overlapping and adjacent unrepaired damage is
+	 * merged.
+	 *
+	 * @param damage the damage
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.29
+	 */
+	private void addUnrepairedDamage(IRegion damage, IDocument document) {
+		try {
+			int start= damage.getOffset();
+			int end= start + damage.getLength();
+			for (Position position : document.getPositions(fUnrepairedDamageCategory)) {
+				int positionEnd= position.getOffset() + position.getLength();
+				if (position.isDeleted() || position.getLength() == 0) {
+					document.removePosition(fUnrepairedDamageCategory, position);
+				} else if (position.getOffset() <= end && start <= positionEnd) {
+					start= Math.min(start, position.getOffset());
+					end= Math.max(end, positionEnd);
+					document.removePosition(fUnrepairedDamageCategory, position);
+				}
+			}
+			document.addPosition(fUnrepairedDamageCategory, new Position(start, end - start));
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// should not happen for the input document
+		}
+	}
+
+	/**
+	 * Repairs the unrepaired damage inside the given region.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @param region the region to repair or <code>null</code> to repair all unrepaired damage
+	 * @since 3.29
+	 */
+	private void repairUnrepairedDamage(IDocument document, IRegion region) {
+		List<IRegion> damage= getUnrepairedDamage(document, region);
+		if (damage.isEmpty()) {
+			return;
+		}
+
+		if (fBackgroundRepairEnabled && canRepairInBackground(document)) {
+			scheduleBackgroundRepair(document, damage);
+			return;
+		}
+
+		// the repairers must not be used by the job and the UI thread at the same time
+		cancelBackgroundRepair();
+		for (IRegion r : damage) {
+			removeUnrepairedDamage(document, r);
+			TextPresentation p= createPresentation(r, document);
+			if (p != null) {
+				applyTextRegionCollection(p);
+			}
+		}
+	}
+
+	/**
+	 * Returns the unrepaired damage inside the given region.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @param region the region or <code>null</code> for the whole document
+	 * @return the unrepaired damage ordered by offset
+	 * @since 3.29
+	 */
+	private List<IRegion> getUnrepairedDamage(IDocument document, IRegion region) {
+		List<IRegion> damage= new ArrayList<>();
+		try {
+			int regionStart= region == null ? 0 : region.getOffset();
+			int regionEnd= region == null ? document.getLength() : region.getOffset() + region.getLength();
+			for (Position position : document.getPositions(fUnrepairedDamageCategory)) {
+				int positionEnd= Math.min(position.getOffset() + position.getLength(), document.getLength());
+				if (position.isDeleted() || position.getOffset() >= positionEnd) {
+					document.removePosition(fUnrepairedDamageCategory, position);
+					continue;
+				}
+
+				int start= Math.max(position.getOffset(), regionStart);
+				int end= Math.min(positionEnd, regionEnd);
+				if (start < end) {
+					damage.add(new Region(start, end - start));
+				}
+			}
+		} catch (BadPositionCategoryException x) {
+			// should not happen for the input document
+		}
+		return damage;
+	}
+
+	/**
+	 * Forgets the unrepaired damage inside the given region.
+	 *
+	 * @param document the document whose presentation is repaired
+	 * @param region the repaired region
+	 * @since 3.29
+	 */
+	private void removeUnrepairedDamage(IDocument document, IRegion region) {
+		try {
+			int start= region.getOffset();
+			int end= start + region.getLength();
+			for (Position position : document.getPositions(fUnrepairedDamageCategory)) {
+				int positionEnd= position.getOffset() + position.getLength();
+				if (position.getOffset() < end && start < positionEnd) {
+					document.removePosition(fUnrepairedDamageCategory, position);
+					if (position.getOffset() < start) {
+						document.addPosition(fUnrepairedDamageCategory, new Position(position.getOffset(), start - position.getOffset()));
+					}
+					if (end < positionEnd) {
+						document.addPosition(fUnrepairedDamageCategory, new Position(end, positionEnd - end));
+					}
+				}
+			}
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// should not happen for the input document
+		}
+	}
+
+	/**
+	 * Tells whether the presentation of the given document can be repaired in the background.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @return <code>true</code> if the presentation can be computed in a background job
+	 * @since 3.29
+	 */
+	private boolean canRepairInBackground(IDocument document) {
+		if (!(document instanceof IDocumentExtension4) || fRepairers == null || fRepairers.isEmpty()) {
+			return false;
+		}
+
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed()) {
+			return false;
+		}
+
+		for (IPresentationRepairer repairer : fRepairers.values()) {
+			if (!(repairer instanceof IPresentationRepairerExtension) || !REPAIRS_SNAPSHOTS.get(repairer.getClass()).booleanValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Takes a snapshot of the given document and schedules the background job to repair the given
+	 * damage based on the snapshot. The repair in progress, if any, is canceled.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @param damage the damage to repair, ordered by offset
+	 * @since 3.29
+	 */
+	private void scheduleBackgroundRepair(IDocument document, List<IRegion> damage) {
+		List<IRegion> regions= new ArrayList<>();
+		List<ITypedRegion[]> partitionings= new ArrayList<>();
+		try {
+			if (!fViewportRepairEnabled) {
+				damage= prioritizeViewport(damage, getViewportRegion(document));
+			}
+			for (IRegion region : damage) {
+				int start= region.getOffset();
+				int end= start + region.getLength();
+				while (start < end) {
+					int chunkEnd= end;
+					if (end - start > BACKGROUND_REPAIR_CHUNK_SIZE) {
+						int line= document.getLineOfOffset(start + BACKGROUND_REPAIR_CHUNK_SIZE);
+						chunkEnd= document.getLineOffset(line);
+						if (chunkEnd <= start) {
+							chunkEnd= Math.min(chunkEnd + document.getLineLength(line), end);
+						}
+					}
+					regions.add(new Region(start, chunkEnd - start));
+					partitionings.add(TextUtilities.computePartitioning(document, getDocumentPartitioning(), start, chunkEnd - start, false));
+					start= chunkEnd;
+				}
+			}
+		} catch (BadLocationException x) {
+			return;
+		}
+
+		// reuse the snapshot of the previous request if the document has not been modified since
+		IDocument snapshot;
+		BackgroundRepair previous= fBackgroundRepair;
+		if (previous != null && previous.fDocument == document && previous.fModificationStamp == ((IDocumentExtension4) document).getModificationStamp()) {
+			snapshot= previous.fSnapshot;
+		} else {
+			snapshot= new DocumentSnapshot(document);
+		}
+
+		Display display= fViewer.getTextWidget().getDisplay();
+		fBackgroundRepair= new BackgroundRepair(document, snapshot, display, new HashMap<>(fRepairers), regions, partitionings);
+
+		if (fBackgroundRepairJob == null) {
+			fBackgroundRepairJob= Job.createSystem("Presentation repair", this::runBackgroundRepair); //$NON-NLS-1$
+			fBackgroundRepairJob.setPriority(Job.INTERACTIVE);
+		}
+		fBackgroundRepairJob.cancel();
+		fBackgroundRepairJob.schedule();
+	}
+
+	/**
+	 * Orders the given damage such that the damage inside the viewport region is repaired first.
+	 *
+	 * @param damage the damage ordered by offset
+	 * @param viewport the region around the viewport
+	 * @return the damage split at the bounds of the viewport region, starting with the damage
+	 *         inside of it
+	 * @since 3.29
+	 */
+	private static List<IRegion> prioritizeViewport(List<IRegion> damage, IRegion viewport) {
+		int viewportStart= viewport.getOffset();
+		int viewportEnd= viewportStart + viewport.getLength();
+		List<IRegion> inside= new ArrayList<>();
+		List<IRegion> outside= new ArrayList<>();
+		for (IRegion region : damage) {
+			int start= region.getOffset();
+			int end= start + region.getLength();
+			if (start < viewportStart) {
+				outside.add(new Region(start, Math.min(end, viewportStart) - start));
+			}
+			if (start < viewportEnd && viewportStart < end) {
+				int insideStart= Math.max(start, viewportStart);
+				inside.add(new Region(insideStart, Math.min(end, viewportEnd) - insideStart));
+			}
+			if (viewportEnd < end) {
+				int outsideStart= Math.max(start, viewportEnd);
+				outside.add(new Region(outsideStart, end - outsideStart));
+			}
+		}
+		inside.addAll(outside);
+		return inside;
+	}
+
+	/**
+	 * Computes the presentation for the latest background repair request. Runs in the background
+	 * job and stops as soon as the job is canceled. The presentation of each region is applied in
+	 * the UI thread.
+	 *
+	 * @param monitor the progress monitor of the job
+	 * @since 3.29
+	 */
+	private void runBackgroundRepair(IProgressMonitor monitor) {
+		BackgroundRepair repair= fBackgroundRepair;
+		if (repair == null) {
+			return;
+		}
+
+		for (int i= 0; i < repair.fRegions.size(); i++) {
+			if (monitor.isCanceled() || repair.fDisplay.isDisposed()) {
+				return;
+			}
+
+			IRegion region= repair.fRegions.get(i);
+			TextPresentation presentation= new TextPresentation(region, 1000);
+			for (ITypedRegion r : repair.fPartitionings.get(i)) {
+				IPresentationRepairer repairer= repair.fRepairers.get(r.getType());
+				if (repairer != null) {
+					((IPresentationRepairerExtension) repairer).createPresentation(presentation, r, repair.fSnapshot);
+				}
+			}
+
+			repair.fDisplay.asyncExec(() -> applyBackgroundRepair(repair, region, presentation));
+		}
+	}
+
+	/**
+	 * Applies the presentation computed in the background if the document has not been modified
+	 * since the snapshot was taken.
+	 *
+	 * @param repair the background repair request
+	 * @param region the repaired region
+	 * @param presentation the presentation of the region
+	 * @since 3.29
+	 */
+	private void applyBackgroundRepair(BackgroundRepair repair, IRegion region, TextPresentation presentation) {
+		IDocument document= repair.fDocument;
+		if (fBackgroundRepair == null || fViewer.getDocument() != document || ((IDocumentExtension4) document).getModificationStamp() != repair.fModificationStamp) {
+			return;
+		}
+
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget != null && !textWidget.isDisposed()) {
+			removeUnrepairedDamage(document, region);
+			applyTextRegionCollection(presentation);
+		}
+	}
+
+	/**
+	 * Cancels the background repair in progress and drops the presentation computed so far. Waits
+	 * until the job has stopped using the presentation repairers, so they can be used in the UI
+	 * thread again. The job stops after the chunk it is working on.
+	 *
+	 * @since 3.29
+	 */
+	private void cancelBackgroundRepair() {
+		fBackgroundRepair= null;
+		if (fBackgroundRepairJob != null) {
+			fBackgroundRepairJob.cancel();
+			try {
+				fBackgroundRepairJob.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Returns the region of the given document which is repaired immediately in the viewport
+	 * repair mode. The region consists of the lines visible in the viewer plus a margin of at
+	 * least {@link #MINIMAL_VIEWPORT_MARGIN} lines above and below them.
+	 *
+	 * @param document the viewer's document
+	 * @return the region to repair, covering complete lines
+	 * @since 3.29
+	 */
+	private IRegion getViewportRegion(IDocument document) {
+		int lastLine= document.getNumberOfLines() - 1;
+		int top= Math.max(fViewer.getTopIndex(), 0);
+		int bottom= Math.max(fViewer.getBottomIndex(), top);
+		int margin= Math.max(bottom - top + 1, MINIMAL_VIEWPORT_MARGIN);
+
+		try {
+			int start= document.getLineOffset(Math.min(Math.max(top - margin, 0), lastLine));
+			int endLine= Math.min(bottom + margin, lastLine);
+			int end= document.getLineOffset(endLine) + document.getLineLength(endLine);
+			return new Region(start, end - start);
+		} catch (BadLocationException x) {
+			return new Region(0, document.getLength());
+		}
+	}
+
 	/**
 	 * Applies the given text presentation to the text viewer the presentation
 	 * reconciler is installed on.
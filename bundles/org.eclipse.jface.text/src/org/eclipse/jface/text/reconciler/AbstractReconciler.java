@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -198,17 +198,26 @@ abstract public class AbstractReconciler implements IReconciler {
 
 					fProgressMonitor.setCanceled(false);
 
+					long start= System.nanoTime();
 					process(r);
+					long duration= (System.nanoTime() - start) / 1000000;
+					boolean isCanceled= fProgressMonitor.isCanceled();
+					if (!isCanceled) {
+						updateProcessTime(duration);
+					}
 
+					int size;
 					synchronized (fDirtyRegionQueue) {
-						if (fDirtyRegionQueue.isEmpty()) {
+						size= fDirtyRegionQueue.getSize();
+						if (size == 0) {
 							synchronized (this) {
-								fIsDirty= fProgressMonitor.isCanceled();
+								fIsDirty= isCanceled;
 							}
 							fDirtyRegionQueue.notifyAll();
 						}
 					}
 					fIsActive= false;
+					processed(r, duration, size, isCanceled);
 				}
 			} finally {
 				fIsAlive= false;
@@ -343,6 +352,16 @@ abstract public class AbstractReconciler implements IReconciler {
 	private Listener fListener;
 	/** The background thread delay. */
 	private int fDelay= 500;
+	/**
+	 * Tells whether the delay is adapted to the processing time.
+	 * @since 3.29
+	 */
+	private boolean fIsAdaptiveDelay;
+	/**
+	 * The smoothed duration in milliseconds of the completed {@link #process(DirtyRegion)} calls.
+	 * @since 3.29
+	 */
+	private volatile long fProcessTime;
 	/** Signal that the the background thread should not delay. */
 	volatile boolean waitFinish;
 	/** Are there incremental reconciling strategies? */
@@ -400,6 +419,25 @@ abstract public class AbstractReconciler implements IReconciler {
 		fDelay= delay;
 	}
 
+	/**
+	 * Tells the reconciler whether it should wait longer for further text changes
+	 * when processing the dirty regions takes long. If enabled, the reconciler
+	 * waits for the average duration of the recent {@link #process(DirtyRegion)}
+	 * calls if that exceeds the configured delay, but at most for four times the
+	 * configured delay. This avoids starting expensive reconciling strategies
+	 * which would be canceled by the next keystroke anyway.
+	 * <p>
+	 * The default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param isAdaptive indicates whether the delay is adapted to the processing time
+	 * @see #setDelay(int)
+	 * @since 3.29
+	 */
+	public void setAdaptiveDelay(boolean isAdaptive) {
+		fIsAdaptiveDelay= isAdaptive;
+	}
+
 	/**
 	 * Tells the reconciler whether any of the available reconciling strategies
 	 * is interested in getting detailed dirty region information or just in the
@@ -609,13 +647,45 @@ abstract public class AbstractReconciler implements IReconciler {
 			if (waitFinish) {
 				return; // do not delay when waiting;
 			}
+			long delay= fDelay;
+			if (fIsAdaptiveDelay && delay > 0) {
+				delay= Math.max(delay, Math.min(fProcessTime, 4 * delay));
+			}
 			try {
-				fDirtyRegionQueue.wait(fDelay);
+				fDirtyRegionQueue.wait(delay);
 			} catch (InterruptedException x) {
 			}
 		}
 	}
 
+	/**
+	 * Updates the smoothed processing time with the duration of a completed
+	 * {@link #process(DirtyRegion)} call.
+	 *
+	 * @param duration the duration in milliseconds
+	 */
+	private void updateProcessTime(long duration) {
+		fProcessTime= (3 * fProcessTime + duration) / 4;
+	}
+
+	/**
+	 * Hook called in the background thread after a dirty region has been
+	 * processed. Subclasses may use it to collect metrics of the reconciling
+	 * activity.
+	 * <p>
+	 * Default implementation is to do nothing.
+	 * </p>
+	 *
+	 * @param dirtyRegion the processed dirty region or <code>null</code> if the
+	 *            whole document has been processed
+	 * @param duration the duration of {@link #process(DirtyRegion)} in milliseconds
+	 * @param queueSize the number of dirty regions which remain to be processed
+	 * @param isCanceled <code>true</code> if the processing has been canceled
+	 * @since 3.29
+	 */
+	protected void processed(DirtyRegion dirtyRegion, long duration, int queueSize, boolean isCanceled) {
+	}
+
 	/**
 	 * This method is called on startup of the background activity. It is called only
 	 * once during the life time of the reconciler. Clients may reimplement this method.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,14 +13,20 @@
  *******************************************************************************/
 package org.eclipse.jface.text.reconciler;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 
 /**
  * Queue used by {@link org.eclipse.jface.text.reconciler.AbstractReconciler} to manage
  * dirty regions. When a dirty region is inserted into the queue, the queue tries
  * to fold it into the neighboring dirty region.
+ * <p>
+ * Regions are folded whenever the union of both changes is a single change of the
+ * same type, e.g. when typing inside or at the end of inserted text, when deleting
+ * inserted text, or when deleting backward or forward next to removed text. This
+ * keeps the queue short while the user types faster than the reconciler runs.
+ * </p>
  *
  * @see org.eclipse.jface.text.reconciler.AbstractReconciler
  * @see org.eclipse.jface.text.reconciler.DirtyRegion
@@ -28,7 +34,7 @@ import java.util.List;
 class DirtyRegionQueue {
 
 	/** The list of dirty regions. */
-	private final List<DirtyRegion> fDirtyRegions= new ArrayList<>();
+	private final Deque<DirtyRegion> fDirtyRegions= new ArrayDeque<>();
 
 	/**
 	 * Creates a new empty dirty region.
@@ -43,40 +49,60 @@ class DirtyRegionQueue {
 	 * @param dr the dirty region to add
 	 */
 	public void addDirtyRegion(DirtyRegion dr) {
-		// If the dirty region being added is directly after the last dirty
-		// region on the queue then merge the two dirty regions together.
-		DirtyRegion lastDR= getLastDirtyRegion();
-		boolean wasMerged= false;
-		if (lastDR != null) {
-			if (lastDR.getType() == dr.getType()) {
-				if (lastDR.getType() == DirtyRegion.INSERT) {
-					if (lastDR.getOffset() + lastDR.getLength() == dr.getOffset()) {
-						lastDR.mergeWith(dr);
-						wasMerged= true;
-					}
-				} else if (lastDR.getType() == DirtyRegion.REMOVE) {
-					if (dr.getOffset() + dr.getLength() == lastDR.getOffset()) {
-						lastDR.mergeWith(dr);
-						wasMerged= true;
-					}
-				}
-			}
-		}
-
-		if (!wasMerged) {
+		// If the dirty region being added touches the last dirty region
+		// on the queue then merge the two dirty regions together.
+		DirtyRegion lastDR= fDirtyRegions.peekLast();
+		DirtyRegion merged= lastDR != null ? merge(lastDR, dr) : null;
+		if (merged != null) {
+			fDirtyRegions.removeLast();
+			fDirtyRegions.addLast(merged);
+		} else {
 			// Don't merge- just add the new one onto the queue.
-			fDirtyRegions.add(dr);
+			fDirtyRegions.addLast(dr);
 		}
 	}
 
 	/**
-	 * Returns the last dirty region that was added to the queue.
+	 * Returns a dirty region describing the change of the given dirty region
+	 * followed by the change of the next dirty region.
 	 *
-	 * @return the last DirtyRegion on the queue
+	 * @param dr the dirty region which was applied first
+	 * @param next the dirty region which was applied to the result of the first one
+	 * @return the merged dirty region or <code>null</code> if the changes can't be
+	 *         described by a single dirty region
 	 */
-	private DirtyRegion getLastDirtyRegion() {
-		int size= fDirtyRegions.size();
-		return (size == 0 ? null : fDirtyRegions.get(size - 1));
+	static DirtyRegion merge(DirtyRegion dr, DirtyRegion next) {
+		int offset= dr.getOffset();
+		int end= offset + dr.getLength();
+		int nextOffset= next.getOffset();
+		int nextEnd= nextOffset + next.getLength();
+		if (dr.getType() == DirtyRegion.INSERT) {
+			String text= dr.getText();
+			if (next.getType() == DirtyRegion.INSERT) {
+				if (nextOffset == end) {
+					dr.mergeWith(next);
+					return dr;
+				}
+				if (nextOffset >= offset && nextOffset < end && text != null && next.getText() != null) {
+					// typing inside the inserted text
+					int index= nextOffset - offset;
+					text= text.substring(0, index) + next.getText() + text.substring(index);
+					return new DirtyRegion(offset, dr.getLength() + next.getLength(), DirtyRegion.INSERT, text);
+				}
+			} else if (next.getType() == DirtyRegion.REMOVE) {
+				if (nextOffset >= offset && nextEnd <= end && text != null) {
+					// deleting inserted text
+					text= text.substring(0, nextOffset - offset) + text.substring(nextEnd - offset);
+					return new DirtyRegion(offset, text.length(), DirtyRegion.INSERT, text);
+				}
+			}
+		} else if (dr.getType() == DirtyRegion.REMOVE && next.getType() == DirtyRegion.REMOVE) {
+			if (nextOffset <= offset && offset <= nextEnd) {
+				// deleting backward or forward next to the removed text
+				return new DirtyRegion(nextOffset, dr.getLength() + next.getLength(), DirtyRegion.REMOVE, null);
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -105,11 +131,6 @@ class DirtyRegionQueue {
 	 * @return the next dirty region on the queue
 	 */
 	public DirtyRegion removeNextDirtyRegion() {
-		if (fDirtyRegions.isEmpty()) {
-			return null;
-		}
-		DirtyRegion dr= fDirtyRegions.get(0);
-		fDirtyRegions.remove(0);
-		return dr;
+		return fDirtyRegions.pollFirst();
 	}
 }
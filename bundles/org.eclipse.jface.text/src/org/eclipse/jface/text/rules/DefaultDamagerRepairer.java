@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import org.eclipse.jface.text.TextAttribute;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.presentation.IPresentationDamager;
 import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.IPresentationRepairerExtension;
 
 
 /**
@@ -37,11 +38,19 @@ import org.eclipse.jface.text.presentation.IPresentationRepairer;
  * the document and to determine its damage and new text presentation.
  * The tokens returned by the scanner are supposed to return text attributes
  * as their data.
+ * <p>
+ * As of 3.29, this damager/repairer implements {@link IPresentationRepairerExtension}
+ * and can thus repair the presentation of a document snapshot in a background thread.
+ * Subclasses which override {@link #createPresentation(TextPresentation, ITypedRegion)}
+ * should also override {@link #createPresentation(TextPresentation, ITypedRegion, IDocument)}.
+ * As long as they don't, the presentation reconciler repairs their presentation in the UI
+ * thread with the former method.
+ * </p>
  *
  * @see ITokenScanner
  * @since 2.0
  */
-public class DefaultDamagerRepairer implements IPresentationDamager, IPresentationRepairer {
+public class DefaultDamagerRepairer implements IPresentationDamager, IPresentationRepairer, IPresentationRepairerExtension {
 
 
 	/** The document this object works on */
@@ -162,6 +171,18 @@ public class DefaultDamagerRepairer implements IPresentationDamager, IPresentati
 
 	@Override
 	public void createPresentation(TextPresentation presentation, ITypedRegion region) {
+		createPresentation(presentation, region, fDocument);
+	}
+
+	//---- IPresentationRepairerExtension
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.29
+	 */
+	@Override
+	public void createPresentation(TextPresentation presentation, ITypedRegion region, IDocument document) {
 
 		if (fScanner == null) {
 			// will be removed if deprecated constructor will be removed
@@ -175,7 +196,7 @@ public class DefaultDamagerRepairer implements IPresentationDamager, IPresentati
 		IToken lastToken= Token.UNDEFINED;
 		TextAttribute lastAttribute= getTokenTextAttribute(lastToken);
 
-		fScanner.setRange(fDocument, lastStart, region.getLength());
+		fScanner.setRange(document, lastStart, region.getLength());
 
 		while (true) {
 			IToken token= fScanner.nextToken();
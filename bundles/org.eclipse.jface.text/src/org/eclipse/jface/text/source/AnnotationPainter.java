@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,16 +14,16 @@
  *******************************************************************************/
 package org.eclipse.jface.text.source;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -564,22 +564,34 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		IRegion clippingRegion= computeClippingRegion(null, true);
 		IDocument document= fSourceViewer.getDocument();
 
+		synchronized (fDecorationMapLock) {
+			synchronized (fHighlightedDecorationsMapLock) {
+				if (fDecorationsMap != null && fHighlightedDecorationsMap != null) {
+					updateDecorations(event, clippingRegion, document);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the decoration maps according to the given annotation model event. The changes
+	 * reported by the event are applied to the current maps, only a world change builds new ones.
+	 * The caller must hold the locks of both maps.
+	 *
+	 * @param event the annotation model event or <code>null</code> for a world change
+	 * @param clippingRegion the clipping region
+	 * @param document the document
+	 * @since 3.29
+	 */
+	private void updateDecorations(AnnotationModelEvent event, IRegion clippingRegion, IDocument document) {
 		int highlightAnnotationRangeStart= Integer.MAX_VALUE;
 		int highlightAnnotationRangeEnd= -1;
 
 		int drawRangeStart= Integer.MAX_VALUE;
 		int drawRangeEnd= -1;
 
-		Map<Annotation, Decoration> decorationsMap;
-		Map<Annotation, Decoration> highlightedDecorationsMap;
-
-		// Clone decoration maps
-		synchronized (fDecorationMapLock) {
-			decorationsMap= new HashMap<>(fDecorationsMap);
-		}
-		synchronized (fHighlightedDecorationsMapLock) {
-			highlightedDecorationsMap= new HashMap<>(fHighlightedDecorationsMap);
-		}
+		Map<Annotation, Decoration> decorationsMap= fDecorationsMap;
+		Map<Annotation, Decoration> highlightedDecorationsMap= fHighlightedDecorationsMap;
 
 		boolean isWorldChange= false;
 
@@ -599,9 +611,8 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 				drawDecoration(decoration, null, annotation, clippingRegion, document);
 			}
 
-			decorationsMap.clear();
-
-			highlightedDecorationsMap.clear();
+			decorationsMap= new HashMap<>();
+			highlightedDecorationsMap= new HashMap<>();
 
 			e= fModel.getAnnotationIterator();
 
@@ -718,15 +729,11 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			}
 		}
 
-		synchronized (fDecorationMapLock) {
-			fDecorationsMap= decorationsMap;
-			updateDrawRanges(drawRangeStart, drawRangeEnd, isWorldChange);
-		}
+		fDecorationsMap= decorationsMap;
+		updateDrawRanges(drawRangeStart, drawRangeEnd, isWorldChange);
 
-		synchronized (fHighlightedDecorationsMapLock) {
-			fHighlightedDecorationsMap= highlightedDecorationsMap;
-			updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, isWorldChange);
-		}
+		fHighlightedDecorationsMap= highlightedDecorationsMap;
+		updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, isWorldChange);
 	}
 
 	/**
@@ -1007,17 +1014,22 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 	@Override
 	public void applyTextPresentation(TextPresentation tp) {
-		Set<Entry<Annotation, Decoration>> decorations;
-
 		synchronized (fHighlightedDecorationsMapLock) {
 			if (fHighlightedDecorationsMap == null || fHighlightedDecorationsMap.isEmpty()) {
 				return;
 			}
-
-			decorations= new HashSet<>(fHighlightedDecorationsMap.entrySet());
 		}
 
 		IRegion region= tp.getExtent();
+		List<Annotation> annotations= getAnnotations(region.getOffset(), region.getLength());
+
+		Collection<Entry<Annotation, Decoration>> decorations;
+		synchronized (fHighlightedDecorationsMapLock) {
+			if (fHighlightedDecorationsMap == null) {
+				return;
+			}
+			decorations= getDecorations(fHighlightedDecorationsMap, annotations);
+		}
 
 		if (DEBUG) {
 			System.out.println("AP: applying text presentation offset: " + region.getOffset() + ", length= " + region.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -1401,11 +1413,12 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 		final GC gc= event != null ? event.gc : null;
 
+		List<Annotation> annotations= getAnnotations(vOffset, vLength);
+
 		// Clone decorations
 		Collection<Entry<Annotation, Decoration>> decorations;
 		synchronized (fDecorationMapLock) {
-			decorations= new ArrayList<>(fDecorationsMap.size());
-			decorations.addAll(fDecorationsMap.entrySet());
+			decorations= getDecorations(fDecorationsMap, annotations);
 		}
 
 		/*
@@ -1435,6 +1448,53 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		}
 	}
 
+	/**
+	 * Returns the annotations of the annotation model which touch or overlap the given region, if
+	 * the model can be queried for the annotations in a region.
+	 *
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @return the annotations touching or overlapping the region, possibly some more, or
+	 *         <code>null</code> if not available
+	 * @since 3.29
+	 */
+	private List<Annotation> getAnnotations(int offset, int length) {
+		IAnnotationModel model= fModel;
+		if (!(model instanceof IAnnotationModelExtension2 extension)) {
+			return null;
+		}
+
+		// the region is extended, as annotations touching it are drawn as well
+		int start= Math.max(0, offset - 1);
+		List<Annotation> annotations= new ArrayList<>();
+		extension.getAnnotationIterator(start, offset + length + 1 - start, true, true).forEachRemaining(annotations::add);
+		return annotations;
+	}
+
+	/**
+	 * Returns the decorations of the given annotations. The caller must hold the lock of the
+	 * decorations map.
+	 *
+	 * @param decorationsMap the decorations map
+	 * @param annotations the annotations, or <code>null</code> for all decorations
+	 * @return a copy of the requested decorations
+	 * @since 3.29
+	 */
+	private static Collection<Entry<Annotation, Decoration>> getDecorations(Map<Annotation, Decoration> decorationsMap, List<Annotation> annotations) {
+		if (annotations == null || annotations.size() >= decorationsMap.size()) {
+			return new ArrayList<>(decorationsMap.entrySet());
+		}
+
+		List<Entry<Annotation, Decoration>> decorations= new ArrayList<>(annotations.size());
+		for (Annotation annotation : annotations) {
+			Decoration decoration= decorationsMap.get(annotation);
+			if (decoration != null) {
+				decorations.add(new SimpleImmutableEntry<>(annotation, decoration));
+			}
+		}
+		return decorations;
+	}
+
 	private void drawDecoration(Decoration pp, GC gc, Annotation annotation, IRegion clippingRegion, IDocument document) {
 		if (clippingRegion == null) {
 			return;
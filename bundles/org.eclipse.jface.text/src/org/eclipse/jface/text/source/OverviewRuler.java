@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -196,7 +198,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 				fNext= next;
 				Object annotationType= next.getType();
-				if (fType == null || fType.equals(annotationType) || !fConfiguredAnnotationTypes.contains(annotationType) && isSubtype(annotationType)) {
+				if (fType == null || isDrawnAs(annotationType, fType)) {
 					if (temp && pers) {
 						return;
 					}
@@ -211,13 +213,6 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fNext= null;
 		}
 
-		private boolean isSubtype(Object annotationType) {
-			if (fAnnotationAccess instanceof IAnnotationAccessExtension extension) {
-				return extension.isSubtype(annotationType, fType);
-			}
-			return fType.equals(annotationType);
-		}
-
 		@Override
 		public boolean hasNext() {
 			return fNext != null;
@@ -394,6 +389,17 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			visibleLines= bottomIndex - topIndex;
 			invisibleLines= maxLines - visibleLines;
 		}
+
+		/**
+		 * Tells whether the ruler maps the lines to the same pixels with these and the given infos.
+		 *
+		 * @param infos the other infos, may be <code>null</code>
+		 * @return <code>true</code> if the infos are equal
+		 * @since 3.29
+		 */
+		boolean isEqual(WidgetInfos infos) {
+			return infos != null && maxLines == infos.maxLines && thumbHeight == infos.thumbHeight && visibleLines == infos.visibleLines && writable == infos.writable && bounds.equals(infos.bounds);
+		}
 	}
 
 	private static final boolean DEBUG_DRAW= false;
@@ -415,6 +421,22 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	private Canvas fHeader;
 	/** The buffer for double buffering */
 	private Image fBuffer;
+	/**
+	 * Tells whether the buffer shows the current annotations. Paint requests for which neither
+	 * the annotations nor the mapping of lines to pixels have changed just draw the buffer.
+	 * @since 3.29
+	 */
+	private boolean fIsBufferValid;
+	/**
+	 * The widget infos the buffer has been painted with.
+	 * @since 3.29
+	 */
+	private WidgetInfos fBufferInfos;
+	/**
+	 * The background color the buffer has been painted with.
+	 * @since 3.29
+	 */
+	private Color fBufferBackground;
 	/** The internal listener */
 	private final InternalListener fInternalListener= new InternalListener();
 	/** The width of this vertical ruler */
@@ -566,6 +588,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			}
 
 			fModel= model;
+			fIsBufferValid= false;
 
 			if (fModel != null) {
 				fModel.addAnnotationModelListener(fInternalListener);
@@ -698,9 +721,12 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 				fBuffer= null;
 			}
 		}
+
+		WidgetInfos infos= new WidgetInfos(fTextViewer.getTextWidget(), fCanvas);
+		Color background= fCanvas.getBackground();
 		if (fBuffer == null) {
 			fBuffer= new Image(fCanvas.getDisplay(), this::doPaint, size.x, size.y);
-		} else {
+		} else if (!fIsBufferValid || !infos.isEqual(fBufferInfos) || !background.equals(fBufferBackground)) {
 			GC gc= new GC(fBuffer);
 			try {
 				doPaint(gc, size.x, size.y);
@@ -708,6 +734,9 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 				gc.dispose();
 			}
 		}
+		fIsBufferValid= true;
+		fBufferInfos= infos;
+		fBufferBackground= background;
 
 		dest.drawImage(fBuffer, 0, 0);
 	}
@@ -763,20 +792,23 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 		WidgetInfos infos= null;
 
-		for (Object annotationType : fAnnotationsSortedByLayer) {
+		List<List<Annotation>> annotationsByLayer= getCachedAnnotationsByLayer();
+		for (int i= 0; i < fAnnotationsSortedByLayer.size(); i++) {
+			Object annotationType= fAnnotationsSortedByLayer.get(i);
 			if (skip(annotationType)) {
 				continue;
 			}
 
 			int[] style= new int[] { FilterIterator.PERSISTENT, FilterIterator.TEMPORARY };
-			for (int element : style) {
+			for (int j= 0; j < style.length; j++) {
+				int element= style[j];
 				boolean areColorsComputed= false;
 				Color fill= null;
 				Color stroke= null;
+				// the rows at which a rectangle of the default height has been drawn
+				BitSet drawnRows= new BitSet();
 
-				Iterator<Annotation> e= new FilterIterator(annotationType, element, fCachedAnnotations.iterator());
-				while (e.hasNext()) {
-					Annotation a= e.next();
+				for (Annotation a : annotationsByLayer.get(2 * i + j)) {
 					Position p= fModel.getPosition(a);
 
 					if (p == null) {
@@ -830,6 +862,14 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 						}
 						fAnnotationHeight= hh;
 
+						if (hh == ANNOTATION_HEIGHT) {
+							if (drawnRows.get(yy)) {
+								// the same rectangle has already been drawn
+								continue;
+							}
+							drawnRows.set(yy);
+						}
+
 						if (!areColorsComputed) {
 							stroke= getStrokeColor(annotationType, element == FilterIterator.TEMPORARY);
 							fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, element == FilterIterator.TEMPORARY);
@@ -878,6 +918,69 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 	}
 
+	/**
+	 * Distributes the cached annotations to the annotation types they are drawn for, all at once
+	 * instead of once per annotation type. An annotation is drawn for its type and, if its type is
+	 * not configured, for all configured super types.
+	 *
+	 * @return for each annotation type in {@link #fAnnotationsSortedByLayer}, the persistent and
+	 *         then the temporary annotations drawn for it
+	 * @since 3.29
+	 */
+	private List<List<Annotation>> getCachedAnnotationsByLayer() {
+		int size= fAnnotationsSortedByLayer.size();
+		List<List<Annotation>> annotationsByLayer= new ArrayList<>(2 * size);
+		for (int i= 0; i < 2 * size; i++) {
+			annotationsByLayer.add(new ArrayList<>());
+		}
+
+		Map<Object, int[]> layersByType= new HashMap<>();
+		for (Annotation annotation : fCachedAnnotations) {
+			if (annotation.isMarkedDeleted()) {
+				continue;
+			}
+
+			int[] layers= layersByType.computeIfAbsent(annotation.getType(), type -> {
+				int[] indices= new int[size];
+				int count= 0;
+				for (int i= 0; i < size; i++) {
+					if (isDrawnAs(type, fAnnotationsSortedByLayer.get(i))) {
+						indices[count++]= i;
+					}
+				}
+				return Arrays.copyOf(indices, count);
+			});
+			int style= annotation.isPersistent() ? 0 : 1;
+			for (int layer : layers) {
+				annotationsByLayer.get(2 * layer + style).add(annotation);
+			}
+		}
+		return annotationsByLayer;
+	}
+
+	/**
+	 * Tells whether annotations of the given type are drawn as annotations of the given configured
+	 * type.
+	 *
+	 * @param annotationType the annotation type
+	 * @param configuredType the configured annotation type
+	 * @return <code>true</code> if the types are equal, or if the annotation type is not configured
+	 *         and a subtype of the configured type
+	 * @since 3.29
+	 */
+	private boolean isDrawnAs(Object annotationType, Object configuredType) {
+		if (configuredType.equals(annotationType)) {
+			return true;
+		}
+		if (fConfiguredAnnotationTypes.contains(annotationType)) {
+			return false;
+		}
+		if (fAnnotationAccess instanceof IAnnotationAccessExtension extension) {
+			return extension.isSubtype(annotationType, configuredType);
+		}
+		return false;
+	}
+
 	/**
 	 * Computes and returns the y location of the given startLine.
 	 *
@@ -941,6 +1044,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	 * Redraws the overview ruler.
 	 */
 	private void redraw() {
+		fIsBufferValid= false;
 		if (fTextViewer == null || fModel == null) {
 			return;
 		}
@@ -1222,6 +1326,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.add(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		fIsBufferValid= false;
 	}
 
 	@Override
@@ -1230,6 +1335,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.remove(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		fIsBufferValid= false;
 	}
 
 	@Override
@@ -1250,6 +1356,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fLayersSortedByLayer.add(i, layerObj);
 			fAnnotationsSortedByLayer.add(i, annotationType);
 		}
+		fIsBufferValid= false;
 	}
 
 	@Override
@@ -1259,6 +1366,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		} else {
 			fAnnotationTypes2Colors.remove(annotationType);
 		}
+		fIsBufferValid= false;
 	}
 
 	/**
@@ -1615,5 +1723,6 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	@Override
 	public void setUseSaturatedColors(boolean useSaturatedColor) {
 		fUseSaturatedColors= useSaturatedColor;
+		fIsBufferValid= false;
 	}
 }
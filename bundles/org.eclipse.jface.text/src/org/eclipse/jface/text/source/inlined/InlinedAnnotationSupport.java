@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017, 2018 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,10 @@
  */
 package org.eclipse.jface.text.source.inlined;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -47,6 +46,7 @@ import org.eclipse.jface.internal.text.codemining.CodeMiningLineContentAnnotatio
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
@@ -336,6 +336,22 @@ public class InlinedAnnotationSupport {
 	 */
 	private Set<AbstractInlinedAnnotation> fInlinedAnnotations;
 
+	/**
+	 * The current inlined annotations by their position, built on demand. Only valid while the
+	 * document has the modification stamp {@link #fAnnotationsByPositionStamp}, since the positions
+	 * change with the document.
+	 *
+	 * @since 3.29
+	 */
+	private Map<Position, AbstractInlinedAnnotation> fAnnotationsByPosition;
+
+	/**
+	 * The modification stamp of the document when {@link #fAnnotationsByPosition} has been built.
+	 *
+	 * @since 3.29
+	 */
+	private long fAnnotationsByPositionStamp;
+
 	/**
 	 * The mouse tracker used to support hover, click on inlined annotation.
 	 */
@@ -435,9 +451,9 @@ public class InlinedAnnotationSupport {
 			return;
 		}
 		Map<AbstractInlinedAnnotation, Position> annotationsToAdd= new HashMap<>();
-		List<AbstractInlinedAnnotation> annotationsToRemove= fInlinedAnnotations != null
-				? new ArrayList<>(fInlinedAnnotations)
-				: Collections.emptyList();
+		Set<AbstractInlinedAnnotation> annotationsToRemove= fInlinedAnnotations != null
+				? new HashSet<>(fInlinedAnnotations)
+				: Collections.emptySet();
 		// Loop for annotations to update
 		for (AbstractInlinedAnnotation ann : annotations) {
 			if (!annotationsToRemove.remove(ann)) {
@@ -472,6 +488,7 @@ public class InlinedAnnotationSupport {
 				}
 			}
 			fInlinedAnnotations= annotations;
+			fAnnotationsByPosition= null;
 		}
 	}
 
@@ -485,10 +502,33 @@ public class InlinedAnnotationSupport {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T extends AbstractInlinedAnnotation> T findExistingAnnotation(Position pos) {
-		if (fInlinedAnnotations == null) {
+		Set<AbstractInlinedAnnotation> inlinedAnnotations= fInlinedAnnotations;
+		if (inlinedAnnotations == null) {
 			return null;
 		}
-		for (AbstractInlinedAnnotation ann : fInlinedAnnotations) {
+		IDocument document= fViewer != null ? fViewer.getDocument() : null;
+		if (document instanceof IDocumentExtension4 extension) {
+			// look the annotation up in an index instead of comparing the positions of all annotations
+			long stamp= extension.getModificationStamp();
+			if (stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+				Map<Position, AbstractInlinedAnnotation> annotationsByPosition= fAnnotationsByPosition;
+				if (annotationsByPosition == null || fAnnotationsByPositionStamp != stamp) {
+					annotationsByPosition= new HashMap<>(inlinedAnnotations.size());
+					for (AbstractInlinedAnnotation ann : inlinedAnnotations) {
+						Position position= ann.getPosition();
+						if (!position.isDeleted()) {
+							annotationsByPosition.putIfAbsent(new Position(position.getOffset(), position.getLength()), ann);
+						}
+					}
+					if (inlinedAnnotations == fInlinedAnnotations) {
+						fAnnotationsByPosition= annotationsByPosition;
+						fAnnotationsByPositionStamp= stamp;
+					}
+				}
+				return (T) annotationsByPosition.get(new Position(pos.getOffset(), pos.getLength()));
+			}
+		}
+		for (AbstractInlinedAnnotation ann : inlinedAnnotations) {
 			if (pos.equals(ann.getPosition()) && !ann.getPosition().isDeleted()) {
 				try {
 					return (T) ann;
@@ -536,6 +576,7 @@ public class InlinedAnnotationSupport {
 				}
 			}
 			fInlinedAnnotations= null;
+			fAnnotationsByPosition= null;
 		}
 	}
 
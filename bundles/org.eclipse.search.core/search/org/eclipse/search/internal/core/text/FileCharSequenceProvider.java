@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,8 +38,29 @@ public class FileCharSequenceProvider {
 
 	private FileCharSequence fReused= null;
 
+	/**
+	 * The buffer the content of small files is read into, reused for all files read by this
+	 * provider.
+	 */
+	private byte[] fBytes= new byte[1 << 13];
+
 	public CharSequence newCharSequence(IFile file) throws CoreException, IOException {
-		String string = toShortString(file);
+		return newCharSequence(file, null);
+	}
+
+	/**
+	 * Returns the content of the file. Small files are checked with the given prefilter before
+	 * they are decoded, if it tells that there can't be a match the content is not decoded and an
+	 * empty sequence is returned instead.
+	 *
+	 * @param file the file
+	 * @param prefilter the prefilter for the searched pattern, or <code>null</code>
+	 * @return the content of the file, or an empty sequence if it can't contain a match
+	 * @throws CoreException if the file can't be accessed
+	 * @throws IOException if the file can't be read
+	 */
+	public CharSequence newCharSequence(IFile file, LiteralPrefilter prefilter) throws CoreException, IOException {
+		String string = toShortString(file, prefilter);
 		if (string != null) {
 			return string;
 		}
@@ -488,30 +509,57 @@ public class FileCharSequenceProvider {
 
 	/*
 	 * Try to get a content as String. Avoids to scanning whole InputStream to
-	 * get length
+	 * get length. Returns an empty String if the prefilter rules out a match.
 	 */
-	private static String toShortString(IFile file) {
+	private String toShortString(IFile file, LiteralPrefilter prefilter) {
 		try {
-			byte[] content = file.readNBytes(MAX_BUFFER_LENGTH);
-			int length = content.length;
-			if (length >= MAX_BUFFER_LENGTH) {
+			int length = readShortContent(file);
+			if (length < 0) {
 				return null;
 			}
+			byte[] content = fBytes;
 			String charset = file.getCharset();
 			int offset = 0;
 			if (StandardCharsets.UTF_8.name().equals(charset)) {
-				if (startsWith(content, IContentDescription.BOM_UTF_8)) {
+				if (startsWith(content, length, IContentDescription.BOM_UTF_8)) {
 					offset = IContentDescription.BOM_UTF_8.length;
 				}
 			}
+			if (prefilter != null && !prefilter.mayMatch(content, offset, length - offset, charset)) {
+				return ""; //$NON-NLS-1$
+			}
 			return new String(content, offset, length - offset, charset);
 		} catch (Exception e) {
 			return null;
 		}
 	}
 
-	private static boolean startsWith(byte[] a, byte[] start) {
-		if (a.length < start.length) {
+	/*
+	 * Reads the content of the file into the reused buffer, which grows up to
+	 * MAX_BUFFER_LENGTH. Returns the number of bytes read or -1 if the file is
+	 * too large.
+	 */
+	private int readShortContent(IFile file) throws CoreException, IOException {
+		try (InputStream contents = file.getContents(true)) {
+			int length = 0;
+			while (true) {
+				if (length == fBytes.length) {
+					if (length >= MAX_BUFFER_LENGTH) {
+						return -1;
+					}
+					fBytes = Arrays.copyOf(fBytes, Math.min(length * 2, MAX_BUFFER_LENGTH));
+				}
+				int read = contents.read(fBytes, length, fBytes.length - length);
+				if (read == -1) {
+					return length;
+				}
+				length += read;
+			}
+		}
+	}
+
+	private static boolean startsWith(byte[] a, int length, byte[] start) {
+		if (length < start.length) {
 			return false;
 		}
 		for (int i = 0; i < start.length; i++) {
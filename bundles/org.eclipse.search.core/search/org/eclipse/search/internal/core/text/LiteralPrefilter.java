@@ -0,0 +1,472 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A fast check whether the raw bytes of a file can contain a match of a search pattern.
+ * <p>
+ * The prefilter knows the literal strings that every match of the pattern must contain. It
+ * searches for their encoded bytes with the Boyer-Moore-Horspool algorithm, so that files which
+ * don't contain all of them can be skipped without decoding them into characters. Case
+ * insensitive literals are supported as long as their characters only fold with ASCII
+ * characters.
+ * </p>
+ * <p>
+ * The check is conservative: if {@link #mayMatch(byte[], int, int, String)} returns
+ * <code>false</code> there is no match in the decoded text, if it returns <code>true</code> there
+ * may or may not be one. Only charsets that encode every character to the same bytes in any
+ * context are supported, for all others a match is always assumed.
+ * </p>
+ * <p>
+ * Instances are thread safe.
+ * </p>
+ */
+public final class LiteralPrefilter {
+
+	/**
+	 * The literals must have at least this length, shorter ones don't rule out enough files to
+	 * be worth searching for.
+	 */
+	private static final int MIN_LITERAL_LENGTH= 2;
+
+	private static final int SUPPORTED_FLAGS= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS
+			| Pattern.MULTILINE | Pattern.DOTALL | Pattern.UNIX_LINES | Pattern.LITERAL;
+
+	/**
+	 * The byte patterns of the literals in a charset.
+	 */
+	private static final class Needle {
+		final byte[] fBytes;
+		final int[] fShift;
+
+		Needle(byte[] bytes, boolean ignoreCase) {
+			fBytes= bytes;
+			fShift= new int[256];
+			int last= bytes.length - 1;
+			for (int i= 0; i < fShift.length; i++) {
+				fShift[i]= bytes.length;
+			}
+			for (int i= 0; i < last; i++) {
+				if (ignoreCase) {
+					bytes[i]= (byte) fold(bytes[i]);
+				}
+				fShift[bytes[i] & 0xff]= last - i;
+			}
+			if (ignoreCase) {
+				bytes[last]= (byte) fold(bytes[last]);
+			}
+		}
+	}
+
+	/**
+	 * Marks a charset in which the literals can't be encoded.
+	 */
+	private static final Needle[] UNKNOWN= new Needle[0];
+
+	private final List<String> fLiterals;
+	private final boolean fIgnoreCase;
+	private final Map<String, Needle[]> fNeedles= new ConcurrentHashMap<>();
+
+	private LiteralPrefilter(List<String> literals, boolean ignoreCase) {
+		fLiterals= literals;
+		fIgnoreCase= ignoreCase;
+	}
+
+	/**
+	 * Creates a prefilter for text that has to contain all the given literals.
+	 *
+	 * @param literals the literals that every match contains
+	 * @param ignoreCase <code>true</code> if the literals are matched case insensitively
+	 * @param unicodeCase <code>true</code> if case insensitive matching folds Unicode characters,
+	 *            see {@link Pattern#UNICODE_CASE}, <code>false</code> if it only folds ASCII
+	 *            characters
+	 * @return the prefilter, or <code>null</code> if none of the literals can be used to filter
+	 */
+	public static LiteralPrefilter create(List<String> literals, boolean ignoreCase, boolean unicodeCase) {
+		List<String> usable= new ArrayList<>();
+		for (String literal : literals) {
+			int start= 0;
+			for (int i= 0; i <= literal.length(); i++) {
+				if (i == literal.length() || !isUsable(literal.charAt(i), ignoreCase, unicodeCase)) {
+					if (i - start >= MIN_LITERAL_LENGTH) {
+						usable.add(literal.substring(start, i));
+					}
+					start= i + 1;
+				}
+			}
+		}
+		if (usable.isEmpty()) {
+			return null;
+		}
+		return new LiteralPrefilter(Collections.unmodifiableList(usable), ignoreCase);
+	}
+
+	/**
+	 * Creates a prefilter for text that contains a match of the given pattern. The literals are
+	 * taken from the parts of the pattern that are outside of groups and alternatives, patterns
+	 * that can't be analyzed don't get a prefilter.
+	 *
+	 * @param pattern the search pattern
+	 * @return the prefilter, or <code>null</code> if the pattern doesn't require any literal
+	 */
+	public static LiteralPrefilter create(Pattern pattern) {
+		int flags= pattern.flags();
+		if ((flags & ~SUPPORTED_FLAGS) != 0) {
+			return null;
+		}
+		List<String> literals;
+		if ((flags & Pattern.LITERAL) != 0) {
+			literals= Collections.singletonList(pattern.pattern());
+		} else {
+			literals= findLiterals(pattern.pattern());
+			if (literals == null) {
+				return null;
+			}
+		}
+		boolean ignoreCase= (flags & Pattern.CASE_INSENSITIVE) != 0;
+		boolean unicodeCase= (flags & (Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS)) != 0;
+		return create(literals, ignoreCase, unicodeCase);
+	}
+
+	/**
+	 * Returns the literals that are searched for.
+	 *
+	 * @return the literals
+	 */
+	public List<String> getLiterals() {
+		return fLiterals;
+	}
+
+	/**
+	 * Tells whether the given bytes can contain a match once decoded.
+	 *
+	 * @param bytes the encoded text
+	 * @param offset the offset of the text in the array
+	 * @param length the length of the text in bytes
+	 * @param charsetName the name of the charset of the text, may be <code>null</code> if unknown
+	 * @return <code>false</code> if the decoded text can't contain a match
+	 */
+	public boolean mayMatch(byte[] bytes, int offset, int length, String charsetName) {
+		if (charsetName == null) {
+			return true;
+		}
+		Needle[] needles= fNeedles.computeIfAbsent(charsetName, this::encode);
+		if (needles == UNKNOWN) {
+			return true;
+		}
+		for (Needle needle : needles) {
+			if (indexOf(bytes, offset, offset + length, needle) == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Needle[] encode(String charsetName) {
+		try {
+			Charset charset= Charset.forName(charsetName);
+			if (!isSupported(charset)) {
+				return UNKNOWN;
+			}
+			CharsetEncoder encoder= charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPORT)
+					.onUnmappableCharacter(CodingErrorAction.REPORT);
+			Needle[] needles= new Needle[fLiterals.size()];
+			for (int i= 0; i < needles.length; i++) {
+				ByteBuffer buffer= encoder.encode(CharBuffer.wrap(fLiterals.get(i)));
+				byte[] encoded= new byte[buffer.remaining()];
+				buffer.get(encoded);
+				needles[i]= new Needle(encoded, fIgnoreCase);
+			}
+			return needles;
+		} catch (IllegalArgumentException | CharacterCodingException e) {
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * Tells whether the charset maps every character to a fixed byte sequence which is never part
+	 * of the encoding of another character sequence, and encodes ASCII characters as ASCII.
+	 */
+	private static boolean isSupported(Charset charset) {
+		if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)) {
+			return true;
+		}
+		String name= charset.name();
+		return name.startsWith("ISO-8859-") || name.startsWith("windows-125"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private int indexOf(byte[] text, int from, int to, Needle needle) {
+		byte[] pattern= needle.fBytes;
+		int last= pattern.length - 1;
+		int i= from;
+		if (fIgnoreCase) {
+			while (i + last < to) {
+				int j= last;
+				while (fold(text[i + j]) == (pattern[j] & 0xff)) {
+					if (j == 0) {
+						return i;
+					}
+					j--;
+				}
+				i+= needle.fShift[fold(text[i + last])];
+			}
+		} else {
+			while (i + last < to) {
+				int j= last;
+				while (text[i + j] == pattern[j]) {
+					if (j == 0) {
+						return i;
+					}
+					j--;
+				}
+				i+= needle.fShift[text[i + last] & 0xff];
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Folds ASCII upper case letters to lower case.
+	 *
+	 * @param b the byte
+	 * @return the folded byte as unsigned value
+	 */
+	private static int fold(byte b) {
+		return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b & 0xff;
+	}
+
+	/**
+	 * Tells whether the character can be searched for by its bytes. Case insensitive matching of
+	 * characters that fold with non ASCII characters (like 'k' with the Kelvin sign) is not
+	 * supported, and the replacement character may stand for any malformed input.
+	 */
+	private static boolean isUsable(char c, boolean ignoreCase, boolean unicodeCase) {
+		if (c == '\uFFFD') {
+			return false;
+		}
+		if (ignoreCase && unicodeCase) {
+			return c < 0x80 && "iIkKsS".indexOf(c) == -1; //$NON-NLS-1$
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the literal strings that every match of the regular expression contains. Only the
+	 * top level of the expression is considered, and expressions that use alternatives or inline
+	 * flags are not analyzed at all.
+	 *
+	 * @param regex the regular expression
+	 * @return the literals, or <code>null</code> if the expression can't be analyzed
+	 */
+	static List<String> findLiterals(String regex) {
+		List<String> literals= new ArrayList<>();
+		StringBuilder run= new StringBuilder();
+		int depth= 0;
+		int length= regex.length();
+		int i= 0;
+		while (i < length) {
+			char c= regex.charAt(i++);
+			switch (c) {
+				case '\\':
+					if (i == length) {
+						return null;
+					}
+					char next= regex.charAt(i++);
+					if (next == 'Q') {
+						int end= regex.indexOf("\\E", i); //$NON-NLS-1$
+						if (end == -1) {
+							end= length;
+						}
+						if (depth == 0) {
+							run.append(regex, i, end);
+						}
+						i= Math.min(end + 2, length);
+					} else if (!Character.isLetterOrDigit(next)) {
+						if (depth == 0) {
+							run.append(next);
+						}
+					} else {
+						i= skipEscape(regex, i, next);
+						if (i == -1) {
+							return null;
+						}
+						endRun(run, literals);
+					}
+					break;
+				case '[':
+					i= skipClass(regex, i);
+					if (i == -1) {
+						return null;
+					}
+					endRun(run, literals);
+					break;
+				case '(':
+					if (i < length && regex.charAt(i) == '?') {
+						return null;
+					}
+					depth++;
+					endRun(run, literals);
+					break;
+				case ')':
+					depth--;
+					endRun(run, literals);
+					break;
+				case '|':
+					if (depth == 0) {
+						return null;
+					}
+					break;
+				case '*':
+				case '?':
+				case '+':
+				case '{':
+					// the quantified character is optional or repeated
+					if (run.length() > 0) {
+						int end= run.length() - 1;
+						if (end > 0 && Character.isSurrogatePair(run.charAt(end - 1), run.charAt(end))) {
+							end--;
+						}
+						run.setLength(end);
+					}
+					endRun(run, literals);
+					if (c == '{') {
+						i= regex.indexOf('}', i);
+						if (i == -1) {
+							return null;
+						}
+						i++;
+					}
+					break;
+				case '.':
+				case '^':
+				case '$':
+					endRun(run, literals);
+					break;
+				default:
+					if (depth == 0) {
+						run.append(c);
+					}
+					break;
+			}
+		}
+		endRun(run, literals);
+		return literals;
+	}
+
+	private static void endRun(StringBuilder run, List<String> literals) {
+		if (run.length() > 0) {
+			literals.add(run.toString());
+			run.setLength(0);
+		}
+	}
+
+	/**
+	 * Skips an escape sequence that doesn't stand for a literal character.
+	 *
+	 * @return the index after the escape sequence, or -1 if it is not known
+	 */
+	private static int skipEscape(String regex, int i, char escape) {
+		switch (escape) {
+			case 'x':
+				if (i < regex.length() && regex.charAt(i) == '{') {
+					return skipTo(regex, i, '}');
+				}
+				return Math.min(i + 2, regex.length());
+			case 'u':
+				return Math.min(i + 4, regex.length());
+			case 'c':
+				return Math.min(i + 1, regex.length());
+			case '0':
+				int end= Math.min(i + 3, regex.length());
+				while (i < end && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+					i++;
+				}
+				return i;
+			case 'p':
+			case 'P':
+			case 'N':
+				if (i < regex.length() && regex.charAt(i) == '{') {
+					return skipTo(regex, i, '}');
+				}
+				return Math.min(i + 1, regex.length());
+			case 'k':
+				return skipTo(regex, i, '>');
+			case 't': case 'n': case 'r': case 'f': case 'a': case 'e':
+			case 'd': case 'D': case 's': case 'S': case 'w': case 'W':
+			case 'h': case 'H': case 'v': case 'V': case 'R': case 'X':
+			case 'b': case 'B': case 'A': case 'z': case 'Z': case 'G':
+				return i;
+			default:
+				// back references and unknown escapes
+				return -1;
+		}
+	}
+
+	private static int skipTo(String regex, int i, char end) {
+		int index= regex.indexOf(end, i);
+		return index == -1 ? -1 : index + 1;
+	}
+
+	/**
+	 * Skips a character class.
+	 *
+	 * @param regex the regular expression
+	 * @param i the index after the opening bracket
+	 * @return the index after the closing bracket, or -1 if there is none
+	 */
+	private static int skipClass(String regex, int i) {
+		int length= regex.length();
+		if (i < length && regex.charAt(i) == '^') {
+			i++;
+		}
+		if (i < length && regex.charAt(i) == ']') {
+			i++;
+		}
+		int depth= 1;
+		while (i < length) {
+			char c= regex.charAt(i++);
+			if (c == '\\') {
+				if (i < length && regex.charAt(i) == 'Q') {
+					int end= regex.indexOf("\\E", i); //$NON-NLS-1$
+					if (end == -1) {
+						return -1;
+					}
+					i= end + 2;
+				} else {
+					i++;
+				}
+			} else if (c == '[') {
+				depth++;
+			} else if (c == ']' && --depth == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
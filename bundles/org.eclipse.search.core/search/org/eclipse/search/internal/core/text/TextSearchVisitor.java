@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,8 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipse.core.filesystem.EFS;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -71,6 +73,26 @@ public class TextSearchVisitor {
 	public static final boolean TRACING= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.search/perf")); //$NON-NLS-1$ //$NON-NLS-2$
 	private static final int NUMBER_OF_LOGICAL_THREADS= Runtime.getRuntime().availableProcessors();
 
+	/**
+	 * Preference of the search core plug-in for the maximum size in bytes of the files that are
+	 * searched. Larger files which are not open in an editor are skipped with a warning in the
+	 * search status. <code>0</code> means no limit.
+	 */
+	public static final String PREF_FILE_SIZE_LIMIT= "fileSizeLimit"; //$NON-NLS-1$
+
+	/**
+	 * Preference of the search core plug-in for the maximum time in milliseconds spent searching a
+	 * single file. The search in the file is stopped when it is exceeded, with a warning in the
+	 * search status. <code>0</code> means no limit.
+	 */
+	public static final String PREF_FILE_TIME_LIMIT= "fileTimeLimit"; //$NON-NLS-1$
+
+	/**
+	 * Minimal number of characters matched at once for patterns that can't match across lines.
+	 * Large contents are searched in windows of whole lines of about this size.
+	 */
+	private static final int WINDOW_SIZE= 1 << 16;
+
 	/**
 	 * Queue of files to be searched. IFile pointing to the same local file are
 	 * grouped together
@@ -190,19 +212,20 @@ public class TextSearchVisitor {
 			Matcher matcher= fSearchPattern.pattern().isEmpty() ? null : fSearchPattern.matcher(""); //$NON-NLS-1$
 			IFile file = sameFiles.remove(0);
 			monitor.setTaskName(file.getFullPath().toString());
+			IStatus status= Status.OK_STATUS;
 			try {
 				if (!fCollector.acceptFile(file) || matcher == null) {
 					return Status.OK_STATUS;
 				}
 
-				List<TextSearchMatchAccess> occurences;
+				List<TextSearchMatchAccess> occurences= new ArrayList<>();
 				CharSequence charsequence;
 
 				IDocument document= getOpenDocument(file, getDocumentsInEditors());
 				if (document != null) {
 					charsequence = new DocumentCharSequence(document);
 					// assume all documents are non-binary
-					occurences = locateMatches(file, charsequence, matcher, monitor);
+					status = locateMatches(file, charsequence, matcher, monitor, occurences);
 				} else {
 					try {
 						boolean reportTextOnly = !fCollector.reportBinaryFile(file);
@@ -210,11 +233,16 @@ public class TextSearchVisitor {
 							// fail fast for binary file types without opening the file
 							return Status.OK_STATUS;
 						}
-						charsequence = fileCharSequenceProvider.newCharSequence(file);
+						if (exceedsFileSizeLimit(file)) {
+							Object[] args= { Long.valueOf(fFileSizeLimit), file.getFullPath().makeRelative().toString() };
+							String message= MessageFormat.format(SearchCoreMessages.TextSearchVisitor_filetoolarge, args);
+							return new Status(IStatus.WARNING, SearchCorePlugin.PLUGIN_ID, IStatus.WARNING, message, null);
+						}
+						charsequence = fileCharSequenceProvider.newCharSequence(file, fPrefilter);
 						if (reportTextOnly && hasBinaryContent(charsequence)) {
 							return Status.OK_STATUS;
 						}
-						occurences = locateMatches(file, charsequence, matcher, monitor);
+						status = locateMatches(file, charsequence, matcher, monitor, occurences);
 					} catch (FileCharSequenceProvider.FileCharSequenceException e) {
 						if (e.getCause() instanceof RuntimeException runtimeEx) {
 							throw runtimeEx;
@@ -277,7 +305,7 @@ public class TextSearchVisitor {
 				fFatalError = true;
 				return Status.CANCEL_STATUS;
 			}
-			return Status.OK_STATUS;
+			return status;
 		}
 
 		public Map<IFile, IDocument> getDocumentsInEditors() {
@@ -289,6 +317,18 @@ public class TextSearchVisitor {
 
 	private final TextSearchRequestor fCollector;
 	private final Pattern fSearchPattern;
+	/**
+	 * Skips files that don't contain the literals of the search pattern before they are decoded,
+	 * <code>null</code> if the pattern has no such literals.
+	 */
+	private final LiteralPrefilter fPrefilter;
+	/**
+	 * Whether matches of the search pattern are always within a line, so that large contents
+	 * can be searched in windows of lines.
+	 */
+	private final boolean fIsLineBounded;
+	private final long fFileSizeLimit;
+	private final long fFileTimeLimit;
 
 	private volatile IProgressMonitor fProgressMonitor;
 
@@ -309,8 +349,12 @@ public class TextSearchVisitor {
 				SearchCoreMessages.TextSearchEngine_statusMessage, null);
 
 		fSearchPattern= searchPattern;
+		fPrefilter= LiteralPrefilter.create(searchPattern);
+		fIsLineBounded= isLineBounded(searchPattern);
 
 		fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
+		fFileSizeLimit= Platform.getPreferencesService().getLong(SearchCorePlugin.PLUGIN_ID, PREF_FILE_SIZE_LIMIT, 0, null);
+		fFileTimeLimit= Platform.getPreferencesService().getLong(SearchCorePlugin.PLUGIN_ID, PREF_FILE_TIME_LIMIT, 0, null);
 		fileBatches = new ConcurrentLinkedQueue<>();
 	}
 
@@ -486,31 +530,240 @@ public class TextSearchVisitor {
 		return false;
 	}
 
-	private List<TextSearchMatchAccess> locateMatches(IFile file, CharSequence searchInput, Matcher matcher, IProgressMonitor monitor) throws CoreException {
-		List<TextSearchMatchAccess> occurences= null;
+	private boolean exceedsFileSizeLimit(IFile file) throws CoreException {
+		if (fFileSizeLimit <= 0 || file.getLocationURI() == null) {
+			return false;
+		}
+		return EFS.getStore(file.getLocationURI()).fetchInfo().getLength() > fFileSizeLimit;
+	}
+
+	/**
+	 * Reports the matches in the given content and adds them to the given list. Contents that are
+	 * not strings are searched in windows of whole lines if the matches of the pattern can't span
+	 * lines, so that the content is read only once and a failing match attempt can't backtrack
+	 * across the whole content.
+	 *
+	 * @return a warning if the search was stopped because of the time limit, OK otherwise
+	 */
+	private IStatus locateMatches(IFile file, CharSequence searchInput, Matcher matcher, IProgressMonitor monitor, List<TextSearchMatchAccess> occurences) throws CoreException {
+		long deadline= System.nanoTime() + fFileTimeLimit * 1_000_000;
+		try {
+			if (!fIsLineBounded || searchInput instanceof String) {
+				locateMatches(file, searchInput, limit(searchInput, deadline), 0, matcher, monitor, occurences);
+				return Status.OK_STATUS;
+			}
+			int windowStart= 0;
+			while (!monitor.isCanceled()) {
+				int windowEnd= findWindowEnd(searchInput, windowStart + WINDOW_SIZE);
+				if (windowEnd <= windowStart) {
+					break;
+				}
+				CharSequence window= limit(searchInput.subSequence(windowStart, windowEnd), deadline);
+				if (!locateMatches(file, searchInput, window, windowStart, matcher, monitor, occurences)) {
+					break;
+				}
+				windowStart= windowEnd;
+			}
+			return Status.OK_STATUS;
+		} catch (TimeLimitExceededException e) {
+			Object[] args= { Long.valueOf(fFileTimeLimit), file.getFullPath().makeRelative().toString() };
+			String message= MessageFormat.format(SearchCoreMessages.TextSearchVisitor_timelimit, args);
+			return new Status(IStatus.WARNING, SearchCorePlugin.PLUGIN_ID, IStatus.WARNING, message, null);
+		}
+	}
+
+	/**
+	 * Reports the matches in <code>searchInput</code>, which starts at <code>offset</code> in the
+	 * content of the file.
+	 *
+	 * @return <code>false</code> if no further matches are requested
+	 */
+	private boolean locateMatches(IFile file, CharSequence content, CharSequence searchInput, int offset, Matcher matcher, IProgressMonitor monitor, List<TextSearchMatchAccess> occurences) throws CoreException {
 		matcher.reset(searchInput);
 		// Check for cancellation before calling matcher.find() since that call
 		// can be very expensive
 		while (!monitor.isCanceled() && matcher.find()) {
-			if (occurences == null) {
-				occurences= new ArrayList<>();
-			}
-			int start= matcher.start();
-			int end= matcher.end();
+			int start= offset + matcher.start();
+			int end= offset + matcher.end();
 			if (end != start) { // don't report 0-length matches
 				ReusableMatchAccess access= new ReusableMatchAccess();
-				access.initialize(file, start, end - start, searchInput);
+				access.initialize(file, start, end - start, content);
 				occurences.add(access);
 				boolean res= fCollector.acceptPatternMatch(access);
 				if (!res) {
-					return occurences; // no further reporting requested
+					return false; // no further reporting requested
+				}
+			}
+		}
+		return true;
+	}
+
+	private CharSequence limit(CharSequence seq, long deadline) {
+		return fFileTimeLimit > 0 ? new TimeLimitedCharSequence(seq, deadline) : seq;
+	}
+
+	/**
+	 * Returns the offset after the first line delimiter at or after the given offset, or the length
+	 * of the sequence if there is none. Avoids to ask for the length of a sequence before its end
+	 * has been read.
+	 */
+	private static int findWindowEnd(CharSequence seq, int offset) {
+		try {
+			for (int i= offset; ; i++) {
+				char ch= seq.charAt(i);
+				if (ch == '\n') {
+					return i + 1;
+				}
+				if (ch == '\r') {
+					return seq.charAt(i + 1) == '\n' ? i + 2 : i + 1;
 				}
 			}
+		} catch (IndexOutOfBoundsException e) {
+			// end reached
+		}
+		return seq.length();
+	}
+
+	/**
+	 * Tells whether matches of the pattern can't contain a line delimiter and don't depend on the
+	 * content outside of the lines they are found in. This is decided conservatively from the
+	 * pattern source, anything that could match a line delimiter like <code>\s</code>, negated
+	 * classes, ranges or embedded flags is rejected.
+	 *
+	 * @param pattern the search pattern
+	 * @return <code>true</code> if matches are always found within a line
+	 */
+	static boolean isLineBounded(Pattern pattern) {
+		int flags= pattern.flags();
+		if ((flags & (Pattern.DOTALL | Pattern.UNIX_LINES | Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return false;
+		}
+		String regex= pattern.pattern();
+		for (int i= 0; i < regex.length(); i++) {
+			char ch= regex.charAt(i);
+			if (ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029') {
+				return false;
+			}
+		}
+		if ((flags & Pattern.LITERAL) != 0) {
+			return true;
 		}
-		if (occurences == null) {
-			occurences= Collections.emptyList();
+		if ((flags & Pattern.MULTILINE) == 0 && (regex.indexOf('^') != -1 || regex.indexOf('$') != -1)) {
+			return false;
+		}
+		int classDepth= 0;
+		for (int i= 0; i < regex.length(); i++) {
+			char ch= regex.charAt(i);
+			switch (ch) {
+				case '\\':
+					if (++i == regex.length()) {
+						return false;
+					}
+					char next= regex.charAt(i);
+					if (next == 'Q') {
+						int end= regex.indexOf("\\E", i); //$NON-NLS-1$
+						if (end == -1) {
+							return true;
+						}
+						i= end + 1;
+					} else if (Character.isLetterOrDigit(next) && "wdbBSVhtfae".indexOf(next) == -1) { //$NON-NLS-1$
+						return false;
+					}
+					break;
+				case '[':
+					if (regex.startsWith("[^", i)) { //$NON-NLS-1$
+						return false;
+					}
+					if (regex.startsWith("[]", i)) { //$NON-NLS-1$
+						i++;
+					}
+					classDepth++;
+					break;
+				case ']':
+					if (classDepth > 0) {
+						classDepth--;
+					}
+					break;
+				case '-':
+					if (classDepth > 0) {
+						return false;
+					}
+					break;
+				case '(':
+					if (regex.startsWith("(?", i) && !isGroupPrefix(regex, i + 2)) { //$NON-NLS-1$
+						return false;
+					}
+					break;
+				default:
+					break;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isGroupPrefix(String regex, int offset) {
+		if (offset >= regex.length()) {
+			return false;
+		}
+		switch (regex.charAt(offset)) {
+			case ':', '=', '!', '>':
+				return true;
+			case '<':
+				return offset + 1 < regex.length()
+						&& (regex.charAt(offset + 1) == '=' || regex.charAt(offset + 1) == '!' || Character.isLetter(regex.charAt(offset + 1)));
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Thrown while matching when the time limit for a file is exceeded.
+	 */
+	private static final class TimeLimitExceededException extends RuntimeException {
+		private static final long serialVersionUID= 1L;
+
+		TimeLimitExceededException() {
+			super(null, null, false, false);
+		}
+	}
+
+	/**
+	 * Checks the deadline from time to time while the matcher reads the sequence.
+	 */
+	private static final class TimeLimitedCharSequence implements CharSequence {
+		private static final int CHECK_INTERVAL_MASK= 0xFFF;
+
+		private final CharSequence fSequence;
+		private final long fDeadline;
+		private int fCount;
+
+		TimeLimitedCharSequence(CharSequence sequence, long deadline) {
+			fSequence= sequence;
+			fDeadline= deadline;
+		}
+
+		@Override
+		public int length() {
+			return fSequence.length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			if ((++fCount & CHECK_INTERVAL_MASK) == 0 && System.nanoTime() - fDeadline > 0) {
+				throw new TimeLimitExceededException();
+			}
+			return fSequence.charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new TimeLimitedCharSequence(fSequence.subSequence(start, end), fDeadline);
+		}
+
+		@Override
+		public String toString() {
+			return fSequence.toString();
 		}
-		return occurences;
 	}
 
 
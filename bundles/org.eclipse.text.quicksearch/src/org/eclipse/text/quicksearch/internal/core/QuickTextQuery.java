@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2010 Pivotal Software, Inc. and others.
+ * Copyright (c) 2013, 2026 Pivotal Software, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.search.internal.core.text.LiteralPrefilter;
 
 /**
  * Represents something you can search for with a 'quick search' text searcher.
@@ -49,6 +50,9 @@ public class QuickTextQuery {
 	private final boolean caseInsensitive;
 	private final String orgPattern; //Original pattern case preserved even if search is case insensitive.
 	final Pattern pattern;
+	private final List<String> literals = new ArrayList<>(); //The parts of the pattern without wildcards.
+	private int[] trigrams; //Lazy initialized
+	private final LiteralPrefilter prefilter;
 
 	/**
 	 * A query that matches anything.
@@ -62,6 +66,8 @@ public class QuickTextQuery {
 		this.caseInsensitive = caseInsensitive;
 		String regex = createRegEx(substring);
 		pattern = Pattern.compile(regex, caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
+		//Pattern.CASE_INSENSITIVE alone only folds ASCII characters.
+		prefilter = LiteralPrefilter.create(literals, caseInsensitive, false);
 	}
 
 	private String createRegEx(String patString) {
@@ -102,6 +108,7 @@ public class QuickTextQuery {
 
 	private void appendSegment(StringBuilder segment, StringBuilder regexp) {
 		if (segment.length()>0) {
+			literals.add(segment.toString());
 			regexp.append(Pattern.quote(segment.toString()));
 			segment.setLength(0); //clear: ready for next segment
 		}
@@ -163,6 +170,38 @@ public class QuickTextQuery {
 		return "".equals(this.orgPattern); //$NON-NLS-1$
 	}
 
+	/**
+	 * Returns the trigrams that any text matching this query must contain, as computed by
+	 * {@link TrigramIndex#trigrams(CharSequence)}. The trigrams are taken from the parts of the
+	 * pattern between wildcards and ignore case, so they can be used for case sensitive and case
+	 * insensitive queries.
+	 *
+	 * @return the trigram hashes, empty if no part of the pattern has three or more characters
+	 */
+	public int[] getTrigrams() {
+		if (trigrams == null) {
+			int[] result = new int[0];
+			for (String literal : literals) {
+				int[] t = TrigramIndex.trigrams(literal);
+				int[] merged = Arrays.copyOf(result, result.length + t.length);
+				System.arraycopy(t, 0, merged, result.length, t.length);
+				result = merged;
+			}
+			trigrams = result;
+		}
+		return trigrams;
+	}
+
+	/**
+	 * Returns a prefilter that tells from the raw bytes of a file whether it can contain a match,
+	 * so that other files don't have to be decoded.
+	 *
+	 * @return the prefilter, or <code>null</code> if the pattern has no literal part long enough to filter
+	 */
+	public LiteralPrefilter getPrefilter() {
+		return prefilter;
+	}
+
 	@Override
 	public String toString() {
 		return "QTQuery("+orgPattern+", "+(caseInsensitive?"caseSens":"caseInSens")+")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
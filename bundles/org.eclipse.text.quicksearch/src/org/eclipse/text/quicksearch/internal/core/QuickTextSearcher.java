@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Pivotal Software, Inc.
+ * Copyright (c) 2013, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,15 +12,18 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
-import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,10 +35,13 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.search.internal.core.text.LiteralPrefilter;
+import org.eclipse.text.quicksearch.internal.core.TrigramIndex.FileStamp;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatcher;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatchers;
 import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
 import org.eclipse.text.quicksearch.internal.ui.Messages;
+import org.eclipse.text.quicksearch.internal.ui.QuickSearchActivator;
 import org.eclipse.text.quicksearch.internal.util.LightSchedulingRule;
 import org.eclipse.text.quicksearch.internal.util.LineReader;
 
@@ -56,6 +62,27 @@ public class QuickTextSearcher {
 	private final ISchedulingRule matchesRule = new LightSchedulingRule("QuickSearchMatchesRule"); //$NON-NLS-1$
 
 	private final SearchInFilesWalker walker;
+
+	/**
+	 * The position at which searching a file stopped, when the walker was suspended in the middle of the file.
+	 *
+	 * @param stamp the modification stamp of the file when it was searched
+	 * @param line the number of the line to continue with
+	 * @param offset the char offset of the line
+	 * @param byteOffset the byte offset of the line, or -1 if unknown
+	 */
+	private record Checkpoint(long stamp, int line, int offset, long byteOffset) {
+	}
+
+	/**
+	 * Checkpoints of the files which were only partially searched.
+	 */
+	private final Map<IFile, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+
+	/**
+	 * Index used to skip files which can't contain a match, or <code>null</code> if disabled.
+	 */
+	private final TrigramIndex index;
 	private IncrementalUpdateJob incrementalUpdate;
 
 	/**
@@ -69,10 +96,10 @@ public class QuickTextSearcher {
 	/**
 	 * If number of accumulated results reaches maxResults the search will be suspended.
 	 * <p>
-	 * Note that more results may still arrive beyond the limit since the searcher does not (yet) have the
-	 * capability to suspend/resume a search in the middle of a file.
+	 * The search is suspended in the middle of a file if necessary, and resumes from there
+	 * when more results are requested.
 	 */
-	private int maxResults = DEFAULT_MAX_RESULTS;
+	private volatile int maxResults = DEFAULT_MAX_RESULTS;
 
 	/**
 	 * If a line of text is encountered longer than this, the searcher will stop searching
@@ -105,10 +132,23 @@ public class QuickTextSearcher {
 		this.maxResults = maxResults;
 	}
 
+	/**
+	 * Raises the result limit and resumes a search that was suspended because the limit was reached.
+	 * Searching continues where it stopped, also within files.
+	 *
+	 * @param count the number of results to add to the current limit
+	 */
+	public void requestMoreResults(int count) {
+		this.maxResults += count;
+		walker.resume();
+	}
+
 	public QuickTextSearcher(QuickTextQuery query, PriorityFunction priorities, int maxLineLen, QuickTextSearchRequestor requestor) {
 		this.MAX_LINE_LEN = maxLineLen;
 		this.requestor = requestor;
 		this.query = query;
+		QuickSearchActivator activator = QuickSearchActivator.getDefault();
+		this.index = activator != null ? activator.getTrigramIndex() : null;
 		this.walker = createWalker(new PriorityFunction() {
 			@Override
 			public double priority(IResource r) {
@@ -152,28 +192,57 @@ public class QuickTextSearcher {
 		@Override
 		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
 			currentFile = f;
-			return search(f, canceled, MAX_LINE_LEN, query.pattern, QuickTextSearcher.this::add);
+			Checkpoint checkpoint = checkpoints.remove(f);
+			if (checkpoint != null && checkpoint.stamp() != f.getModificationStamp()) {
+				//The file was changed after searching it was suspended, the checkpoint is no longer valid.
+				checkpoint = null;
+			}
+			int[] trigrams = query.getTrigrams();
+			if (checkpoint == null && index != null && trigrams.length > 0 && !index.mayContain(f, trigrams)) {
+				//The file can't contain a match.
+				return true;
+			}
+			return search(f, canceled, MAX_LINE_LEN, query, QuickTextSearcher.this::add, index, checkpoint, checkpoints);
 		}
 
+		/**
+		 * Searches a file, starting at the given checkpoint if not null. If searching is canceled or a match
+		 * can't be added, a checkpoint for the current line is stored and false is returned.
+		 */
 		private static boolean search(IFile f, BooleanSupplier canceled,
-				int maxLineLength, Pattern pattern, Consumer<LineItem> add) {
+				int maxLineLength, QuickTextQuery query, Predicate<LineItem> add, TrigramIndex index,
+				Checkpoint start, Map<IFile, Checkpoint> checkpoints) {
 			if (canceled.getAsBoolean()) {
+				if (start != null) {
+					checkpoints.put(f, start);
+				}
 				return false;
 			}
-			try (LineReader lr = new LineReader(getReader(f),
-					maxLineLength)) {
+			Pattern pattern = query.pattern;
+			long stamp = f.getModificationStamp();
+			int baseLine = start != null ? start.line() : 1;
+			int baseOffset = start != null ? start.offset() : 0;
+			long baseByteOffset = start != null ? start.byteOffset() : 0;
+			//Byte offsets are only known if reading started at a known byte offset.
+			try (LineReader lr = new LineReader(start != null ? getReader(f, start) : getReader(f, index, query.getPrefilter()),
+					maxLineLength, baseByteOffset >= 0 ? f.getCharset() : null)) {
 				String line;
-				int lineIndex = 1;
+				int lineIndex = baseLine;
 				while ((line = lr.readLine()) != null) {
-					int offset = lr.getLastLineOffset();
+					int offset = baseOffset + lr.getLastLineOffset();
 					if (canceled.getAsBoolean()) {
+						checkpoints.put(f, new Checkpoint(stamp, lineIndex, offset, byteOffset(baseByteOffset, lr)));
 						return false;
 					}
 
 					Matcher matcher = pattern.matcher(line);
 					if (matcher.find()) {
 						LineItem lineItem = new LineItem(f, line, lineIndex, offset);
-						add.accept(lineItem);
+						if (!add.test(lineItem)) {
+							//The result limit is reached, continue with this line when more results are requested.
+							checkpoints.put(f, new Checkpoint(stamp, lineIndex, offset, byteOffset(baseByteOffset, lr)));
+							return false;
+						}
 					}
 
 					lineIndex++;
@@ -184,9 +253,53 @@ public class QuickTextSearcher {
 			return true;
 		}
 
-		private static Reader getReader(IFile f) throws UnsupportedEncodingException, CoreException {
-			String shortString = toShortString(f);
-			if (shortString != null) {
+		private static long byteOffset(long baseByteOffset, LineReader lr) {
+			long byteOffset = lr.getLastLineByteOffset();
+			return baseByteOffset >= 0 && byteOffset >= 0 ? baseByteOffset + byteOffset : -1;
+		}
+
+		/**
+		 * Returns a reader for the rest of the file after a checkpoint.
+		 */
+		private static Reader getReader(IFile f, Checkpoint start) throws IOException, CoreException {
+			InputStream contents = f.getContents(true);
+			try {
+				if (start.byteOffset() >= 0) {
+					//Don't even read the bytes before the checkpoint.
+					contents.skipNBytes(start.byteOffset());
+					return new InputStreamReader(contents, f.getCharset());
+				}
+				Reader reader = new InputStreamReader(contents, f.getCharset());
+				long toSkip = start.offset();
+				while (toSkip > 0) {
+					long skipped = reader.skip(toSkip);
+					if (skipped <= 0) {
+						break;
+					}
+					toSkip -= skipped;
+				}
+				return reader;
+			} catch (IOException | CoreException | RuntimeException e) {
+				contents.close();
+				throw e;
+			}
+		}
+
+		private static Reader getReader(IFile f, TrigramIndex index, LiteralPrefilter prefilter) throws UnsupportedEncodingException, CoreException {
+			//Take the version before reading, so that a concurrent change invalidates the entry.
+			FileStamp stamp = index != null ? FileStamp.of(f) : null;
+			byte[] content = readShortContent(f);
+			if (content != null) {
+				String charset = f.getCharset();
+				if (prefilter != null && !prefilter.mayMatch(content, 0, content.length, charset)) {
+					//The file can't contain a match, don't bother decoding it.
+					return Reader.nullReader();
+				}
+				String shortString = new String(content, charset);
+				if (index != null) {
+					//Index the file while we have its content anyway.
+					index.addIfAbsent(f, stamp, shortString);
+				}
 				return new StringReader(shortString);
 			} else {
 				return new InputStreamReader(f.getContents(true), f.getCharset());
@@ -205,19 +318,32 @@ public class QuickTextSearcher {
 	/**
 	 * Try to get a content as String. Avoids Streaming.
 	 */
-	private static String toShortString(IFile file) {
+	static String toShortString(IFile file) {
+		byte[] content = readShortContent(file);
+		if (content == null) {
+			return null;
+		}
+		try {
+			String charset = file.getCharset();
+			return new String(content, charset);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+	/**
+	 * Reads the content of a small file, returns null if the file is too large or can't be read.
+	 */
+	private static byte[] readShortContent(IFile file) {
 		/**
 		 * Just any number such that the most source files will fit in. And not too
 		 * big to avoid out of memory.
 		 **/
 		try {
 			byte[] content = file.readNBytes(MAX_BUFFER_LENGTH);
-			int length = content.length;
-			if (length >= MAX_BUFFER_LENGTH) {
+			if (content.length >= MAX_BUFFER_LENGTH) {
 				return null;
 			}
-			String charset = file.getCharset();
-			return new String(content, charset);
+			return content;
 		} catch (Exception e) {
 			return null;
 		}
@@ -282,6 +408,7 @@ public class QuickTextSearcher {
 			matches.clear();
 			requestor.clear();
 			walker.cancel();
+			checkpoints.clear();
 			if (!query.isTrivial()) {
 				walker.init(); //Reinitialize the walker work queue to its starting state
 				walker.resume(); //Allow walker to resume when we release the scheduling rule.
@@ -292,12 +419,24 @@ public class QuickTextSearcher {
 
 	}
 
-	private void add(LineItem line) {
-		if (!isActive()) {
+	/**
+	 * Adds a match, unless the result limit was already reached.
+	 *
+	 * @return false if the match was not added because of the result limit
+	 */
+	private synchronized boolean add(LineItem line) {
+		if (matches.size() >= maxResults) {
 			walker.suspend();
-		} else if (matches.add(line)) {
+			return false;
+		}
+		if (matches.add(line)) {
 			requestor.add(line);
 		}
+		if (matches.size() >= maxResults) {
+			//Let the other workers stop at their current line, not at their next match.
+			walker.suspend();
+		}
+		return true;
 	}
 
 	public void setQuery(QuickTextQuery newQuery, boolean force) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Pivotal Software, Inc.
+ * Copyright (c) 2013, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,13 +12,14 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
-import java.util.Collection;
-import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
 
 import org.eclipse.core.resources.IContainer;
@@ -41,6 +42,10 @@ import org.eclipse.text.quicksearch.internal.ui.QuickSearchActivator;
  * to the resources to decide the ordering and completely ignore some resources.
  * <p>
  * The walker can also be paused and resumed.
+ * <p>
+ * Files are searched by several worker threads which take the resource with the highest priority
+ * from a shared queue. A worker taking a container adds the children of the container to the queue,
+ * so the resource tree is walked concurrently as well and the priority order is kept approximately.
  *
  * @author Kris De Volder
  */
@@ -58,34 +63,42 @@ public abstract class ResourceWalker extends Job {
 		init();
 	}
 
+	/**
+	 * The maximal number of files searched concurrently. Reading more files at the same time
+	 * doesn't make searching faster, since the storage becomes the bottleneck.
+	 */
+	private static final int MAX_WORKERS = 8;
+
 	protected void init() {
 		filesToSearch.clear();
-		addRecursive(filesToSearch, new QItem(0, ResourcesPlugin.getWorkspace().getRoot()));
+		//The containers are expanded by the workers, in the order of their priority.
+		filesToSearch.add(new QItem(0, ResourcesPlugin.getWorkspace().getRoot()));
 	}
 
-	private void addRecursive(Collection<QItem> queue, QItem item) {
-		IResource r = item.resource;
-		if (r instanceof IFile) {
-			queue.add(item);
-		} else if (r instanceof IContainer f) {
-			if (f.isAccessible()) {
-				try {
-					for (IResource child : f.members()) {
-						double p = priority(child);
-						if (p != PriorityFunction.PRIORITY_IGNORE) {
-							addRecursive(queue, new QItem(p, child));
-						}
+	/**
+	 * Adds the children of a container to the work to do.
+	 */
+	private void expand(IContainer container, BlockingQueue<QItem> queue, AtomicInteger pending) {
+		if (container.isAccessible()) {
+			try {
+				for (IResource child : container.members()) {
+					double p = priority(child);
+					if (p != PriorityFunction.PRIORITY_IGNORE) {
+						QItem item = new QItem(p, child);
+						filesToSearch.add(item);
+						pending.incrementAndGet();
+						queue.add(item);
 					}
-				} catch (CoreException e) {
-					QuickSearchActivator.log(e);
 				}
+			} catch (CoreException e) {
+				QuickSearchActivator.log(e);
 			}
 		}
 	}
 
 	/**
-	 * Work to do. When all work is done this is empty. So it
-	 * can also be used to determine 'done' status.
+	 * Work to do, files to search and containers to expand. When all work is done this is
+	 * empty. So it can also be used to determine 'done' status.
 	 */
 	private final Set<QItem> filesToSearch = ConcurrentHashMap.newKeySet();
 
@@ -138,32 +151,53 @@ public abstract class ResourceWalker extends Job {
 
 	@Override
 	public IStatus run(IProgressMonitor monitor) {
-		int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
-		ExecutorService executorService = Executors.newFixedThreadPool(workers);
-		// copy the filesToSearch, to only remove a file after search completed
-		PriorityQueue<QItem> queue = new PriorityQueue<>();
+		int workers = Math.max(1, Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors() - 1));
+		ExecutorService executorService = Executors.newFixedThreadPool(workers, r -> {
+			Thread thread = new Thread(r, getName());
+			thread.setDaemon(true);
+			return thread;
+		});
+		// copy the filesToSearch, to only remove an item after it has been processed
+		BlockingQueue<QItem> queue = new PriorityBlockingQueue<>(Math.max(1, filesToSearch.size()));
 		queue.addAll(filesToSearch);
+		// number of items queued or being processed, the workers are done when it drops to zero
+		AtomicInteger pending = new AtomicInteger(queue.size());
+		BooleanSupplier canceled = () -> monitor.isCanceled() || suspend;
 		for (int worker = 0; worker < workers; worker++) {
 			executorService.submit(() -> {
-				QItem item;
-				while ((item = queue.poll()) != null) {
-					if (monitor.isCanceled() || suspend) {
+				while (!canceled.getAsBoolean() && pending.get() > 0) {
+					QItem item;
+					try {
+						// another worker may still add the children of a container
+						item = queue.poll(10, TimeUnit.MILLISECONDS);
+					} catch (InterruptedException e) {
 						break;
-					} else {
-						IResource r = item.resource;
-						IFile f = (IFile) r;
-						boolean searched = searchIn(f, () -> monitor.isCanceled() || suspend);
-						if (searched) {
+					}
+					if (item == null) {
+						continue;
+					}
+					try {
+						if (canceled.getAsBoolean()) {
+							break;
+						}
+						if (item.resource instanceof IFile f) {
+							if (searchIn(f, canceled)) {
+								filesToSearch.remove(item);
+							}
+						} else if (item.resource instanceof IContainer c) {
+							expand(c, queue, pending);
 							filesToSearch.remove(item);
 						}
+					} finally {
+						pending.decrementAndGet();
 					}
 				}
 			});
 		}
+		executorService.shutdown();
 		try {
-			while (!executorService.awaitTermination(1, TimeUnit.MILLISECONDS)) {
-				executorService.shutdown();
-				if (monitor.isCanceled() || suspend) {
+			while (!executorService.awaitTermination(10, TimeUnit.MILLISECONDS)) {
+				if (canceled.getAsBoolean()) {
 					queue.clear();
 					executorService.shutdownNow();
 				}
@@ -0,0 +1,470 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
+import org.eclipse.text.quicksearch.internal.ui.Messages;
+import org.eclipse.text.quicksearch.internal.ui.QuickSearchActivator;
+
+/**
+ * An index telling which files may contain a given text. For every indexed file, the index keeps
+ * a small bit set of the (lower case) trigrams of its content. A file whose bit set lacks one of
+ * the trigrams of a query can't contain a match and doesn't have to be read.
+ * <p>
+ * Files which are not indexed (yet), which changed since they were indexed or which are not in
+ * sync with the file system may always contain a match, so searching falls back to reading
+ * them. The index is filled by the files read while searching and by a background job, until it
+ * reaches its size limit. It is kept up to date using resource deltas and can be saved to and
+ * loaded from disk.
+ */
+public class TrigramIndex implements IResourceChangeListener {
+
+	private static final int VERSION = 2;
+
+	private static final int MIN_FILTER_BITS = 64;
+	private static final int MAX_FILTER_BITS = 1 << 16;
+	/**
+	 * Number of bits per trigram. With a single hash function, a trigram which is not in the file
+	 * is reported as possibly contained with a probability of about 12%.
+	 */
+	private static final int BITS_PER_TRIGRAM = 8;
+
+	/**
+	 * The version of a file. An entry is only used for the version of the file it was created
+	 * for, comparing the local time stamp and the size as well catches changes which don't
+	 * update the modification stamp, like changes made while the workspace wasn't running.
+	 *
+	 * @param modificationStamp the modification stamp of the file
+	 * @param localTimeStamp the local time stamp of the file
+	 * @param size the size of the file in bytes
+	 */
+	public static record FileStamp(long modificationStamp, long localTimeStamp, long size) {
+
+		/**
+		 * Returns the current version of a file.
+		 *
+		 * @param file the file
+		 * @return the version, or <code>null</code> if the file is not local or not in sync with
+		 *         the file system and must not be looked up in the index
+		 */
+		public static FileStamp of(IFile file) {
+			if (!file.isSynchronized(IResource.DEPTH_ZERO)) {
+				return null;
+			}
+			long modificationStamp = file.getModificationStamp();
+			long localTimeStamp = file.getLocalTimeStamp();
+			IPath location = file.getLocation();
+			if (modificationStamp == IResource.NULL_STAMP || localTimeStamp == IResource.NULL_STAMP || location == null) {
+				return null;
+			}
+			return new FileStamp(modificationStamp, localTimeStamp, location.toFile().length());
+		}
+	}
+
+	private static record Entry(FileStamp stamp, long[] filter) {
+		long size(String path) {
+			return 56 + 2L * path.length() + 8L * filter.length;
+		}
+	}
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong size = new AtomicLong();
+	private final long maxSize;
+	private final Path storage;
+	private final IndexBuilder builder;
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param storage the file the index is saved to, or <code>null</code> if the index isn't saved
+	 * @param maxSize the maximal size of the index in bytes
+	 * @param workspace the workspace whose files are indexed by the background job, or
+	 *        <code>null</code> if files are only indexed while searching
+	 * @param priorities the function telling which files to index in the background
+	 */
+	public TrigramIndex(Path storage, long maxSize, IWorkspace workspace, PriorityFunction priorities) {
+		this.storage = storage;
+		this.maxSize = maxSize;
+		this.builder = workspace != null ? new IndexBuilder(workspace, priorities) : null;
+	}
+
+	/**
+	 * Starts keeping the index up to date, loads the saved index and indexes the files of the
+	 * workspace in the background.
+	 */
+	public void start() {
+		if (builder != null) {
+			builder.workspace.addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+			builder.schedule();
+		}
+	}
+
+	/**
+	 * Stops updating the index and saves it.
+	 */
+	public void dispose() {
+		if (builder != null) {
+			builder.workspace.removeResourceChangeListener(this);
+			builder.cancel();
+			try {
+				builder.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		save();
+	}
+
+	/**
+	 * Returns the hashes of the distinct trigrams of the given text, ignoring case.
+	 *
+	 * @param text the text
+	 * @return the sorted hashes, empty if the text is shorter than three characters
+	 */
+	public static int[] trigrams(CharSequence text) {
+		int length = text.length();
+		if (length < 3) {
+			return new int[0];
+		}
+		int[] hashes = new int[length - 2];
+		char a = Character.toLowerCase(text.charAt(0));
+		char b = Character.toLowerCase(text.charAt(1));
+		for (int i = 2; i < length; i++) {
+			char c = Character.toLowerCase(text.charAt(i));
+			hashes[i - 2] = hash(a, b, c);
+			a = b;
+			b = c;
+		}
+		Arrays.sort(hashes);
+		int count = 0;
+		for (int i = 0; i < hashes.length; i++) {
+			if (i == 0 || hashes[i] != hashes[count - 1]) {
+				hashes[count++] = hashes[i];
+			}
+		}
+		return Arrays.copyOf(hashes, count);
+	}
+
+	private static int hash(char a, char b, char c) {
+		int h = ((a * 31) + b) * 31 + c;
+		// spread the bits, the filters use the low bits only
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	static long[] createFilter(int[] trigrams) {
+		int bits = Integer.highestOneBit(Math.max(MIN_FILTER_BITS, trigrams.length * BITS_PER_TRIGRAM));
+		bits = Math.min(bits, MAX_FILTER_BITS);
+		long[] filter = new long[bits / 64];
+		for (int trigram : trigrams) {
+			int bit = trigram & (bits - 1);
+			filter[bit >>> 6] |= 1L << bit;
+		}
+		return filter;
+	}
+
+	private static boolean containsAll(long[] filter, int[] trigrams) {
+		int bits = filter.length * 64;
+		for (int trigram : trigrams) {
+			int bit = trigram & (bits - 1);
+			if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a file to the index, unless the index is full.
+	 *
+	 * @param path the full path of the file
+	 * @param stamp the version of the file when its content was read
+	 * @param content the content of the file
+	 */
+	public void add(String path, FileStamp stamp, CharSequence content) {
+		if (isFull()) {
+			return;
+		}
+		Entry entry = new Entry(stamp, createFilter(trigrams(content)));
+		Entry old = entries.put(path, entry);
+		size.addAndGet(entry.size(path) - (old != null ? old.size(path) : 0));
+	}
+
+	/**
+	 * Removes a file from the index.
+	 *
+	 * @param path the full path of the file
+	 */
+	public void remove(String path) {
+		Entry old = entries.remove(path);
+		if (old != null) {
+			size.addAndGet(-old.size(path));
+		}
+	}
+
+	/**
+	 * Removes all files in a folder from the index.
+	 *
+	 * @param path the full path of the folder
+	 */
+	private void removeAll(String path) {
+		String prefix = path + '/';
+		for (String file : entries.keySet()) {
+			if (file.startsWith(prefix)) {
+				remove(file);
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the index has an entry for the given version of a file.
+	 *
+	 * @param path the full path of the file
+	 * @param stamp the current version of the file
+	 * @return <code>true</code> if the file is indexed
+	 */
+	public boolean contains(String path, FileStamp stamp) {
+		Entry entry = entries.get(path);
+		return entry != null && entry.stamp.equals(stamp);
+	}
+
+	/**
+	 * Tells whether a file may contain all of the given trigrams.
+	 *
+	 * @param path the full path of the file
+	 * @param stamp the current version of the file
+	 * @param trigrams the trigrams as returned by {@link #trigrams(CharSequence)}
+	 * @return <code>false</code> if the file is known to miss at least one of the trigrams
+	 */
+	public boolean mayContain(String path, FileStamp stamp, int[] trigrams) {
+		Entry entry = entries.get(path);
+		if (entry == null || !entry.stamp.equals(stamp)) {
+			return true;
+		}
+		return containsAll(entry.filter, trigrams);
+	}
+
+	public boolean mayContain(IFile file, int[] trigrams) {
+		FileStamp stamp = FileStamp.of(file);
+		//Files which are out of sync may have changed since they were indexed.
+		return stamp == null || mayContain(file.getFullPath().toString(), stamp, trigrams);
+	}
+
+	/**
+	 * Adds a file to the index if it isn't indexed yet.
+	 *
+	 * @param file the file
+	 * @param stamp the version of the file when its content was read, or <code>null</code> if
+	 *        the file must not be indexed
+	 * @param content the content of the file
+	 */
+	public void addIfAbsent(IFile file, FileStamp stamp, CharSequence content) {
+		String path = file.getFullPath().toString();
+		if (stamp != null && !contains(path, stamp)) {
+			add(path, stamp, content);
+		}
+	}
+
+	public boolean isFull() {
+		return size.get() >= maxSize;
+	}
+
+	/**
+	 * Returns the number of indexed files.
+	 */
+	public int getFileCount() {
+		return entries.size();
+	}
+
+	/**
+	 * Loads the index saved by {@link #save()}, if any. A missing or corrupt file leaves the index
+	 * empty.
+	 */
+	public void load() {
+		if (storage == null) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(storage)))) {
+			if (in.readInt() != VERSION) {
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count && !isFull(); i++) {
+				String path = in.readUTF();
+				FileStamp stamp = new FileStamp(in.readLong(), in.readLong(), in.readLong());
+				long[] filter = new long[in.readInt()];
+				for (int j = 0; j < filter.length; j++) {
+					filter[j] = in.readLong();
+				}
+				Entry entry = new Entry(stamp, filter);
+				//Files indexed while loading are more recent.
+				if (entries.putIfAbsent(path, entry) == null) {
+					size.addAndGet(entry.size(path));
+				}
+			}
+		} catch (NoSuchFileException e) {
+			// nothing saved yet
+		} catch (IOException | RuntimeException e) {
+			entries.clear();
+			size.set(0);
+		}
+	}
+
+	/**
+	 * Saves the index, so that it can be {@link #load() loaded} in the next session.
+	 */
+	public void save() {
+		if (storage == null) {
+			return;
+		}
+		Map<String, Entry> snapshot = Map.copyOf(entries);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(storage)))) {
+			out.writeInt(VERSION);
+			out.writeInt(snapshot.size());
+			for (Map.Entry<String, Entry> e : snapshot.entrySet()) {
+				out.writeUTF(e.getKey());
+				FileStamp stamp = e.getValue().stamp;
+				out.writeLong(stamp.modificationStamp());
+				out.writeLong(stamp.localTimeStamp());
+				out.writeLong(stamp.size());
+				long[] filter = e.getValue().filter;
+				out.writeInt(filter.length);
+				for (long word : filter) {
+					out.writeLong(word);
+				}
+			}
+		} catch (IOException e) {
+			QuickSearchActivator.log(e);
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		boolean[] changed = { false };
+		try {
+			delta.accept(d -> {
+				IResource r = d.getResource();
+				switch (d.getKind()) {
+				case IResourceDelta.REMOVED:
+					if (r instanceof IContainer) {
+						removeAll(r.getFullPath().toString());
+						return false;
+					}
+					remove(r.getFullPath().toString());
+					return false;
+				case IResourceDelta.ADDED:
+					changed[0] = true;
+					return false;
+				default:
+					if (r instanceof IFile && (d.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0) {
+						remove(r.getFullPath().toString());
+						changed[0] = true;
+					}
+					return true;
+				}
+			});
+		} catch (CoreException e) {
+			QuickSearchActivator.log(e);
+		}
+		if (changed[0] && builder != null && !isFull()) {
+			builder.schedule(1000);
+		}
+	}
+
+	/**
+	 * Indexes the files of the workspace which are not indexed yet.
+	 */
+	private final class IndexBuilder extends Job {
+
+		private final IWorkspace workspace;
+		private final PriorityFunction priorities;
+		private boolean loaded;
+
+		IndexBuilder(IWorkspace workspace, PriorityFunction priorities) {
+			super(Messages.QuickTextSearch_indexJob);
+			this.workspace = workspace;
+			this.priorities = priorities;
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (!loaded) {
+				loaded = true;
+				load();
+			}
+			try {
+				workspace.getRoot().accept(r -> {
+					if (monitor.isCanceled() || isFull()) {
+						throw new OperationCanceledException();
+					}
+					if (r.getType() != IResource.ROOT && priorities.priority(r) == PriorityFunction.PRIORITY_IGNORE) {
+						return false;
+					}
+					if (r instanceof IFile f) {
+						FileStamp stamp = FileStamp.of(f);
+						if (stamp != null && !contains(f.getFullPath().toString(), stamp)) {
+							String content = QuickTextSearcher.toShortString(f);
+							if (content != null) {
+								addIfAbsent(f, stamp, content);
+							}
+						}
+					}
+					return true;
+				});
+			} catch (OperationCanceledException e) {
+				// canceled or full
+			} catch (CoreException e) {
+				QuickSearchActivator.log(e);
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+	}
+}
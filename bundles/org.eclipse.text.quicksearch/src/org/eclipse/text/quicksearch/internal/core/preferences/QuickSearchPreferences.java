@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Pivotal Software, Inc.
+ * Copyright (c) 2013, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -34,6 +34,9 @@ public class QuickSearchPreferences {
 	public static final String IGNORED_PREFIXES = "ignored.prefixes"; //$NON-NLS-1$
 	public static final String MAX_LINE_LEN = "LineReader.MAX_LINE_LEN"; //$NON-NLS-1$
 	public static final String MAX_RESULTS = "QuickTextSearcher.MAX_RESULTS"; //$NON-NLS-1$
+	public static final String USE_INDEX = "TrigramIndex.ENABLED"; //$NON-NLS-1$
+	public static final String MAX_INDEX_SIZE = "TrigramIndex.MAX_SIZE"; //$NON-NLS-1$
+	public static final int DEFAULT_MAX_INDEX_SIZE = 64; // MB
 	private static boolean initializedDefaults;
 
 	private final IPreferenceStore store;
@@ -63,6 +66,17 @@ public class QuickSearchPreferences {
 		return store.getInt(MAX_RESULTS);
 	}
 
+	public boolean isIndexEnabled() {
+		return store.getBoolean(USE_INDEX);
+	}
+
+	/**
+	 * @return the maximal size of the trigram index in bytes
+	 */
+	public long getMaxIndexSize() {
+		return store.getInt(MAX_INDEX_SIZE) * 1024L * 1024L;
+	}
+
 	private String[] getAndParseStringList(String key) {
 		String raw = store.getString(key);
 		if (raw!=null) {
@@ -96,6 +110,8 @@ public class QuickSearchPreferences {
 			IPreferenceStore store = QuickSearchActivator.getDefault().getPreferenceStore();
 			store.setDefault(QuickSearchPreferences.MAX_LINE_LEN, LineReader.DEFAULT_MAX_LINE_LENGTH);
 			store.setDefault(QuickSearchPreferences.MAX_RESULTS, QuickTextSearcher.DEFAULT_MAX_RESULTS);
+			store.setDefault(QuickSearchPreferences.USE_INDEX, false);
+			store.setDefault(QuickSearchPreferences.MAX_INDEX_SIZE, DEFAULT_MAX_INDEX_SIZE);
 
 			DefaultPriorityFunction dpf =  new DefaultPriorityFunction();
 			store.setDefault(QuickSearchPreferences.IGNORED_EXTENSIONS, encode(dpf.ignoredExtensions));
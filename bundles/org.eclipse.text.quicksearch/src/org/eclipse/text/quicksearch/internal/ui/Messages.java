@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Pivotal Software, Inc.
+ * Copyright (c) 2019, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -23,6 +23,9 @@ public class Messages extends NLS {
 	public static String QuickSearchPreferencesPage_Tooltip_MaxLineLength;
 	public static String QuickSearchPreferencesPage_Tooltip_MaxResults;
 	public static String QuickSearchPreferencesPage_MaxResults;
+	public static String QuickSearchPreferencesPage_UseIndex;
+	public static String QuickSearchPreferencesPage_Tooltip_UseIndex;
+	public static String QuickSearchPreferencesPage_MaxIndexSize;
 	public static String QuickSearchPreferencesPage_Ignored_Extensions;
 	public static String QuickSearchPreferencesPage_Ignored_Prefixes;
 	public static String QuickSearchPreferencesPage_Ignored_Names;
@@ -44,6 +47,7 @@ public class Messages extends NLS {
 	public static String QuickSearchDialog_caseInsensitive_label;
 	public static String QuickSearchDialog_notFound;
 	public static String QuickTextSearch_updateMatchesJob;
+	public static String QuickTextSearch_indexJob;
 	public static String quickAccessMatch;
 
 	static {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013-2019 Pivotal Software, Inc.
+ * Copyright (c) 2013, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,10 +12,15 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.ui;
 
+import java.nio.file.Path;
+
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.text.quicksearch.internal.core.TrigramIndex;
 import org.eclipse.text.quicksearch.internal.core.preferences.QuickSearchPreferences;
+import org.eclipse.text.quicksearch.internal.core.priority.DefaultPriorityFunction;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 
@@ -32,6 +37,8 @@ public class QuickSearchActivator extends AbstractUIPlugin {
 
 	private QuickSearchPreferences prefs = null; //Lazy initialized
 
+	private TrigramIndex index = null; //Lazy initialized
+
 	/**
 	 * The constructor
 	 */
@@ -54,6 +61,12 @@ public class QuickSearchActivator extends AbstractUIPlugin {
 	 */
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		synchronized (this) {
+			if (index != null) {
+				index.dispose();
+				index = null;
+			}
+		}
 		plugin = null;
 		super.stop(context);
 	}
@@ -102,4 +115,29 @@ public class QuickSearchActivator extends AbstractUIPlugin {
 		return prefs;
 	}
 
+	/**
+	 * Returns the index used to skip files which can't contain the searched text. The index is
+	 * created and loaded on first use and saved when the plug-in is stopped.
+	 *
+	 * @return the index or <code>null</code> if it is disabled in the preferences
+	 */
+	public synchronized TrigramIndex getTrigramIndex() {
+		QuickSearchPreferences preferences = getPreferences();
+		if (!preferences.isIndexEnabled()) {
+			if (index != null) {
+				index.dispose();
+				index = null;
+			}
+			return null;
+		}
+		if (index == null) {
+			DefaultPriorityFunction priorities = new DefaultPriorityFunction();
+			priorities.configure(preferences);
+			Path storage = getStateLocation().append("trigrams.index").toFile().toPath(); //$NON-NLS-1$
+			index = new TrigramIndex(storage, preferences.getMaxIndexSize(), ResourcesPlugin.getWorkspace(), priorities);
+			index.start();
+		}
+		return index;
+	}
+
 }
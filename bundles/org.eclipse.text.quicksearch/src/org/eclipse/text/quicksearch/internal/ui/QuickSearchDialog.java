@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -114,6 +114,7 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.ScrollBar;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.Text;
@@ -843,7 +844,15 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 					}
 				});
 		list.setContentProvider(contentProvider);
-//		new ScrollListener(list.getTable().getVerticalBar());
+		SelectionAdapter moreResultsRequester = new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				requestMoreResults();
+			}
+		};
+		list.getTable().getVerticalBar().addSelectionListener(moreResultsRequester);
+		//Navigating with the keyboard scrolls the list without selecting the scroll bar.
+		list.getTable().addSelectionListener(moreResultsRequester);
 //		new SelectionChangedListener(list);
 
 		Table table = list.getTable();
@@ -1275,7 +1284,7 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 		if (list != null && !list.getTable().isDisposed()) {
 			int itemCount = contentProvider.getNumberOfElements();
 			list.setItemCount(itemCount);
-			if (itemCount < MAX_RESULTS) {
+			if (searcher == null || itemCount < searcher.getMaxResults()) {
 				listLabel.setText(NLS.bind(Messages.QuickSearchDialog_listLabel, itemCount));
 			} else {
 				listLabel.setText(NLS.bind(Messages.QuickSearchDialog_listLabel_limit_reached, itemCount));
@@ -1293,6 +1302,34 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 		}
 	}
 
+	/**
+	 * Continues a search that stopped at the result limit, once the user scrolled or navigated to the end of the list.
+	 */
+	private void requestMoreResults() {
+		if (searcher != null && !searcher.isDone() && !searcher.isActive() && isLastItemReached(list.getTable())) {
+			searcher.requestMoreResults(MAX_RESULTS);
+			if (progressJob != null) {
+				progressJob.schedule();
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the last item of the table is selected or scrolled into view.
+	 */
+	private static boolean isLastItemReached(Table table) {
+		int itemCount = table.getItemCount();
+		if (itemCount == 0 || table.isSelected(itemCount - 1)) {
+			return true;
+		}
+		ScrollBar bar = table.getVerticalBar();
+		if (bar != null && bar.getSelection() + bar.getThumb() >= bar.getMaximum()) {
+			return true;
+		}
+		int visibleItems = table.getClientArea().height / Math.max(1, table.getItemHeight());
+		return table.getTopIndex() + visibleItems >= itemCount;
+	}
+
 	/**
 	 * Schedule refresh job.
 	 */
@@ -1483,6 +1520,8 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 //			this.list.setInput(input)
 		} else {
 			//The QuickTextSearcher is already active update the query
+			//More results requested for the previous query don't carry over to the new one.
+			this.searcher.setMaxResults(MAX_RESULTS);
 			this.searcher.setQuery(newFilter, force);
 		}
 		if (progressJob!=null) {
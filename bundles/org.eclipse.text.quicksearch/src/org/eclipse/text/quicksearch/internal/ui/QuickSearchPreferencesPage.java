@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012 Pivotal Software, Inc.
+ * Copyright (c) 2012, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ package org.eclipse.text.quicksearch.internal.ui;
 
 import org.eclipse.jface.fieldassist.ControlDecoration;
 import org.eclipse.jface.fieldassist.FieldDecorationRegistry;
+import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.StringFieldEditor;
@@ -65,6 +66,15 @@ public class QuickSearchPreferencesPage extends FieldEditorPreferencePage implem
 		maxResultsFieldDecoration.setImage(FieldDecorationRegistry.getDefault().getFieldDecoration(FieldDecorationRegistry.DEC_INFORMATION)
 				.getImage());
 
+		BooleanFieldEditor fieldUseIndex = new BooleanFieldEditor(QuickSearchPreferences.USE_INDEX,
+				Messages.QuickSearchPreferencesPage_UseIndex, getFieldEditorParent());
+		addField(fieldUseIndex);
+		fieldUseIndex.getDescriptionControl(getFieldEditorParent()).setToolTipText(Messages.QuickSearchPreferencesPage_Tooltip_UseIndex);
+
+		IntegerFieldEditor fieldMaxIndexSize = new IntegerFieldEditor(QuickSearchPreferences.MAX_INDEX_SIZE,
+				Messages.QuickSearchPreferencesPage_MaxIndexSize, getFieldEditorParent());
+		addField(fieldMaxIndexSize);
+
 		for (int i = 0; i < fieldLabels.length; i++) {
 			final String tooltip = toolTips[i];
 			StringFieldEditor field = new StringFieldEditor(prefsKeys[i], fieldLabels[i], StringFieldEditor.UNLIMITED,
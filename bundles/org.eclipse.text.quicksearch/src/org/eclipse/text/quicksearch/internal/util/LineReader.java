@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Pivotal Software, Inc.
+ * Copyright (c) 2013, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Provides a helper to efficiently split a file into
@@ -23,6 +25,10 @@ import java.io.StringReader;
  * track of character position while reading. This is needed to
  * ease translation from line-relative offsets into stream-relative
  * offsets.
+ * <p>
+ * If the charset of the underlying bytes is known, the reader can also keep track of the byte
+ * position of the lines, so that reading can later continue at a line without decoding the
+ * text before it.
  *
  * @author Kris De Volder
  */
@@ -43,8 +49,45 @@ public class LineReader implements AutoCloseable{
 	}
 
 	public LineReader(Reader reader, int maxLineLength) {
+		this(reader, maxLineLength, null);
+	}
+
+	/**
+	 * Creates a reader which also tracks the byte offsets of the lines.
+	 *
+	 * @param reader the decoded text
+	 * @param maxLineLength lines longer than this end the text
+	 * @param charset the name of the charset the text was decoded from, or null if unknown
+	 */
+	public LineReader(Reader reader, int maxLineLength, String charset) {
 		input = buffered(reader);
 		this.maxLineLength = maxLineLength;
+		this.bytesPerChar = bytesPerChar(charset);
+		if (bytesPerChar == UNKNOWN) {
+			byteOffset = -1;
+		}
+	}
+
+	/**
+	 * Byte counting modes.
+	 */
+	private static final int UNKNOWN = 0;
+	private static final int SINGLE_BYTE = 1;
+	private static final int UTF_8 = 2;
+
+	private static int bytesPerChar(String charset) {
+		if (charset == null) {
+			return UNKNOWN;
+		}
+		try {
+			Charset cs = Charset.forName(charset);
+			if (cs.equals(StandardCharsets.UTF_8)) {
+				return UTF_8;
+			}
+			return cs.canEncode() && cs.newEncoder().maxBytesPerChar() == 1 ? SINGLE_BYTE : UNKNOWN;
+		} catch (IllegalArgumentException e) {
+			return UNKNOWN;
+		}
 	}
 
 
@@ -54,6 +97,10 @@ public class LineReader implements AutoCloseable{
 	private int lineOffset = -1; //Start pos of last line read.
 	private int offset = 0; //position of next char in input.
 	private int mark = 0; //mark offset in underlying stream
+	private final int bytesPerChar;
+	private long lineByteOffset = -1; //Byte position of last line read, or -1 if unknown.
+	private long byteOffset = 0; //Byte position of next char in input, or -1 if unknown.
+	private long byteMark = 0; //Byte position at mark.
 
 	private Reader buffered(Reader reader) {
 		//If already buffered don't wrap it again.
@@ -83,6 +130,7 @@ public class LineReader implements AutoCloseable{
 
 	public String readLine() throws IOException {
 		lineOffset = offset; //remember start of line
+		lineByteOffset = byteOffset;
 		int maxOffset = offset + maxLineLength;
 		//Read text until we see either a CR, CR LF or LF.
 		int c = read();
@@ -117,22 +165,52 @@ public class LineReader implements AutoCloseable{
 
 	private void unread() throws IOException {
 		offset = mark;
+		byteOffset = byteMark;
 		input.reset();
 	}
 
 	private void mark() throws IOException {
 		mark = offset;
+		byteMark = byteOffset;
 		input.mark(1);
 	}
 
 	private int read() throws IOException {
+		int c;
 		try {
 			offset++;
-			return input.read();
+			c = input.read();
 		} catch (IOException e) {
 			//pretend errors are like EOF.
 			return -1;
 		}
+		if (c != -1 && byteOffset != -1) {
+			byteOffset += byteLength((char) c);
+		}
+		return c;
+	}
+
+	/**
+	 * Returns the number of bytes the char was decoded from, or sets the byte offset to -1 if
+	 * that can't be told.
+	 */
+	private int byteLength(char c) {
+		if (bytesPerChar == SINGLE_BYTE) {
+			return 1;
+		} else if (c < 0x80) {
+			return 1;
+		} else if (c < 0x800) {
+			return 2;
+		} else if (Character.isHighSurrogate(c)) {
+			return 4;
+		} else if (Character.isLowSurrogate(c)) {
+			return 0; //counted with the high surrogate
+		} else if (c == '\uFFFD') {
+			//replaces malformed input of unknown length
+			byteOffset = -1;
+			return 0;
+		}
+		return 3;
 	}
 
 	/**
@@ -143,4 +221,12 @@ public class LineReader implements AutoCloseable{
 		return lineOffset;
 	}
 
+	/**
+	 * @return The byte offset of the start of the last line read relative to the beginning of the stream; or -1 if
+	 * no line has been read yet or if the offset can't be told from the decoded text.
+	 */
+	public long getLastLineByteOffset() {
+		return lineByteOffset;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -678,6 +678,39 @@ public class ProjectionDocument extends AbstractDocument {
 		}
 	}
 
+	/**
+	 * Projection documents do not batch changes. Their content is stored in the
+	 * master document, which has to be informed about each change when it is
+	 * performed, so starting a batched change has no effect.
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public void startBatchedChange() {
+		// do nothing
+	}
+
+	/**
+	 * Projection documents do not batch changes, see {@link #startBatchedChange()}.
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public void stopBatchedChange() {
+		// do nothing
+	}
+
+	/**
+	 * Projection documents do not batch changes, see {@link #startBatchedChange()}.
+	 *
+	 * @return <code>false</code>
+	 * @since 3.15
+	 */
+	@Override
+	public boolean isInBatchedChange() {
+		return false;
+	}
+
 	/**
 	 * Transforms a document event of the master document into a projection
 	 * document based document event.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,7 +36,8 @@ import org.eclipse.core.runtime.SafeRunner;
  * interfaces {@link org.eclipse.jface.text.IDocumentExtension},
  * {@link org.eclipse.jface.text.IDocumentExtension2},
  * {@link org.eclipse.jface.text.IDocumentExtension3},
- * {@link org.eclipse.jface.text.IDocumentExtension4}, as well as
+ * {@link org.eclipse.jface.text.IDocumentExtension4},
+ * {@link org.eclipse.jface.text.IDocumentExtension5}, as well as
  * {@link org.eclipse.jface.text.IRepairableDocument}.
  * <p>
  *
@@ -59,7 +60,7 @@ import org.eclipse.core.runtime.SafeRunner;
  * @see org.eclipse.jface.text.ITextStore
  * @see org.eclipse.jface.text.ILineTracker
  */
-public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IRepairableDocument, IRepairableDocumentExtension {
+public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IDocumentExtension5, IRepairableDocument, IRepairableDocumentExtension {
 
 	/**
 	 * Tells whether this class is in debug mode.
@@ -109,6 +110,11 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	private final Map<String, List<Position>> fEndPositions= new HashMap<>();
+	/**
+	 * The interval indexes on top of the positions ordered by their start positions.
+	 * @since 3.15
+	 */
+	private final Map<String, PositionIntervalIndex> fPositionIndexes= new HashMap<>();
 	/** All registered document position updaters */
 	private final List<IPositionUpdater> fPositionUpdaters= new CopyOnWriteArrayList<>();
 	/**
@@ -141,6 +147,16 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 2.1
 	 */
 	private DocumentEvent fDeferredDocumentEvent;
+	/**
+	 * The number of nested batched changes.
+	 * @since 3.15
+	 */
+	private int fBatchedChangeCount= 0;
+	/**
+	 * The changes of the active batched change or <code>null</code>.
+	 * @since 3.15
+	 */
+	private DocumentChangeBatch fChangeBatch;
 	/**
 	 * The registered document partitioners.
 	 * @since 3.0
@@ -213,6 +229,9 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 */
 	protected ILineTracker getTracker() {
 		Assert.isNotNull(fTracker);
+		if (fChangeBatch != null) {
+			fChangeBatch.updateTracker(fTracker, getStore());
+		}
 		return fTracker;
 	}
 
@@ -356,6 +375,8 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			throw new BadPositionCategoryException(category);
 		}
 		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
+
+		invalidatePositionIndex(category);
 	}
 
 	@Override
@@ -374,8 +395,10 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 
 		if (!containsPositionCategory(category)) {
-			fPositions.put(category, new ArrayList<>());
+			List<Position> positions= new ArrayList<>();
+			fPositions.put(category, positions);
 			fEndPositions.put(category, new ArrayList<>());
+			fPositionIndexes.put(category, new PositionIntervalIndex(positions));
 		}
 	}
 
@@ -613,6 +636,24 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * Informs all registered document partitioning listeners about a change of
+	 * the partitioning which is not caused by a document change, e.g. when a
+	 * partitioner has finished partitioning the document in the background.
+	 * <p>
+	 * May be called from any thread; the listeners are called in the calling
+	 * thread. Must not be called while holding the lock of the document, see
+	 * {@link ISynchronizable}.
+	 * </p>
+	 *
+	 * @param event the document partitioning changed event
+	 * @since 3.15
+	 */
+	public void notifyPartitioningChanged(DocumentPartitioningChangedEvent event) {
+		Assert.isTrue(event.getDocument() == this);
+		fireDocumentPartitioningChanged(event);
+	}
+
 	/**
 	 * Fires the given document event to all registers document listeners informing them
 	 * about the forthcoming document manipulation. Uses a robust iterator.
@@ -645,7 +686,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 		for (IDocumentListener listener : fPrenotifiedDocumentListeners) {
 			try {
-				listener.documentAboutToBeChanged(event);
+				listener.documentAboutToBeChanged(getEventFor(listener, event));
 			} catch (Exception ex) {
 				log(ex);
 			}
@@ -653,7 +694,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 		for (IDocumentListener listener : fDocumentListeners) {
 			try {
-				listener.documentAboutToBeChanged(event);
+				listener.documentAboutToBeChanged(getEventFor(listener, event));
 			} catch (Exception ex) {
 				log(ex);
 			}
@@ -751,7 +792,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 		for (IDocumentListener listener : fPrenotifiedDocumentListeners) {
 			try {
-				listener.documentChanged(event);
+				listener.documentChanged(getEventFor(listener, event));
 			} catch (Exception ex) {
 				log(ex);
 			}
@@ -759,7 +800,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 		for (IDocumentListener listener : fDocumentListeners) {
 			try {
-				listener.documentChanged(event);
+				listener.documentChanged(getEventFor(listener, event));
 			} catch (Exception ex) {
 				log(ex);
 			}
@@ -776,6 +817,22 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * Returns the event to be sent to the given listener. Batched document events
+	 * are only sent to listeners which have opted in.
+	 *
+	 * @param listener the document listener
+	 * @param event the document event
+	 * @return the event for the listener
+	 * @since 3.15
+	 */
+	private static DocumentEvent getEventFor(IDocumentListener listener, DocumentEvent event) {
+		if (event instanceof BatchedDocumentEvent batched && !(listener instanceof IDocumentListenerExtension)) {
+			return batched.getCoalescedEvent();
+		}
+		return event;
+	}
+
 	/**
 	 * Updates the internal document structures and informs all document listeners
 	 * if listener notification has been enabled. Otherwise it remembers the event
@@ -1024,6 +1081,8 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			throw new BadPositionCategoryException(category);
 		}
 		removeFromPositionsList(endPositions, position, false);
+
+		invalidatePositionIndex(category);
 	}
 
 	/**
@@ -1086,6 +1145,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 		fPositions.remove(category);
 		fEndPositions.remove(category);
+		fPositionIndexes.remove(category);
 	}
 
 	@Override
@@ -1119,6 +1179,15 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			throw new BadLocationException();
 		}
 
+		if (fChangeBatch != null) {
+			fChangeBatch.record(getStore(), pos, length, text == null ? 0 : text.length());
+			getStore().replace(pos, length, text);
+			fChangeBatch.deferTrackerUpdate(this, pos, length, text);
+			fModificationStamp= modificationStamp;
+			fNextModificationStamp= Math.max(fModificationStamp, fNextModificationStamp);
+			return;
+		}
+
 		DocumentEvent e= new DocumentEvent(this, pos, length, text);
 		fireDocumentAboutToBeChanged(e);
 
@@ -1160,6 +1229,15 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	public void set(String text, long modificationStamp) {
 		int length= getStore().getLength();
 
+		if (fChangeBatch != null) {
+			fChangeBatch.record(getStore(), 0, length, text == null ? 0 : text.length());
+			getStore().set(text);
+			fChangeBatch.deferTrackerUpdate(this, 0, length, text);
+			fModificationStamp= modificationStamp;
+			fNextModificationStamp= Math.max(fModificationStamp, fNextModificationStamp);
+			return;
+		}
+
 		DocumentEvent e= new DocumentEvent(this, 0, length, text);
 		fireDocumentAboutToBeChanged(e);
 
@@ -1182,9 +1260,60 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 *            the positions
 	 */
 	protected void updatePositions(DocumentEvent event) {
+		if (event instanceof BatchedDocumentEvent batched) {
+			updatePositions(batched);
+			return;
+		}
+
 		for(IPositionUpdater u: fPositionUpdaters) {
 			u.update(event);
 		}
+
+		for (PositionIntervalIndex index : fPositionIndexes.values()) {
+			index.invalidate();
+		}
+	}
+
+	/**
+	 * Updates all positions to the changes of a batched change. The default
+	 * position updater handles all changes in a single pass, all other updaters
+	 * are called for each change, from the last to the first.
+	 *
+	 * @param event the event describing the batched change
+	 * @since 3.15
+	 */
+	private void updatePositions(BatchedDocumentEvent event) {
+		DocumentEvent[] changes= null;
+		for (IPositionUpdater u : fPositionUpdaters) {
+			if (u.getClass() == DefaultPositionUpdater.class) {
+				u.update(event);
+			} else {
+				if (changes == null) {
+					changes= event.getChanges();
+				}
+				for (int i= changes.length - 1; i >= 0; i--) {
+					u.update(changes[i]);
+				}
+			}
+		}
+
+		for (PositionIntervalIndex index : fPositionIndexes.values()) {
+			index.invalidate();
+		}
+	}
+
+	/**
+	 * Invalidates the interval index of the given category after a position
+	 * has been added or removed.
+	 *
+	 * @param category the position category
+	 * @since 3.15
+	 */
+	private void invalidatePositionIndex(String category) {
+		PositionIntervalIndex index= fPositionIndexes.get(category);
+		if (index != null) {
+			index.invalidate();
+		}
 	}
 
 	/**
@@ -1338,6 +1467,86 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public void startBatchedChange() {
+		if (fBatchedChangeCount++ == 0) {
+			fChangeBatch= new DocumentChangeBatch(fModificationStamp);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public void stopBatchedChange() {
+		if (fBatchedChangeCount == 0 || --fBatchedChangeCount > 0) {
+			return;
+		}
+
+		DocumentChangeBatch batch= fChangeBatch;
+		batch.updateTracker(fTracker, getStore());
+		fChangeBatch= null;
+		if (!batch.isEmpty()) {
+			fireBatchedChange(batch);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public boolean isInBatchedChange() {
+		return fBatchedChangeCount > 0;
+	}
+
+	/**
+	 * Sends out the event describing the given batched change and updates the
+	 * document structures. As listeners expect to see the previous content when
+	 * being informed about the forthcoming change, the document reads from a
+	 * view of the original content for the time of that notification. The view
+	 * is built from the original text saved by the batch, the text store itself
+	 * is not modified, so stores forwarding their changes are not affected.
+	 *
+	 * @param batch the changes of the batch
+	 * @since 3.15
+	 */
+	private void fireBatchedChange(DocumentChangeBatch batch) {
+		long modificationStamp= fModificationStamp;
+		ITextStore store= getStore();
+		BatchedDocumentEvent e= batch.createEvent(this, store);
+		String originalText= batch.getOriginalText(store);
+		int offset= e.getOffset();
+
+		try {
+			getTracker().replace(offset, e.getText().length(), originalText);
+			fStore= batch.createOriginalTextStore(store, offset, originalText, e.getText().length());
+			fModificationStamp= batch.getModificationStamp();
+			e.fModificationStamp= fModificationStamp;
+			try {
+				fireDocumentAboutToBeChanged(e);
+			} finally {
+				fStore= store;
+			}
+			getTracker().replace(offset, e.getLength(), e.getText());
+		} catch (BadLocationException x) {
+			// cannot happen, the region has been computed from the content
+			Assert.isTrue(false);
+		}
+
+		fModificationStamp= modificationStamp;
+		e.fModificationStamp= fModificationStamp;
+		fireDocumentChanged(e);
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.IDocumentExtension3#computeZeroLengthPartitioning(java.lang.String, int, int)
 	 * @since 3.0
@@ -1647,11 +1856,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
 			List<Position> documentPositions;
 			if (canStartBefore && canEndAfter) {
-				if (offset < getLength() / 2) {
-					documentPositions= getStartingPositions(category, 0, offset + length);
-				} else {
-					documentPositions= getEndingPositions(category, offset, getLength() - offset + 1);
-				}
+				documentPositions= getOverlappingPositions(category, offset, length);
 			} else {
 				documentPositions= getStartingPositions(category, offset, length);
 			}
@@ -1700,6 +1905,30 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * A list of positions in the given category which may overlap with the given
+	 * region. The positions are looked up in the category's interval index, so only
+	 * positions which start at or before the region's end and end after the region's
+	 * start are visited. The positions are ordered by their offset.
+	 *
+	 * @param category the position category
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @return a list of the positions which may overlap with the region
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 * @since 3.15
+	 */
+	private List<Position> getOverlappingPositions(String category, int offset, int length) throws BadPositionCategoryException {
+		PositionIntervalIndex index= fPositionIndexes.get(category);
+		if (index == null) {
+			throw new BadPositionCategoryException(category);
+		}
+
+		List<Position> positions= new ArrayList<>();
+		index.collectCandidates(offset, offset + length, getModificationStamp(), positions);
+		return positions;
+	}
+
 	/**
 	 * A list of positions in the given category with an offset inside the given
 	 * region. The order of the positions is arbitrary.
@@ -188,17 +188,7 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 *
 	 * @since 3.2
 	 */
-	private volatile ILineTracker fDelegate= new ListLineTracker() {
-		@Override
-		public String[] getLegalLineDelimiters() {
-			return AbstractLineTracker.this.getLegalLineDelimiters();
-		}
-
-		@Override
-		protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
-			return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
-		}
-	};
+	private volatile ILineTracker fDelegate= createListLineTracker();
 	/**
 	 * Whether the delegate needs conversion when the line structure is modified.
 	 */
@@ -275,7 +265,7 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 			return;
 		}
 
-		fDelegate.set(text);
+		resetImplementation(text);
 	}
 
 	@Override
@@ -290,6 +280,45 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		fDelegate.replace(offset, length, text);
 	}
 
+	/**
+	 * Creates the list line tracker which is used until the text is modified for the first time.
+	 *
+	 * @return the list line tracker
+	 * @since 3.15
+	 */
+	private ListLineTracker createListLineTracker() {
+		return new ListLineTracker() {
+			@Override
+			public String[] getLegalLineDelimiters() {
+				return AbstractLineTracker.this.getLegalLineDelimiters();
+			}
+
+			@Override
+			protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
+				return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
+			}
+		};
+	}
+
+	/**
+	 * Sets the given text. If the implementation has already been converted to a
+	 * {@link TreeLineTracker}, it is replaced by a new {@link ListLineTracker}, which creates
+	 * the line information lazily instead of building the whole tree upfront.
+	 *
+	 * @param text the new text
+	 * @since 3.15
+	 */
+	private synchronized void resetImplementation(String text) {
+		if (fNeedsConversion) {
+			fDelegate.set(text);
+		} else {
+			ListLineTracker tracker= createListLineTracker();
+			tracker.set(text);
+			fDelegate= tracker;
+			fNeedsConversion= true;
+		}
+	}
+
 	/**
 	 * Converts the implementation to be a {@link TreeLineTracker} if it isn't yet.
 	 *
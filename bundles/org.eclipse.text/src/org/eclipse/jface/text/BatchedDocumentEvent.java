@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.core.runtime.Assert;
+
+
+/**
+ * A document event sent at the end of a batched change, see {@link IDocumentExtension5}.
+ * <p>
+ * As a {@link DocumentEvent} it describes the replacement of the region covering all changes of
+ * the batch. In addition, it describes the individual changes as a sequence of non-overlapping
+ * replacements ordered by offset. The offsets and lengths of the changes refer to the document
+ * before the batch, i.e. applying the changes from the last to the first transforms the old
+ * document content into the new one.
+ * </p>
+ * <p>
+ * Only document listeners implementing {@link IDocumentListenerExtension} receive events of this
+ * type.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class BatchedDocumentEvent extends DocumentEvent {
+
+	/** The offsets of the changes */
+	private final int[] fChangeOffsets;
+	/** The lengths of the replaced text of the changes */
+	private final int[] fChangeLengths;
+	/** The offsets of the texts of the changes in the text of this event */
+	private final int[] fChangeTextOffsets;
+	/** The lengths of the texts of the changes */
+	private final int[] fChangeTextLengths;
+	/** The equivalent plain document event, created lazily */
+	private DocumentEvent fCoalescedEvent;
+
+
+	/**
+	 * Creates a new batched document event. The changes must be ordered by offset, must not
+	 * overlap and must lie inside the replaced region. The text of the event consists of the
+	 * texts of the changes and the unchanged text between them.
+	 *
+	 * @param doc the changed document
+	 * @param offset the offset of the region covering all changes
+	 * @param length the length of the region covering all changes
+	 * @param text the substitution text of the region covering all changes
+	 * @param changeOffsets the offsets of the changes
+	 * @param changeLengths the lengths of the text replaced by the changes
+	 * @param changeTextLengths the lengths of the text inserted by the changes
+	 */
+	public BatchedDocumentEvent(IDocument doc, int offset, int length, String text, int[] changeOffsets, int[] changeLengths, int[] changeTextLengths) {
+		super(doc, offset, length, text);
+
+		Assert.isTrue(changeOffsets.length == changeLengths.length && changeOffsets.length == changeTextLengths.length);
+
+		int count= changeOffsets.length;
+		fChangeOffsets= changeOffsets;
+		fChangeLengths= changeLengths;
+		fChangeTextLengths= changeTextLengths;
+		fChangeTextOffsets= new int[count];
+
+		int end= offset;
+		int textEnd= 0;
+		for (int i= 0; i < count; i++) {
+			Assert.isTrue(changeOffsets[i] >= end && changeLengths[i] >= 0 && changeTextLengths[i] >= 0);
+			fChangeTextOffsets[i]= textEnd + changeOffsets[i] - end;
+			textEnd= fChangeTextOffsets[i] + changeTextLengths[i];
+			end= changeOffsets[i] + changeLengths[i];
+		}
+		Assert.isTrue(end <= offset + length);
+		Assert.isTrue(textEnd + offset + length - end == (text == null ? 0 : text.length()));
+	}
+
+	/**
+	 * Returns the number of changes.
+	 *
+	 * @return the number of changes
+	 */
+	public int getChangeCount() {
+		return fChangeOffsets.length;
+	}
+
+	/**
+	 * Returns the offset of the given change in the document before the batch.
+	 *
+	 * @param index the index of the change
+	 * @return the offset of the change
+	 */
+	public int getChangeOffset(int index) {
+		return fChangeOffsets[index];
+	}
+
+	/**
+	 * Returns the length of the text replaced by the given change.
+	 *
+	 * @param index the index of the change
+	 * @return the length of the replaced text
+	 */
+	public int getChangeLength(int index) {
+		return fChangeLengths[index];
+	}
+
+	/**
+	 * Returns the length of the text inserted by the given change.
+	 *
+	 * @param index the index of the change
+	 * @return the length of the inserted text
+	 */
+	public int getChangeTextLength(int index) {
+		return fChangeTextLengths[index];
+	}
+
+	/**
+	 * Returns the text inserted by the given change.
+	 *
+	 * @param index the index of the change
+	 * @return the inserted text
+	 */
+	public String getChangeText(int index) {
+		if (fChangeTextLengths[index] == 0) {
+			return ""; //$NON-NLS-1$
+		}
+		return fText.substring(fChangeTextOffsets[index], fChangeTextOffsets[index] + fChangeTextLengths[index]);
+	}
+
+	/**
+	 * Returns the changes as individual document events, ordered by offset. Applying the events
+	 * from the last to the first is equivalent to this event.
+	 *
+	 * @return the changes as document events
+	 */
+	public DocumentEvent[] getChanges() {
+		DocumentEvent[] changes= new DocumentEvent[getChangeCount()];
+		for (int i= 0; i < changes.length; i++) {
+			changes[i]= new DocumentEvent(fDocument, fChangeOffsets[i], fChangeLengths[i], getChangeText(i));
+			changes[i].fModificationStamp= fModificationStamp;
+		}
+		return changes;
+	}
+
+	/**
+	 * Returns a plain document event describing the same replacement as this event. The same
+	 * instance is returned for the lifetime of this event.
+	 *
+	 * @return the equivalent plain document event
+	 */
+	DocumentEvent getCoalescedEvent() {
+		if (fCoalescedEvent == null) {
+			fCoalescedEvent= new DocumentEvent(fDocument, fOffset, fLength, fText);
+		}
+		fCoalescedEvent.fModificationStamp= fModificationStamp;
+		return fCoalescedEvent;
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "changes: " + getChangeCount() + '\n'; //$NON-NLS-1$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,12 @@ public class DefaultLineTracker extends AbstractLineTracker {
 	public final static String[] DELIMITERS= { "\r", "\n", "\r\n" }; //$NON-NLS-3$ //$NON-NLS-1$ //$NON-NLS-2$
 	/** A predefined delimiter information which is always reused as return value */
 	private final DelimiterInfo fDelimiterInfo= new DelimiterInfo();
+	/**
+	 * The scanner used to find the delimiters.
+	 *
+	 * @since 3.15
+	 */
+	private final LineDelimiterScanner fScanner= new LineDelimiterScanner();
 
 
 	/**
@@ -46,36 +52,31 @@ public class DefaultLineTracker extends AbstractLineTracker {
 	@Override
 	protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
 
-		char ch;
-		int length= text.length();
-		for (int i= offset; i < length; i++) {
+		int i= fScanner.indexOf(text, offset);
+		if (i == -1) {
+			return null;
+		}
 
-			ch= text.charAt(i);
-			if (ch == '\r') {
+		if (text.charAt(i) == '\r') {
 
-				if (i + 1 < length) {
-					if (text.charAt(i + 1) == '\n') {
-						fDelimiterInfo.delimiter= DELIMITERS[2];
-						fDelimiterInfo.delimiterIndex= i;
-						fDelimiterInfo.delimiterLength= 2;
-						return fDelimiterInfo;
-					}
+			if (i + 1 < text.length()) {
+				if (text.charAt(i + 1) == '\n') {
+					fDelimiterInfo.delimiter= DELIMITERS[2];
+					fDelimiterInfo.delimiterIndex= i;
+					fDelimiterInfo.delimiterLength= 2;
+					return fDelimiterInfo;
 				}
-
-				fDelimiterInfo.delimiter= DELIMITERS[0];
-				fDelimiterInfo.delimiterIndex= i;
-				fDelimiterInfo.delimiterLength= 1;
-				return fDelimiterInfo;
-
-			} else if (ch == '\n') {
-
-				fDelimiterInfo.delimiter= DELIMITERS[1];
-				fDelimiterInfo.delimiterIndex= i;
-				fDelimiterInfo.delimiterLength= 1;
-				return fDelimiterInfo;
 			}
+
+			fDelimiterInfo.delimiter= DELIMITERS[0];
+			fDelimiterInfo.delimiterIndex= i;
+			fDelimiterInfo.delimiterLength= 1;
+			return fDelimiterInfo;
 		}
 
-		return null;
+		fDelimiterInfo.delimiter= DELIMITERS[1];
+		fDelimiterInfo.delimiterIndex= i;
+		fDelimiterInfo.delimiterLength= 1;
+		return fDelimiterInfo;
 	}
 }
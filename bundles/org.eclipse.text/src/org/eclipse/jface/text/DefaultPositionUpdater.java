@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,9 @@ package org.eclipse.jface.text;
  * the replaced text and afterwards inserting the new text. Thus, a position is shrunken and can
  * then be shifted (if the replaced text overlaps the offset of the position).</li>
  * </ul>
+ * A {@link BatchedDocumentEvent} is handled like the sequence of its changes applied from the last
+ * to the first, but in a single pass over the positions.
+ * <p>
  * This class can be used as is or be adapted by subclasses. Fields are protected to allow
  * subclasses direct access. Because of the frequency with which position updaters are used this is
  * a performance decision.
@@ -212,6 +215,11 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 	@Override
 	public void update(DocumentEvent event) {
 
+		if (event instanceof BatchedDocumentEvent batched) {
+			update(batched);
+			return;
+		}
+
 		try {
 
 
@@ -238,4 +246,85 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 			fDocument= null;
 		}
 	}
+
+	/**
+	 * Updates the positions to the changes of a batched document event. Changes ending before
+	 * a position only shift it, so for each position only the changes overlapping it are
+	 * applied individually, followed by the accumulated shift of all changes before it.
+	 *
+	 * @param event the batched document event
+	 * @since 3.15
+	 */
+	private void update(BatchedDocumentEvent event) {
+
+		try {
+
+			fDocument= event.getDocument();
+
+			int count= event.getChangeCount();
+			int[] ends= new int[count];
+			int[] shifts= new int[count + 1];
+			for (int i= 0; i < count; i++) {
+				ends[i]= event.getChangeOffset(i) + event.getChangeLength(i);
+				shifts[i + 1]= shifts[i] + event.getChangeTextLength(i) - event.getChangeLength(i);
+			}
+
+			Position[] category= fDocument.getPositions(fCategory);
+			for (Position element : category) {
+
+				fPosition= element;
+				fOriginalPosition.offset= fPosition.offset;
+				fOriginalPosition.length= fPosition.length;
+
+				// the changes before 'first' end at or before the position and only shift it
+				int first= countChangesEndingAt(ends, fPosition.offset);
+				int last= first;
+				while (last < count && event.getChangeOffset(last) <= fPosition.offset + fPosition.length) {
+					last++;
+				}
+
+				boolean deleted= false;
+				for (int i= last - 1; i >= first && !deleted; i--) {
+					fOffset= event.getChangeOffset(i);
+					fLength= event.getChangeLength(i);
+					fReplaceLength= event.getChangeTextLength(i);
+					if (notDeleted()) {
+						adaptToReplace();
+					} else {
+						deleted= true;
+					}
+				}
+
+				if (!deleted) {
+					fPosition.offset+= shifts[first];
+				}
+			}
+
+		} catch (BadPositionCategoryException x) {
+			// do nothing
+		} finally {
+			fDocument= null;
+		}
+	}
+
+	/**
+	 * Returns the number of changes ending at or before the given offset.
+	 *
+	 * @param ends the ascending end offsets of the changes
+	 * @param offset the offset
+	 * @return the number of changes ending at or before the offset
+	 */
+	private static int countChangesEndingAt(int[] ends, int offset) {
+		int low= 0;
+		int high= ends.length;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (ends[mid] <= offset) {
+				low= mid + 1;
+			} else {
+				high= mid;
+			}
+		}
+		return low;
+	}
 }
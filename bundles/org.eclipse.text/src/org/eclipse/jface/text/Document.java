@@ -33,7 +33,8 @@ package org.eclipse.jface.text;
  * source code documents. It is not designed for very large documents of a size of several
  * megabytes. Space-saving implementations are initially used for both the text store and the line
  * tracker; the first modification after a {@link #set(String) set} incurs the cost to transform the
- * document structures to efficiently handle updates.
+ * document structures to efficiently handle updates. Very large documents should be created with
+ * {@link #Document(ITextStore)} and a {@link PieceTableTextStore}.
  * </p>
  * <p>
  * See {@link GapTextStore} and <code>TreeLineTracker</code> for algorithmic behavior of the used
@@ -42,8 +43,16 @@ package org.eclipse.jface.text;
  *
  * @see org.eclipse.jface.text.GapTextStore
  * @see org.eclipse.jface.text.CopyOnWriteTextStore
+ * @see org.eclipse.jface.text.PieceTableTextStore
  */
 public class Document extends AbstractDocument {
+
+	/**
+	 * The number of characters handed to the line tracker at once when the document is created
+	 * from a text store.
+	 */
+	private static final int LINE_TRACKER_CHUNK_SIZE= 1024 * 1024;
+
 	/**
 	 * Creates a new empty document.
 	 */
@@ -68,6 +77,58 @@ public class Document extends AbstractDocument {
 		completeInitialization();
 	}
 
+	/**
+	 * Creates a new document which stores its content in the given text store. Use this
+	 * constructor for documents whose expected size does not suit the default text store, e.g.
+	 * with a {@link PieceTableTextStore} for documents of hundreds of megabytes.
+	 * <p>
+	 * The current content of the text store becomes the initial content of the document. The line
+	 * information is computed by reading the store in chunks, so the content is never required to
+	 * be available as a single string.
+	 * </p>
+	 *
+	 * @param textStore the text store to use
+	 * @since 3.15
+	 */
+	public Document(ITextStore textStore) {
+		super();
+		setTextStore(textStore);
+		setLineTracker(new DefaultLineTracker());
+		initializeLineTracker(textStore);
+		completeInitialization();
+	}
+
+	/**
+	 * Feeds the current content of the given text store to the line tracker.
+	 *
+	 * @param textStore the text store
+	 */
+	private void initializeLineTracker(ITextStore textStore) {
+		ILineTracker tracker= getTracker();
+		int length= textStore.getLength();
+		if (length <= LINE_TRACKER_CHUNK_SIZE) {
+			tracker.set(textStore.get(0, length));
+			return;
+		}
+
+		tracker.set(""); //$NON-NLS-1$
+		try {
+			int offset= 0;
+			while (offset < length) {
+				int chunkLength= Math.min(LINE_TRACKER_CHUNK_SIZE, length - offset);
+				// keep "\r\n" in one chunk, the tracker would count it as two delimiters otherwise
+				if (offset + chunkLength < length && textStore.get(offset + chunkLength - 1) == '\r') {
+					chunkLength++;
+				}
+				tracker.replace(offset, 0, textStore.get(offset, chunkLength));
+				offset+= chunkLength;
+			}
+		} catch (BadLocationException x) {
+			// cannot happen, the chunks are always appended
+			throw new IllegalStateException(x);
+		}
+	}
+
 	@Override
 	public boolean isLineInformationRepairNeeded(int offset, int length, String text) throws BadLocationException {
 		if ((0 > offset) || (0 > length) || (offset + length > getLength())) {
@@ -0,0 +1,440 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Records the replace operations performed on a document during a batched change, see
+ * {@link IDocumentExtension5}.
+ * <p>
+ * The operations are kept as a list of non-overlapping changes ordered by offset whose offsets
+ * and lengths refer to the content before the batch. An operation overlapping existing changes
+ * is merged with them, as is an insertion at the place of deleted text; all other operations
+ * become a change of their own. For every change the
+ * replaced original text is kept, the new text is read from the document when the batch ends.
+ * </p>
+ * <p>
+ * The list is searched starting at the change touched by the previous operation, so the usual
+ * sequences of operations from the end of the document to its start, from its start to its end
+ * and at one place are recorded in constant time per operation.
+ * </p>
+ * <p>
+ * The batch also defers the updates of the document's line tracker until line information is
+ * needed. Many deferred updates are replaced by recomputing the line information from the
+ * content in one pass.
+ * </p>
+ *
+ * @since 3.15
+ */
+final class DocumentChangeBatch {
+
+	/** A change in the coordinates of the content before the batch. */
+	private static final class Change {
+		/** The offset of the replaced text */
+		final int fOffset;
+		/** The length of the replaced text */
+		final int fLength;
+		/** The length of the new text */
+		final int fNewLength;
+		/** The replaced text */
+		final String fOriginalText;
+
+		Change(int offset, int length, int newLength, String originalText) {
+			fOffset= offset;
+			fLength= length;
+			fNewLength= newLength;
+			fOriginalText= originalText;
+		}
+
+		/**
+		 * Returns how much this change moves the text after it.
+		 *
+		 * @return the length difference between the new and the replaced text
+		 */
+		int delta() {
+			return fNewLength - fLength;
+		}
+	}
+
+
+	/**
+	 * A read-only text store presenting the content before the batch. It combines the current
+	 * content outside the region covering all changes with the original text of that region.
+	 */
+	private static final class OriginalTextStore implements ITextStore {
+		/** The text store of the document */
+		private final ITextStore fStore;
+		/** The offset of the covering region */
+		private final int fOffset;
+		/** The text of the covering region before the batch */
+		private final String fOriginalText;
+		/** The length of the covering region in {@link #fStore} */
+		private final int fNewLength;
+
+		OriginalTextStore(ITextStore store, int offset, String originalText, int newLength) {
+			fStore= store;
+			fOffset= offset;
+			fOriginalText= originalText;
+			fNewLength= newLength;
+		}
+
+		@Override
+		public char get(int offset) {
+			if (offset < fOffset) {
+				return fStore.get(offset);
+			}
+			int end= fOffset + fOriginalText.length();
+			if (offset < end) {
+				return fOriginalText.charAt(offset - fOffset);
+			}
+			return fStore.get(offset - end + fOffset + fNewLength);
+		}
+
+		@Override
+		public String get(int offset, int length) {
+			int end= offset + length;
+			int originalEnd= fOffset + fOriginalText.length();
+			if (end <= fOffset) {
+				return fStore.get(offset, length);
+			}
+			if (offset >= originalEnd) {
+				return fStore.get(offset - originalEnd + fOffset + fNewLength, length);
+			}
+
+			StringBuilder text= new StringBuilder(length);
+			if (offset < fOffset) {
+				text.append(fStore.get(offset, fOffset - offset));
+			}
+			text.append(fOriginalText, Math.max(offset, fOffset) - fOffset, Math.min(end, originalEnd) - fOffset);
+			if (end > originalEnd) {
+				text.append(fStore.get(fOffset + fNewLength, end - originalEnd));
+			}
+			return text.toString();
+		}
+
+		@Override
+		public int getLength() {
+			return fStore.getLength() - fNewLength + fOriginalText.length();
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void set(String text) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+
+	/**
+	 * The number of characters of the content for which recomputing the line information is
+	 * assumed to cost as much as applying one change to the line tracker.
+	 */
+	private static final int CHARACTERS_PER_TRACKER_UPDATE= 1024;
+
+	/**
+	 * The changes before {@link #fCursor}, ordered by offset. Together with
+	 * {@link #fChangesAfterCursor} this forms a list with a gap at the cursor, so changes are
+	 * inserted and removed at the cursor in constant time.
+	 */
+	private final List<Change> fChangesBeforeCursor= new ArrayList<>();
+	/** The changes at and after {@link #fCursor}, ordered by decreasing offset */
+	private final List<Change> fChangesAfterCursor= new ArrayList<>();
+	/** The modification stamp of the document before the batch */
+	private final long fModificationStamp;
+	/** The index of the change at which the next search starts, the size of {@link #fChangesBeforeCursor} */
+	private int fCursor;
+	/** The length difference caused by all changes before {@link #fCursor} */
+	private int fCursorDelta;
+	/** The length difference caused by all changes */
+	private int fDelta;
+	/** The operations not yet applied to the line tracker, in the order they were performed */
+	private final List<DocumentEvent> fTrackerUpdates= new ArrayList<>();
+
+
+	/**
+	 * Creates a new batch.
+	 *
+	 * @param modificationStamp the modification stamp of the document before the batch
+	 */
+	DocumentChangeBatch(long modificationStamp) {
+		fModificationStamp= modificationStamp;
+	}
+
+	/**
+	 * Returns the modification stamp of the document before the batch.
+	 *
+	 * @return the modification stamp
+	 */
+	long getModificationStamp() {
+		return fModificationStamp;
+	}
+
+	/**
+	 * Tells whether no operation has been recorded.
+	 *
+	 * @return <code>true</code> if there are no changes
+	 */
+	boolean isEmpty() {
+		return getChangeCount() == 0;
+	}
+
+	/**
+	 * Returns the number of changes.
+	 *
+	 * @return the number of changes
+	 */
+	private int getChangeCount() {
+		return fChangesBeforeCursor.size() + fChangesAfterCursor.size();
+	}
+
+	/**
+	 * Returns the change with the given index.
+	 *
+	 * @param index the index in the list of changes ordered by offset
+	 * @return the change
+	 */
+	private Change getChange(int index) {
+		if (index < fCursor) {
+			return fChangesBeforeCursor.get(index);
+		}
+		return fChangesAfterCursor.get(fChangesAfterCursor.size() - 1 - (index - fCursor));
+	}
+
+	/**
+	 * Moves {@link #fCursor} one change to the front.
+	 */
+	private void moveCursorBackward() {
+		Change previous= fChangesBeforeCursor.remove(--fCursor);
+		fChangesAfterCursor.add(previous);
+		fCursorDelta-= previous.delta();
+	}
+
+	/**
+	 * Moves {@link #fCursor} one change to the back.
+	 */
+	private void moveCursorForward() {
+		Change next= fChangesAfterCursor.remove(fChangesAfterCursor.size() - 1);
+		fChangesBeforeCursor.add(next);
+		fCursor++;
+		fCursorDelta+= next.delta();
+	}
+
+	/**
+	 * Records a replace operation. Must be called before the operation is applied to the store.
+	 *
+	 * @param store the text store of the document
+	 * @param offset the offset of the replaced text in the current content
+	 * @param length the length of the replaced text
+	 * @param newLength the length of the new text
+	 */
+	void record(ITextStore store, int offset, int length, int newLength) {
+		// move the cursor to the first change ending after the offset
+		while (fCursor > 0) {
+			Change previous= getChange(fCursor - 1);
+			if (previous.fOffset + fCursorDelta - previous.delta() + previous.fNewLength <= offset) {
+				break;
+			}
+			moveCursorBackward();
+		}
+		while (!fChangesAfterCursor.isEmpty()) {
+			Change next= getChange(fCursor);
+			if (next.fOffset + fCursorDelta + next.fNewLength > offset) {
+				break;
+			}
+			moveCursorForward();
+		}
+
+		// find the changes overlapping the operation
+		int end= offset + length;
+		int last= fCursor;
+		int lastDelta= fCursorDelta;
+		int count= getChangeCount();
+		while (last < count && getChange(last).fOffset + lastDelta < end) {
+			lastDelta+= getChange(last).delta();
+			last++;
+		}
+
+		// an insertion at the place of a deletion is handled like a replacement, as it is without batching
+		if (last == fCursor && length == 0 && fCursor > 0) {
+			Change previous= getChange(fCursor - 1);
+			if (previous.fNewLength == 0 && previous.fOffset + fCursorDelta - previous.delta() == offset) {
+				moveCursorBackward();
+			}
+		}
+
+		if (last == fCursor) {
+			fChangesAfterCursor.add(new Change(offset - fCursorDelta, length, newLength, store.get(offset, length)));
+		} else {
+			Change merged= merge(store, offset, length, newLength, last, lastDelta);
+			int size= fChangesAfterCursor.size();
+			fChangesAfterCursor.subList(size - (last - fCursor), size).clear();
+			fChangesAfterCursor.add(merged);
+		}
+		fDelta+= newLength - length;
+	}
+
+	/**
+	 * Merges a replace operation with the overlapping changes from {@link #fCursor} to
+	 * <code>last</code> (exclusive).
+	 *
+	 * @param store the text store of the document
+	 * @param offset the offset of the replaced text in the current content
+	 * @param length the length of the replaced text
+	 * @param newLength the length of the new text
+	 * @param last the index after the last overlapping change
+	 * @param lastDelta the length difference caused by all changes before <code>last</code>
+	 * @return the merged change
+	 */
+	private Change merge(ITextStore store, int offset, int length, int newLength, int last, int lastDelta) {
+		StringBuilder originalText= new StringBuilder();
+
+		Change first= getChange(fCursor);
+		int firstStart= first.fOffset + fCursorDelta;
+		int start= Math.min(offset, firstStart);
+		if (offset < firstStart) {
+			originalText.append(store.get(offset, firstStart - offset));
+		}
+
+		int delta= fCursorDelta;
+		for (int i= fCursor; i < last; i++) {
+			Change change= getChange(i);
+			if (i > fCursor) {
+				Change previous= getChange(i - 1);
+				int gapStart= previous.fOffset + delta - previous.delta() + previous.fNewLength;
+				originalText.append(store.get(gapStart, change.fOffset + delta - gapStart));
+			}
+			originalText.append(change.fOriginalText);
+			delta+= change.delta();
+		}
+
+		Change lastChange= getChange(last - 1);
+		int lastEnd= lastChange.fOffset + lastChange.fLength + lastDelta;
+		int end= Math.max(offset + length, lastEnd);
+		if (offset + length > lastEnd) {
+			originalText.append(store.get(lastEnd, offset + length - lastEnd));
+		}
+
+		int originalStart= start - fCursorDelta;
+		int originalEnd= end - lastDelta;
+		return new Change(originalStart, originalEnd - originalStart, end - start - length + newLength, originalText.toString());
+	}
+
+	/**
+	 * Defers the update of the line tracker for a replace operation.
+	 *
+	 * @param document the document
+	 * @param offset the offset of the replaced text in the current content
+	 * @param length the length of the replaced text
+	 * @param text the new text, may be <code>null</code>
+	 */
+	void deferTrackerUpdate(IDocument document, int offset, int length, String text) {
+		fTrackerUpdates.add(new DocumentEvent(document, offset, length, text));
+	}
+
+	/**
+	 * Applies the deferred operations to the line tracker. If there are many of them compared to
+	 * the size of the content, the line information is recomputed instead.
+	 *
+	 * @param tracker the line tracker of the document
+	 * @param store the text store of the document, which already contains all operations
+	 */
+	void updateTracker(ILineTracker tracker, ITextStore store) {
+		int count= fTrackerUpdates.size();
+		if (count == 0) {
+			return;
+		}
+
+		if (count > 1 && (long) count * CHARACTERS_PER_TRACKER_UPDATE > store.getLength()) {
+			tracker.set(store.get(0, store.getLength()));
+		} else {
+			try {
+				for (DocumentEvent update : fTrackerUpdates) {
+					tracker.replace(update.getOffset(), update.getLength(), update.getText());
+				}
+			} catch (BadLocationException x) {
+				// cannot happen, the operations have been applied to the store
+				tracker.set(store.get(0, store.getLength()));
+			}
+		}
+		fTrackerUpdates.clear();
+	}
+
+	/**
+	 * Returns the original text of the region covering all changes.
+	 *
+	 * @param store the text store of the document
+	 * @return the text of the covering region before the batch
+	 */
+	String getOriginalText(ITextStore store) {
+		StringBuilder text= new StringBuilder();
+		int delta= 0;
+		int previousEnd= -1;
+		for (int i= 0, count= getChangeCount(); i < count; i++) {
+			Change change= getChange(i);
+			int start= change.fOffset + delta;
+			if (previousEnd != -1) {
+				text.append(store.get(previousEnd, start - previousEnd));
+			}
+			text.append(change.fOriginalText);
+			previousEnd= start + change.fNewLength;
+			delta+= change.delta();
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Creates a read-only view of the content before the batch.
+	 *
+	 * @param store the text store of the document, which contains all changes
+	 * @param offset the offset of the region covering all changes
+	 * @param originalText the text of the covering region before the batch, see
+	 *            {@link #getOriginalText(ITextStore)}
+	 * @param newLength the length of the covering region in the store
+	 * @return the text store presenting the original content
+	 */
+	ITextStore createOriginalTextStore(ITextStore store, int offset, String originalText, int newLength) {
+		return new OriginalTextStore(store, offset, originalText, newLength);
+	}
+
+	/**
+	 * Creates the event describing all changes. Must only be called if the batch is not empty.
+	 *
+	 * @param document the document
+	 * @param store the text store of the document
+	 * @return the event
+	 */
+	BatchedDocumentEvent createEvent(IDocument document, ITextStore store) {
+		int count= getChangeCount();
+		int[] offsets= new int[count];
+		int[] lengths= new int[count];
+		int[] newLengths= new int[count];
+		for (int i= 0; i < count; i++) {
+			Change change= getChange(i);
+			offsets[i]= change.fOffset;
+			lengths[i]= change.fLength;
+			newLengths[i]= change.fNewLength;
+		}
+
+		int offset= offsets[0];
+		int length= offsets[count - 1] + lengths[count - 1] - offset;
+		return new BatchedDocumentEvent(document, offset, length, store.get(offset, length + fDelta), offsets, lengths, newLengths);
+	}
+}
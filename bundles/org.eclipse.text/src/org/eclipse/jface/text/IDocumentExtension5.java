@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IDocument}. It adds batched changes.
+ * <p>
+ * Inside a batched change, replace operations are applied to the document content immediately
+ * but the document neither notifies its listeners nor updates its partitioners and positions.
+ * When the outermost batched change is stopped, the document sends a single
+ * {@link BatchedDocumentEvent} which replaces the region covering all changes and updates the
+ * positions in one pass.
+ * </p>
+ * <p>
+ * While a batched change is active, positions still refer to the content before the batch.
+ * Clients must not add or remove positions inside a batched change.
+ * </p>
+ * <p>
+ * Operations which overlap each other are combined to one change of the event, see
+ * {@link BatchedDocumentEvent#getChanges()}. The positions are updated as if the changes of the
+ * event had been performed one by one, from the last to the first. For operations which neither
+ * overlap nor touch each other, the positions are the same as without a batched change. Otherwise
+ * they may differ: a position in or next to the region of a combined change is updated as if the
+ * whole region had been replaced at once, not as if the operations had been performed one after
+ * the other. Clients which depend on the exact positions after such operations must not perform
+ * them inside a batched change.
+ * </p>
+ * <p>
+ * Documents whose content is stored in another document, like projection documents, do not
+ * batch changes. For them, starting a batched change has no effect and every change is sent out
+ * when it is performed.
+ * </p>
+ *
+ * @see BatchedDocumentEvent
+ * @see IDocumentListenerExtension
+ * @since 3.15
+ */
+public interface IDocumentExtension5 {
+
+	/**
+	 * Starts a batched change. Batched changes can be nested, only the outermost batch sends
+	 * out a document event. Each call must be followed by a call to
+	 * {@link #stopBatchedChange()}, usually in a <code>finally</code> block.
+	 */
+	void startBatchedChange();
+
+	/**
+	 * Stops a batched change. When the outermost batched change is stopped, all changes
+	 * performed since its start are sent out as a single {@link BatchedDocumentEvent}. This
+	 * method does not have any effect if no batched change is active.
+	 */
+	void stopBatchedChange();
+
+	/**
+	 * Tells whether a batched change is active.
+	 *
+	 * @return <code>true</code> if a batched change is active
+	 */
+	boolean isInBatchedChange();
+}
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IDocumentListener}.
+ * <p>
+ * Document listeners implementing this interface receive the {@link BatchedDocumentEvent} sent
+ * at the end of a batched change and can thus process the individual changed regions. All other
+ * listeners receive a plain {@link DocumentEvent} describing the region covering all changes.
+ * </p>
+ *
+ * @see IDocumentExtension5
+ * @since 3.15
+ */
+public interface IDocumentListenerExtension extends IDocumentListener {
+}
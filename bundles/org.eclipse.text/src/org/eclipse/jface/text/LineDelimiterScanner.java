@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Finds the start of the default line delimiters <code>"\r"</code>, <code>"\n"</code> and
+ * <code>"\r\n"</code>.
+ * <p>
+ * Strings are searched with {@link String#indexOf(int, int)}, which the JVM implements with
+ * vector instructions, once for each delimiter character. To keep a sequence of searches with
+ * increasing offsets in the same string linear, the scanner remembers where it has found each
+ * character last, so a character which occurs rarely or not at all is not searched for again and
+ * again. The string is forgotten as soon as a search does not find any delimiter.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @since 3.15
+ */
+final class LineDelimiterScanner {
+
+	/** The last searched string or <code>null</code> */
+	private String fText;
+	/** The offset at which the last search for <code>'\r'</code> started */
+	private int fCROffset;
+	/** The result of the last search for <code>'\r'</code> */
+	private int fCRIndex;
+	/** The offset at which the last search for <code>'\n'</code> started */
+	private int fLFOffset;
+	/** The result of the last search for <code>'\n'</code> */
+	private int fLFIndex;
+
+
+	/**
+	 * Returns the index of the first <code>'\r'</code> or <code>'\n'</code> in the given string
+	 * at or after the given offset.
+	 *
+	 * @param text the string to search
+	 * @param offset the offset at which to start the search
+	 * @return the index of the first delimiter character or <code>-1</code> if there is none
+	 */
+	int indexOf(String text, int offset) {
+		if (text != fText) {
+			fText= text;
+			fCROffset= Integer.MAX_VALUE;
+			fLFOffset= Integer.MAX_VALUE;
+		}
+
+		if (offset < fCROffset || fCRIndex != -1 && fCRIndex < offset) {
+			fCRIndex= text.indexOf('\r', offset);
+			fCROffset= offset;
+		}
+		if (offset < fLFOffset || fLFIndex != -1 && fLFIndex < offset) {
+			fLFIndex= text.indexOf('\n', offset);
+			fLFOffset= offset;
+		}
+
+		int index;
+		if (fCRIndex == -1) {
+			index= fLFIndex;
+		} else if (fLFIndex == -1) {
+			index= fCRIndex;
+		} else {
+			index= Math.min(fCRIndex, fLFIndex);
+		}
+
+		if (index == -1) {
+			fText= null;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the index of the first <code>'\r'</code> or <code>'\n'</code> in the given text at
+	 * or after the given offset. Unlike {@link #indexOf(String, int)} this method does not
+	 * remember anything and thus scans the text character by character.
+	 *
+	 * @param text the text to search
+	 * @param offset the offset at which to start the search
+	 * @return the index of the first delimiter character or <code>-1</code> if there is none
+	 */
+	static int indexOf(CharSequence text, int offset) {
+		int length= text.length();
+		for (int i= Math.max(offset, 0); i < length; i++) {
+			char ch= text.charAt(i);
+			// a single comparison rejects all characters but the control characters
+			if (ch <= '\r' && (ch == '\n' || ch == '\r')) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,15 +31,49 @@ import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
  * <li> "a\nbc\n" -&gt; [0,2], [2,3], [5,0]
  * </ul>
  * This class must be subclassed.
+ * <p>
+ * The line structure is built lazily: {@link #set(String)} only remembers the text, and lines are
+ * created in chunks from the start of the text as far as needed to answer a query. Queries about
+ * the beginning of a large text, e.g. the lines shown when a document is opened, thus do not
+ * require a scan of the whole text. As queries modify the line structure, they are synchronized.
+ * </p>
  *
  * @since 3.2
  */
 abstract class ListLineTracker implements ILineTracker {
 
+	/**
+	 * The minimal number of characters for which lines are created at once.
+	 *
+	 * @since 3.15
+	 */
+	private static final int INDEX_CHUNK_SIZE= 64 * 1024;
+
 	/** The line information */
 	private final List<Line> fLines= new ArrayList<>();
 	/** The length of the tracked text */
 	private int fTextLength;
+	/**
+	 * The tracked text if lines have not yet been created for all of it, <code>null</code>
+	 * otherwise.
+	 *
+	 * @since 3.15
+	 */
+	private String fText;
+	/**
+	 * The offset up to which lines have been created. Unless all lines have been created, the
+	 * last created line ends with a delimiter at this offset.
+	 *
+	 * @since 3.15
+	 */
+	private int fIndexedOffset;
+	/**
+	 * The number of lines of the tracked text if it has been counted before all lines have been
+	 * created, <code>-1</code> otherwise.
+	 *
+	 * @since 3.15
+	 */
+	private int fNumberOfLines= -1;
 
 	/**
 	 * Creates a new line tracker.
@@ -128,7 +162,8 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final int getLineLength(int line) throws BadLocationException {
+	public final synchronized int getLineLength(int line) throws BadLocationException {
+		indexLine(line);
 		int lines= fLines.size();
 
 		if (line < 0 || line > lines) {
@@ -144,13 +179,15 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final int getLineNumberOfOffset(int position) throws BadLocationException {
+	public final synchronized int getLineNumberOfOffset(int position) throws BadLocationException {
 		if (position < 0) {
 			throw new BadLocationException("Negative offset : " + position); //$NON-NLS-1$
 		} else if (position > fTextLength) {
 			throw new BadLocationException("Offset > length: " + position + " > " + fTextLength);  //$NON-NLS-1$//$NON-NLS-2$
 		}
 
+		indexOffset(position);
+
 		if (position == fTextLength) {
 
 			int lastLine= fLines.size() - 1;
@@ -166,11 +203,13 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final IRegion getLineInformationOfOffset(int position) throws BadLocationException {
+	public final synchronized IRegion getLineInformationOfOffset(int position) throws BadLocationException {
 		if (position > fTextLength) {
 			throw new BadLocationException("Offset > length: " + position + " > " + fTextLength);  //$NON-NLS-1$//$NON-NLS-2$
 		}
 
+		indexOffset(position);
+
 		if (position == fTextLength) {
 			int size= fLines.size();
 			if (size == 0) {
@@ -184,7 +223,8 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final IRegion getLineInformation(int line) throws BadLocationException {
+	public final synchronized IRegion getLineInformation(int line) throws BadLocationException {
+		indexLine(line);
 		int lines= fLines.size();
 
 		if (line < 0 || line > lines) {
@@ -205,7 +245,8 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final int getLineOffset(int line) throws BadLocationException {
+	public final synchronized int getLineOffset(int line) throws BadLocationException {
+		indexLine(line);
 		int lines= fLines.size();
 
 		if (line < 0 || line > lines) {
@@ -229,7 +270,15 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final int getNumberOfLines() {
+	public final synchronized int getNumberOfLines() {
+		if (fText != null) {
+			if (fNumberOfLines == -1) {
+				// count the remaining lines without creating them
+				fNumberOfLines= fLines.size() + countDelimiters(fText, fIndexedOffset) + 1;
+			}
+			return fNumberOfLines;
+		}
+
 		int lines= fLines.size();
 
 		if (lines == 0) {
@@ -241,7 +290,7 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final int getNumberOfLines(int position, int length) throws BadLocationException {
+	public final synchronized int getNumberOfLines(int position, int length) throws BadLocationException {
 
 		if (position < 0 || position + length > fTextLength) {
 			throw new BadLocationException();
@@ -256,8 +305,20 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final int computeNumberOfLines(String text) {
+		return countDelimiters(text, 0);
+	}
+
+	/**
+	 * Returns the number of line delimiters in the given text starting at the given offset.
+	 *
+	 * @param text the text
+	 * @param offset the offset to start counting at
+	 * @return the number of delimiters
+	 * @since 3.15
+	 */
+	private int countDelimiters(String text, int offset) {
 		int count= 0;
-		int start= 0;
+		int start= offset;
 		DelimiterInfo delimiterInfo= nextDelimiterInfo(text, start);
 		while (delimiterInfo != null && delimiterInfo.delimiterIndex > -1) {
 			++count;
@@ -268,7 +329,8 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final String getLineDelimiter(int line) throws BadLocationException {
+	public final synchronized String getLineDelimiter(int line) throws BadLocationException {
+		indexLine(line);
 		int lines= fLines.size();
 
 		if (line < 0 || line > lines) {
@@ -298,50 +360,56 @@ abstract class ListLineTracker implements ILineTracker {
 	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
 
 	/**
-	 * Creates the line structure for the given text. Newly created lines are inserted into the line
-	 * structure starting at the given position. Returns the number of newly created lines.
+	 * Creates lines until the line containing the given offset has been created.
 	 *
-	 * @param text the text for which to create a line structure
-	 * @param insertPosition the position at which the newly created lines are inserted into the
-	 *        tracker's line structure
-	 * @param offset the offset of all newly created lines
-	 * @return the number of newly created lines
+	 * @param offset the offset
+	 * @since 3.15
 	 */
-	private int createLines(String text, int insertPosition, int offset) {
-
-		int count= 0;
-		int start= 0;
-		DelimiterInfo delimiterInfo= nextDelimiterInfo(text, 0);
-
-		while (delimiterInfo != null && delimiterInfo.delimiterIndex > -1) {
+	private void indexOffset(int offset) {
+		while (fText != null && fIndexedOffset <= offset) {
+			indexChunk();
+		}
+	}
 
-			int index= delimiterInfo.delimiterIndex + (delimiterInfo.delimiterLength - 1);
+	/**
+	 * Creates lines until the given line has been created.
+	 *
+	 * @param line the line
+	 * @since 3.15
+	 */
+	private void indexLine(int line) {
+		while (fText != null && fLines.size() <= line) {
+			indexChunk();
+		}
+	}
 
-			if (insertPosition + count >= fLines.size()) {
-				fLines.add(new Line(offset + start, offset + index, delimiterInfo.delimiter));
-			} else {
-				fLines.add(insertPosition + count, new Line(offset + start, offset + index, delimiterInfo.delimiter));
+	/**
+	 * Creates the lines following the already created ones for at least
+	 * {@link #INDEX_CHUNK_SIZE} characters or up to the end of the text.
+	 *
+	 * @since 3.15
+	 */
+	private void indexChunk() {
+		String text= fText;
+		int limit= fIndexedOffset + Math.min(INDEX_CHUNK_SIZE, fTextLength - fIndexedOffset);
+
+		while (fIndexedOffset < limit) {
+			DelimiterInfo delimiterInfo= nextDelimiterInfo(text, fIndexedOffset);
+			if (delimiterInfo == null || delimiterInfo.delimiterIndex < 0) {
+				fLines.add(new Line(fIndexedOffset, fTextLength - 1, null));
+				fIndexedOffset= fTextLength;
+				break;
 			}
 
-			++count;
-			start= index + 1;
-			delimiterInfo= nextDelimiterInfo(text, start);
+			int index= delimiterInfo.delimiterIndex + (delimiterInfo.delimiterLength - 1);
+			fLines.add(new Line(fIndexedOffset, index, delimiterInfo.delimiter));
+			fIndexedOffset= index + 1;
 		}
 
-		if (start < text.length()) {
-			if (insertPosition + count < fLines.size()) {
-				// there is a line below the current
-				Line l= fLines.get(insertPosition + count);
-				int delta= text.length() - start;
-				l.offset-= delta;
-				l.length+= delta;
-			} else {
-				fLines.add(new Line(offset + start, offset + text.length() - 1, null));
-				++count;
-			}
+		if (fIndexedOffset == fTextLength) {
+			fText= null;
+			fNumberOfLines= -1;
 		}
-
-		return count;
 	}
 
 	@Override
@@ -350,23 +418,28 @@ abstract class ListLineTracker implements ILineTracker {
 	}
 
 	@Override
-	public final void set(String text) {
+	public final synchronized void set(String text) {
 		fLines.clear();
-		if (text != null) {
+		fIndexedOffset= 0;
+		fNumberOfLines= -1;
+		if (text != null && !text.isEmpty()) {
 			fTextLength= text.length();
-			createLines(text, 0, 0);
+			fText= text;
 		} else {
 			fTextLength= 0;
+			fText= null;
 		}
 	}
 
 	/**
 	 * Returns the internal data structure, a {@link List} of {@link Line}s. Used only by
-	 * {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}.
+	 * {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}. Creates all lines which have not
+	 * been created yet.
 	 *
 	 * @return the internal list of lines.
 	 */
-	final List<Line> getLines() {
+	final synchronized List<Line> getLines() {
+		indexOffset(fTextLength);
 		return fLines;
 	}
 }
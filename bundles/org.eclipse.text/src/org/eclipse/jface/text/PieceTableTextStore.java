@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Implements a piece table text store for very large documents. The content is never copied: the
+ * text passed to {@link #set(String)} or to {@link #PieceTableTextStore(CharSequence)} is kept as
+ * the original buffer and inserted text is kept in append-only add buffers. The document is
+ * described by a sequence of pieces, each referencing a range of one of these buffers. The pieces
+ * are organized in a balanced binary tree (a treap) whose nodes are augmented with the length of
+ * their subtree.
+ * <p>
+ * Small insertions are appended to a shared add buffer; typing at the end of the previous
+ * insertion extends the last piece instead of creating a new one. Large insertions are
+ * referenced directly without copying them.
+ * </p>
+ * <p>
+ * The original buffer may be any immutable character sequence, e.g. a view that decodes the
+ * content of a large file on demand. Such a store behaves like a copy-on-write store: the original
+ * content is only read, modifications are recorded in the add buffers.
+ * </p>
+ * <p>
+ * <strong>Performance:</strong> {@link #set(String)} performs in <i>O(1)</i>,
+ * {@link #replace(int, int, String)} and {@link #get(int)} in <i>O(log p)</i>, where <var>p</var>
+ * is the number of pieces, and {@linkplain #get(int, int) get(int, <var>length</var>)} performs in
+ * <i>O(log p + length)</i>. Sequential calls to {@link #get(int)} are answered from the last
+ * visited piece in <i>O(1)</i>. The memory footprint is the size of the original text plus the
+ * size of all text ever inserted since the last {@link #set(String)}; unlike with
+ * {@link GapTextStore} no re-allocation and copying of the whole content ever happens.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see GapTextStore
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class PieceTableTextStore implements ITextStore {
+
+	/**
+	 * A piece of text referencing either a character sequence or a range of an add buffer. Pieces
+	 * are the nodes of the piece tree.
+	 */
+	private static final class Piece {
+		/**
+		 * The referenced character sequence or <code>null</code> if the piece references an add
+		 * buffer
+		 */
+		final CharSequence fText;
+		/**
+		 * The referenced add buffer or <code>null</code> if the piece references a character
+		 * sequence
+		 */
+		final char[] fChars;
+		/** The start of the piece inside the referenced buffer */
+		final int fStart;
+		/** The length of the piece */
+		int fLength;
+		/** The treap priority of the node */
+		final int fPriority;
+		/** The left child */
+		Piece fLeft;
+		/** The right child */
+		Piece fRight;
+		/** The length of all pieces in the subtree rooted at this node */
+		int fTreeLength;
+
+		Piece(CharSequence text, char[] chars, int start, int length, int priority) {
+			fText= text;
+			fChars= chars;
+			fStart= start;
+			fLength= length;
+			fPriority= priority;
+			fTreeLength= length;
+		}
+
+		char charAt(int index) {
+			return fText != null ? fText.charAt(fStart + index) : fChars[fStart + index];
+		}
+
+		String substring(int index, int length) {
+			return fText != null ? fText.subSequence(fStart + index, fStart + index + length).toString() : new String(fChars, fStart + index, length);
+		}
+
+		void appendTo(StringBuilder buffer, int index, int length) {
+			if (fText instanceof String) {
+				buffer.append(fText, fStart + index, fStart + index + length);
+			} else if (fText != null) {
+				buffer.append(fText.subSequence(fStart + index, fStart + index + length));
+			} else {
+				buffer.append(fChars, fStart + index, length);
+			}
+		}
+
+		void update() {
+			fTreeLength= fLength + treeLength(fLeft) + treeLength(fRight);
+		}
+	}
+
+	/**
+	 * A piece together with the document offset of its first character.
+	 */
+	private static final class PieceLocation {
+		final Piece fPiece;
+		final int fOffset;
+		final int fLength;
+
+		PieceLocation(Piece piece, int offset) {
+			fPiece= piece;
+			fOffset= offset;
+			fLength= piece.fLength;
+		}
+
+		boolean contains(int offset) {
+			return fOffset <= offset && offset < fOffset + fLength;
+		}
+	}
+
+	/**
+	 * The size of the add buffers. Insertions larger than half of this size are referenced
+	 * directly instead of being copied.
+	 */
+	private static final int ADD_BUFFER_SIZE= 8 * 1024;
+
+	/** The root of the piece tree */
+	private Piece fRoot;
+	/** The current add buffer */
+	private char[] fAddBuffer= new char[0];
+	/** The number of used characters in the current add buffer */
+	private int fAddBufferLength= 0;
+	/** The state of the pseudo random number generator for the node priorities */
+	private int fSeed= 0x2545F491;
+	/**
+	 * The piece containing the most recently accessed offset together with its offset, or
+	 * <code>null</code>. Kept in a single field so that concurrent readers always see a piece
+	 * with its own offset.
+	 */
+	private PieceLocation fCachedPiece;
+	/** Result of the last split: the tree with the characters before the split offset */
+	private Piece fSplitLeft;
+	/** Result of the last split: the tree with the characters after the split offset */
+	private Piece fSplitRight;
+
+
+	/**
+	 * Creates a new empty text store.
+	 */
+	public PieceTableTextStore() {
+	}
+
+	/**
+	 * Creates a new text store with the given initial content. The character sequence is
+	 * referenced and not copied, it must not change as long as it is used by this store.
+	 *
+	 * @param content the initial content
+	 */
+	public PieceTableTextStore(CharSequence content) {
+		setContent(content);
+	}
+
+	@Override
+	public char get(int offset) {
+		PieceLocation location= fCachedPiece;
+		if (location == null || !location.contains(offset)) {
+			location= findPiece(offset);
+		}
+		return location.fPiece.charAt(offset - location.fOffset);
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (length == 0) {
+			return ""; //$NON-NLS-1$
+		}
+
+		PieceLocation location= findPiece(offset);
+		int index= offset - location.fOffset;
+		if (index + length <= location.fLength) {
+			return location.fPiece.substring(index, length);
+		}
+
+		StringBuilder buffer= new StringBuilder(length);
+		appendRange(fRoot, 0, offset, offset + length, buffer);
+		return buffer.toString();
+	}
+
+	@Override
+	public int getLength() {
+		return treeLength(fRoot);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		fCachedPiece= null;
+
+		split(fRoot, offset);
+		Piece left= fSplitLeft;
+		split(fSplitRight, length);
+		Piece right= fSplitRight;
+
+		fSplitLeft= null;
+		fSplitRight= null;
+
+		int textLength= text == null ? 0 : text.length();
+		if (textLength > 0) {
+			left= merge(left, insert(left, text, textLength));
+		}
+		fRoot= merge(left, right);
+	}
+
+	@Override
+	public void set(String text) {
+		setContent(text);
+	}
+
+	/**
+	 * Replaces the content of this store with the given character sequence and discards the add
+	 * buffers.
+	 *
+	 * @param content the new content, may be <code>null</code>
+	 */
+	private void setContent(CharSequence content) {
+		fCachedPiece= null;
+		fAddBuffer= new char[0];
+		fAddBufferLength= 0;
+		fRoot= content == null || content.length() == 0 ? null : new Piece(content, null, 0, content.length(), nextPriority());
+	}
+
+	/**
+	 * Stores the given text and returns a new piece referencing it. If the text directly follows
+	 * the last insertion, the last piece of <code>left</code> is extended instead and
+	 * <code>null</code> is returned.
+	 *
+	 * @param left the tree with the content before the insertion
+	 * @param text the text to insert
+	 * @param textLength the length of the text
+	 * @return the new piece or <code>null</code> if an existing piece has been extended
+	 */
+	private Piece insert(Piece left, String text, int textLength) {
+		if (textLength > ADD_BUFFER_SIZE / 2) {
+			return new Piece(text, null, 0, textLength, nextPriority());
+		}
+
+		if (fAddBufferLength + textLength > fAddBuffer.length) {
+			fAddBuffer= new char[ADD_BUFFER_SIZE];
+			fAddBufferLength= 0;
+		}
+
+		int start= fAddBufferLength;
+		text.getChars(0, textLength, fAddBuffer, start);
+		fAddBufferLength += textLength;
+
+		Piece last= left;
+		while (last != null && last.fRight != null) {
+			last= last.fRight;
+		}
+
+		if (last != null && last.fChars == fAddBuffer && last.fStart + last.fLength == start) {
+			for (Piece piece= left; piece != null; piece= piece.fRight) {
+				piece.fTreeLength += textLength;
+			}
+			last.fLength += textLength;
+			return null;
+		}
+
+		return new Piece(null, fAddBuffer, start, textLength, nextPriority());
+	}
+
+	/**
+	 * Finds the piece containing the given offset and caches it together with its offset.
+	 *
+	 * @param offset the offset
+	 * @return the piece containing the offset together with its offset
+	 * @throws IndexOutOfBoundsException if the offset is not inside the document
+	 */
+	private PieceLocation findPiece(int offset) {
+		if (offset < 0 || offset >= getLength()) {
+			throw new IndexOutOfBoundsException(offset);
+		}
+
+		Piece node= fRoot;
+		int nodeOffset= 0;
+		while (true) {
+			int leftLength= treeLength(node.fLeft);
+			if (offset < nodeOffset + leftLength) {
+				node= node.fLeft;
+			} else if (offset < nodeOffset + leftLength + node.fLength) {
+				PieceLocation location= new PieceLocation(node, nodeOffset + leftLength);
+				fCachedPiece= location;
+				return location;
+			} else {
+				nodeOffset += leftLength + node.fLength;
+				node= node.fRight;
+			}
+		}
+	}
+
+	/**
+	 * Appends the part of the subtree rooted at <code>node</code> which lies in
+	 * <code>[from, to)</code> to the given buffer.
+	 *
+	 * @param node the root of the subtree
+	 * @param nodeOffset the document offset of the first character of the subtree
+	 * @param from the start of the range
+	 * @param to the end of the range
+	 * @param buffer the buffer to append to
+	 */
+	private static void appendRange(Piece node, int nodeOffset, int from, int to, StringBuilder buffer) {
+		if (node == null || to <= nodeOffset || nodeOffset + node.fTreeLength <= from) {
+			return;
+		}
+
+		appendRange(node.fLeft, nodeOffset, from, to, buffer);
+
+		int pieceOffset= nodeOffset + treeLength(node.fLeft);
+		int start= Math.max(from, pieceOffset);
+		int end= Math.min(to, pieceOffset + node.fLength);
+		if (start < end) {
+			node.appendTo(buffer, start - pieceOffset, end - start);
+		}
+
+		appendRange(node.fRight, pieceOffset + node.fLength, from, to, buffer);
+	}
+
+	/**
+	 * Splits the given tree into the characters before and after the given offset. A piece
+	 * containing the offset is split into two pieces. The results are stored in
+	 * {@link #fSplitLeft} and {@link #fSplitRight}.
+	 *
+	 * @param node the root of the tree to split
+	 * @param offset the offset relative to the start of the tree
+	 */
+	private void split(Piece node, int offset) {
+		if (node == null) {
+			fSplitLeft= null;
+			fSplitRight= null;
+			return;
+		}
+
+		int leftLength= treeLength(node.fLeft);
+		if (offset <= leftLength) {
+			split(node.fLeft, offset);
+			node.fLeft= fSplitRight;
+			node.update();
+			fSplitRight= node;
+		} else if (offset >= leftLength + node.fLength) {
+			split(node.fRight, offset - leftLength - node.fLength);
+			node.fRight= fSplitLeft;
+			node.update();
+			fSplitLeft= node;
+		} else {
+			int index= offset - leftLength;
+			// the tail inherits the priority so that it can take over the right subtree
+			Piece tail= new Piece(node.fText, node.fChars, node.fStart + index, node.fLength - index, node.fPriority);
+			tail.fRight= node.fRight;
+			tail.update();
+			node.fLength= index;
+			node.fRight= null;
+			node.update();
+			fSplitLeft= node;
+			fSplitRight= tail;
+		}
+	}
+
+	/**
+	 * Concatenates the two given trees.
+	 *
+	 * @param left the tree with the leading characters, may be <code>null</code>
+	 * @param right the tree with the trailing characters, may be <code>null</code>
+	 * @return the root of the concatenated tree
+	 */
+	private static Piece merge(Piece left, Piece right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+
+		if (left.fPriority >= right.fPriority) {
+			left.fRight= merge(left.fRight, right);
+			left.update();
+			return left;
+		}
+
+		right.fLeft= merge(left, right.fLeft);
+		right.update();
+		return right;
+	}
+
+	/**
+	 * Returns the next node priority.
+	 *
+	 * @return the next pseudo random priority
+	 */
+	private int nextPriority() {
+		int seed= fSeed;
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		fSeed= seed;
+		return seed;
+	}
+
+	private static int treeLength(Piece node) {
+		return node == null ? 0 : node.fTreeLength;
+	}
+}
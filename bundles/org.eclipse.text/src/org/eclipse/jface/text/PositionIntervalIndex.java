@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.List;
+
+
+/**
+ * An interval index on top of a list of positions ordered by offset. The list is used as the
+ * leaf level of an implicit balanced binary tree whose inner nodes store the minimal start offset
+ * and the maximal end offset of all positions below them. This allows to find all positions
+ * overlapping a given range in <code>O(log n + k)</code> instead of scanning all positions
+ * starting before the range.
+ * <p>
+ * Position updaters do not strictly preserve the order of the list, e.g. an empty position at
+ * an insertion point may end up after a position that has been shifted. As the minimal start
+ * offsets are kept per node, the index does not rely on the order for correctness, only for
+ * efficiency.
+ * </p>
+ * <p>
+ * The index does not observe the positions it is built on. It is rebuilt lazily on the first
+ * query after it has been {@link #invalidate() invalidated} or after the modification stamp of
+ * the document has changed. Clients must invalidate the index whenever positions are added to,
+ * removed from or updated in the underlying list.
+ * </p>
+ * <p>
+ * Queries may run concurrently, e.g. from reconciler and painter threads. Each build creates a
+ * new immutable tree which is published at once, so a query always works on a consistent tree
+ * and never sees one that is being built.
+ * </p>
+ *
+ * @since 3.15
+ */
+final class PositionIntervalIndex {
+
+	/**
+	 * An immutable snapshot of the tree.
+	 */
+	private static final class Tree {
+		/** The positions the tree has been built for, in list order. */
+		final Position[] fLeafs;
+		/**
+		 * The minimal start offsets of the implicit tree. The leafs start at index
+		 * <code>fLeafCount</code>, the root is at index <code>1</code>.
+		 */
+		final int[] fMinStarts;
+		/**
+		 * The maximal exclusive end offsets of the implicit tree, organized like
+		 * <code>fMinStarts</code>.
+		 */
+		final int[] fMaxEnds;
+		/** The number of leafs of the tree, always a power of two. */
+		final int fLeafCount;
+		/** The document modification stamp the tree has been built for. */
+		final long fModificationStamp;
+		/** The invalidation count the tree has been built for. */
+		final int fVersion;
+
+		Tree(Position[] leafs, long modificationStamp, int version) {
+			fLeafs= leafs;
+			fModificationStamp= modificationStamp;
+			fVersion= version;
+
+			int size= leafs.length;
+			int leafCount= 1;
+			while (leafCount < size) {
+				leafCount <<= 1;
+			}
+			fLeafCount= leafCount;
+			fMinStarts= new int[2 * leafCount];
+			fMaxEnds= new int[2 * leafCount];
+
+			for (int i= 0; i < leafCount; i++) {
+				if (i < size) {
+					Position position= leafs[i];
+					fMinStarts[leafCount + i]= position.offset;
+					fMaxEnds[leafCount + i]= position.offset + Math.max(position.length, 1);
+				} else {
+					fMinStarts[leafCount + i]= Integer.MAX_VALUE;
+					fMaxEnds[leafCount + i]= Integer.MIN_VALUE;
+				}
+			}
+			for (int i= leafCount - 1; i > 0; i--) {
+				fMinStarts[i]= Math.min(fMinStarts[2 * i], fMinStarts[2 * i + 1]);
+				fMaxEnds[i]= Math.max(fMaxEnds[2 * i], fMaxEnds[2 * i + 1]);
+			}
+		}
+
+		/**
+		 * Descends the subtree rooted at the given node and adds all positions which start at or
+		 * before <code>end</code> and whose end lies after <code>offset</code>. Zero-length
+		 * positions are treated as covering one character so that they are found by queries
+		 * starting at their offset.
+		 *
+		 * @param node the node index
+		 * @param offset the offset the end of the positions must lie after
+		 * @param end the offset the positions must start at or before
+		 * @param result the list to which the positions are added
+		 */
+		void collect(int node, int offset, int end, List<Position> result) {
+			if (fMinStarts[node] > end || fMaxEnds[node] <= offset) {
+				return;
+			}
+
+			if (node >= fLeafCount) {
+				result.add(fLeafs[node - fLeafCount]);
+				return;
+			}
+
+			collect(2 * node, offset, end, result);
+			collect(2 * node + 1, offset, end, result);
+		}
+	}
+
+	/** The positions ordered by offset, shared with the document. */
+	private final List<Position> fPositions;
+	/** The current tree, <code>null</code> if not yet built. */
+	private volatile Tree fTree;
+	/** The number of invalidations, a tree built before the last invalidation is outdated. */
+	private volatile int fVersion;
+
+
+	/**
+	 * Creates a new index for the given list of positions.
+	 *
+	 * @param positions the positions ordered by offset
+	 */
+	PositionIntervalIndex(List<Position> positions) {
+		fPositions= positions;
+	}
+
+	/**
+	 * Marks this index as outdated. The next query will rebuild it.
+	 */
+	void invalidate() {
+		fVersion++;
+	}
+
+	/**
+	 * Collects all positions which start at or before <code>end</code> and whose end lies after
+	 * <code>offset</code>. Zero-length positions are treated as covering one character. The
+	 * result is a superset of all positions overlapping the given range and is in list order.
+	 *
+	 * @param offset the offset of the range
+	 * @param end the inclusive end of the range
+	 * @param modificationStamp the current modification stamp of the document
+	 * @param result the list to which the candidates are added
+	 */
+	void collectCandidates(int offset, int end, long modificationStamp, List<Position> result) {
+		Tree tree= fTree;
+		int version= fVersion;
+		if (tree == null || tree.fVersion != version || tree.fModificationStamp != modificationStamp || tree.fLeafs.length != fPositions.size()) {
+			tree= new Tree(fPositions.toArray(new Position[0]), modificationStamp, version);
+			fTree= tree;
+		}
+
+		if (tree.fLeafs.length > 0) {
+			tree.collect(1, offset, end, result);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -103,6 +103,14 @@ public class TextUtilities {
 		if (offset < 0) {
 			offset = 0; // for compatibility with old implementation
 		}
+		if (isDefaultDelimiters(searchStrings)) {
+			// the common case of searching line delimiters does not need a general matcher
+			DelimiterInfo info= nextDelimiter(text, offset);
+			if (info.delimiterIndex == -1) {
+				return new int[] { -1, -1 };
+			}
+			return new int[] { info.delimiterIndex, equals(searchStrings, info.delimiter) };
+		}
 		final MultiStringMatcher.Match match= MultiStringMatcher.indexOf(text, offset, searchStrings);
 		if (match != null) {
 			for (int i= 0; i < searchStrings.length; i++) {
@@ -122,6 +130,26 @@ public class TextUtilities {
 		return new int[] { -1, -1 };
 	}
 
+	/**
+	 * Tells whether the given strings are exactly the default {@link #DELIMITERS delimiters} in
+	 * any order.
+	 *
+	 * @param strings the strings to check
+	 * @return <code>true</code> if the strings are the default delimiters
+	 * @since 3.15
+	 */
+	private static boolean isDefaultDelimiters(String[] strings) {
+		if (strings.length != DELIMITERS.length) {
+			return false;
+		}
+		for (String delimiter : DELIMITERS) {
+			if (equals(strings, delimiter) == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Returns the index of the longest search string with which the given text ends or
 	 * <code>-1</code> if none matches.
@@ -604,29 +632,23 @@ public class TextUtilities {
 	 */
 	public static DelimiterInfo nextDelimiter(CharSequence text, int offset) {
 		final DelimiterInfo info= new DelimiterInfo();
-		char ch;
-		final int length= text.length();
-		for (int i= offset; i < length; i++) {
-			ch= text.charAt(i);
-			if (ch == '\r') {
-				info.delimiterIndex= i;
-				if (i + 1 < length && text.charAt(i + 1) == '\n') {
-					info.delimiter= DELIMITERS[2];
-					break;
-				}
+		final int i= LineDelimiterScanner.indexOf(text, offset);
+		if (i == -1) {
+			info.delimiterIndex= -1;
+			return info;
+		}
+
+		info.delimiterIndex= i;
+		if (text.charAt(i) == '\r') {
+			if (i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+				info.delimiter= DELIMITERS[2];
+			} else {
 				info.delimiter= DELIMITERS[1];
-				break;
-			} else if (ch == '\n') {
-				info.delimiterIndex= i;
-				info.delimiter= DELIMITERS[0];
-				break;
 			}
-		}
-		if (info.delimiter == null) {
-			info.delimiterIndex= -1;
 		} else {
-			info.delimiterLength= info.delimiter.length();
+			info.delimiter= DELIMITERS[0];
 		}
+		info.delimiterLength= info.delimiter.length();
 		return info;
 	}
 }
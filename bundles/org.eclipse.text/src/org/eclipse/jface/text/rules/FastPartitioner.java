@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,19 +18,27 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DefaultPositionUpdater;
 import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
 import org.eclipse.jface.text.DocumentRewriteSession;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
 import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.jface.text.IDocumentPartitionerExtension;
 import org.eclipse.jface.text.IDocumentPartitionerExtension2;
 import org.eclipse.jface.text.IDocumentPartitionerExtension3;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
@@ -54,6 +62,15 @@ import org.eclipse.jface.text.TypedRegion;
  * {@link #clearPositionCache()} after modifying the partitioner's positions.
  * The cached positions may be accessed through {@link #getPositions()}.
  * </p>
+ * <p>
+ * By default, the partitioner keeps the partitioning of the whole document up
+ * to date. After a change which affects the rest of the document, e.g. opening
+ * a block comment, this means scanning up to the end of the document. With
+ * {@link #setIncrementalScanLimit(int)}, the partitioner can be told to scan
+ * only a limited number of characters behind a change and to continue the
+ * partitioning of the rest of the document later: lazily for the regions that
+ * are queried and, for documents with a lock object, in a background job.
+ * </p>
  *
  * Originally since 3.1, but moved to org.eclipse.text in 3.14
  *
@@ -99,6 +116,26 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 * someone requests partition information.
 	 */
 	private Position[] fCachedPositions= null;
+	/**
+	 * The maximal number of characters scanned behind a change before the
+	 * partitioning is suspended, or <code>-1</code> if the whole document is
+	 * always partitioned.
+	 */
+	private int fScanLimit= -1;
+	/**
+	 * The offset from which on the partitioning is not up to date, or
+	 * <code>-1</code> if the whole document is partitioned.
+	 */
+	private int fPendingOffset= -1;
+	/**
+	 * The offset from which on changes of the partitioning have not been
+	 * reported, or <code>-1</code> if all changes have been reported.
+	 */
+	private int fUnreportedOffset= -1;
+	/** The job which partitions the rest of the document, created lazily. */
+	private PartitioningJob fPartitioningJob;
+	/** The number of characters partitioned by the background job at a time. */
+	private static final int BACKGROUND_CHUNK_SIZE= 64 * 1024;
 	/** Debug option for cache consistency checking. */
 	private static final boolean CHECK_CACHE_CONSISTENCY= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/FastPartitioner/PositionCache"));  //$NON-NLS-1$//$NON-NLS-2$;
 
@@ -163,6 +200,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	protected void initialize() {
 		fIsInitialized= true;
+		fPendingOffset= -1;
+		fUnreportedOffset= -1;
 		clearPositionCache();
 		fScanner.setRange(fDocument, 0, fDocument.getLength());
 
@@ -175,6 +214,11 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 				if (isSupportedContentType(contentType)) {
 					TypedPosition p= new TypedPosition(fScanner.getTokenOffset(), fScanner.getTokenLength(), contentType);
 					fDocument.addPosition(fPositionCategory, p);
+
+					if (isScanLimitReached(p.offset + p.length, 0)) {
+						suspendPartitioning(p.offset + p.length);
+						break;
+					}
 				}
 
 				token= fScanner.nextToken();
@@ -194,9 +238,26 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	@Override
 	public void disconnect() {
+		Object lock= getLockObject();
+		if (lock == null) {
+			doDisconnect();
+			return;
+		}
+		synchronized (lock) {
+			doDisconnect();
+		}
+	}
+
+	private void doDisconnect() {
 
 		Assert.isTrue(fDocument.containsPositionCategory(fPositionCategory));
 
+		fPendingOffset= -1;
+		fUnreportedOffset= -1;
+		if (fPartitioningJob != null) {
+			fPartitioningJob.cancel();
+		}
+
 		try {
 			fDocument.removePositionCategory(fPositionCategory);
 		} catch (BadPositionCategoryException x) {
@@ -212,6 +273,17 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent e) {
+		Object lock= getLockObject();
+		if (lock == null) {
+			doDocumentAboutToBeChanged(e);
+			return;
+		}
+		synchronized (lock) {
+			doDocumentAboutToBeChanged(e);
+		}
+	}
+
+	private void doDocumentAboutToBeChanged(DocumentEvent e) {
 		if (fIsInitialized) {
 
 			Assert.isTrue(e.getDocument() == fDocument);
@@ -296,6 +368,16 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	@Override
 	public IRegion documentChanged2(DocumentEvent e) {
+		Object lock= getLockObject();
+		if (lock == null) {
+			return doDocumentChanged2(e);
+		}
+		synchronized (lock) {
+			return doDocumentChanged2(e);
+		}
+	}
+
+	private IRegion doDocumentChanged2(DocumentEvent e) {
 
 		if (!fIsInitialized) {
 			return null;
@@ -304,12 +386,28 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		try {
 			Assert.isTrue(e.getDocument() == fDocument);
 
+			int newLength= e.getText() == null ? 0 : e.getText().length();
+			if (fUnreportedOffset > e.getOffset()) {
+				fUnreportedOffset= e.getOffset();
+			}
+			if (fPendingOffset != -1) {
+				if (e.getOffset() > fPendingOffset) {
+					// the change will be partitioned together with the rest of the pending region
+					fPositionUpdater.update(e);
+					return null;
+				}
+				if (e.getOffset() + e.getLength() < fPendingOffset) {
+					fPendingOffset+= newLength - e.getLength();
+				} else {
+					fPendingOffset= e.getOffset();
+				}
+			}
+
 			Position[] category= getPositions();
 			IRegion line= fDocument.getLineInformationOfOffset(e.getOffset());
 			int reparseStart= line.getOffset();
 			int partitionStart= -1;
 			String contentType= null;
-			int newLength= e.getText() == null ? 0 : e.getText().length();
 
 			int first= fDocument.computeIndexInCategory(fPositionCategory, reparseStart);
 			if (first > 0)	{
@@ -384,7 +482,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 				// if position already exists and we have scanned at least the
 				// area covered by the event, we are done
 				if (fDocument.containsPosition(fPositionCategory, start, length)) {
-					if (lastScannedPosition >= e.getOffset() + newLength) {
+					if (lastScannedPosition >= e.getOffset() + newLength && isPartitioned(behindLastScannedPosition)) {
 						return createRegion();
 					}
 					++ first;
@@ -398,9 +496,16 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 					}
 				}
 
+				if (isScanLimitReached(behindLastScannedPosition, e.getOffset() + newLength)) {
+					// the rest of the document is not reported, clients would query it right away
+					suspendPartitioning(behindLastScannedPosition);
+					return createRegion();
+				}
+
 				token= fScanner.nextToken();
 			}
 
+			fPendingOffset= -1;
 			first= fDocument.computeIndexInCategory(fPositionCategory, behindLastScannedPosition);
 
 			clearPositionCache();
@@ -473,7 +578,18 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	@Override
 	public String getContentType(int offset) {
+		Object lock= getLockObject();
+		if (lock == null) {
+			return doGetContentType(offset);
+		}
+		synchronized (lock) {
+			return doGetContentType(offset);
+		}
+	}
+
+	private String doGetContentType(int offset) {
 		checkInitialization();
+		checkPartitioning(offset);
 
 		TypedPosition p= findClosestPosition(offset);
 		if (p != null && p.includes(offset)) {
@@ -491,7 +607,18 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	@Override
 	public ITypedRegion getPartition(int offset) {
+		Object lock= getLockObject();
+		if (lock == null) {
+			return doGetPartition(offset);
+		}
+		synchronized (lock) {
+			return doGetPartition(offset);
+		}
+	}
+
+	private ITypedRegion doGetPartition(int offset) {
 		checkInitialization();
+		checkPartitioning(offset);
 
 		try {
 
@@ -639,7 +766,18 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	@Override
 	public ITypedRegion[] computePartitioning(int offset, int length, boolean includeZeroLengthPartitions) {
+		Object lock= getLockObject();
+		if (lock == null) {
+			return doComputePartitioning(offset, length, includeZeroLengthPartitions);
+		}
+		synchronized (lock) {
+			return doComputePartitioning(offset, length, includeZeroLengthPartitions);
+		}
+	}
+
+	private ITypedRegion[] doComputePartitioning(int offset, int length, boolean includeZeroLengthPartitions) {
 		checkInitialization();
+		checkPartitioning(offset + length);
 		List<TypedRegion> list= new ArrayList<>();
 
 		try {
@@ -777,6 +915,17 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	@Override
 	public void stopRewriteSession(DocumentRewriteSession session) {
+		Object lock= getLockObject();
+		if (lock == null) {
+			doStopRewriteSession(session);
+			return;
+		}
+		synchronized (lock) {
+			doStopRewriteSession(session);
+		}
+	}
+
+	private void doStopRewriteSession(DocumentRewriteSession session) {
 		if (fActiveRewriteSession == session) {
 			flushRewriteSession();
 		}
@@ -807,6 +956,271 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		fDocument.addPositionCategory(fPositionCategory);
 
 		fIsInitialized= false;
+		fPendingOffset= -1;
+		fUnreportedOffset= -1;
+	}
+
+	/**
+	 * Sets the maximal number of characters the partitioner scans behind a
+	 * document change. If the scanner has not found the partitioning to be
+	 * unchanged by then, the partitioning of the rest of the document is
+	 * suspended: the partitioner reports only the scanned part as changed
+	 * and continues partitioning the rest on demand when a region behind the
+	 * scanned part is queried. If the document provides a lock object, see
+	 * {@link ISynchronizable}, the rest of the document is also partitioned by a
+	 * background job. The job and all methods of the partitioner reading or
+	 * modifying the partitioning then synchronize on that lock. The initial
+	 * partitioning is limited in the same way.
+	 * <p>
+	 * Changes of the partitioning behind the scanned part are not reported with
+	 * the document change. When the background job has partitioned the rest of
+	 * an {@link AbstractDocument}, it reports the rest as changed by a
+	 * {@link DocumentPartitioningChangedEvent}, which is sent in the thread of
+	 * the job. Otherwise clients presenting the partitioning have to query it
+	 * again for the regions they present, e.g. when they become visible.
+	 * </p>
+	 * <p>
+	 * By default, there is no limit. Must be called before the partitioner is
+	 * connected to a document.
+	 * </p>
+	 *
+	 * @param limit the maximal number of characters to scan behind a change or
+	 *            <code>-1</code> to always partition the whole document
+	 * @since 3.15
+	 */
+	public void setIncrementalScanLimit(int limit) {
+		Assert.isTrue(limit >= -1);
+		fScanLimit= limit;
+	}
+
+	/**
+	 * Tells whether the partitioning has to be suspended.
+	 *
+	 * @param offset the offset up to which the document has been scanned
+	 * @param changeEnd the end of the changed text
+	 * @return <code>true</code> if the scan limit has been reached
+	 */
+	private boolean isScanLimitReached(int offset, int changeEnd) {
+		return fScanLimit != -1 && offset - changeEnd >= fScanLimit;
+	}
+
+	/**
+	 * Tells whether the partitioning is up to date up to the given offset.
+	 *
+	 * @param offset the offset
+	 * @return <code>true</code> if the partitioning is up to date before the offset
+	 */
+	private boolean isPartitioned(int offset) {
+		return fPendingOffset == -1 || offset <= fPendingOffset;
+	}
+
+	/**
+	 * Suspends the partitioning at the given offset. The positions behind it
+	 * are kept, but are no longer trusted.
+	 *
+	 * @param offset the offset behind the last scanned partition
+	 */
+	private void suspendPartitioning(int offset) {
+		fPendingOffset= offset;
+		if (fUnreportedOffset == -1 || offset < fUnreportedOffset) {
+			fUnreportedOffset= offset;
+		}
+
+		if (getLockObject() != null) {
+			if (fPartitioningJob == null) {
+				fPartitioningJob= new PartitioningJob();
+			}
+			fPartitioningJob.schedule();
+		}
+	}
+
+	/**
+	 * Continues the partitioning if it has been suspended before the given
+	 * offset.
+	 *
+	 * @param offset the offset up to which the partitioning must be up to date
+	 */
+	private void checkPartitioning(int offset) {
+		if (fPendingOffset == -1) {
+			return;
+		}
+
+		resumePartitioning(offset + fScanLimit);
+	}
+
+	/**
+	 * Returns the lock which guards the partitioning against the background
+	 * job. The job only exists for incremental partitioning of documents which
+	 * provide a lock object, see {@link ISynchronizable}. The job modifies the
+	 * positions of the document, so it has to use the lock of the document.
+	 * Otherwise the partitioner is only used by the clients of the document and
+	 * needs no lock.
+	 * <p>
+	 * This does not depend on whether a job is currently scheduled: a method
+	 * which suspends the partitioning schedules the job while still running.
+	 * </p>
+	 *
+	 * @return the lock guarding the partitioning or <code>null</code> if none
+	 *         is needed
+	 */
+	private Object getLockObject() {
+		if (fScanLimit != -1 && fDocument instanceof ISynchronizable synchronizable) {
+			return synchronizable.getLockObject();
+		}
+		return null;
+	}
+
+	/**
+	 * Creates the event reporting the partitioning behind the offset from
+	 * which on changes have not been reported. Clears that offset.
+	 *
+	 * @return the event or <code>null</code> if there is nothing to report
+	 */
+	private DocumentPartitioningChangedEvent createUnreportedChangeEvent() {
+		int offset= fUnreportedOffset;
+		fUnreportedOffset= -1;
+		if (offset == -1 || !fIsInitialized || !(fDocument instanceof IDocumentExtension3 extension)) {
+			return null;
+		}
+
+		int length= fDocument.getLength() - offset;
+		if (length <= 0) {
+			return null;
+		}
+
+		for (String partitioning : extension.getPartitionings()) {
+			if (extension.getDocumentPartitioner(partitioning) == this) {
+				DocumentPartitioningChangedEvent event= new DocumentPartitioningChangedEvent(fDocument);
+				event.setPartitionChange(partitioning, offset, length);
+				return event;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Continues the suspended partitioning until the partitioning is up to
+	 * date behind the given offset. Positions produced by the scanner replace
+	 * the positions which are no longer trusted. As these positions have been
+	 * reported as changed when the partitioning was suspended, no change is
+	 * reported.
+	 *
+	 * @param offset the offset behind which the partitioning must be up to date
+	 */
+	private void resumePartitioning(int offset) {
+		if (fPendingOffset == -1 || offset < fPendingOffset || !fIsInitialized) {
+			return;
+		}
+
+		try {
+			int resumeOffset= fPendingOffset;
+			Position[] category= getPositions();
+			int first= fDocument.computeIndexInCategory(fPositionCategory, resumeOffset);
+
+			fScanner.setPartialRange(fDocument, resumeOffset, fDocument.getLength() - resumeOffset, IDocument.DEFAULT_CONTENT_TYPE, resumeOffset);
+
+			int behindLastScannedPosition= resumeOffset;
+			IToken token= fScanner.nextToken();
+			while (!token.isEOF()) {
+
+				String contentType= getTokenContentType(token);
+
+				if (!isSupportedContentType(contentType)) {
+					token= fScanner.nextToken();
+					continue;
+				}
+
+				int start= fScanner.getTokenOffset();
+				int length= fScanner.getTokenLength();
+
+				behindLastScannedPosition= start + length;
+				int lastScannedPosition= behindLastScannedPosition - 1;
+
+				// remove all outdated positions
+				while (first < category.length) {
+					TypedPosition p= (TypedPosition) category[first];
+					if (lastScannedPosition >= p.offset + p.length ||
+							(p.overlapsWith(start, length) &&
+								(p.offset != start || p.length != length || !contentType.equals(p.getType())))) {
+
+						fDocument.removePosition(fPositionCategory, p);
+						++ first;
+
+					} else {
+						break;
+					}
+				}
+
+				if (first < category.length && category[first].offset == start && category[first].length == length) {
+					++ first;
+				} else {
+					fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
+				}
+
+				if (start > offset) {
+					fPendingOffset= behindLastScannedPosition;
+					return;
+				}
+
+				token= fScanner.nextToken();
+			}
+
+			fPendingOffset= -1;
+			for (int i= first; i < category.length; i++) {
+				fDocument.removePosition(fPositionCategory, category[i]);
+			}
+
+		} catch (BadPositionCategoryException x) {
+			// should never happen on connected documents
+			fPendingOffset= -1;
+		} catch (BadLocationException x) {
+			// cannot happen as offsets come from scanner
+			fPendingOffset= -1;
+		} finally {
+			clearPositionCache();
+		}
+	}
+
+	/**
+	 * Partitions the rest of the document after the partitioning has been
+	 * suspended, one chunk at a time while holding the lock of the document.
+	 * Reports the partitioning of the rest of the document once done.
+	 */
+	private class PartitioningJob extends Job {
+
+		PartitioningJob() {
+			super("Document partitioning"); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			while (!monitor.isCanceled()) {
+				Object lock= getLockObject();
+				if (lock == null) {
+					return Status.OK_STATUS;
+				}
+
+				IDocument document;
+				DocumentPartitioningChangedEvent event;
+				synchronized (lock) {
+					if (fPendingOffset != -1) {
+						resumePartitioning(fPendingOffset + BACKGROUND_CHUNK_SIZE);
+						continue;
+					}
+					document= fDocument;
+					event= createUnreportedChangeEvent();
+				}
+
+				// listeners must not be called while holding the lock
+				if (event != null && document instanceof AbstractDocument abstractDocument) {
+					abstractDocument.notifyPartitioningChanged(event);
+				}
+				return Status.OK_STATUS;
+			}
+			return Status.CANCEL_STATUS;
+		}
 	}
 
 	/**
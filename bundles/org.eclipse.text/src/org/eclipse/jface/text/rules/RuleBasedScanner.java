@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,11 @@ import org.eclipse.jface.text.IDocument;
  * which returns <code>true</code> when calling <code>isOther</code>, unless the end
  * of the file is reached. In this case the token returns <code>true</code> when calling
  * <code>isEOF</code>.
+ * <p>
+ * Rules of the standard types which cannot match at the current character, e.g. a
+ * {@link SingleLineRule} whose start sequence begins with a different character, are skipped
+ * without being evaluated. This does not change the tokens returned by the scanner.
+ * </p>
  *
  * Originally since unknown version, but moved to org.eclipse.text in 3.14
  *
@@ -56,6 +61,11 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 	protected int fColumn;
 	/** Internal setting for the un-initialized column cache. */
 	protected static final int UNDEFINED= -1;
+	/**
+	 * The table of the rules which can match at a given character, built lazily for the current rules.
+	 * @since 3.15
+	 */
+	private RuleDispatchTable fDispatchTable;
 
 	/**
 	 * Creates a new rule based scanner which does not have any rule.
@@ -170,8 +180,32 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		fColumn= UNDEFINED;
 
 		if (fRules != null) {
-			for (IRule fRule : fRules) {
-				IToken token= (fRule.evaluate(this));
+			int first= 0;
+			if (fRules.length > 1) {
+				if (fDispatchTable == null || !fDispatchTable.isFor(fRules)) {
+					fDispatchTable= new RuleDispatchTable(fRules);
+				}
+				int c= read();
+				unread();
+				int[] candidates= fDispatchTable.getCandidates(c);
+				if (candidates != null) {
+					// only evaluate the rules which can match at the current character
+					first= fRules.length;
+					for (int candidate : candidates) {
+						IToken token= fRules[candidate].evaluate(this);
+						if (!token.isUndefined()) {
+							return token;
+						}
+						if (fOffset != fTokenOffset) {
+							// the rule has not restored the position, evaluate the remaining rules as usual
+							first= candidate + 1;
+							break;
+						}
+					}
+				}
+			}
+			for (int i= first; i < fRules.length; i++) {
+				IToken token= (fRules[i].evaluate(this));
 				if (!token.isUndefined()) {
 					return token;
 				}
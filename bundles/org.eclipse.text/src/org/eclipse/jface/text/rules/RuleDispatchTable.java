@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * A table which tells for every ASCII character which rules of a rule based scanner can match a
+ * token starting with that character. Evaluating a rule which cannot match only reads and unreads
+ * a character and returns {@link Token#UNDEFINED}, so the scanner may skip it as long as the
+ * rules evaluated before have restored the scanner position.
+ * <p>
+ * The start characters are known for the standard rules {@link PatternRule},
+ * {@link SingleLineRule}, {@link MultiLineRule}, {@link EndOfLineRule}, {@link WordRule},
+ * {@link NumberRule} and {@link WhitespaceRule}. Instances of subclasses of these rules and of all
+ * other rules are assumed to match any character. The word and whitespace detectors are asked
+ * once per ASCII character when the table is built, they must not change their answers later.
+ * For other characters and at the end of the range, all rules are evaluated.
+ * </p>
+ * <p>
+ * The order of the rules is preserved, so a scanner using the table returns the same tokens as
+ * before.
+ * </p>
+ *
+ * @since 3.15
+ */
+final class RuleDispatchTable {
+
+	/** The number of characters for which candidates are computed. */
+	private static final int TABLE_SIZE= 128;
+
+	/** The rules the table has been built for, in their original order. */
+	private final IRule[] fRules;
+	/** The indices of the candidate rules per ASCII character. */
+	private final int[][] fCandidates= new int[TABLE_SIZE][];
+
+
+	/**
+	 * Builds the table for the given rules.
+	 *
+	 * @param rules the rules of the scanner, not <code>null</code>
+	 */
+	RuleDispatchTable(IRule[] rules) {
+		fRules= rules;
+
+		// share the arrays between characters with the same candidates
+		List<int[]> distinct= new ArrayList<>();
+		int[] candidates= new int[rules.length];
+		for (char c= 0; c < TABLE_SIZE; c++) {
+			int count= 0;
+			for (int i= 0; i < rules.length; i++) {
+				if (canStartWith(rules[i], c)) {
+					candidates[count++]= i;
+				}
+			}
+
+			int[] array= Arrays.copyOf(candidates, count);
+			int[] shared= null;
+			for (int[] existing : distinct) {
+				if (Arrays.equals(existing, array)) {
+					shared= existing;
+					break;
+				}
+			}
+			if (shared == null) {
+				shared= array;
+				distinct.add(array);
+			}
+			fCandidates[c]= shared;
+		}
+	}
+
+	/**
+	 * Tells whether this table has been built for the given rules.
+	 *
+	 * @param rules the current rules of the scanner
+	 * @return <code>true</code> if the table can be used for the rules
+	 */
+	boolean isFor(IRule[] rules) {
+		return fRules == rules;
+	}
+
+	/**
+	 * Returns the indices of the rules which can match a token starting with the given character,
+	 * in ascending order.
+	 *
+	 * @param c the character at the scanner's position or {@link ICharacterScanner#EOF}
+	 * @return the indices of the rules to evaluate, must not be modified, or <code>null</code> if
+	 *         all rules have to be evaluated
+	 */
+	int[] getCandidates(int c) {
+		if (c >= 0 && c < TABLE_SIZE) {
+			return fCandidates[c];
+		}
+		return null;
+	}
+
+	/**
+	 * Tells whether the given rule may match a token that starts with the given character.
+	 *
+	 * @param rule the rule
+	 * @param c the character
+	 * @return <code>false</code> if the rule is known to return an undefined token
+	 */
+	private static boolean canStartWith(IRule rule, char c) {
+		Class<?> ruleClass= rule.getClass();
+		if (ruleClass == PatternRule.class || ruleClass == SingleLineRule.class || ruleClass == MultiLineRule.class || ruleClass == EndOfLineRule.class) {
+			return ((PatternRule) rule).fStartSequence[0] == c;
+		}
+		if (ruleClass == WordRule.class) {
+			return ((WordRule) rule).fDetector.isWordStart(c);
+		}
+		if (ruleClass == NumberRule.class) {
+			return Character.isDigit(c);
+		}
+		if (ruleClass == WhitespaceRule.class) {
+			return ((WhitespaceRule) rule).fDetector.isWhitespace(c);
+		}
+		return true;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jface.text.rules;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.eclipse.core.runtime.Assert;
@@ -51,6 +52,36 @@ public class WordRule implements IRule {
 	 * @since 3.3
 	 */
 	private boolean fIgnoreCase= false;
+	/**
+	 * Key used to look up the word in the buffer without creating a string.
+	 * @since 3.15
+	 */
+	private final BufferKey fBufferKey= new BufferKey();
+
+
+	/**
+	 * A key that is equal to the strings with the same characters as {@link WordRule#fBuffer}.
+	 * {@link Map#get(Object)} compares the given key with the keys of the map by calling
+	 * <code>key.equals(k)</code>, so this key finds the same entry as
+	 * <code>fBuffer.toString()</code>.
+	 */
+	private final class BufferKey {
+
+		@Override
+		public int hashCode() {
+			// same as String.hashCode()
+			int hash= 0;
+			for (int i= 0, length= fBuffer.length(); i < length; i++) {
+				hash= 31 * hash + fBuffer.charAt(i);
+			}
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof String string && string.contentEquals(fBuffer);
+		}
+	}
 
 
 	/**
@@ -146,13 +177,7 @@ public class WordRule implements IRule {
 				} while (c != ICharacterScanner.EOF && fDetector.isWordPart((char) c));
 				scanner.unread();
 
-				String buffer= fBuffer.toString();
-				// If case-insensitive, convert to lower case before accessing the map
-				if (fIgnoreCase) {
-					buffer= buffer.toLowerCase();
-				}
-
-				IToken token= fWords.get(buffer);
+				IToken token= lookUpWord();
 
 				if (token != null) {
 					return token;
@@ -170,6 +195,45 @@ public class WordRule implements IRule {
 		return Token.UNDEFINED;
 	}
 
+	/**
+	 * Returns the token associated with the word in the buffer.
+	 *
+	 * @return the token or <code>null</code> if the word is not in {@link #fWords}
+	 * @since 3.15
+	 */
+	private IToken lookUpWord() {
+		Class<?> wordsClass= fWords.getClass();
+		if ((wordsClass == HashMap.class || wordsClass == LinkedHashMap.class) && (!fIgnoreCase || isLowerCaseAscii(fBuffer))) {
+			// the buffer is its own lower case form, avoid creating a string
+			return fWords.get(fBufferKey);
+		}
+
+		String buffer= fBuffer.toString();
+		// If case-insensitive, convert to lower case before accessing the map
+		if (fIgnoreCase) {
+			buffer= buffer.toLowerCase();
+		}
+		return fWords.get(buffer);
+	}
+
+	/**
+	 * Tells whether the given characters are ASCII characters which are not upper case. Such a
+	 * sequence is not changed by {@link String#toLowerCase()} in any locale.
+	 *
+	 * @param chars the characters to check
+	 * @return <code>true</code> if all characters are ASCII and not upper case
+	 * @since 3.15
+	 */
+	private static boolean isLowerCaseAscii(CharSequence chars) {
+		for (int i= 0, length= chars.length(); i < length; i++) {
+			char c= chars.charAt(i);
+			if (c >= 128 || (c >= 'A' && c <= 'Z')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Returns the characters in the buffer to the scanner.
 	 *
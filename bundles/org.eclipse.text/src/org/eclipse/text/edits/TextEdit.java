@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -83,8 +83,8 @@ import org.eclipse.jface.text.Region;
 public abstract class TextEdit {
 
 	/**
-	 * Flags indicating that neither <code>CREATE_UNDO</code> nor
-	 * <code>UPDATE_REGIONS</code> is set.
+	 * Flags indicating that none of <code>CREATE_UNDO</code>,
+	 * <code>UPDATE_REGIONS</code> and <code>BATCH_CHANGES</code> is set.
 	 */
 	public static final int NONE= 0;
 
@@ -105,6 +105,18 @@ public abstract class TextEdit {
 	 */
 	public static final int UPDATE_REGIONS= 1 << 1;
 
+	/**
+	 * Flag indicating that the edits of a tree with more than one edit
+	 * are applied as one batched change if the document supports it (see
+	 * {@link org.eclipse.jface.text.IDocumentExtension5}). Document listeners
+	 * are then informed once about all modifications instead of once per
+	 * edit, so this flag must only be passed if all listeners of the document
+	 * can handle a single event covering many edits.
+	 *
+	 * @since 3.15
+	 */
+	public static final int BATCH_CHANGES= 1 << 2;
+
 	private static class InsertionComparator implements Comparator<TextEdit> {
 		@Override
 		public int compare(TextEdit edit1, TextEdit edit2) throws MalformedTreeException {
@@ -706,7 +718,8 @@ public abstract class TextEdit {
 	 *
 	 * @param document the document to be manipulated
 	 * @param style flags controlling the execution of the edit tree. Valid
-	 *  flags are: <code>CREATE_UNDO</code> and <code>UPDATE_REGIONS</code>.
+	 *  flags are: <code>CREATE_UNDO</code>, <code>UPDATE_REGIONS</code> and
+	 *  <code>BATCH_CHANGES</code>.
 	 * @return a undo edit, if <code>CREATE_UNDO</code> is specified. Otherwise
 	 *  <code>null</code> is returned.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,12 +20,20 @@ import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension5;
 
 
 /**
  * A <code>TextEditProcessor</code> manages a set of edits and applies
  * them as a whole to an <code>IDocument</code>.
  * <p>
+ * If {@link TextEdit#BATCH_CHANGES} is passed, the document supports batched
+ * changes (see {@link IDocumentExtension5}) and the edit tree consists of more
+ * than one edit, the edits are applied as one batched change. Document
+ * listeners are then informed once about all modifications instead of once per
+ * edit.
+ * </p>
+ * <p>
  * This class isn't intended to be subclassed.</p>
  *
  * @see org.eclipse.text.edits.TextEdit#apply(IDocument)
@@ -55,7 +63,8 @@ public class TextEditProcessor {
 	 *  text edit processors. Clients must not modify the edit
 	 *  (e.g adding new children) any longer.
 	 *
-	 * @param style {@link TextEdit#NONE}, {@link TextEdit#CREATE_UNDO} or {@link TextEdit#UPDATE_REGIONS})
+	 * @param style {@link TextEdit#NONE} or any combination of {@link TextEdit#CREATE_UNDO},
+	 *  {@link TextEdit#UPDATE_REGIONS} and {@link TextEdit#BATCH_CHANGES}
 	 */
 	public TextEditProcessor(IDocument document, TextEdit root, int style) {
 		this(document, root, style, false);
@@ -82,7 +91,8 @@ public class TextEditProcessor {
 	 *
 	 * @param document the document to be manipulated
 	 * @param root the edit tree
-	 * @param style {@link TextEdit#NONE}, {@link TextEdit#CREATE_UNDO} or {@link TextEdit#UPDATE_REGIONS})
+	 * @param style {@link TextEdit#NONE} or any combination of {@link TextEdit#CREATE_UNDO},
+	 *  {@link TextEdit#UPDATE_REGIONS} and {@link TextEdit#BATCH_CHANGES}
 	 * @return a secondary text edit processor
 	 * @since 3.1
 	 */
@@ -198,7 +208,14 @@ public class TextEditProcessor {
 				collector.connect(fDocument);
 			}
 			computeSources();
-			fRoot.traverseDocumentUpdating(this, fDocument);
+			IDocumentExtension5 extension= startBatchedChange();
+			try {
+				fRoot.traverseDocumentUpdating(this, fDocument);
+			} finally {
+				if (extension != null) {
+					extension.stopBatchedChange();
+				}
+			}
 			if (updateRegions()) {
 				fRoot.traverseRegionUpdating(this, fDocument, 0, false);
 			}
@@ -225,8 +242,15 @@ public class TextEditProcessor {
 				collector.connect(fDocument);
 			}
 			TextEdit[] edits= fRoot.getChildren();
-			for (int i= edits.length - 1; i >= 0; i--) {
-				edits[i].performDocumentUpdating(fDocument);
+			IDocumentExtension5 extension= startBatchedChange();
+			try {
+				for (int i= edits.length - 1; i >= 0; i--) {
+					edits[i].performDocumentUpdating(fDocument);
+				}
+			} finally {
+				if (extension != null) {
+					extension.stopBatchedChange();
+				}
 			}
 		} finally {
 			collector.disconnect(fDocument);
@@ -234,6 +258,22 @@ public class TextEditProcessor {
 		return collector.undo;
 	}
 
+	/**
+	 * Starts a batched change if it has been requested, the document supports
+	 * it and the edit tree consists of more than one edit.
+	 *
+	 * @return the document extension on which the batched change has been
+	 *         started or <code>null</code>
+	 * @since 3.15
+	 */
+	private IDocumentExtension5 startBatchedChange() {
+		if (batchChanges() && fRoot.hasChildren() && fDocument instanceof IDocumentExtension5 extension) {
+			extension.startBatchedChange();
+			return extension;
+		}
+		return null;
+	}
+
 	private boolean createUndo() {
 		return (fStyle & TextEdit.CREATE_UNDO) != 0;
 	}
@@ -241,4 +281,8 @@ public class TextEditProcessor {
 	private boolean updateRegions() {
 		return (fStyle & TextEdit.UPDATE_REGIONS) != 0;
 	}
+
+	private boolean batchChanges() {
+		return (fStyle & TextEdit.BATCH_CHANGES) != 0;
+	}
 }
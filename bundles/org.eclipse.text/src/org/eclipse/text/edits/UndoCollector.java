@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,13 @@ package org.eclipse.text.edits;
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BatchedDocumentEvent;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentListenerExtension;
 
 
-class UndoCollector implements IDocumentListener {
+class UndoCollector implements IDocumentListenerExtension {
 
 	protected UndoEdit undo;
 	private final int fOffset;
@@ -61,11 +62,30 @@ class UndoCollector implements IDocumentListener {
 
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent event) {
-		int offset= event.getOffset();
-		int currentLength= event.getLength();
+		if (event instanceof BatchedDocumentEvent batched) {
+			// record the changes in the order in which they would have been applied one by one
+			for (int i= batched.getChangeCount() - 1; i >= 0; i--) {
+				addUndo(event.getDocument(), batched.getChangeOffset(i), batched.getChangeLength(i), batched.getChangeTextLength(i));
+			}
+		} else {
+			String newText= event.getText();
+			addUndo(event.getDocument(), event.getOffset(), event.getLength(), newText != null ? newText.length() : 0);
+		}
+	}
+
+	/**
+	 * Adds the reverse of the given replacement to the undo edit.
+	 *
+	 * @param document the document, not yet modified
+	 * @param offset the offset of the replaced text
+	 * @param currentLength the length of the replaced text
+	 * @param newLength the length of the replacing text
+	 * @since 3.15
+	 */
+	private void addUndo(IDocument document, int offset, int currentLength, int newLength) {
 		String currentText= null;
 		try {
-			currentText= event.getDocument().get(offset, currentLength);
+			currentText= document.get(offset, currentLength);
 		} catch (BadLocationException cannotHappen) {
 			Assert.isTrue(false, "Can't happen"); //$NON-NLS-1$
 		}
@@ -83,7 +103,6 @@ class UndoCollector implements IDocumentListener {
 			fLastCurrentText= currentText;
 		}
 
-		String newText= event.getText();
-		undo.add(new ReplaceEdit(offset, newText != null ? newText.length() : 0, currentText));
+		undo.add(new ReplaceEdit(offset, newLength, currentText));
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,17 +58,13 @@ import org.eclipse.jface.text.source.LineRange;
 import org.eclipse.ui.internal.texteditor.NLSUtility;
 import org.eclipse.ui.internal.texteditor.TextEditorPlugin;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
-import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.IHashFunction;
 import org.eclipse.ui.progress.IProgressConstants;
 
 import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
 
-import org.eclipse.compare.rangedifferencer.AbstractRangeDifferenceFactory;
-import org.eclipse.compare.rangedifferencer.IRangeComparator;
 import org.eclipse.compare.rangedifferencer.RangeDifference;
-import org.eclipse.compare.rangedifferencer.RangeDifferencer;
 
 /**
  * Standard implementation of <code>ILineDiffer</code> as an incremental diff engine. A
@@ -88,19 +84,6 @@ import org.eclipse.compare.rangedifferencer.RangeDifferencer;
 public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnnotationModel, ILineDifferExtension, ILineDifferExtension2 {
 
 
-	/**
-	 * Custom range difference factory.
-	 *
-	 * @since 3.5
-	 */
-	private static class RangeDifferenceFactory extends AbstractRangeDifferenceFactory {
-		@Override
-		protected org.eclipse.compare.rangedifferencer.RangeDifference createRangeDifference() {
-			return new QuickDiffRangeDifference();
-		}
-	}
-
-
 	/**
 	 * Artificial line difference information indicating a change with an empty line as original text.
 	 */
@@ -139,6 +122,12 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 	/** The delay after which the initialization job is triggered. */
 	private static final int INITIALIZE_DELAY= 500;
+	/**
+	 * The maximal number of lines of a change or its compare window which are diffed incrementally.
+	 * The incremental diff runs in the UI thread, larger changes re-initialize the differ, which
+	 * diffs the documents in a job.
+	 */
+	private static final int MAX_INCREMENTAL_LINES= 50;
 
 	/** Suspended state */
 	private static final int SUSPENDED= 0;
@@ -170,6 +159,13 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	 * @since 3.2
 	 */
 	private DocumentEquivalenceClass fRightEquivalent;
+	/**
+	 * The equivalence class of the right document which is kept up to date while the differ is
+	 * initializing, so the initialization does not have to hash the whole document again, or
+	 * <code>null</code>.
+	 * @since 3.19
+	 */
+	private DocumentEquivalenceClass fTrackedEquivalent;
 	/**
 	 * Flag to indicate whether a change has been made to the line table and any clients should
 	 * update their presentation.
@@ -248,8 +244,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	private Thread fThread;
 	private DocumentEvent fLastUIEvent;
 
-	private final RangeDifferenceFactory fRangeDiffFactory= new RangeDifferenceFactory();
-
 
 	/**
 	 * Creates a new differ.
@@ -505,6 +499,11 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	 * @since 3.2 protected for testing reasons, package visible before
 	 */
 	protected synchronized void initialize() {
+		// keep the hashes of the right document if they are up to date
+		if (fState == SYNCHRONIZED) {
+			fTrackedEquivalent= fRightEquivalent;
+		}
+
 		// make new incoming changes go into the queue of stored events, plus signal we can't restore.
 		fState= INITIALIZING;
 
@@ -544,7 +543,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			public IStatus run(IProgressMonitor monitor) {
 
 				// 1:	wait for any previous job that was canceled to avoid job flooding
-				// It will return relatively quickly as RangeDifferencer supports canceling
+				// It will return relatively quickly as HistogramDiff supports canceling
 				if (oldJob != null) {
 					try {
 						oldJob.join();
@@ -581,6 +580,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 				IDocument right= fRightDocument; // fRightDocument, but not subject to change
 				IDocument actual; // the copy of the actual (right) document
+				DocumentEquivalenceClass actualEquivalent= null; // the reused hashes of the actual copy, if any
 				IDocument reference= null; // the copy of the reference (left) document
 
 				synchronized (DocumentLineDiffer.this) {
@@ -629,6 +629,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 							}
 							fStoredEvents.clear();
 							actual= createUnprotectedCopy(right);
+							actualEquivalent= copyTrackedEquivalent(actual);
 						}
 					}
 				} else {
@@ -662,6 +663,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 								return Status.CANCEL_STATUS;
 							}
 							if (fStoredEvents.isEmpty() && actual != null) {
+								actualEquivalent= copyTrackedEquivalent(actual);
 								break;
 							}
 						}
@@ -670,14 +672,24 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				}
 
 				IHashFunction hash= new DJBHashFunction();
-				DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(reference, hash);
-				fLeftEquivalent= leftEquivalent;
-				IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
-
-				DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(actual, hash);
+				DocumentEquivalenceClass rightEquivalent= actualEquivalent != null ? actualEquivalent : new DocumentEquivalenceClass(actual, hash);
 				fRightEquivalent= rightEquivalent;
-				IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
-				ArrayList<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+
+				// the reference is often equal to the actual document, e.g. right after saving
+				DocumentEquivalenceClass leftEquivalent= null;
+				if (reference.getLength() == actual.getLength() && reference.get().equals(actual.get())) {
+					leftEquivalent= rightEquivalent.copy(reference);
+				}
+				if (leftEquivalent == null) {
+					leftEquivalent= new DocumentEquivalenceClass(reference, hash);
+				}
+				fLeftEquivalent= leftEquivalent;
+				ArrayList<QuickDiffRangeDifference> diffs;
+				try {
+					diffs= HistogramDiff.findRanges(monitor, leftEquivalent, null, rightEquivalent, null);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
 				// 7:	Reset the model to the just gotten differences
 				// 		re-inject stored events to get up to date.
 				synchronized (DocumentLineDiffer.this) {
@@ -703,6 +715,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 								fInitializationJob= null;
 								fState= SYNCHRONIZED;
 								fLastDifference= null;
+								fTrackedEquivalent= null;
 
 								// replace the private documents with the actual
 								leftEquivalent.setDocument(left);
@@ -747,6 +760,19 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				return Status.OK_STATUS;
 			}
 
+			/**
+			 * Returns a copy of the tracked hashes of the right document for the given copy of it.
+			 * Must be called while holding the lock of the differ, when no events have been
+			 * stored since the copy was taken.
+			 *
+			 * @param copy the copy of the right document
+			 * @return the hashes for <code>copy</code>, or <code>null</code> if none are tracked
+			 */
+			private DocumentEquivalenceClass copyTrackedEquivalent(IDocument copy) {
+				DocumentEquivalenceClass tracked= fTrackedEquivalent;
+				return tracked == null ? null : tracked.copy(copy);
+			}
+
 			private boolean isCanceled(IProgressMonitor monitor) {
 				return fInitializationJob != this || monitor != null && monitor.isCanceled();
 			}
@@ -801,6 +827,14 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 	@Override
 	public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+		if (fTrackedEquivalent != null && event.getDocument() == fRightDocument) {
+			try {
+				fTrackedEquivalent.update(event);
+			} catch (RuntimeException e) {
+				fTrackedEquivalent= null;
+			}
+		}
+
 		if (fIgnoreDocumentEvents) {
 			return;
 		}
@@ -944,6 +978,8 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		if (DEBUG) {
 			System.err.println("reinitializing quickdiff:\n" + e.getLocalizedMessage() + "\n" + Arrays.toString(e.getStackTrace()));  //$NON-NLS-1$//$NON-NLS-2$
 		}
+		// the hashes may be inconsistent
+		fRightEquivalent= null;
 		initialize();
 	}
 
@@ -979,7 +1015,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		// size: the size of the document change in lines
 
 		// put an upper bound to the delay we can afford
-		if (added > 50 || fNLines > 50) {
+		if (added > MAX_INCREMENTAL_LINES || fNLines > MAX_INCREMENTAL_LINES) {
 			initialize();
 			return;
 		}
@@ -1046,7 +1082,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		}
 		int leftEndLine= leftLine - shiftAfter;
 		ILineRange leftRange= new LineRange(leftStartLine, leftEndLine - leftStartLine);
-		IRangeComparator reference= new DocEquivalenceComparator(leftEquivalent, leftRange);
 
 		// right (actual) document
 		int rightStartLine= consistentBefore.rightStart() + shiftBefore;
@@ -1056,10 +1091,9 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		}
 		int rightEndLine= rightLine - shiftAfter;
 		ILineRange rightRange= new LineRange(rightStartLine, rightEndLine - rightStartLine);
-		IRangeComparator change= new DocEquivalenceComparator(rightEquivalent, rightRange);
 
 		// put an upper bound to the delay we can afford
-		if (leftLine - shiftAfter - leftStartLine > 50 || rightLine - shiftAfter - rightStartLine > 50) {
+		if (leftLine - shiftAfter - leftStartLine > MAX_INCREMENTAL_LINES || rightLine - shiftAfter - rightStartLine > MAX_INCREMENTAL_LINES) {
 			initialize();
 			return;
 		}
@@ -1069,7 +1103,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 //					">\n\n<" + right.get(rightRegion.getOffset(), rightRegion.getLength()) + ">\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		// compare
-		List<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, null, reference, change));
+		List<QuickDiffRangeDifference> diffs= HistogramDiff.findRanges(null, leftEquivalent, leftRange, rightEquivalent, rightRange);
 		if (diffs.isEmpty()) {
 			diffs.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, 0, 0, 0, 0));
 		}
@@ -1190,19 +1224,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		fLastDifference= null;
 	}
 
-	/**
-	 * Converts a {@code RangeDifference[]} into an {@code ArrayList<QuickDiffRangeDifference>}.
-	 * This is unsafe in general, but OK if used carefully.
-	 * Workaround for <a href="https://bugs.eclipse.org/483319">bug 483319</a>.
-	 *
-	 * @param ranges the ranges, <em>must</em> be of type {@link QuickDiffRangeDifference}
-	 * @return the ranges as a modifiable list
-	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static ArrayList<QuickDiffRangeDifference> asQuickDiffRangeDifference(RangeDifference[] ranges) {
-		return new ArrayList(Arrays.asList(ranges));
-	}
-
 	/**
 	 * Finds a consistent range of at least size before <code>line</code> in the left document.
 	 *
@@ -1516,6 +1537,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			}
 			fRightDocument= null;
 			fRightEquivalent= null;
+			fTrackedEquivalent= null;
 
 			fDifferences.clear();
 		}
@@ -1624,6 +1646,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			}
 			fLeftDocument= null;
 			fLeftEquivalent= null;
+			fTrackedEquivalent= null;
 
 			fLastDifference= null;
 			fStoredEvents.clear();
@@ -0,0 +1,383 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor.quickdiff;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jface.text.source.ILineRange;
+import org.eclipse.jface.text.source.LineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.Hash;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+
+/**
+ * A line based histogram diff on the hashes of two {@link DocumentEquivalenceClass}es.
+ * <p>
+ * After stripping the common prefix and suffix of a region, the lines of the left side are
+ * counted. If the regions have lines in common which are unique on both sides, the longest
+ * sequence of them which is in the same order on both sides is used as anchors, like in a
+ * patience diff. Otherwise the longest run of equal lines containing the least frequent line is
+ * taken as anchor. The regions between the anchors are then compared the same way. Lines
+ * occurring more than {@value #MAX_CHAIN_LENGTH} times in a region are never used as anchors; a
+ * region without anchor is compared with the {@link RangeDifferencer}.
+ * </p>
+ * <p>
+ * Unlike the {@link RangeDifferencer}, the differ needs space linear in the number of lines and
+ * takes roughly linear time for the typical edits of a source file.
+ * </p>
+ *
+ * @since 3.19
+ */
+public final class HistogramDiff {
+
+	/** The maximal number of occurrences of a line that may still be used as anchor. */
+	private static final int MAX_CHAIN_LENGTH= 64;
+
+	/** The lines of a region with the same hash, in ascending order. */
+	private static final class Occurrences {
+		int[] fLines= new int[2];
+		int fCount;
+
+		void add(int line) {
+			if (fCount < MAX_CHAIN_LENGTH) {
+				if (fCount == fLines.length) {
+					fLines= Arrays.copyOf(fLines, Math.min(2 * fCount, MAX_CHAIN_LENGTH));
+				}
+				fLines[fCount]= line;
+			}
+			fCount++;
+		}
+	}
+
+
+	private final DocumentEquivalenceClass fLeft;
+	private final DocumentEquivalenceClass fRight;
+	/** The matching runs as triples of left start, right start and length, in no particular order. */
+	private int[] fMatches= new int[48];
+	/** The number of ints used in {@link #fMatches}. */
+	private int fMatchesSize;
+
+
+	private HistogramDiff(DocumentEquivalenceClass left, DocumentEquivalenceClass right) {
+		fLeft= left;
+		fRight= right;
+	}
+
+	/**
+	 * Compares the given line ranges of two documents. The returned differences cover both ranges
+	 * without gaps, alternating between <code>NOCHANGE</code> and <code>CHANGE</code>, with line
+	 * numbers relative to the start of the ranges. Two empty ranges result in an empty list.
+	 *
+	 * @param monitor the progress monitor to check for cancellation, may be <code>null</code>
+	 * @param left the equivalence class of the left (reference) document
+	 * @param leftRange the lines to compare in the left document, <code>null</code> for all lines
+	 * @param right the equivalence class of the right (actual) document
+	 * @param rightRange the lines to compare in the right document, <code>null</code> for all
+	 *            lines
+	 * @return the differences between the ranges
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public static ArrayList<QuickDiffRangeDifference> findRanges(IProgressMonitor monitor, DocumentEquivalenceClass left, ILineRange leftRange, DocumentEquivalenceClass right, ILineRange rightRange) {
+		int leftStart= leftRange == null ? 0 : leftRange.getStartLine();
+		int leftEnd= leftRange == null ? left.getCount() : leftStart + leftRange.getNumberOfLines();
+		int rightStart= rightRange == null ? 0 : rightRange.getStartLine();
+		int rightEnd= rightRange == null ? right.getCount() : rightStart + rightRange.getNumberOfLines();
+
+		HistogramDiff diff= new HistogramDiff(left, right);
+		diff.compare(monitor, leftStart, leftEnd, rightStart, rightEnd);
+		return diff.toRanges(leftStart, leftEnd, rightStart, rightEnd);
+	}
+
+	/**
+	 * Collects the matching runs of the given regions.
+	 *
+	 * @param monitor the progress monitor, may be <code>null</code>
+	 * @param leftStart the first left line
+	 * @param leftEnd the line after the last left line
+	 * @param rightStart the first right line
+	 * @param rightEnd the line after the last right line
+	 */
+	private void compare(IProgressMonitor monitor, int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		Deque<int[]> regions= new ArrayDeque<>();
+		regions.push(new int[] { leftStart, leftEnd, rightStart, rightEnd });
+		while (!regions.isEmpty()) {
+			if (monitor != null && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+
+			int[] region= regions.pop();
+			int aStart= region[0], aEnd= region[1], bStart= region[2], bEnd= region[3];
+
+			int prefix= 0;
+			while (aStart < aEnd && bStart < bEnd && leftHash(aStart).equals(rightHash(bStart))) {
+				aStart++;
+				bStart++;
+				prefix++;
+			}
+			addMatch(aStart - prefix, bStart - prefix, prefix);
+
+			int suffix= 0;
+			while (aStart < aEnd && bStart < bEnd && leftHash(aEnd - 1).equals(rightHash(bEnd - 1))) {
+				aEnd--;
+				bEnd--;
+				suffix++;
+			}
+			addMatch(aEnd, bEnd, suffix);
+
+			if (aStart == aEnd || bStart == bEnd) {
+				continue;
+			}
+
+			Map<Hash, Occurrences> histogram= new HashMap<>();
+			for (int line= aStart; line < aEnd; line++) {
+				histogram.computeIfAbsent(leftHash(line), h -> new Occurrences()).add(line);
+			}
+			if (pushUniqueAnchors(histogram, aStart, aEnd, bStart, bEnd, regions)) {
+				continue;
+			}
+
+			int[] anchor= findAnchor(histogram, aStart, aEnd, bStart, bEnd);
+			if (anchor == null) {
+				compareWithoutAnchor(aStart, aEnd, bStart, bEnd);
+			} else {
+				addMatch(anchor[0], anchor[1], anchor[2]);
+				regions.push(new int[] { anchor[0] + anchor[2], aEnd, anchor[1] + anchor[2], bEnd });
+				regions.push(new int[] { aStart, anchor[0], bStart, anchor[1] });
+			}
+		}
+	}
+
+	/**
+	 * Matches the lines which occur exactly once in both regions, as a patience diff does. The
+	 * longest sequence of such lines which are in the same order on both sides is added as
+	 * matches, and the regions between them are pushed to be compared. A single pass thus splits
+	 * regions with many scattered changes into small ones.
+	 *
+	 * @param histogram the occurrences of the lines in the left region
+	 * @param aStart the first left line
+	 * @param aEnd the line after the last left line
+	 * @param bStart the first right line
+	 * @param bEnd the line after the last right line
+	 * @param regions the stack of regions to compare
+	 * @return <code>true</code> if any unique lines were matched, <code>false</code> if there are
+	 *         none
+	 */
+	private boolean pushUniqueAnchors(Map<Hash, Occurrences> histogram, int aStart, int aEnd, int bStart, int bEnd, Deque<int[]> regions) {
+		// the number of occurrences in the right region and the last right line for every line unique on the left
+		Map<Hash, int[]> rightOccurrences= new HashMap<>();
+		for (int line= bStart; line < bEnd; line++) {
+			Hash hash= rightHash(line);
+			Occurrences occurrences= histogram.get(hash);
+			if (occurrences != null && occurrences.fCount == 1) {
+				int[] right= rightOccurrences.computeIfAbsent(hash, h -> new int[2]);
+				right[0]++;
+				right[1]= line;
+			}
+		}
+
+		// the pairs of unique lines in right order
+		int[] leftLines= new int[rightOccurrences.size()];
+		int[] rightLines= new int[rightOccurrences.size()];
+		int pairs= 0;
+		for (int line= bStart; line < bEnd && pairs < leftLines.length; line++) {
+			Hash hash= rightHash(line);
+			int[] right= rightOccurrences.get(hash);
+			if (right != null && right[0] == 1) {
+				leftLines[pairs]= histogram.get(hash).fLines[0];
+				rightLines[pairs]= line;
+				pairs++;
+			}
+		}
+		if (pairs == 0) {
+			return false;
+		}
+
+		// longest increasing subsequence of the left lines by patience sorting
+		int[] tails= new int[pairs];
+		int[] predecessors= new int[pairs];
+		int length= 0;
+		for (int i= 0; i < pairs; i++) {
+			int low= 0, high= length;
+			while (low < high) {
+				int middle= (low + high) >>> 1;
+				if (leftLines[tails[middle]] < leftLines[i]) {
+					low= middle + 1;
+				} else {
+					high= middle;
+				}
+			}
+			predecessors[i]= low > 0 ? tails[low - 1] : -1;
+			tails[low]= i;
+			if (low == length) {
+				length++;
+			}
+		}
+
+		int aEndOfGap= aEnd, bEndOfGap= bEnd;
+		for (int i= tails[length - 1]; i != -1; i= predecessors[i]) {
+			int a= leftLines[i], b= rightLines[i];
+			if (a + 1 < aEndOfGap || b + 1 < bEndOfGap) {
+				regions.push(new int[] { a + 1, aEndOfGap, b + 1, bEndOfGap });
+			}
+			addMatch(a, b, 1);
+			aEndOfGap= a;
+			bEndOfGap= b;
+		}
+		if (aStart < aEndOfGap || bStart < bEndOfGap) {
+			regions.push(new int[] { aStart, aEndOfGap, bStart, bEndOfGap });
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the longest run of equal lines which contains the line occurring least often in the
+	 * left region. The regions must not be empty.
+	 *
+	 * @param histogram the occurrences of the lines in the left region
+	 * @param aStart the first left line
+	 * @param aEnd the line after the last left line
+	 * @param bStart the first right line
+	 * @param bEnd the line after the last right line
+	 * @return the left start, right start and length of the run, or <code>null</code> if the
+	 *         regions have no line in common which can be used as anchor
+	 */
+	private int[] findAnchor(Map<Hash, Occurrences> histogram, int aStart, int aEnd, int bStart, int bEnd) {
+		int[] anchor= null;
+		int anchorCount= MAX_CHAIN_LENGTH + 1;
+		int line= bStart;
+		while (line < bEnd) {
+			Occurrences occurrences= histogram.get(rightHash(line));
+			int next= line + 1;
+			if (occurrences != null && occurrences.fCount <= Math.min(anchorCount, MAX_CHAIN_LENGTH)) {
+				for (int i= 0; i < occurrences.fCount; i++) {
+					int as= occurrences.fLines[i], bs= line;
+					int ae= as + 1, be= line + 1;
+					int count= occurrences.fCount;
+					while (as > aStart && bs > bStart && leftHash(as - 1).equals(rightHash(bs - 1))) {
+						as--;
+						bs--;
+						count= Math.min(count, histogram.get(leftHash(as)).fCount);
+					}
+					while (ae < aEnd && be < bEnd && leftHash(ae).equals(rightHash(be))) {
+						count= Math.min(count, histogram.get(leftHash(ae)).fCount);
+						ae++;
+						be++;
+					}
+
+					if (anchor == null || count < anchorCount || count == anchorCount && anchor[2] < ae - as) {
+						anchor= new int[] { as, bs, ae - as };
+						anchorCount= count;
+					}
+					next= Math.max(next, be);
+				}
+			}
+			line= next;
+		}
+		return anchor;
+	}
+
+	/**
+	 * Compares regions in which every common line occurs too often to be an anchor.
+	 *
+	 * @param aStart the first left line
+	 * @param aEnd the line after the last left line
+	 * @param bStart the first right line
+	 * @param bEnd the line after the last right line
+	 */
+	private void compareWithoutAnchor(int aStart, int aEnd, int bStart, int bEnd) {
+		DocEquivalenceComparator left= new DocEquivalenceComparator(fLeft, new LineRange(aStart, aEnd - aStart));
+		DocEquivalenceComparator right= new DocEquivalenceComparator(fRight, new LineRange(bStart, bEnd - bStart));
+		for (RangeDifference range : RangeDifferencer.findRanges(left, right)) {
+			if (range.kind() == RangeDifference.NOCHANGE) {
+				addMatch(aStart + range.leftStart(), bStart + range.rightStart(), range.leftLength());
+			}
+		}
+	}
+
+	private void addMatch(int leftStart, int rightStart, int length) {
+		if (length == 0) {
+			return;
+		}
+		if (fMatchesSize == fMatches.length) {
+			fMatches= Arrays.copyOf(fMatches, 2 * fMatches.length);
+		}
+		fMatches[fMatchesSize++]= leftStart;
+		fMatches[fMatchesSize++]= rightStart;
+		fMatches[fMatchesSize++]= length;
+	}
+
+	/**
+	 * Converts the matching runs to differences relative to the given regions.
+	 *
+	 * @param leftStart the first left line
+	 * @param leftEnd the line after the last left line
+	 * @param rightStart the first right line
+	 * @param rightEnd the line after the last right line
+	 * @return the differences
+	 */
+	private ArrayList<QuickDiffRangeDifference> toRanges(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		// the runs do not cross, so ordering them by their left start orders them on both sides
+		int count= fMatchesSize / 3;
+		long[] order= new long[count];
+		for (int i= 0; i < count; i++) {
+			order[i]= (long) fMatches[3 * i] << 32 | i;
+		}
+		Arrays.sort(order);
+
+		ArrayList<QuickDiffRangeDifference> ranges= new ArrayList<>();
+		int a= leftStart, b= rightStart;
+		QuickDiffRangeDifference last= null;
+		for (long key : order) {
+			int i= 3 * (int) key;
+			int as= fMatches[i], bs= fMatches[i + 1], length= fMatches[i + 2];
+			if (as > a || bs > b) {
+				ranges.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, b - rightStart, bs - b, a - leftStart, as - a));
+				last= null;
+			}
+			if (last != null) {
+				last.extendEnd(length);
+			} else {
+				last= new QuickDiffRangeDifference(RangeDifference.NOCHANGE, bs - rightStart, length, as - leftStart, length);
+				ranges.add(last);
+			}
+			a= as + length;
+			b= bs + length;
+		}
+		if (a < leftEnd || b < rightEnd) {
+			ranges.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, b - rightStart, rightEnd - b, a - leftStart, leftEnd - a));
+		}
+		return ranges;
+	}
+
+	private Hash leftHash(int line) {
+		return fLeft.getHash(line);
+	}
+
+	private Hash rightHash(int line) {
+		return fRight.getHash(line);
+	}
+}
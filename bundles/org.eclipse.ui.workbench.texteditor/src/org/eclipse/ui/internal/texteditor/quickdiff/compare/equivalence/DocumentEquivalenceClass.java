@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,7 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.ConcurrentModificationException;
 
 import org.eclipse.core.runtime.Assert;
@@ -26,13 +24,25 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 
 /**
+ * Caches the hashes of the lines of a document. The hashes are computed on demand and kept in
+ * a gap buffer, which {@link #update(DocumentEvent)} moves to the changed lines, so a sequence
+ * of edits at nearby lines only shifts and invalidates the lines it touches.
+ *
  * @since 3.2
  */
 public final class DocumentEquivalenceClass {
 
 	private static final boolean DEBUG= false;
 
-	private final ArrayList<Hash> fHashes;
+	/** The minimal size of the gap when the buffer has to grow. */
+	private static final int MIN_GAP_SIZE= 64;
+
+	/** The hashes of the lines, <code>null</code> if not computed yet, with a gap. */
+	private Hash[] fHashes;
+	/** The index of the first slot of the gap. */
+	private int fGapStart;
+	/** The index of the first slot after the gap. */
+	private int fGapEnd;
 	private IDocument fDocument;
 	private final IHashFunction fHashFunction;
 
@@ -41,9 +51,14 @@ public final class DocumentEquivalenceClass {
 	}
 
 	public DocumentEquivalenceClass(IDocument document, IHashFunction hashFunction) {
+		this(document, hashFunction, new Hash[document.getNumberOfLines()]);
+	}
+
+	private DocumentEquivalenceClass(IDocument document, IHashFunction hashFunction, Hash[] hashes) {
 		fDocument= document;
-		Hash[] nulls= new Hash[fDocument.getNumberOfLines()];
-		fHashes= new ArrayList<>(Arrays.asList(nulls));
+		fHashes= hashes;
+		fGapStart= hashes.length;
+		fGapEnd= hashes.length;
 
 		if (hashFunction == null) {
 			throw new NullPointerException("hashFunction"); //$NON-NLS-1$
@@ -71,7 +86,11 @@ public final class DocumentEquivalenceClass {
 	}
 
 	private Hash internalGetHash(int line) throws BadLocationException {
-		Hash hash= fHashes.get(line);
+		if (line < 0 || line >= getCount()) {
+			throw new IndexOutOfBoundsException(line);
+		}
+		int index= line < fGapStart ? line : line + fGapEnd - fGapStart;
+		Hash hash= fHashes[index];
 		if (hash == null) {
 			if (fDocument == null) {
 				throw new AssertionError("hash cannot be null after loadAndForget"); //$NON-NLS-1$
@@ -80,7 +99,7 @@ public final class DocumentEquivalenceClass {
 			IRegion lineRegion= fDocument.getLineInformation(line);
 			String lineContents= fDocument.get(lineRegion.getOffset(), lineRegion.getLength());
 			hash= fHashFunction.computeHash(lineContents);
-			fHashes.set(line, hash);
+			fHashes[index]= hash;
 		}
 
 		return hash;
@@ -113,20 +132,60 @@ public final class DocumentEquivalenceClass {
 		int delta= linesAfter - linesBefore;
 		int changed= Math.min(linesAfter, linesBefore);
 
+		// the lines after the changed ones are inserted or removed at the gap
+		moveGap(firstLine + changed);
 		if (delta > 0) {
-			Hash[] nulls= new Hash[delta];
-			fHashes.addAll(firstLine + changed, Arrays.asList(nulls));
+			ensureGap(delta);
+			fGapStart+= delta;
 		} else if (delta < 0) {
-			fHashes.subList(firstLine, firstLine - delta).clear();
+			Arrays.fill(fHashes, fGapEnd, fGapEnd - delta, null);
+			fGapEnd-= delta;
 		}
-		Collections.fill(fHashes.subList(firstLine, firstLine + changed), null);
+		Arrays.fill(fHashes, firstLine, fGapStart, null);
+	}
+
+	/**
+	 * Moves the gap to the given line.
+	 *
+	 * @param line the line which will be the first after the gap
+	 */
+	private void moveGap(int line) {
+		int gapSize= fGapEnd - fGapStart;
+		if (line < fGapStart) {
+			System.arraycopy(fHashes, line, fHashes, line + gapSize, fGapStart - line);
+			Arrays.fill(fHashes, line, Math.min(line + gapSize, fGapStart), null);
+		} else if (line > fGapStart) {
+			System.arraycopy(fHashes, fGapEnd, fHashes, fGapStart, line - fGapStart);
+			Arrays.fill(fHashes, Math.max(fGapStart + gapSize, line), line + gapSize, null);
+		}
+		fGapStart= line;
+		fGapEnd= line + gapSize;
+	}
+
+	/**
+	 * Grows the buffer if the gap is smaller than the given size.
+	 *
+	 * @param size the number of slots needed in the gap
+	 */
+	private void ensureGap(int size) {
+		int gapSize= fGapEnd - fGapStart;
+		if (gapSize >= size) {
+			return;
+		}
+		int count= getCount();
+		int newGapSize= Math.max(size, Math.max(MIN_GAP_SIZE, count / 8));
+		Hash[] hashes= new Hash[count + newGapSize];
+		System.arraycopy(fHashes, 0, hashes, 0, fGapStart);
+		System.arraycopy(fHashes, fGapEnd, hashes, fGapStart + newGapSize, fHashes.length - fGapEnd);
+		fHashes= hashes;
+		fGapEnd= fGapStart + newGapSize;
 	}
 
 	/**
 	 * @return the number of items
 	 */
 	public int getCount() {
-		return fHashes.size();
+		return fHashes.length - (fGapEnd - fGapStart);
 	}
 
 	public void setDocument(IDocument document) {
@@ -137,6 +196,27 @@ public final class DocumentEquivalenceClass {
 		fDocument= document;
 	}
 
+	/**
+	 * Returns a new equivalence class for a document with the same content as the document of
+	 * the receiver. The hashes computed so far are shared, so they do not have to be computed
+	 * again.
+	 *
+	 * @param document a document with the same content as the document of the receiver
+	 * @return the copy for <code>document</code>, or <code>null</code> if the document has a
+	 *         different number of lines
+	 * @since 3.19
+	 */
+	public DocumentEquivalenceClass copy(IDocument document) {
+		int count= getCount();
+		if (document.getNumberOfLines() != count) {
+			return null;
+		}
+		Hash[] hashes= new Hash[count];
+		System.arraycopy(fHashes, 0, hashes, 0, fGapStart);
+		System.arraycopy(fHashes, fGapEnd, hashes, fGapStart, fHashes.length - fGapEnd);
+		return new DocumentEquivalenceClass(document, fHashFunction, hashes);
+	}
+
 	/**
 	 * Computes all hashes and forgets the document. Don't call update
 	 * afterwards.
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.filebuffers.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension5;
+
+/**
+ * Tests the buffers of files above the large file threshold, whose content is loaded lazily.
+ */
+public class FileBuffersForLargeFiles {
+
+	private static final String LARGE_FILE_THRESHOLD_PROPERTY= "org.eclipse.core.filebuffers.largeFileThreshold";
+
+	private static final String CONTENT= "hello world\nsecond line\nthird line\n";
+
+	private static final String CHANGED_CONTENT= "HELLO world\nSECOND line\nthird line\n";
+
+	@TempDir
+	Path fTempDir;
+
+	private ITextFileBufferManager fManager;
+	private IProject fProject;
+	private String fOldThreshold;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		fOldThreshold= System.getProperty(LARGE_FILE_THRESHOLD_PROPERTY);
+		System.setProperty(LARGE_FILE_THRESHOLD_PROPERTY, "10");
+		fManager= FileBuffers.getTextFileBufferManager();
+		fProject= ResourceHelper.createProject("project");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		ResourceHelper.deleteProject("project");
+		if (fOldThreshold == null) {
+			System.clearProperty(LARGE_FILE_THRESHOLD_PROPERTY);
+		} else {
+			System.setProperty(LARGE_FILE_THRESHOLD_PROPERTY, fOldThreshold);
+		}
+	}
+
+	@Test
+	public void testBatchedChangeOfWorkspaceFile() throws Exception {
+		IFile file= ResourceHelper.createFile(fProject, "large.txt", CONTENT);
+		IPath path= file.getFullPath();
+		fManager.connect(path, LocationKind.IFILE, null);
+		try {
+			ITextFileBuffer buffer= fManager.getTextFileBuffer(path, LocationKind.IFILE);
+			assertNotNull(buffer);
+			assertBatchedChange(buffer);
+
+			buffer.commit(null, true);
+			assertEquals(CHANGED_CONTENT, Files.readString(file.getLocation().toFile().toPath(), StandardCharsets.UTF_8));
+		} finally {
+			fManager.disconnect(path, LocationKind.IFILE, null);
+		}
+	}
+
+	@Test
+	public void testBatchedChangeOfExternalFile() throws Exception {
+		File file= fTempDir.resolve("large.txt").toFile();
+		Files.writeString(file.toPath(), CONTENT, StandardCharsets.UTF_8);
+		IFileStore fileStore= EFS.getLocalFileSystem().fromLocalFile(file);
+		fManager.connectFileStore(fileStore, null);
+		try {
+			ITextFileBuffer buffer= fManager.getFileStoreTextFileBuffer(fileStore);
+			assertNotNull(buffer);
+			assertBatchedChange(buffer);
+
+			buffer.commit(null, true);
+			assertEquals(CHANGED_CONTENT, Files.readString(file.toPath(), StandardCharsets.UTF_8));
+		} finally {
+			fManager.disconnectFileStore(fileStore, null);
+		}
+	}
+
+	/*
+	 * The first change of a large file buffer makes its document independent of the file. If that
+	 * change is batched, the changes made during the batch must not get lost.
+	 */
+	private void assertBatchedChange(ITextFileBuffer buffer) throws Exception {
+		IDocument document= buffer.getDocument();
+		assertEquals(CONTENT, document.get());
+		assertTrue(document instanceof IDocumentExtension5);
+
+		IDocumentExtension5 extension= (IDocumentExtension5) document;
+		extension.startBatchedChange();
+		try {
+			document.replace(0, 5, "HELLO");
+			document.replace(12, 6, "SECOND");
+		} finally {
+			extension.stopBatchedChange();
+		}
+		assertEquals(CHANGED_CONTENT, document.get());
+		assertEquals("SECOND line\n", document.get(document.getLineOffset(1), document.getLineLength(1)));
+		assertTrue(buffer.isDirty());
+	}
+}
@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.IPresentationRepairerExtension;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+
+/**
+ * Tests the viewport and the background repair modes of {@link PresentationReconciler}.
+ */
+public class PresentationReconcilerTest {
+
+	/**
+	 * A text viewer with a settable viewport which records the extents of the applied text
+	 * presentations.
+	 */
+	private static class ViewportTextViewer extends TestTextViewer {
+
+		private final List<IViewportListener> fViewportListeners= new ArrayList<>();
+		private final List<IRegion> fRepairedRegions= new ArrayList<>();
+		private int fTopIndex;
+		private int fBottomIndex;
+		private StyledText fTextWidget;
+
+		@Override
+		public void changeTextPresentation(TextPresentation presentation, boolean p1) {
+			super.changeTextPresentation(presentation, p1);
+			fRepairedRegions.add(presentation.getExtent());
+		}
+
+		@Override
+		public IRegion getVisibleRegion() {
+			return new Region(0, fDocument.getLength());
+		}
+
+		@Override
+		public StyledText getTextWidget() {
+			return fTextWidget;
+		}
+
+		@Override
+		public int getTopIndex() {
+			return fTopIndex;
+		}
+
+		@Override
+		public int getBottomIndex() {
+			return fBottomIndex;
+		}
+
+		@Override
+		public void addViewportListener(IViewportListener listener) {
+			fViewportListeners.add(listener);
+		}
+
+		@Override
+		public void removeViewportListener(IViewportListener listener) {
+			fViewportListeners.remove(listener);
+		}
+
+		void setViewport(int topIndex, int bottomIndex) {
+			fTopIndex= topIndex;
+			fBottomIndex= bottomIndex;
+		}
+
+		void scroll(int topIndex, int bottomIndex) {
+			setViewport(topIndex, bottomIndex);
+			for (IViewportListener listener : new ArrayList<>(fViewportListeners)) {
+				listener.viewportChanged(topIndex * 10);
+			}
+		}
+
+		void setTextWidget(StyledText textWidget) {
+			fTextWidget= textWidget;
+		}
+
+		List<IRegion> takeRepairedRegions() {
+			List<IRegion> regions= new ArrayList<>(fRepairedRegions);
+			fRepairedRegions.clear();
+			return regions;
+		}
+	}
+
+	/**
+	 * A repairer which records the threads it is called in and the documents it is called with.
+	 * It can be blocked when it is called for the first time.
+	 */
+	private static class BackgroundRepairer implements IPresentationRepairer, IPresentationRepairerExtension {
+
+		private final List<Thread> fThreads= Collections.synchronizedList(new ArrayList<>());
+		private final List<IDocument> fDocuments= Collections.synchronizedList(new ArrayList<>());
+		private final CountDownLatch fCalled= new CountDownLatch(1);
+		private final CountDownLatch fReleased= new CountDownLatch(1);
+		private final AtomicBoolean fBusy= new AtomicBoolean();
+		private final AtomicBoolean fCalledConcurrently= new AtomicBoolean();
+
+		@Override
+		public void setDocument(IDocument document) {
+		}
+
+		@Override
+		public void createPresentation(TextPresentation presentation, ITypedRegion damage) {
+			fThreads.add(Thread.currentThread());
+			if (fBusy.get()) {
+				fCalledConcurrently.set(true);
+			}
+		}
+
+		@Override
+		public void createPresentation(TextPresentation presentation, ITypedRegion damage, IDocument document) {
+			fBusy.set(true);
+			fThreads.add(Thread.currentThread());
+			fDocuments.add(document);
+			fCalled.countDown();
+			try {
+				fReleased.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				fBusy.set(false);
+			}
+		}
+	}
+
+	/**
+	 * A repairer written against {@link IPresentationRepairer} only, which extends a class
+	 * implementing the extension.
+	 */
+	private static class LegacyRepairer extends BackgroundRepairer {
+
+		@Override
+		public void createPresentation(TextPresentation presentation, ITypedRegion damage) {
+			super.createPresentation(presentation, damage);
+		}
+	}
+
+	private static final int LINES= 1000;
+
+	private IDocument fDocument;
+	private ViewportTextViewer fViewer;
+	private PresentationReconciler fReconciler;
+
+	@BeforeEach
+	public void setUp() {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < LINES; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		fDocument= new Document(text.toString());
+		fViewer= new ViewportTextViewer();
+		fViewer.setViewport(0, 9);
+		fViewer.setDocument(fDocument);
+		fReconciler= new PresentationReconciler();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		fReconciler.uninstall();
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget != null) {
+			textWidget.getShell().dispose();
+		}
+	}
+
+	@Test
+	public void testCompleteDocumentIsRepairedByDefault() {
+		assertFalse(fReconciler.isViewportRepairEnabled());
+		fReconciler.install(fViewer);
+
+		assertRepaired(new Region(0, fDocument.getLength()));
+	}
+
+	@Test
+	public void testInitialRepairIsLimitedToViewport() throws BadLocationException {
+		fReconciler.setViewportRepairEnabled(true);
+		fReconciler.install(fViewer);
+
+		// ten visible lines and a margin of 50 lines
+		assertRepaired(lines(0, 60));
+	}
+
+	@Test
+	public void testScrollingRepairsOnlyUnrepairedLines() throws BadLocationException {
+		fReconciler.setViewportRepairEnabled(true);
+		fReconciler.install(fViewer);
+		fViewer.takeRepairedRegions();
+
+		fViewer.scroll(500, 509);
+		assertRepaired(lines(450, 560));
+
+		fViewer.scroll(0, 9);
+		assertRepaired();
+
+		fViewer.scroll(520, 529);
+		assertRepaired(lines(560, 580));
+
+		fViewer.scroll(500, 599);
+		assertRepaired(lines(400, 450), lines(580, 700));
+	}
+
+	@Test
+	public void testDamageOutsideViewportIsDeferred() throws BadLocationException {
+		fReconciler.setViewportRepairEnabled(true);
+		fReconciler.install(fViewer);
+		fViewer.scroll(900, 909);
+		fViewer.scroll(0, 9);
+		fViewer.takeRepairedRegions();
+
+		int offset= fDocument.getLineOffset(900);
+		fDocument.replace(offset, 0, "x");
+		assertRepaired();
+
+		offset= fDocument.getLineOffset(5);
+		fDocument.replace(offset, 0, "y");
+		assertRepaired(new Region(offset, 1));
+
+		fViewer.scroll(900, 909);
+		assertRepaired(new Region(fDocument.getLineOffset(900), 1));
+	}
+
+	@Test
+	public void testDisablingRepairsRemainingDamage() throws BadLocationException {
+		fReconciler.setViewportRepairEnabled(true);
+		fReconciler.install(fViewer);
+		fViewer.takeRepairedRegions();
+
+		fReconciler.setViewportRepairEnabled(false);
+		assertRepaired(new Region(fDocument.getLineOffset(60), fDocument.getLength() - fDocument.getLineOffset(60)));
+
+		fViewer.scroll(500, 509);
+		assertRepaired();
+	}
+
+	@Test
+	public void testBackgroundRepair() throws Exception {
+		BackgroundRepairer repairer= installBackgroundRepairer();
+		repairer.fReleased.countDown();
+
+		// the lines around the viewport are repaired first
+		waitForRepairedRegions(2);
+		assertRepaired(lines(0, 60), new Region(fDocument.getLineOffset(60), fDocument.getLength() - fDocument.getLineOffset(60)));
+
+		Thread uiThread= fViewer.getTextWidget().getDisplay().getThread();
+		for (Thread thread : repairer.fThreads) {
+			assertNotSame(uiThread, thread);
+		}
+		for (IDocument document : repairer.fDocuments) {
+			assertNotSame(fDocument, document);
+			assertEquals(fDocument.get(), document.get());
+		}
+	}
+
+	@Test
+	public void testStaleBackgroundRepairIsDropped() throws Exception {
+		BackgroundRepairer repairer= installBackgroundRepairer();
+		assertTrue(repairer.fCalled.await(10, TimeUnit.SECONDS));
+
+		// modify the document while the repairer computes the presentation of the old content
+		fDocument.replace(fDocument.getLineOffset(5), 0, "x");
+		repairer.fReleased.countDown();
+
+		waitForRepairedRegions(2);
+		DisplayHelper.sleep(fViewer.getTextWidget().getDisplay(), 100);
+		assertRepaired(lines(0, 60), new Region(fDocument.getLineOffset(60), fDocument.getLength() - fDocument.getLineOffset(60)));
+		assertEquals(fDocument.get(), repairer.fDocuments.get(repairer.fDocuments.size() - 1).get());
+	}
+
+	@Test
+	public void testDisablingBackgroundRepairWaitsForTheJob() throws Exception {
+		BackgroundRepairer repairer= installBackgroundRepairer();
+		assertTrue(repairer.fCalled.await(10, TimeUnit.SECONDS));
+
+		Thread releaser= new Thread(() -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			repairer.fReleased.countDown();
+		});
+		releaser.start();
+		fReconciler.setBackgroundRepairEnabled(false);
+		releaser.join();
+
+		assertFalse(repairer.fCalledConcurrently.get());
+		assertRepaired(new Region(0, fDocument.getLength()));
+	}
+
+	@Test
+	public void testRepairerOverridingOnlyTheOldMethodIsRepairedInUIThread() throws Exception {
+		BackgroundRepairer repairer= new LegacyRepairer();
+		installBackgroundRepairer(repairer);
+
+		assertRepaired(new Region(0, fDocument.getLength()));
+		assertTrue(repairer.fDocuments.isEmpty());
+		Thread uiThread= fViewer.getTextWidget().getDisplay().getThread();
+		for (Thread thread : repairer.fThreads) {
+			assertEquals(uiThread, thread);
+		}
+	}
+
+	private BackgroundRepairer installBackgroundRepairer() {
+		BackgroundRepairer repairer= new BackgroundRepairer();
+		installBackgroundRepairer(repairer);
+		assertRepaired();
+		return repairer;
+	}
+
+	private void installBackgroundRepairer(BackgroundRepairer repairer) {
+		Shell shell= new Shell();
+		fViewer.setTextWidget(new StyledText(shell, SWT.NONE));
+
+		fReconciler.setRepairer(repairer, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setBackgroundRepairEnabled(true);
+		fReconciler.install(fViewer);
+	}
+
+	private void waitForRepairedRegions(int count) {
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fViewer.fRepairedRegions.size() >= count;
+			}
+		}.waitForCondition(fViewer.getTextWidget().getDisplay(), 10000));
+	}
+
+	private IRegion lines(int startLine, int endLine) throws BadLocationException {
+		int start= fDocument.getLineOffset(startLine);
+		return new Region(start, fDocument.getLineOffset(endLine) - start);
+	}
+
+	private void assertRepaired(IRegion... expected) {
+		List<IRegion> repaired= fViewer.takeRepairedRegions();
+		assertEquals(expected.length, repaired.size(), repaired.toString());
+		for (IRegion region : expected) {
+			assertTrue(repaired.contains(region), () -> region + " not in " + repaired);
+		}
+	}
+}
@@ -32,6 +32,7 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Shell;
 
+import org.eclipse.text.edits.DeleteEdit;
 import org.eclipse.text.edits.InsertEdit;
 
 import org.eclipse.jface.text.BadLocationException;
@@ -163,6 +164,54 @@ public class FilteringAsyncContentAssistTests {
 		assertEquals("xx", document.get());
 	}
 
+	/**
+	 * CA with filtering with 3 immediate CA processors. Empty text initially.
+	 * Invoke CA, type 'x' and 'a', verify the proposals, delete 'a', verify the
+	 * proposals valid for 'x' are shown again, type 'b', verify the proposals
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testFilteredCa_DeleteCharacters() throws Exception {
+		IDocument document = viewer.getDocument();
+
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("xa"), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("xb"), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("yy"), IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		assertEquals(3, getFilteredProposals(ca).size());
+
+		new InsertEdit(0, "x").apply(document);
+		viewer.setSelectedRange(1, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		assertEquals(2, getFilteredProposals(ca).size());
+
+		new InsertEdit(1, "a").apply(document);
+		viewer.setSelectedRange(2, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		assertEquals(1, getFilteredProposals(ca).size());
+
+		new DeleteEdit(1, 1).apply(document);
+		viewer.setSelectedRange(1, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		assertEquals(2, getFilteredProposals(ca).size());
+
+		new InsertEdit(1, "b").apply(document);
+		viewer.setSelectedRange(2, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		List<ICompletionProposal> filteredProposals = getFilteredProposals(ca);
+		assertEquals(1, filteredProposals.size());
+		assertEquals("xb", filteredProposals.get(0).getDisplayString());
+	}
+
 	/**
 	 * Simple CA with filtering with 1 immediate CA processors. Empty text
 	 * initially. Invoke CA, verify 1 proposal, type 'a', verify no proposals
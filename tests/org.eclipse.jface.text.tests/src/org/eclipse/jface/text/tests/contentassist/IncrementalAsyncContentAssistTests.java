@@ -107,6 +107,38 @@ public class IncrementalAsyncContentAssistTests {
 		assertEquals(Arrays.asList("testA", "testB", "testC"), filteredProposals);
 	}
 
+	@Test
+	public void testProposalsOfSlowProcessorsAreMerged() throws Exception {
+		long delay= 200;
+		ca.addContentAssistProcessor(new FilteringAsyncContentAssistTests.ImmediateContentAssistProcessor("testD", "testB"), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(new FilteringAsyncContentAssistTests.DelayedContentAssistProcessor(Arrays.asList("testE", "testA"), delay, false), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(new FilteringAsyncContentAssistTests.DelayedContentAssistProcessor(Arrays.asList("testC", "testF"), 3 * delay, false), IDocument.DEFAULT_CONTENT_TYPE);
+
+		viewer.getDocument().set("t");
+
+		ca.install(viewer);
+		viewer.setSelectedRange(1, 0);
+
+		ca.showPossibleCompletions();
+
+		DisplayHelper.sleep(shell.getDisplay(), 2 * delay);
+
+		List<ICompletionProposal> proposals= FilteringAsyncContentAssistTests.getFilteredProposals(ca);
+		List<String> filteredProposals= proposals.stream()
+				.map(ICompletionProposal::getDisplayString)
+				.filter(s -> s.startsWith("test"))
+				.toList();
+		assertEquals(Arrays.asList("testA", "testB", "testD", "testE"), filteredProposals);
+		assertEquals(5, proposals.size(), "the computing proposal is missing");
+
+		DisplayHelper.sleep(shell.getDisplay(), 2 * delay);
+
+		filteredProposals= FilteringAsyncContentAssistTests.getFilteredProposals(ca).stream()
+				.map(ICompletionProposal::getDisplayString)
+				.toList();
+		assertEquals(Arrays.asList("testA", "testB", "testC", "testD", "testE", "testF"), filteredProposals);
+	}
+
 	@Test
 	public void testIncrementalCompleteOfSingleProposal() throws Exception {
 		ca.enableAutoInsert(true);
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.reconciler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.text.reconciler.AbstractReconciler;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+
+
+/**
+ * Tests the folding of dirty regions by the queue of the {@link AbstractReconciler}.
+ */
+public class DirtyRegionQueueTest {
+
+	private Accessor fQueue;
+
+
+	@Before
+	public void setUp() {
+		fQueue= new Accessor("org.eclipse.jface.text.reconciler.DirtyRegionQueue", AbstractReconciler.class.getClassLoader(), new Object[0]);
+	}
+
+	@Test
+	public void testTyping() {
+		insert(5, "a");
+		insert(6, "b");
+		insert(7, "c");
+		assertEquals(1, getSize());
+		assertRegion(5, 3, DirtyRegion.INSERT, "abc", next());
+	}
+
+	@Test
+	public void testTypingInsideInsertedText() {
+		insert(5, "()");
+		insert(6, "x");
+		insert(5, "y");
+		assertEquals(1, getSize());
+		assertRegion(5, 4, DirtyRegion.INSERT, "y(x)", next());
+	}
+
+	@Test
+	public void testDeletingInsertedText() {
+		insert(5, "abc");
+		remove(7, 1);
+		assertRegion(5, 2, DirtyRegion.INSERT, "ab", next());
+
+		insert(5, "ab");
+		remove(5, 2);
+		assertEquals(1, getSize());
+		assertRegion(5, 0, DirtyRegion.INSERT, "", next());
+	}
+
+	@Test
+	public void testDeletingBackwardAndForward() {
+		remove(9, 1);
+		remove(8, 1);
+		remove(8, 2);
+		assertEquals(1, getSize());
+		assertRegion(8, 4, DirtyRegion.REMOVE, null, next());
+	}
+
+	@Test
+	public void testUnrelatedChanges() {
+		insert(5, "a");
+		insert(0, "b");
+		remove(20, 2);
+		remove(30, 2);
+		assertEquals(4, getSize());
+		assertRegion(5, 1, DirtyRegion.INSERT, "a", next());
+		assertRegion(0, 1, DirtyRegion.INSERT, "b", next());
+		assertRegion(20, 2, DirtyRegion.REMOVE, null, next());
+		assertRegion(30, 2, DirtyRegion.REMOVE, null, next());
+		assertNull(next());
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random= new Random(11);
+		for (int i= 0; i < 200; i++) {
+			String original= "0123456789abcdefghij";
+			String text= original;
+			for (int edit= 0; edit < 20; edit++) {
+				int offset= random.nextInt(text.length() + 1);
+				if (random.nextInt(3) == 0 && offset < text.length()) {
+					int length= 1 + random.nextInt(Math.min(3, text.length() - offset));
+					remove(offset, length);
+					text= text.substring(0, offset) + text.substring(offset + length);
+				} else {
+					String inserted= String.valueOf((char) ('A' + random.nextInt(26)));
+					insert(offset, inserted);
+					text= text.substring(0, offset) + inserted + text.substring(offset);
+				}
+			}
+			// replaying the queued regions must result in the same text
+			String replayed= original;
+			for (DirtyRegion region= next(); region != null; region= next()) {
+				int offset= region.getOffset();
+				if (DirtyRegion.INSERT.equals(region.getType())) {
+					replayed= replayed.substring(0, offset) + region.getText() + replayed.substring(offset);
+				} else {
+					replayed= replayed.substring(0, offset) + replayed.substring(offset + region.getLength());
+				}
+			}
+			assertEquals(text, replayed);
+		}
+	}
+
+	private void insert(int offset, String text) {
+		fQueue.invoke("addDirtyRegion", new DirtyRegion(offset, text.length(), DirtyRegion.INSERT, text));
+	}
+
+	private void remove(int offset, int length) {
+		fQueue.invoke("addDirtyRegion", new DirtyRegion(offset, length, DirtyRegion.REMOVE, null));
+	}
+
+	private int getSize() {
+		return ((Integer) fQueue.invoke("getSize")).intValue();
+	}
+
+	private DirtyRegion next() {
+		return (DirtyRegion) fQueue.invoke("removeNextDirtyRegion");
+	}
+
+	private static void assertRegion(int offset, int length, String type, String text, DirtyRegion region) {
+		assertEquals(offset, region.getOffset());
+		assertEquals(length, region.getLength());
+		assertEquals(type, region.getType());
+		assertEquals(text, region.getText());
+	}
+}
@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.IDocumentPartitioningListener;
+import org.eclipse.jface.text.IDocumentPartitioningListenerExtension;
+import org.eclipse.jface.text.IDocumentPartitioningListenerExtension2;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPartitionTokenScanner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+
+/**
+ * Runs the {@link FastPartitionerTest} with a small scan limit and compares the incremental
+ * partitioning with the complete one.
+ */
+public class IncrementalFastPartitionerTest extends FastPartitionerTest {
+
+	private static final String STRING= "string";
+
+	/** A document with a lock object, which enables the background partitioning. */
+	private static class SynchronizedDocument extends Document implements ISynchronizable {
+		private final Object fLock= new Object();
+
+		@Override
+		public void setLockObject(Object lockObject) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object getLockObject() {
+			return fLock;
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) throws BadLocationException {
+			synchronized (fLock) {
+				super.replace(offset, length, text);
+			}
+		}
+
+		@Override
+		public Position[] getPositions(String category) throws org.eclipse.jface.text.BadPositionCategoryException {
+			synchronized (fLock) {
+				return super.getPositions(category);
+			}
+		}
+	}
+
+	@Override
+	protected IDocumentPartitioner createPartitioner(IPartitionTokenScanner scanner) {
+		FastPartitioner partitioner= new FastPartitioner(scanner, new String[] { DEFAULT, COMMENT });
+		partitioner.setIncrementalScanLimit(4);
+		return partitioner;
+	}
+
+	private static FastPartitioner connect(IDocument document, int scanLimit) {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] {
+				new SingleLineRule("\"", "\"", new Token(STRING), '\\'),
+				new MultiLineRule("/*", "*/", new Token(COMMENT), (char) 0, true)
+		});
+		FastPartitioner partitioner= new FastPartitioner(scanner, new String[] { DEFAULT, COMMENT, STRING });
+		partitioner.setIncrementalScanLimit(scanLimit);
+		partitioner.connect(document);
+		document.setDocumentPartitioner(partitioner);
+		return partitioner;
+	}
+
+	private static String createText(int lines) {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < lines; i++) {
+			switch (i % 4) {
+				case 0 -> text.append("/* comment ").append(i).append(" */\n");
+				case 1 -> text.append("call(\"string ").append(i).append("\");\n");
+				default -> text.append("code ").append(i).append(";\n");
+			}
+		}
+		return text.toString();
+	}
+
+	private static Position[] getPartitionPositions(IDocument document, FastPartitioner partitioner) throws Exception {
+		return document.getPositions(partitioner.getManagingPositionCategories()[0]);
+	}
+
+	@Test
+	public void testRandomChanges() throws Exception {
+		Random random= new Random(3);
+		String[] insertions= { "/*", "*/", "\"", "x", "\n", "" };
+		String text= createText(200);
+		IDocument complete= new Document(text);
+		IDocument incremental= new Document(text);
+		FastPartitioner completePartitioner= connect(complete, -1);
+		FastPartitioner incrementalPartitioner= connect(incremental, 10);
+
+		for (int i= 0; i < 300; i++) {
+			int offset= random.nextInt(complete.getLength());
+			int length= random.nextInt(Math.min(3, complete.getLength() - offset) + 1);
+			String insertion= insertions[random.nextInt(insertions.length)];
+			complete.replace(offset, length, insertion);
+			incremental.replace(offset, length, insertion);
+
+			int queryOffset= random.nextInt(complete.getLength());
+			int queryLength= random.nextInt(complete.getLength() - queryOffset);
+			assertEquals(completePartitioner.getContentType(queryOffset), incrementalPartitioner.getContentType(queryOffset));
+			assertEquals(completePartitioner.getPartition(queryOffset), incrementalPartitioner.getPartition(queryOffset));
+			assertArrayEquals(completePartitioner.computePartitioning(queryOffset, queryLength), incrementalPartitioner.computePartitioning(queryOffset, queryLength));
+		}
+
+		ITypedRegion[] expected= completePartitioner.computePartitioning(0, complete.getLength());
+		assertArrayEquals(expected, incrementalPartitioner.computePartitioning(0, incremental.getLength()));
+		assertArrayEquals(getPartitionPositions(complete, completePartitioner), getPartitionPositions(incremental, incrementalPartitioner));
+	}
+
+	@Test
+	public void testOpenCommentIsScannedLazily() throws Exception {
+		String text= createText(1000);
+		IDocument document= new Document(text);
+		FastPartitioner partitioner= connect(document, 100);
+		// the initial partitioning is limited as well
+		int initialCount= getPartitionPositions(document, partitioner).length;
+		assertEquals(COMMENT, partitioner.getContentType(text.lastIndexOf("/*") + 3));
+		assertNotEquals(initialCount, getPartitionPositions(document, partitioner).length);
+
+		// split the first comment, queries close to the change must not scan the rest of the document
+		document.replace(3, 0, "*/ /*");
+		Position[] positions= getPartitionPositions(document, partitioner);
+		assertEquals(COMMENT, partitioner.getContentType(3 + 3));
+		assertEquals(positions.length, getPartitionPositions(document, partitioner).length);
+
+		IDocument expected= new Document(document.get());
+		FastPartitioner expectedPartitioner= connect(expected, -1);
+		assertArrayEquals(expectedPartitioner.computePartitioning(0, expected.getLength()), partitioner.computePartitioning(0, document.getLength()));
+	}
+
+	@Test
+	public void testPendingPartitioningIsNotReported() throws Exception {
+		String text= createText(1000);
+		IDocument document= new Document(text);
+		FastPartitioner partitioner= connect(document, 100);
+		partitioner.computePartitioning(0, document.getLength());
+		List<IRegion> changes= new ArrayList<>();
+		class Listener implements IDocumentPartitioningListener, IDocumentPartitioningListenerExtension {
+			@Override
+			public void documentPartitioningChanged(IDocument changedDocument) {
+			}
+
+			@Override
+			public void documentPartitioningChanged(IDocument changedDocument, IRegion region) {
+				changes.add(region);
+			}
+		}
+		document.addDocumentPartitioningListener(new Listener());
+
+		document.replace(0, 0, "/*");
+		assertEquals(1, changes.size());
+		IRegion changed= changes.get(0);
+		assertTrue(changed.getOffset() + changed.getLength() < 200, changed.toString());
+
+		IDocument expected= new Document(document.get());
+		FastPartitioner expectedPartitioner= connect(expected, -1);
+		assertArrayEquals(expectedPartitioner.computePartitioning(0, expected.getLength()), partitioner.computePartitioning(0, document.getLength()));
+	}
+
+	@Test
+	public void testBackgroundPartitioning() throws Exception {
+		String text= createText(10000);
+		SynchronizedDocument document= new SynchronizedDocument();
+		document.set(text);
+		FastPartitioner partitioner= connect(document, 100);
+		document.replace(0, 0, "/*");
+
+		IDocument expected= new Document(document.get());
+		FastPartitioner expectedPartitioner= connect(expected, -1);
+		Position[] expectedPositions= getPartitionPositions(expected, expectedPartitioner);
+
+		long timeout= System.currentTimeMillis() + 10000;
+		while (getPartitionPositions(document, partitioner).length != expectedPositions.length && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertArrayEquals(expectedPositions, getPartitionPositions(document, partitioner));
+	}
+
+	@Test
+	public void testBackgroundPartitioningIsReported() throws Exception {
+		// an additional quote swaps strings and code up to the end of the line
+		String text= "\"string\" code ".repeat(5000);
+		SynchronizedDocument document= new SynchronizedDocument();
+		document.set(text);
+		FastPartitioner partitioner= connect(document, 100);
+		partitioner.computePartitioning(0, document.getLength());
+		List<IRegion> changes= Collections.synchronizedList(new ArrayList<>());
+		class Listener implements IDocumentPartitioningListener, IDocumentPartitioningListenerExtension2 {
+			@Override
+			public void documentPartitioningChanged(IDocument changedDocument) {
+			}
+
+			@Override
+			public void documentPartitioningChanged(DocumentPartitioningChangedEvent event) {
+				changes.add(event.getCoverage());
+			}
+		}
+		document.addDocumentPartitioningListener(new Listener());
+
+		document.replace(0, 0, "\"");
+		IRegion changed= changes.get(0);
+		assertTrue(changed.getOffset() + changed.getLength() < 200, changed.toString());
+
+		// the job reports the rest of the document once it has partitioned it
+		long timeout= System.currentTimeMillis() + 10000;
+		while (!isTailReported(changes, changed, document.getLength()) && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertTrue(isTailReported(changes, changed, document.getLength()), changes.toString());
+	}
+
+	private static boolean isTailReported(List<IRegion> changes, IRegion changed, int documentLength) {
+		synchronized (changes) {
+			for (IRegion region : changes) {
+				if (region.getOffset() <= changed.getOffset() + changed.getLength() && region.getOffset() + region.getLength() == documentLength) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
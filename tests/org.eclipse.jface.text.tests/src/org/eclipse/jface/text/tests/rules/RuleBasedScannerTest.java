@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.BufferedRuleBasedScanner;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.ICharacterScanner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.IWhitespaceDetector;
+import org.eclipse.jface.text.rules.IWordDetector;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.NumberRule;
+import org.eclipse.jface.text.rules.PatternRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.rules.WhitespaceRule;
+import org.eclipse.jface.text.rules.WordRule;
+
+/**
+ * Tests that a rule based scanner returns the same tokens whether or not it can skip rules which
+ * cannot match at the current character.
+ */
+public class RuleBasedScannerTest {
+
+	private static final String[] FRAGMENTS= { "/*", "*/", "//", "\"", "'", "\\", "\n", "\r\n", " ", "\t", "if", "else", "return", "x1", "42", "7", "\u00E9t\u00E9", "#", "(" };
+
+	private static class WordDetector implements IWordDetector {
+		@Override
+		public boolean isWordStart(char c) {
+			return Character.isJavaIdentifierStart(c);
+		}
+
+		@Override
+		public boolean isWordPart(char c) {
+			return Character.isJavaIdentifierPart(c);
+		}
+	}
+
+	private static class WhitespaceDetector implements IWhitespaceDetector {
+		@Override
+		public boolean isWhitespace(char c) {
+			return Character.isWhitespace(c);
+		}
+	}
+
+	/** Hides the type of a rule from the scanner, which then has to evaluate it at every character. */
+	private static class OpaqueRule implements IPredicateRule {
+		private final IRule fRule;
+
+		OpaqueRule(IRule rule) {
+			fRule= rule;
+		}
+
+		@Override
+		public IToken evaluate(ICharacterScanner scanner) {
+			return fRule.evaluate(scanner);
+		}
+
+		@Override
+		public IToken evaluate(ICharacterScanner scanner, boolean resume) {
+			return ((IPredicateRule) fRule).evaluate(scanner, resume);
+		}
+
+		@Override
+		public IToken getSuccessToken() {
+			return ((IPredicateRule) fRule).getSuccessToken();
+		}
+	}
+
+	private static IRule[] createRules() {
+		WordRule wordRule= new WordRule(new WordDetector(), new Token("identifier"));
+		wordRule.addWord("if", new Token("keyword"));
+		wordRule.addWord("else", new Token("keyword"));
+		wordRule.addWord("return", new Token("keyword"));
+		PatternRule columnRule= new PatternRule("#", null, new Token("directive"), (char) 0, true);
+		columnRule.setColumnConstraint(0);
+		return new IRule[] {
+				new EndOfLineRule("//", new Token("line comment")),
+				new MultiLineRule("/*", "*/", new Token("comment"), (char) 0, true),
+				new SingleLineRule("\"", "\"", new Token("string"), '\\'),
+				new SingleLineRule("'", "'", new Token("character"), '\\'),
+				columnRule,
+				new WhitespaceRule(new WhitespaceDetector(), new Token("whitespace")),
+				new NumberRule(new Token("number")),
+				wordRule
+		};
+	}
+
+	private static IRule[] hide(IRule[] rules) {
+		IRule[] opaque= new IRule[rules.length];
+		for (int i= 0; i < rules.length; i++) {
+			opaque[i]= new OpaqueRule(rules[i]);
+		}
+		return opaque;
+	}
+
+	private static IPredicateRule[] toPredicateRules(IRule[] rules) {
+		IPredicateRule[] predicateRules= new IPredicateRule[rules.length];
+		for (int i= 0; i < rules.length; i++) {
+			predicateRules[i]= (IPredicateRule) rules[i];
+		}
+		return predicateRules;
+	}
+
+	private static String createText(Random random, int fragments) {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < fragments; i++) {
+			text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+		}
+		return text.toString();
+	}
+
+	private static void assertSameTokens(RuleBasedScanner expected, RuleBasedScanner actual, IDocument document) {
+		IToken defaultToken= new Token("default");
+		expected.setDefaultReturnToken(defaultToken);
+		actual.setDefaultReturnToken(defaultToken);
+		expected.setRange(document, 0, document.getLength());
+		actual.setRange(document, 0, document.getLength());
+		IToken token;
+		do {
+			token= expected.nextToken();
+			assertSame(token, actual.nextToken());
+			assertEquals(expected.getTokenOffset(), actual.getTokenOffset());
+			assertEquals(expected.getTokenLength(), actual.getTokenLength());
+		} while (!token.isEOF());
+	}
+
+	@Test
+	public void testSameTokens() {
+		Random random= new Random(17);
+		IRule[] rules= createRules();
+		RuleBasedScanner expected= new RuleBasedScanner();
+		expected.setRules(hide(rules));
+		RuleBasedScanner actual= new RuleBasedScanner();
+		actual.setRules(rules);
+		for (int i= 0; i < 200; i++) {
+			assertSameTokens(expected, actual, new Document(createText(random, 50)));
+		}
+	}
+
+	@Test
+	public void testSameTokensWithBufferedScanner() {
+		Random random= new Random(23);
+		IRule[] rules= createRules();
+		BufferedRuleBasedScanner expected= new BufferedRuleBasedScanner(16);
+		expected.setRules(hide(rules));
+		BufferedRuleBasedScanner actual= new BufferedRuleBasedScanner(16);
+		actual.setRules(rules);
+		for (int i= 0; i < 200; i++) {
+			assertSameTokens(expected, actual, new Document(createText(random, 50)));
+		}
+	}
+
+	@Test
+	public void testSameTokensWithPartitionScanner() {
+		Random random= new Random(29);
+		IRule[] rules= createRules();
+		RuleBasedPartitionScanner expected= new RuleBasedPartitionScanner();
+		expected.setPredicateRules(toPredicateRules(hide(new IRule[] { rules[0], rules[1], rules[2], rules[3] })));
+		RuleBasedPartitionScanner actual= new RuleBasedPartitionScanner();
+		actual.setPredicateRules(toPredicateRules(new IRule[] { rules[0], rules[1], rules[2], rules[3] }));
+		for (int i= 0; i < 200; i++) {
+			assertSameTokens(expected, actual, new Document(createText(random, 50)));
+		}
+	}
+
+	@Test
+	public void testRulesChanged() {
+		IDocument document= new Document("if x");
+		WordRule wordRule= new WordRule(new WordDetector(), new Token("identifier"));
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(new NumberRule(new Token("number")), new WhitespaceRule(new WhitespaceDetector()));
+		scanner.setRange(document, 0, document.getLength());
+		assertSame(scanner.nextToken(), scanner.nextToken()); // default token for 'i' and 'f'
+
+		scanner.setRules(new NumberRule(new Token("number")), wordRule);
+		scanner.setRange(document, 0, document.getLength());
+		assertEquals("identifier", scanner.nextToken().getData());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2008 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -147,6 +147,28 @@ public class WordRuleTest {
 		assertEquals(defaultTokenString, scanner.nextToken().getData());
 	}
 
+	@Test
+	public void testIgnoreCaseWithNonAsciiWords() throws Exception {
+		Token defaultToken= new Token("default");
+		Token asciiToken= new Token("ascii");
+		Token nonAsciiToken= new Token("non-ascii");
+
+		WordRule rule= new WordRule(new SimpleWordDetector(), defaultToken, true);
+		rule.addWord("Word", asciiToken);
+		rule.addWord("\u00C9t\u00E9", nonAsciiToken);
+
+		IDocument document= new Document("word WORD \u00E9t\u00E9 \u00C9T\u00C9 words");
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(rule);
+		scanner.setRange(document, 0, document.getLength());
+
+		IToken[] expected= { asciiToken, asciiToken, nonAsciiToken, nonAsciiToken, defaultToken };
+		for (IToken element : expected) {
+			assertSame(element, scanner.nextToken());
+			scanner.nextToken(); // the space
+		}
+	}
+
 	// https://bugs.eclipse.org/bugs/show_bug.cgi?id=175712
 	@Test
 	public void testBug175712_1() throws Exception {
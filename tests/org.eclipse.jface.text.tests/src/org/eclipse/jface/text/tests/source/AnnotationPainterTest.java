@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationPainter;
+import org.eclipse.jface.text.source.AnnotationPainter.IDrawingStrategy;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.AccessAllAnnoations;
+
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+
+/**
+ * Tests that the annotation painter paints the annotations of the visible region, which it looks
+ * up in the annotation model instead of going through all its decorations.
+ */
+public class AnnotationPainterTest {
+
+	private static final String TYPE= "org.eclipse.jface.text.tests.annotation";
+
+	private static final String STRATEGY= "org.eclipse.jface.text.tests.recording";
+
+	private static final int TOP_LINE= 200;
+
+	/** Remembers the annotations drawn during paint events. */
+	private static final class RecordingStrategy implements IDrawingStrategy {
+		final Set<Annotation> fDrawn= new HashSet<>();
+
+		@Override
+		public void draw(Annotation annotation, GC gc, StyledText textWidget, int offset, int length, Color color) {
+			if (gc != null) {
+				fDrawn.add(annotation);
+			}
+		}
+	}
+
+	private Shell fShell;
+	private SourceViewer fViewer;
+	private AnnotationModel fModel;
+
+	@BeforeEach
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setLayout(new FillLayout());
+		fShell.setSize(400, 300);
+		fViewer= new SourceViewer(fShell, null, SWT.V_SCROLL | SWT.H_SCROLL);
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 500; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		fModel= new AnnotationModel();
+		fViewer.setDocument(new Document(text.toString()), fModel);
+		fShell.open();
+		fViewer.getTextWidget().setTopIndex(TOP_LINE);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		fShell.dispose();
+		fShell= null;
+	}
+
+	private RecordingStrategy installPainter() {
+		RecordingStrategy strategy= new RecordingStrategy();
+		AnnotationPainter painter= new AnnotationPainter(fViewer, new AccessAllAnnoations());
+		painter.addDrawingStrategy(STRATEGY, strategy);
+		painter.addAnnotationType(TYPE, STRATEGY);
+		painter.setAnnotationTypeColor(TYPE, fShell.getDisplay().getSystemColor(SWT.COLOR_RED));
+		fViewer.addPainter(painter);
+		return strategy;
+	}
+
+	private Annotation addAnnotation(int firstLine, int lastLine) throws BadLocationException {
+		IDocument document= fViewer.getDocument();
+		int offset= document.getLineOffset(firstLine);
+		int end= document.getLineOffset(lastLine) + document.getLineLength(lastLine) - 1;
+		Annotation annotation= new Annotation(TYPE, false, "lines " + firstLine + " to " + lastLine);
+		fModel.addAnnotation(annotation, new Position(offset, end - offset));
+		return annotation;
+	}
+
+	private void repaint(RecordingStrategy... strategies) {
+		for (RecordingStrategy strategy : strategies) {
+			strategy.fDrawn.clear();
+		}
+		fViewer.getTextWidget().redraw();
+	}
+
+	@Test
+	public void testAnnotationStartingBeforeVisibleRegion() throws Exception {
+		Annotation overlapping= addAnnotation(TOP_LINE - 50, TOP_LINE + 2);
+		addAnnotation(10, 20);
+		addAnnotation(450, 460);
+		RecordingStrategy strategy= installPainter();
+
+		repaint(strategy);
+		DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> assertEquals(Set.of(overlapping), strategy.fDrawn));
+	}
+
+	@Test
+	public void testAnnotationsChangedWhileScrolled() throws Exception {
+		Annotation removed= addAnnotation(TOP_LINE + 5, TOP_LINE + 6);
+		Annotation kept= addAnnotation(TOP_LINE - 10, TOP_LINE + 2);
+		RecordingStrategy strategy= installPainter();
+		repaint(strategy);
+		DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> assertEquals(Set.of(removed, kept), strategy.fDrawn));
+
+		fModel.removeAnnotation(removed);
+		Annotation added= addAnnotation(TOP_LINE + 3, TOP_LINE + 4);
+		Annotation spanning= addAnnotation(TOP_LINE - 100, TOP_LINE + 100);
+		addAnnotation(20, 22);
+
+		// a painter installed now computes all decorations from scratch
+		RecordingStrategy reference= installPainter();
+		repaint(strategy, reference);
+		DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> {
+			assertEquals(Set.of(kept, added, spanning), reference.fDrawn);
+			assertEquals(reference.fDrawn, strategy.fDrawn);
+		});
+	}
+}
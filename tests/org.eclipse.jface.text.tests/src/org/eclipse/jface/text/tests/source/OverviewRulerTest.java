@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.ISharedTextColors;
+import org.eclipse.jface.text.source.OverviewRuler;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.AccessAllAnnoations;
+
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+
+/**
+ * Tests that the overview ruler does not draw its buffered image after a change of the
+ * configuration of the annotation types, by comparing it with a ruler which has been configured
+ * that way from the start.
+ */
+public class OverviewRulerTest {
+
+	private static final String LOWER= "org.eclipse.jface.text.tests.lower";
+
+	private static final String UPPER= "org.eclipse.jface.text.tests.upper";
+
+	private static final Color RED= new Color(new RGB(255, 0, 0));
+
+	private static final Color GREEN= new Color(new RGB(0, 255, 0));
+
+	private static final Color BLUE= new Color(new RGB(0, 0, 255));
+
+	private static final class SharedColors implements ISharedTextColors {
+		private final Map<RGB, Color> fColors= new HashMap<>();
+
+		@Override
+		public Color getColor(RGB rgb) {
+			return fColors.computeIfAbsent(rgb, Color::new);
+		}
+
+		@Override
+		public void dispose() {
+			fColors.clear();
+		}
+	}
+
+	private Shell fShell;
+	private final SharedColors fSharedColors= new SharedColors();
+
+	@BeforeEach
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setLayout(new FillLayout());
+		fShell.setSize(400, 300);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		fShell.dispose();
+		fShell= null;
+		fSharedColors.dispose();
+	}
+
+	/*
+	 * Creates a viewer with an annotation of each type on the same lines, so the annotation of the
+	 * upper layer covers the other one.
+	 */
+	private OverviewRuler createRuler(Color lowerColor, int lowerLayer, Color upperColor, int upperLayer) throws Exception {
+		OverviewRuler ruler= new OverviewRuler(new AccessAllAnnoations(), 12, fSharedColors);
+		ruler.addAnnotationType(LOWER);
+		ruler.setAnnotationTypeColor(LOWER, lowerColor);
+		ruler.setAnnotationTypeLayer(LOWER, lowerLayer);
+		ruler.addAnnotationType(UPPER);
+		ruler.setAnnotationTypeColor(UPPER, upperColor);
+		ruler.setAnnotationTypeLayer(UPPER, upperLayer);
+		ruler.setUseSaturatedColors(true);
+
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 100; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		IDocument document= new Document(text.toString());
+		AnnotationModel model= new AnnotationModel();
+		Position position= new Position(document.getLineOffset(40), document.getLineLength(40) * 3);
+		model.addAnnotation(new Annotation(LOWER, true, null), position);
+		model.addAnnotation(new Annotation(UPPER, true, null), new Position(position.getOffset(), position.getLength()));
+		SourceViewer viewer= new SourceViewer(fShell, null, ruler, true, SWT.V_SCROLL);
+		viewer.setDocument(document, model);
+		return ruler;
+	}
+
+	private static ImageData capture(Control control) {
+		// a plain paint request, for which the ruler draws its buffer if it considers it valid
+		control.redraw();
+		control.update();
+		Image image= new Image(control.getDisplay(), (gc, width, height) -> {}, control.getSize().x, control.getSize().y);
+		GC gc= new GC(control);
+		try {
+			gc.copyArea(image, 0, 0);
+		} finally {
+			gc.dispose();
+		}
+		ImageData data= image.getImageData();
+		image.dispose();
+		return data;
+	}
+
+	private static boolean isEqual(ImageData expected, ImageData actual) {
+		if (expected.width != actual.width || expected.height != actual.height) {
+			return false;
+		}
+		for (int y= 0; y < expected.height; y++) {
+			for (int x= 0; x < expected.width; x++) {
+				RGB expectedRGB= expected.palette.getRGB(expected.getPixel(x, y));
+				RGB actualRGB= actual.palette.getRGB(actual.getPixel(x, y));
+				if (!expectedRGB.equals(actualRGB)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private void assertRedrawnLike(OverviewRuler ruler, OverviewRuler reference) {
+		assertTrue(DisplayHelper.waitForCondition(fShell.getDisplay(), 1000,
+				() -> isEqual(capture(reference.getControl()), capture(ruler.getControl()))),
+				"the ruler still shows the previous configuration");
+	}
+
+	private void open(OverviewRuler ruler, OverviewRuler reference) {
+		fShell.open();
+		DisplayHelper.waitForCondition(fShell.getDisplay(), 1000, () -> ruler.getControl().isVisible() && reference.getControl().isVisible());
+		DisplayHelper.sleep(fShell.getDisplay(), 100);
+		assertFalse(isEqual(capture(reference.getControl()), capture(ruler.getControl())));
+	}
+
+	@Test
+	public void testChangedColorIsDrawn() throws Exception {
+		OverviewRuler ruler= createRuler(RED, 0, BLUE, 1);
+		OverviewRuler reference= createRuler(RED, 0, GREEN, 1);
+		open(ruler, reference);
+
+		ruler.setAnnotationTypeColor(UPPER, GREEN);
+		assertRedrawnLike(ruler, reference);
+	}
+
+	@Test
+	public void testChangedLayerIsDrawn() throws Exception {
+		OverviewRuler ruler= createRuler(RED, 0, BLUE, 1);
+		OverviewRuler reference= createRuler(RED, 2, BLUE, 1);
+		open(ruler, reference);
+
+		ruler.setAnnotationTypeLayer(LOWER, 2);
+		assertRedrawnLike(ruler, reference);
+	}
+}
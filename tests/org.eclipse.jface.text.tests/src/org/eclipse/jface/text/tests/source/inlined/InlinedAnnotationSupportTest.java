@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source.inlined;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextViewerExtension2;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.ISourceViewer;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
+import org.eclipse.jface.text.source.inlined.LineContentAnnotation;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.AccessAllAnnoations;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.TestAnnotationPainter;
+
+/**
+ * Tests the lookup of existing inlined annotations by position, which code minings use to keep
+ * the annotations of unchanged lines.
+ */
+public class InlinedAnnotationSupportTest {
+
+	private Shell fParent;
+	private ISourceViewer fSourceViewer;
+	private InlinedAnnotationSupport fSupport;
+
+	@BeforeEach
+	public void setUp() {
+		fParent= new Shell();
+		fSourceViewer= new SourceViewer(fParent, null, SWT.V_SCROLL | SWT.BORDER);
+		fSourceViewer.setDocument(new Document("first line\nsecond line\nthird line\n"), new AnnotationModel());
+		TestAnnotationPainter painter= new TestAnnotationPainter(fSourceViewer, new AccessAllAnnoations());
+		((ITextViewerExtension2) fSourceViewer).addPainter(painter);
+		fSupport= new InlinedAnnotationSupport();
+		fSupport.install(fSourceViewer, painter);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		fSupport.uninstall();
+		fParent.dispose();
+		fParent= null;
+	}
+
+	/*
+	 * The annotation is placed inside the word, so it is deleted together with the word.
+	 */
+	private LineContentAnnotation createAnnotation(String word) {
+		int offset= fSourceViewer.getDocument().get().indexOf(word) + 1;
+		LineContentAnnotation annotation= new LineContentAnnotation(new Position(offset, 1), fSourceViewer);
+		annotation.setText(word);
+		return annotation;
+	}
+
+	private LineContentAnnotation findAnnotation(String word) {
+		int offset= fSourceViewer.getDocument().get().indexOf(word) + 1;
+		return fSupport.findExistingAnnotation(new Position(offset, 1));
+	}
+
+	@Test
+	public void testAnnotationSurvivesUnrelatedChange() throws Exception {
+		LineContentAnnotation second= createAnnotation("second");
+		LineContentAnnotation third= createAnnotation("third");
+		fSupport.updateAnnotations(Set.of(second, third));
+		assertSame(second, findAnnotation("second"));
+		assertSame(third, findAnnotation("third"));
+
+		// the annotations move with the text, the lookup must follow them
+		IDocument document= fSourceViewer.getDocument();
+		document.replace(0, 0, "changed ");
+		assertSame(second, findAnnotation("second"));
+		assertSame(third, findAnnotation("third"));
+		assertNull(findAnnotation("first"));
+	}
+
+	@Test
+	public void testAnnotationOfDeletedLineIsDropped() throws Exception {
+		LineContentAnnotation second= createAnnotation("second");
+		LineContentAnnotation third= createAnnotation("third");
+		fSupport.updateAnnotations(Set.of(second, third));
+		assertSame(second, findAnnotation("second"));
+
+		// the third line takes the place of the deleted second line, the deleted annotation keeps its offset
+		IDocument document= fSourceViewer.getDocument();
+		document.replace(document.getLineOffset(1), document.getLineLength(1), "");
+		assertTrue(second.getPosition().isDeleted());
+		assertEquals(second.getPosition().getOffset(), third.getPosition().getOffset());
+		assertSame(third, findAnnotation("third"));
+
+		fSupport.updateAnnotations(Set.of(third));
+		assertSame(third, findAnnotation("third"));
+		assertNull(findAnnotation("first"));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,7 +34,10 @@ import org.eclipse.core.runtime.ContributorFactorySimple;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IContributor;
 import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -47,7 +50,9 @@ import org.eclipse.search.core.text.TextSearchEngine;
 import org.eclipse.search.core.text.TextSearchMatchAccess;
 import org.eclipse.search.core.text.TextSearchRequestor;
 import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCorePlugin;
 import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TextSearchVisitor;
 import org.eclipse.search.internal.ui.SearchPlugin;
 import org.eclipse.search.tests.ResourceHelper;
 import org.eclipse.search.tests.SearchTestUtil;
@@ -623,6 +628,77 @@ public class FileSearchTests {
 	}
 
 
+	@Test
+	public void testLargeFileSerial() throws Exception {
+		testLargeFile(new SerialTestResultCollector());
+	}
+
+	@Test
+	public void testLargeFileParallel() throws Exception {
+		testLargeFile(new ParallelTestResultCollector());
+	}
+
+	private void testLargeFile(TestResultCollector collector) throws Exception {
+		// too large to be searched as a String, searched in windows of lines if possible
+		StringBuilder buf= new StringBuilder();
+		int lines= 0;
+		while (buf.length() < 3_000_000) {
+			buf.append("line ").append(lines).append(" with a match\n");
+			buf.append("other ").append(lines).append(lines % 2 == 0 ? "\r\n" : "\n");
+			lines++;
+		}
+		String content= buf.toString();
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file= ResourceHelper.createFile(folder, "file1", content);
+
+		TestResult[] results= performSearch(collector, null, PatternConstructor.createPattern("with a m*h", true, false));
+		assertMatches(results, lines, file, content, "with a match");
+
+		// matches across lines
+		results= performSearch(collector, null, PatternConstructor.createPattern("match\\s+other", true, true));
+		assertMatches(results, lines, file, content, "match\nother");
+	}
+
+	@Test
+	public void testFileSizeLimit() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile small= ResourceHelper.createFile(folder, "small", "hello");
+		IFile large= ResourceHelper.createFile(folder, "large", "hello ".repeat(100));
+
+		IEclipsePreferences preferences= InstanceScope.INSTANCE.getNode(SearchCorePlugin.PLUGIN_ID);
+		preferences.putLong(TextSearchVisitor.PREF_FILE_SIZE_LIMIT, 100);
+		try {
+			TestResultCollector collector= new SerialTestResultCollector();
+			FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] {fProject}, (String[]) null, false);
+			IStatus status= TextSearchEngine.create().search(scope, collector, PatternConstructor.createPattern("hello", true, false), null);
+			assertEquals(IStatus.WARNING, status.getSeverity());
+
+			TestResult[] results= collector.getResults();
+			assertMatches(results, 1, small, "hello", "hello");
+			assertMatches(results, 0, large, "", "hello");
+		} finally {
+			preferences.remove(TextSearchVisitor.PREF_FILE_SIZE_LIMIT);
+		}
+	}
+
+	@Test
+	public void testFileTimeLimit() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		// each match attempt runs to the end of the content
+		ResourceHelper.createFile(folder, "file1", "a".repeat(100_000));
+
+		IEclipsePreferences preferences= InstanceScope.INSTANCE.getNode(SearchCorePlugin.PLUGIN_ID);
+		preferences.putLong(TextSearchVisitor.PREF_FILE_TIME_LIMIT, 100);
+		try {
+			TestResultCollector collector= new SerialTestResultCollector();
+			FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] {fProject}, (String[]) null, false);
+			IStatus status= TextSearchEngine.create().search(scope, collector, PatternConstructor.createPattern("a.*b", true, true), null);
+			assertEquals(IStatus.WARNING, status.getSeverity());
+			assertEquals(0, collector.getNumberOfResults());
+		} finally {
+			preferences.remove(TextSearchVisitor.PREF_FILE_TIME_LIMIT);
+		}
+	}
 
 	private void assertMatches(TestResult[] results, int expectedCount, IFile file, String fileContent, String string) {
 		int k= 0;
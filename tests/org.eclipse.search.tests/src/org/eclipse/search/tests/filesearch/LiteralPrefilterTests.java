@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.search.internal.core.text.LiteralPrefilter;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+
+public class LiteralPrefilterTests {
+
+	@Test
+	public void testStringMatcherLiterals() {
+		assertEquals(List.of("foo", "bar"), literals(PatternConstructor.createPattern("foo*bar", false, true, true, false)));
+		assertEquals(List.of("a.b", "cd"), literals(PatternConstructor.createPattern("a.b?cd", false, true, true, true)));
+		assertEquals(List.of("x*y"), literals(PatternConstructor.createPattern("x\\*y", false, true, true, false)));
+		assertNull(LiteralPrefilter.create(PatternConstructor.createPattern("a*b", false, true, true, false)));
+	}
+
+	@Test
+	public void testRegexLiterals() {
+		assertEquals(List.of("abc", "ghi"), literals(Pattern.compile("abc(def)?ghi")));
+		assertEquals(List.of("abc", "ef"), literals(Pattern.compile("abcd+ef")));
+		assertEquals(List.of("foo.bar"), literals(Pattern.compile("\\d+foo\\.bar\\s")));
+		assertEquals(List.of("xyz"), literals(Pattern.compile("[a\\]bc]xyz")));
+		assertEquals(List.of("a.b", "cd"), literals(Pattern.compile("\\Qa.b\\E^cd$")));
+		assertEquals(List.of("text"), literals(Pattern.compile("text", Pattern.LITERAL)));
+		assertNull(LiteralPrefilter.create(Pattern.compile("abc|def")));
+		assertNull(LiteralPrefilter.create(Pattern.compile("(?i)abc")));
+		assertNull(LiteralPrefilter.create(Pattern.compile("(a)bc\\1")));
+		assertNull(LiteralPrefilter.create(Pattern.compile("a b c", Pattern.COMMENTS)));
+	}
+
+	@Test
+	public void testCaseInsensitiveLiterals() {
+		int flags= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+		// 'i', 'k' and 's' fold with non ASCII characters
+		assertEquals(List.of("the th", "ng"), literals(Pattern.compile("the thing", flags)));
+		assertEquals(List.of("ab", "cd"), literals(Pattern.compile("abäcd", flags)));
+		assertEquals(List.of("thisthing"), literals(Pattern.compile("thisthing", Pattern.CASE_INSENSITIVE)));
+	}
+
+	@Test
+	public void testMayMatch() {
+		LiteralPrefilter prefilter= LiteralPrefilter.create(List.of("grüße", "world"), false, false);
+		byte[] utf8= "Grüße an die world".getBytes(StandardCharsets.UTF_8);
+		assertFalse(prefilter.mayMatch(utf8, 0, utf8.length, "UTF-8"));
+		utf8= "grüße an die world".getBytes(StandardCharsets.UTF_8);
+		assertTrue(prefilter.mayMatch(utf8, 0, utf8.length, "UTF-8"));
+		assertFalse(prefilter.mayMatch(utf8, 1, utf8.length - 1, "UTF-8"));
+
+		byte[] latin1= "grüße an die world".getBytes(StandardCharsets.ISO_8859_1);
+		assertTrue(prefilter.mayMatch(latin1, 0, latin1.length, "ISO-8859-1"));
+		assertFalse(prefilter.mayMatch(latin1, 0, latin1.length, "UTF-8"));
+
+		// unsupported or unknown charsets never rule out a match
+		byte[] utf16= "nothing".getBytes(StandardCharsets.UTF_16);
+		assertTrue(prefilter.mayMatch(utf16, 0, utf16.length, "UTF-16"));
+		assertTrue(prefilter.mayMatch(utf16, 0, utf16.length, "no-such-charset"));
+		assertTrue(prefilter.mayMatch(utf16, 0, utf16.length, null));
+	}
+
+	@Test
+	public void testMayMatchIgnoreCase() {
+		LiteralPrefilter prefilter= LiteralPrefilter.create(Pattern.compile("hello\\s+world", Pattern.CASE_INSENSITIVE));
+		byte[] bytes= "Say HeLLo\tWORLD".getBytes(StandardCharsets.US_ASCII);
+		assertTrue(prefilter.mayMatch(bytes, 0, bytes.length, "US-ASCII"));
+		bytes= "Say Hallo World".getBytes(StandardCharsets.US_ASCII);
+		assertFalse(prefilter.mayMatch(bytes, 0, bytes.length, "US-ASCII"));
+	}
+
+	@Test
+	public void testNoFalseNegatives() {
+		Random random= new Random(5);
+		String alphabet= "abcABC äÄ€\n";
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 2000; i++) {
+			buf.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		String text= buf.toString();
+		for (String charset : List.of("UTF-8", "windows-1252")) {
+			byte[] bytes= text.getBytes(Charset.forName(charset));
+			for (int i= 0; i < 1000; i++) {
+				int start= random.nextInt(text.length() - 10);
+				String literal= text.substring(start, start + 2 + random.nextInt(6));
+				boolean isCaseSensitive= random.nextBoolean();
+				if (!isCaseSensitive) {
+					literal= random.nextBoolean() ? literal.toUpperCase() : literal.toLowerCase();
+				}
+				Pattern pattern= PatternConstructor.createPattern(literal, isCaseSensitive, false);
+				LiteralPrefilter prefilter= LiteralPrefilter.create(pattern);
+				if (prefilter != null && pattern.matcher(text).find()) {
+					assertTrue(prefilter.mayMatch(bytes, 0, bytes.length, charset), literal);
+				}
+			}
+		}
+	}
+
+	private static List<String> literals(Pattern pattern) {
+		return LiteralPrefilter.create(pattern).getLiterals();
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.text.quicksearch.internal.core.LineItem;
+import org.eclipse.text.quicksearch.internal.core.QuickTextQuery;
+import org.eclipse.text.quicksearch.internal.core.QuickTextSearchRequestor;
+import org.eclipse.text.quicksearch.internal.core.QuickTextSearcher;
+import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QuickTextSearcherTest {
+
+	private static final int LINES = 100;
+	private static final int LIMIT = 7;
+
+	private IProject project;
+	private IFile file;
+
+	@BeforeEach
+	void setup() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject("searcher");
+		project.create(null);
+		project.open(null);
+		StringBuilder content = new StringBuilder();
+		for (int i = 1; i <= LINES; i++) {
+			// multi byte characters and mixed line delimiters
+			content.append("match ü€😀 ").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+			content.append("other\n");
+		}
+		file = project.getFile("file.txt");
+		file.create(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)), true, null);
+		file.setCharset(StandardCharsets.UTF_8.name(), null);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	void testSuspendAndResumeWithinFile() throws Exception {
+		Map<Integer, LineItem> found = new ConcurrentHashMap<>();
+		AtomicInteger added = new AtomicInteger();
+		AtomicBoolean started = new AtomicBoolean();
+		QuickTextSearcher searcher = new QuickTextSearcher(new QuickTextQuery("match", true), new PriorityFunction() {
+			@Override
+			public double priority(IResource r) {
+				// only search once the limit is set
+				return started.get() && project.equals(r.getProject()) ? PRIORITY_DEFAULT : PRIORITY_IGNORE;
+			}
+		}, 1000, new QuickTextSearchRequestor() {
+			@Override
+			public void add(LineItem match) {
+				found.put(match.getLineNumber(), match);
+				added.incrementAndGet();
+			}
+		});
+		try {
+			waitFor(searcher::isDone);
+			searcher.setMaxResults(LIMIT);
+			started.set(true);
+			searcher.setQuery(searcher.getQuery(), true);
+			waitFor(() -> found.size() >= LIMIT);
+			Thread.sleep(100);
+			assertEquals(LIMIT, found.size());
+			assertFalse(searcher.isActive());
+			assertFalse(searcher.isDone());
+
+			searcher.requestMoreResults(LIMIT);
+			waitFor(() -> found.size() >= 2 * LIMIT);
+			Thread.sleep(100);
+			assertEquals(2 * LIMIT, found.size());
+			assertFalse(searcher.isActive());
+
+			searcher.requestMoreResults(LINES);
+			waitFor(searcher::isDone);
+			assertEquals(LINES, found.size());
+			assertEquals(LINES, added.get());
+
+			// the results found after resuming have the same offsets as when reading the whole file
+			String content = new String(file.readAllBytes(), StandardCharsets.UTF_8);
+			List<String> lines = content.lines().toList();
+			int offset = 0;
+			for (int i = 0; i < lines.size(); i++) {
+				if (i % 2 == 0) {
+					LineItem item = found.get(i + 1);
+					assertEquals(lines.get(i), item.getText());
+					assertEquals(offset, item.getOffset());
+				}
+				offset = content.indexOf('\n', offset) + 1;
+			}
+		} finally {
+			searcher.cancel();
+		}
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long start = System.currentTimeMillis();
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() - start < 10_000, "timeout");
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.text.quicksearch.internal.core.ResourceWalker;
+import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResourceWalkerTest {
+
+	private static final int FOLDERS = 5;
+	private static final int FILES = 20;
+
+	private IProject project;
+
+	/**
+	 * Walks the files of the test project and suspends itself after the given number of files.
+	 */
+	private class CollectingWalker extends ResourceWalker {
+		final List<IFile> searched = new CopyOnWriteArrayList<>();
+		volatile int limit;
+
+		CollectingWalker(int limit) {
+			this.limit = limit;
+			setPriorityFun(new PriorityFunction() {
+				@Override
+				public double priority(IResource r) {
+					return project.equals(r.getProject()) ? PRIORITY_DEFAULT : PRIORITY_IGNORE;
+				}
+			});
+		}
+
+		@Override
+		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
+			if (canceled.getAsBoolean()) {
+				return false;
+			}
+			searched.add(f);
+			if (searched.size() == limit) {
+				suspend();
+			}
+			return true;
+		}
+	}
+
+	@BeforeEach
+	void setup() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject("walker");
+		project.create(null);
+		project.open(null);
+		for (int i = 0; i < FOLDERS; i++) {
+			IFolder folder = project.getFolder("folder" + i);
+			folder.create(true, true, null);
+			for (int j = 0; j < FILES; j++) {
+				folder.getFile("file" + j + ".txt").create(new ByteArrayInputStream(new byte[] { 'x' }), true, null);
+			}
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	void testVisitsAllFiles() throws Exception {
+		CollectingWalker walker = new CollectingWalker(-1);
+		walker.schedule();
+		walker.join();
+
+		assertTrue(walker.isDone());
+		assertEquals(FOLDERS * FILES, walker.searched.size());
+		assertEquals(FOLDERS * FILES, new HashSet<>(walker.searched).size());
+	}
+
+	@Test
+	void testSuspendAndResume() throws Exception {
+		CollectingWalker walker = new CollectingWalker(10);
+		walker.schedule();
+		walker.join();
+
+		assertFalse(walker.isDone());
+		assertTrue(walker.searched.size() < FOLDERS * FILES);
+
+		walker.limit = -1;
+		walker.resume();
+		walker.join();
+
+		assertTrue(walker.isDone());
+		assertEquals(FOLDERS * FILES, walker.searched.size());
+		assertEquals(FOLDERS * FILES, new HashSet<>(walker.searched).size());
+	}
+}
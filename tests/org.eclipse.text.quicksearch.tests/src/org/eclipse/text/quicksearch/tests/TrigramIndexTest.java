@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.eclipse.text.quicksearch.internal.core.QuickTextQuery;
+import org.eclipse.text.quicksearch.internal.core.TrigramIndex;
+import org.eclipse.text.quicksearch.internal.core.TrigramIndex.FileStamp;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrigramIndexTest {
+
+	private static final String PATH = "/p/Foo.java";
+	private static final String CONTENT = "public class Foo {\n\tString name = \"Quick Search\";\n}\n";
+	private static final FileStamp STAMP = new FileStamp(1, 1000, CONTENT.length());
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testTrigrams() {
+		assertEquals(0, TrigramIndex.trigrams("ab").length);
+		assertEquals(1, TrigramIndex.trigrams("abc").length);
+		assertEquals(1, TrigramIndex.trigrams("aaaa").length);
+		assertArrayEquals(TrigramIndex.trigrams("ABC"), TrigramIndex.trigrams("abc"));
+	}
+
+	@Test
+	void testQueryTrigrams() {
+		assertEquals(0, new QuickTextQuery("ab?cd*ef", true).getTrigrams().length);
+		assertEquals(2, new QuickTextQuery("abc*def", false).getTrigrams().length);
+		assertEquals(2, new QuickTextQuery("ab\\*c", true).getTrigrams().length);
+	}
+
+	@Test
+	void testMayContain() {
+		TrigramIndex index = new TrigramIndex(null, Long.MAX_VALUE, null, null);
+		index.add(PATH, STAMP, CONTENT);
+
+		assertTrue(index.mayContain(PATH, STAMP, query("class Foo")));
+		assertTrue(index.mayContain(PATH, STAMP, query("quick*search")));
+		assertFalse(index.mayContain(PATH, STAMP, query("interface")));
+
+		// unknown or modified files may always contain a match
+		assertTrue(index.mayContain("/p/Bar.java", STAMP, query("interface")));
+		assertTrue(index.mayContain(PATH, new FileStamp(2, 1000, CONTENT.length()), query("interface")));
+		assertTrue(index.mayContain(PATH, new FileStamp(1, 2000, CONTENT.length()), query("interface")));
+		assertTrue(index.mayContain(PATH, new FileStamp(1, 1000, CONTENT.length() + 1), query("interface")));
+
+		index.remove(PATH);
+		assertTrue(index.mayContain(PATH, STAMP, query("interface")));
+		assertEquals(0, index.getFileCount());
+	}
+
+	@Test
+	void testNoFalseNegatives() {
+		Random random = new Random(3);
+		TrigramIndex index = new TrigramIndex(null, Long.MAX_VALUE, null, null);
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			content.append((char) ('a' + random.nextInt(26)));
+		}
+		index.add(PATH, STAMP, content);
+		for (int i = 0; i < 1000; i++) {
+			int start = random.nextInt(content.length() - 10);
+			String text = content.substring(start, start + 3 + random.nextInt(8));
+			assertTrue(index.mayContain(PATH, STAMP, new QuickTextQuery(text.toUpperCase(), true).getTrigrams()), text);
+		}
+	}
+
+	@Test
+	void testMaxSize() {
+		TrigramIndex index = new TrigramIndex(null, 1000, null, null);
+		for (int i = 0; i < 100; i++) {
+			index.add("/p/File" + i, STAMP, CONTENT);
+		}
+		assertTrue(index.isFull());
+		assertTrue(index.getFileCount() < 100);
+		assertTrue(index.mayContain("/p/File99", STAMP, query("interface")));
+	}
+
+	@Test
+	void testSaveAndLoad() {
+		Path storage = tempDir.resolve("trigrams.index");
+		TrigramIndex index = new TrigramIndex(storage, Long.MAX_VALUE, null, null);
+		index.add(PATH, STAMP, CONTENT);
+		index.save();
+
+		TrigramIndex loaded = new TrigramIndex(storage, Long.MAX_VALUE, null, null);
+		loaded.load();
+		assertEquals(1, loaded.getFileCount());
+		assertTrue(loaded.contains(PATH, STAMP));
+		assertFalse(loaded.contains(PATH, new FileStamp(1, 2000, CONTENT.length())));
+		assertTrue(loaded.mayContain(PATH, STAMP, query("class Foo")));
+		assertFalse(loaded.mayContain(PATH, STAMP, query("interface")));
+	}
+
+	private static int[] query(String pattern) {
+		return new QuickTextQuery(pattern, true).getTrigrams();
+	}
+}
@@ -0,0 +1,464 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jface.text.AbstractDocument;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.BatchedDocumentEvent;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentListenerExtension;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.projection.ProjectionDocument;
+import org.eclipse.jface.text.projection.ProjectionDocumentManager;
+
+public class BatchedDocumentChangeTest {
+
+	private static final String CATEGORY= "batched";
+	private static final String CUSTOM_CATEGORY= "custom";
+
+	private static class Listener implements IDocumentListener {
+		final List<DocumentEvent> fAboutToBeChanged= new ArrayList<>();
+		final List<DocumentEvent> fChanged= new ArrayList<>();
+		final List<String> fContentBefore= new ArrayList<>();
+		final List<Long> fStampBefore= new ArrayList<>();
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			fAboutToBeChanged.add(event);
+			fContentBefore.add(event.getDocument().get());
+			fStampBefore.add(Long.valueOf(event.getModificationStamp()));
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			fChanged.add(event);
+		}
+	}
+
+	private static class ExtensionListener extends Listener implements IDocumentListenerExtension {
+	}
+
+	/** Exercises the per change fallback for position updaters other than the default one. */
+	private static class CustomPositionUpdater extends DefaultPositionUpdater {
+		CustomPositionUpdater(String category) {
+			super(category);
+		}
+
+		@Override
+		public void update(DocumentEvent event) {
+			assertFalse(event instanceof BatchedDocumentEvent);
+			super.update(event);
+		}
+	}
+
+	/** Counts the modifications of its content. */
+	private static class CountingTextStore implements ITextStore {
+		private final ITextStore fStore= new GapTextStore();
+		int fModificationCount;
+
+		@Override
+		public char get(int offset) {
+			return fStore.get(offset);
+		}
+
+		@Override
+		public String get(int offset, int length) {
+			return fStore.get(offset, length);
+		}
+
+		@Override
+		public int getLength() {
+			return fStore.getLength();
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			fModificationCount++;
+			fStore.replace(offset, length, text);
+		}
+
+		@Override
+		public void set(String text) {
+			fModificationCount++;
+			fStore.set(text);
+		}
+	}
+
+	private static class CountingDocument extends AbstractDocument {
+		CountingDocument(CountingTextStore store, String text) {
+			setTextStore(store);
+			setLineTracker(new DefaultLineTracker());
+			completeInitialization();
+			set(text);
+		}
+	}
+
+	private static String apply(String text, DocumentEvent event) {
+		return text.substring(0, event.getOffset()) + event.getText() + text.substring(event.getOffset() + event.getLength());
+	}
+
+	private static Document createDocument(String text) throws BadPositionCategoryException, BadLocationException {
+		Document document= new Document(text);
+		document.addPositionCategory(CATEGORY);
+		document.addPositionUpdater(new DefaultPositionUpdater(CATEGORY));
+		document.addPositionCategory(CUSTOM_CATEGORY);
+		document.addPositionUpdater(new CustomPositionUpdater(CUSTOM_CATEGORY));
+		for (int offset= 0; offset < text.length(); offset+= 3) {
+			int length= Math.min(offset % 7, text.length() - offset);
+			document.addPosition(CATEGORY, new Position(offset, length));
+			document.addPosition(CUSTOM_CATEGORY, new Position(offset, length));
+		}
+		return document;
+	}
+
+	private static String createText(int length) {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < length; i++) {
+			text.append((char) ('a' + i % 26));
+		}
+		return text.toString();
+	}
+
+	private static void assertSamePositions(Document expected, Document actual, String category) throws BadPositionCategoryException {
+		Position[] expectedPositions= expected.getPositions(category);
+		Position[] actualPositions= actual.getPositions(category);
+		assertEquals(expectedPositions.length, actualPositions.length);
+		for (int i= 0; i < expectedPositions.length; i++) {
+			assertEquals(expectedPositions[i], actualPositions[i], "position " + i);
+		}
+	}
+
+	@Test
+	public void testSingleNotification() throws Exception {
+		String original= "0123456789abcdef";
+		Document document= new Document(original);
+		Listener listener= new Listener();
+		document.addDocumentListener(listener);
+
+		document.startBatchedChange();
+		assertTrue(document.isInBatchedChange());
+		document.replace(12, 1, "xyz");
+		document.replace(3, 2, "");
+		document.replace(0, 0, ">");
+		assertEquals(">01256789abxyzdef", document.get());
+		assertTrue(listener.fAboutToBeChanged.isEmpty());
+		assertTrue(listener.fChanged.isEmpty());
+		document.stopBatchedChange();
+		assertFalse(document.isInBatchedChange());
+
+		assertEquals(1, listener.fAboutToBeChanged.size());
+		assertEquals(1, listener.fChanged.size());
+		assertEquals(original, listener.fContentBefore.get(0));
+		DocumentEvent event= listener.fChanged.get(0);
+		assertFalse(event instanceof BatchedDocumentEvent);
+		assertEquals(0, event.getOffset());
+		assertEquals(13, event.getLength());
+		assertEquals(">01256789abxyz", event.getText());
+		assertEquals(document.get(), apply(original, event));
+		assertEquals(document.getModificationStamp(), event.getModificationStamp());
+	}
+
+	@Test
+	public void testBatchedEventForExtensionListeners() throws Exception {
+		String original= "0123456789abcdef";
+		Document document= new Document(original);
+		Listener listener= new Listener();
+		ExtensionListener extensionListener= new ExtensionListener();
+		document.addDocumentListener(listener);
+		document.addDocumentListener(extensionListener);
+
+		document.startBatchedChange();
+		document.replace(12, 1, "xyz");
+		document.replace(3, 2, "");
+		document.replace(0, 0, ">");
+		document.stopBatchedChange();
+
+		BatchedDocumentEvent event= assertInstanceOf(BatchedDocumentEvent.class, extensionListener.fChanged.get(0));
+		assertTrue(extensionListener.fAboutToBeChanged.get(0) == event);
+		assertTrue(listener.fAboutToBeChanged.get(0) == listener.fChanged.get(0));
+
+		assertEquals(3, event.getChangeCount());
+		assertEquals(0, event.getChangeOffset(0));
+		assertEquals(0, event.getChangeLength(0));
+		assertEquals(">", event.getChangeText(0));
+		assertEquals(3, event.getChangeOffset(1));
+		assertEquals(2, event.getChangeLength(1));
+		assertEquals("", event.getChangeText(1));
+		assertEquals(12, event.getChangeOffset(2));
+		assertEquals(1, event.getChangeLength(2));
+		assertEquals("xyz", event.getChangeText(2));
+
+		String text= original;
+		DocumentEvent[] changes= event.getChanges();
+		for (int i= changes.length - 1; i >= 0; i--) {
+			text= apply(text, changes[i]);
+		}
+		assertEquals(document.get(), text);
+	}
+
+	@Test
+	public void testNestedAndEmptyBatches() throws Exception {
+		Document document= new Document("0123456789");
+		Listener listener= new Listener();
+		document.addDocumentListener(listener);
+
+		document.startBatchedChange();
+		document.stopBatchedChange();
+		assertTrue(listener.fChanged.isEmpty());
+
+		long stamp= document.getModificationStamp();
+		document.startBatchedChange();
+		document.replace(5, 0, "x");
+		document.startBatchedChange();
+		document.replace(0, 1, "");
+		document.stopBatchedChange();
+		assertTrue(listener.fChanged.isEmpty());
+		document.stopBatchedChange();
+		document.stopBatchedChange();
+
+		assertEquals(1, listener.fChanged.size());
+		assertEquals("1234x56789", document.get());
+		assertNotEquals(stamp, document.getModificationStamp());
+		assertEquals(stamp, listener.fStampBefore.get(0).longValue());
+	}
+
+	@Test
+	public void testPositionsOfDisjointChanges() throws Exception {
+		Random random= new Random(17);
+		for (int run= 0; run < 50; run++) {
+			String original= createText(300);
+			Document expected= createDocument(original);
+			Document actual= createDocument(original);
+
+			actual.startBatchedChange();
+			int offset= original.length();
+			while (true) {
+				offset-= random.nextInt(20);
+				int length= random.nextInt(4);
+				if (offset - length < 0) {
+					break;
+				}
+				offset-= length;
+				String text= "xyz".substring(random.nextInt(4));
+				expected.replace(offset, length, text);
+				actual.replace(offset, length, text);
+			}
+			actual.stopBatchedChange();
+
+			assertEquals(expected.get(), actual.get());
+			assertSamePositions(expected, actual, CATEGORY);
+			assertSamePositions(expected, actual, CUSTOM_CATEGORY);
+		}
+	}
+
+	@Test
+	public void testArbitraryChanges() throws Exception {
+		Random random= new Random(42);
+		for (int run= 0; run < 200; run++) {
+			String original= createText(100);
+			Document expected= new Document(original);
+			Document actual= new Document(original);
+			ExtensionListener listener= new ExtensionListener();
+			actual.addDocumentListener(listener);
+
+			actual.startBatchedChange();
+			for (int i= 0; i < 20; i++) {
+				int offset= random.nextInt(expected.getLength() + 1);
+				int length= random.nextInt(Math.min(5, expected.getLength() - offset) + 1);
+				String text= "0123".substring(random.nextInt(5));
+				expected.replace(offset, length, text);
+				actual.replace(offset, length, text);
+			}
+			actual.stopBatchedChange();
+
+			assertEquals(expected.get(), actual.get());
+			BatchedDocumentEvent event= (BatchedDocumentEvent) listener.fChanged.get(0);
+			assertEquals(original, listener.fContentBefore.get(0));
+			assertEquals(expected.get(), apply(original, event));
+
+			String text= original;
+			DocumentEvent[] changes= event.getChanges();
+			for (int i= changes.length - 1; i >= 0; i--) {
+				if (i > 0) {
+					assertTrue(changes[i - 1].getOffset() + changes[i - 1].getLength() <= changes[i].getOffset());
+				}
+				text= apply(text, changes[i]);
+			}
+			assertEquals(expected.get(), text);
+		}
+	}
+
+	/*
+	 * Operations which overlap or touch each other are combined to one change, whose positions
+	 * are updated as if the region had been replaced at once. Positions then need not be the same
+	 * as without batching, but are the same as when applying the changes of the event one by one.
+	 */
+	@Test
+	public void testPositionsOfOverlappingChanges() throws Exception {
+		Random random= new Random(11);
+		for (int run= 0; run < 200; run++) {
+			String original= createText(100);
+			Document expected= createDocument(original);
+			Document actual= createDocument(original);
+			ExtensionListener listener= new ExtensionListener();
+			actual.addDocumentListener(listener);
+
+			actual.startBatchedChange();
+			int offset= random.nextInt(original.length() - 20);
+			for (int i= 0; i < 5; i++) {
+				int start= offset + random.nextInt(10);
+				int length= random.nextInt(Math.min(5, actual.getLength() - start) + 1);
+				actual.replace(start, length, "0123".substring(random.nextInt(5)));
+			}
+			actual.stopBatchedChange();
+
+			DocumentEvent[] changes= ((BatchedDocumentEvent) listener.fChanged.get(0)).getChanges();
+			for (int i= changes.length - 1; i >= 0; i--) {
+				expected.replace(changes[i].getOffset(), changes[i].getLength(), changes[i].getText());
+			}
+			assertEquals(expected.get(), actual.get());
+			assertSamePositions(expected, actual, CATEGORY);
+			assertSamePositions(expected, actual, CUSTOM_CATEGORY);
+		}
+	}
+
+	@Test
+	public void testLineInformationDuringBatch() throws Exception {
+		Random random= new Random(7);
+		String[] texts= { "", "x", "\n", "a\nb", "\n\n" };
+		String original= createText(100);
+		Document expected= new Document(original);
+		Document actual= new Document(original);
+
+		actual.startBatchedChange();
+		for (int i= 0; i < 200; i++) {
+			int offset= random.nextInt(expected.getLength() + 1);
+			int length= random.nextInt(Math.min(5, expected.getLength() - offset) + 1);
+			String text= texts[random.nextInt(texts.length)];
+			expected.replace(offset, length, text);
+			actual.replace(offset, length, text);
+			if (i % 50 == 0) {
+				assertSameLines(expected, actual);
+			}
+		}
+		actual.stopBatchedChange();
+
+		assertEquals(expected.get(), actual.get());
+		assertSameLines(expected, actual);
+	}
+
+	private static void assertSameLines(Document expected, Document actual) throws BadLocationException {
+		assertEquals(expected.getNumberOfLines(), actual.getNumberOfLines());
+		for (int line= 0; line < expected.getNumberOfLines(); line++) {
+			assertEquals(expected.getLineInformation(line), actual.getLineInformation(line));
+			assertEquals(expected.getLineDelimiter(line), actual.getLineDelimiter(line));
+		}
+	}
+
+	@Test
+	public void testOriginalContentWithoutModifyingTheStore() throws Exception {
+		String original= "0123456789abcdef";
+		CountingTextStore store= new CountingTextStore();
+		CountingDocument document= new CountingDocument(store, original);
+		List<String> seen= new ArrayList<>();
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+				try {
+					for (int offset= 0; offset <= original.length(); offset++) {
+						for (int end= offset; end <= original.length(); end++) {
+							seen.add(event.getDocument().get(offset, end - offset));
+						}
+						if (offset < original.length()) {
+							seen.add(String.valueOf(event.getDocument().getChar(offset)));
+						}
+					}
+					seen.add(String.valueOf(event.getDocument().getLineLength(0)));
+				} catch (BadLocationException e) {
+					throw new AssertionError(e);
+				}
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				// not needed
+			}
+		});
+
+		document.startBatchedChange();
+		document.replace(12, 1, "xyz");
+		document.replace(3, 2, "");
+		document.replace(5, 0, "--");
+		int modificationCount= store.fModificationCount;
+		document.stopBatchedChange();
+
+		assertEquals(modificationCount, store.fModificationCount);
+		List<String> expected= new ArrayList<>();
+		for (int offset= 0; offset <= original.length(); offset++) {
+			for (int end= offset; end <= original.length(); end++) {
+				expected.add(original.substring(offset, end));
+			}
+			if (offset < original.length()) {
+				expected.add(String.valueOf(original.charAt(offset)));
+			}
+		}
+		expected.add(String.valueOf(original.length()));
+		assertEquals(expected, seen);
+		assertEquals("01256--789abxyzdef", document.get());
+	}
+
+	@Test
+	public void testProjectionDocumentsDoNotBatch() throws Exception {
+		Document master= new Document("0123456789abcdef");
+		ProjectionDocumentManager manager= new ProjectionDocumentManager();
+		ProjectionDocument projection= (ProjectionDocument) manager.createSlaveDocument(master);
+		projection.addMasterDocumentRange(2, 10);
+		Listener masterListener= new Listener();
+		master.addDocumentListener(masterListener);
+		Listener projectionListener= new Listener();
+		projection.addDocumentListener(projectionListener);
+
+		projection.startBatchedChange();
+		assertFalse(projection.isInBatchedChange());
+		projection.replace(0, 1, "x");
+		projection.replace(5, 2, "");
+		assertEquals(2, projectionListener.fChanged.size());
+		assertEquals(2, masterListener.fChanged.size());
+		projection.stopBatchedChange();
+
+		assertEquals("x34569ab", projection.get());
+		assertEquals("01x34569abcdef", master.get());
+		assertEquals(2, projectionListener.fChanged.size());
+		assertEquals(2, masterListener.fChanged.size());
+	}
+}
@@ -17,6 +17,10 @@ package org.eclipse.text.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 import org.eclipse.jface.text.BadLocationException;
@@ -39,4 +43,37 @@ public class DefaultLineTrackerTest {
 		assertEquals(document.getLineDelimiter(2), null);
 
 	}
+
+	@Test
+	public void testMixedLineDelimiters() throws BadLocationException {
+		String[] parts= { "a", "bc", "\r", "\n", "\r\n", "\n\r", "xyz" };
+		Random random= new Random(42);
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < 5000; i++) {
+			builder.append(parts[random.nextInt(parts.length)]);
+		}
+		String text= builder.toString();
+
+		List<Integer> lineOffsets= new ArrayList<>();
+		lineOffsets.add(0);
+		for (int i= 0; i < text.length(); i++) {
+			char ch= text.charAt(i);
+			if (ch == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+				i++;
+				lineOffsets.add(i + 1);
+			} else if (ch == '\r' || ch == '\n') {
+				lineOffsets.add(i + 1);
+			}
+		}
+
+		IDocument document= new Document(text);
+		assertEquals(lineOffsets.size(), document.getNumberOfLines());
+		for (int line= 0; line < lineOffsets.size(); line++) {
+			assertEquals(lineOffsets.get(line).intValue(), document.getLineOffset(line));
+		}
+
+		// the tree tracker scans the inserted text
+		document.replace(0, 0, text);
+		assertEquals(2 * lineOffsets.size() - 1, document.getNumberOfLines());
+	}
 }
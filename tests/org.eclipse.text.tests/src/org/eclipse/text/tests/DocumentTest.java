@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,15 @@ package org.eclipse.text.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -357,4 +366,107 @@ public class DocumentTest {
 
 		checkPositions(positions);
 	}
+
+	@Test
+	public void testGetOverlappingPositions() throws BadLocationException, BadPositionCategoryException {
+
+		checkPositions(new Position[] {
+			new Position( 38, 111),
+			new Position( 61,  12),
+			new Position( 75,  27)
+		}, fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 70, 10, true, true));
+
+		checkPositions(new Position[] {
+			new Position( 38, 111),
+			new Position(119,  27)
+		}, fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 119, 0, true, true));
+
+		fDocument.replace(0, 0, "\n\n");
+		fDocument.addPosition(new Position(72, 0));
+
+		checkPositions(new Position[] {
+			new Position( 40, 111),
+			new Position( 63,  12),
+			new Position( 72,   0),
+			new Position( 77,  27)
+		}, fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 72, 10, true, true));
+
+		Position[] positions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 63, 1, true, true);
+		assertEquals(2, positions.length);
+		fDocument.removePosition(positions[1]);
+
+		checkPositions(new Position[] {
+			new Position( 40, 111),
+			new Position( 72,   0),
+			new Position( 77,  27)
+		}, fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 72, 10, true, true));
+	}
+
+	@Test
+	public void testGetOverlappingPositionsMatchesOverlapsWith() throws BadLocationException, BadPositionCategoryException {
+
+		Random random= new Random(42);
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(fDocument.getLength());
+			int length= random.nextInt(Math.min(20, fDocument.getLength() - offset + 1));
+			fDocument.addPosition(new Position(offset, length));
+		}
+
+		for (int i= 0; i < 200; i++) {
+			if (i % 10 == 0) {
+				int offset= random.nextInt(fDocument.getLength());
+				fDocument.replace(offset, random.nextInt(Math.min(5, fDocument.getLength() - offset + 1)), "xy");
+			}
+
+			int offset= random.nextInt(fDocument.getLength());
+			int length= random.nextInt(fDocument.getLength() - offset + 1);
+
+			Set<Position> expected= Collections.newSetFromMap(new IdentityHashMap<>());
+			Position region= new Position(offset, length);
+			for (Position position : fDocument.getPositions(IDocument.DEFAULT_CATEGORY)) {
+				if (region.overlapsWith(position.getOffset(), position.getLength())) {
+					expected.add(position);
+				}
+			}
+
+			Position[] actual= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, true, true);
+			assertEquals(expected.size(), actual.length, "invalid number of positions");
+			for (Position position : actual) {
+				assertTrue(expected.contains(position), "unexpected position " + position.getOffset() + "/" + position.getLength());
+			}
+		}
+	}
+
+	@Test
+	public void testGetOverlappingPositionsConcurrently() throws Exception {
+		for (int i= 0; i < 1000; i++) {
+			fDocument.addPosition(new Position(i % (fDocument.getLength() - 3), 3));
+		}
+		int expected= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 0, fDocument.getLength(), true, true).length;
+
+		ExecutorService executor= Executors.newFixedThreadPool(4);
+		try {
+			for (int round= 0; round < 100; round++) {
+				// invalidates the index, the readers race to rebuild it
+				fDocument.addPosition(new Position(0, 0));
+				expected++;
+				int count= expected;
+				Callable<Void> reader= () -> {
+					for (int i= 0; i < 20; i++) {
+						assertEquals(count, fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 0, fDocument.getLength(), true, true).length);
+					}
+					return null;
+				};
+				Future<?>[] futures= new Future<?>[4];
+				for (int i= 0; i < futures.length; i++) {
+					futures[i]= executor.submit(reader);
+				}
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
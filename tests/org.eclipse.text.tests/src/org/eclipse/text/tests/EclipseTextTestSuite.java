@@ -32,6 +32,7 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		ConfigurableLineTrackerTest.class,
 		LineTrackerTest4.class,
 		DocumentExtensionTest.class,
+		BatchedDocumentChangeTest.class,
 		LineTrackerTest3.class,
 		DocumentTest.class,
 		FindReplaceDocumentAdapterTest.class,
@@ -40,6 +41,7 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		TextEditTests.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
+		PieceTableTextStoreTest.class,
 		ChildDocumentTest.class,
 		ProjectionTestSuite.class,
 		LinkTestSuite.class,
@@ -607,4 +607,30 @@ public class LineTrackerTest3 extends AbstractLineTrackerTest {
 		int lineFromTreeTracker= fTracker.getLineNumberOfOffset(0);
 		assertEquals(lineFromTreeTracker, lineFromListTracker, "Trackers returned different lines for same offset.");
 	}
+
+	@Test
+	public void testLazyLineInformation() throws BadLocationException {
+		StringBuilder builder= new StringBuilder();
+		int[] lines= new int[20000];
+		for (int i= 0; i < lines.length - 1; i++) {
+			lines[i]= i % 37;
+			builder.append("x".repeat(lines[i])).append('\n');
+		}
+		lines[lines.length - 1]= 5;
+		builder.append("xxxxx");
+		String text= builder.toString();
+
+		for (int i= 0; i < 2; i++) {
+			// the first round starts with a list tracker, the second one with a tree tracker
+			set(text);
+			assertEquals(getLineOffset(10, lines), fTracker.getLineOffset(10));
+			assertEquals(lines.length, fTracker.getNumberOfLines());
+			assertEquals(lines.length / 2, fTracker.getLineNumberOfOffset(getLineOffset(lines.length / 2, lines)));
+			checkLines(lines);
+			assertEquals(lines.length, fTracker.getNumberOfLines());
+
+			replace(0, 0, "");
+			checkLines(lines);
+		}
+	}
 }
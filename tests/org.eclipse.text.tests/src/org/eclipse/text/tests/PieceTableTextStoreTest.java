@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
+
+public class PieceTableTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new PieceTableTextStore();
+	}
+
+	@Test
+	public void testTyping() {
+		ITextStore store= createTextStore();
+		store.set("abcdef");
+		StringBuilder expected= new StringBuilder("abcdef");
+
+		for (int i= 0; i < 100; i++) {
+			store.replace(3 + i, 0, "x");
+			expected.insert(3 + i, 'x');
+		}
+		for (int i= 0; i < 50; i++) {
+			store.replace(52 - i, 1, null);
+			expected.deleteCharAt(52 - i);
+		}
+
+		checkContent(expected, store);
+	}
+
+	@Test
+	public void testLargeInsert() {
+		ITextStore store= createTextStore();
+		StringBuilder large= new StringBuilder();
+		for (int i= 0; i < 10000; i++) {
+			large.append(i).append('\n');
+		}
+
+		store.set("head tail");
+		store.replace(5, 0, large.toString());
+		StringBuilder expected= new StringBuilder("head tail").insert(5, large);
+
+		checkContent(expected, store);
+	}
+
+	@Test
+	public void testRandomEdits() {
+		ITextStore store= createTextStore();
+		Random random= new Random(1);
+		StringBuilder expected= new StringBuilder("The quick brown fox jumps over the lazy dog.\n");
+		store.set(expected.toString());
+
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(10, expected.length() - offset) + 1);
+			String text= random.nextInt(4) == 0 ? "" : expected.substring(0, random.nextInt(Math.min(20, expected.length()) + 1));
+			store.replace(offset, length, text);
+			expected.replace(offset, offset + length, text);
+
+			assertEquals(expected.length(), store.getLength());
+			if (expected.length() > 0) {
+				int index= random.nextInt(expected.length());
+				assertEquals(expected.charAt(index), store.get(index));
+				int end= index + random.nextInt(expected.length() - index + 1);
+				assertEquals(expected.substring(index, end), store.get(index, end - index));
+			}
+		}
+
+		checkContent(expected, store);
+	}
+
+	private void checkContent(CharSequence expected, ITextStore store) {
+		assertEquals(expected.length(), store.getLength());
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		for (int i= 0; i < expected.length(); i++) {
+			assertEquals(expected.charAt(i), store.get(i));
+		}
+	}
+
+	@Test
+	public void testCharSequenceContent() throws Exception {
+		StringBuilder builder= new StringBuilder();
+		while (builder.length() < 3 * 1024 * 1024) {
+			builder.append("line ").append(builder.length()).append("\r\n");
+		}
+		// a delimiter spanning the chunk boundary of the line tracker initialization
+		builder.setLength(1024 * 1024 - 1);
+		builder.append("\r\n");
+		while (builder.length() < 3 * 1024 * 1024) {
+			builder.append("line\n");
+		}
+		String content= builder.toString();
+		CharSequence original= new StringBuilder(content);
+
+		PieceTableTextStore store= new PieceTableTextStore(original);
+		IDocument document= new Document(store);
+		IDocument expected= new Document(content);
+		assertEquals(content, document.get());
+		assertEquals(expected.getNumberOfLines(), document.getNumberOfLines());
+		assertEquals(expected.getLineOffset(expected.getNumberOfLines() - 1), document.getLineOffset(document.getNumberOfLines() - 1));
+		assertEquals(expected.getLineOfOffset(1024 * 1024), document.getLineOfOffset(1024 * 1024));
+
+		document.replace(0, 0, "");
+		assertEquals(content.length(), document.getLength());
+
+		document.replace(10, 5, "edit");
+		expected.replace(10, 5, "edit");
+		assertEquals(expected.get(), document.get());
+		assertEquals(content, original.toString());
+	}
+
+	@Test
+	public void testConcurrentReads() throws Exception {
+		ITextStore store= createTextStore();
+		StringBuilder expected= new StringBuilder();
+		store.set("");
+		for (int i= 0; i < 2000; i++) {
+			String text= Integer.toString(i);
+			// many small pieces
+			store.replace(expected.length() / 2, 0, text);
+			expected.insert(expected.length() / 2, text);
+		}
+		String content= expected.toString();
+
+		ExecutorService executor= Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] futures= new Future<?>[4];
+			for (int i= 0; i < futures.length; i++) {
+				long seed= i;
+				futures[i]= executor.submit(() -> {
+					Random random= new Random(seed);
+					for (int j= 0; j < 100_000; j++) {
+						int offset= random.nextInt(content.length());
+						assertEquals(content.charAt(offset), store.get(offset));
+					}
+				});
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
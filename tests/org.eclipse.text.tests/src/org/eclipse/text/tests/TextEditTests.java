@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,8 +43,11 @@ import org.eclipse.text.edits.TextEditCopier;
 import org.eclipse.text.edits.UndoEdit;
 
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
 
 public class TextEditTests {
 
@@ -1387,6 +1390,80 @@ public class TextEditTests {
 		assertEquals(result, 2, 1);
 	}
 
+	@Test
+	public void testManyEditsAreBatched() throws Exception {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 1000; i++) {
+			content.append("item").append(i % 10).append(";\n");
+		}
+		String original= content.toString();
+		fDocument.set(original);
+		Position position= new Position(original.indexOf("item5"), 5);
+		fDocument.addPosition(position);
+		List<DocumentEvent> events= new ArrayList<>();
+		fDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events.add(event);
+			}
+		});
+
+		StringBuilder expected= new StringBuilder();
+		int offset= 0;
+		while (offset < original.length()) {
+			// rename "item" to "element" and remove the semicolons
+			fRoot.addChild(new ReplaceEdit(offset, 4, "element"));
+			fRoot.addChild(new DeleteEdit(offset + 5, 1));
+			expected.append("element").append(original.charAt(offset + 4)).append('\n');
+			offset+= 7;
+		}
+
+		int style= TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS | TextEdit.BATCH_CHANGES;
+		UndoEdit undo= fRoot.apply(fDocument, style);
+		Assertions.assertEquals(expected.toString(), fDocument.get());
+		Assertions.assertEquals(1, events.size());
+		Assertions.assertEquals(new Position(expected.indexOf("element5"), 8), position);
+		assertEquals(fRoot, 0, expected.length() - 1);
+		assertEquals(fRoot.getChildren()[2], 9, 7);
+		assertEquals(fRoot.getChildren()[3], 17, 0);
+
+		undo.apply(fDocument, style);
+		Assertions.assertEquals(original, fDocument.get());
+		Assertions.assertEquals(2, events.size());
+		Assertions.assertEquals(new Position(original.indexOf("item5"), 5), position);
+	}
+
+	@Test
+	public void testEditsAreNotBatchedByDefault() throws Exception {
+		fDocument.set("item0;item1;item2;");
+		List<DocumentEvent> events= new ArrayList<>();
+		fDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events.add(event);
+			}
+		});
+		fRoot.addChild(new ReplaceEdit(0, 4, "element"));
+		fRoot.addChild(new ReplaceEdit(6, 4, "element"));
+		fRoot.addChild(new ReplaceEdit(12, 4, "element"));
+
+		UndoEdit undo= fRoot.apply(fDocument);
+		Assertions.assertEquals("element0;element1;element2;", fDocument.get());
+		Assertions.assertEquals(3, events.size());
+
+		undo.apply(fDocument);
+		Assertions.assertEquals("item0;item1;item2;", fDocument.get());
+		Assertions.assertEquals(6, events.size());
+	}
+
 	private void doUndoRedo(UndoEdit undo, String redoResult) throws Exception {
 		UndoEdit redo= undo.apply(fDocument);
 		assertBufferContent();
@@ -318,6 +318,18 @@ public class TextUtilitiesTest {
 		assertEquals(-1, result[0]);
 		assertEquals(-1, result[1]);
 
+		result = TextUtilities.indexOf(new String[] { "\n", "\r\n", "\r" }, "foo\r\nbar\n", 0);
+		assertEquals(3, result[0]);
+		assertEquals(1, result[1]);
+
+		result = TextUtilities.indexOf(new String[] { "\n", "\r\n", "\r" }, "foo\r\nbar\r", 5);
+		assertEquals(8, result[0]);
+		assertEquals(2, result[1]);
+
+		result = TextUtilities.indexOf(new String[] { "\n", "\r\n", "\r" }, "foo\r\nbar", 5);
+		assertEquals(-1, result[0]);
+		assertEquals(-1, result[1]);
+
 		try {
 			TextUtilities.indexOf(null, "foobarabcd", 0);
 			fail("Exception not thrown");
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+
+/**
+ * Tests for the {@link DocumentEquivalenceClass}.
+ */
+public class DocumentEquivalenceClassTest {
+
+	@Test
+	public void testInsertLines() throws BadLocationException {
+		Document document= new Document("a\nb\nc");
+		DocumentEquivalenceClass equivalence= loaded(document);
+		replace(document, equivalence, 2, 0, "x\ny\n");
+		assertHashes(document, equivalence);
+	}
+
+	@Test
+	public void testRemoveLines() throws BadLocationException {
+		Document document= new Document("a\nb\nc\nd");
+		DocumentEquivalenceClass equivalence= loaded(document);
+		replace(document, equivalence, 1, 4, "");
+		assertHashes(document, equivalence);
+	}
+
+	@Test
+	public void testRandomEdits() throws BadLocationException {
+		Random random= new Random(7);
+		Document document= new Document("first\nsecond\nthird");
+		DocumentEquivalenceClass equivalence= loaded(document);
+		String[] texts= { "", "x", "\n", "y\n", "\nz", "u\nv\nw\n" };
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= random.nextInt(Math.min(10, document.getLength() - offset) + 1);
+			replace(document, equivalence, offset, length, texts[random.nextInt(texts.length)]);
+			if (random.nextInt(10) == 0) {
+				// compute some hashes, so that stale ones would be noticed
+				equivalence.getHash(random.nextInt(equivalence.getCount()));
+			}
+			assertEquals(document.getNumberOfLines(), equivalence.getCount());
+		}
+		assertHashes(document, equivalence);
+	}
+
+	@Test
+	public void testCopy() throws BadLocationException {
+		Document document= new Document("a\nb\nc");
+		DocumentEquivalenceClass equivalence= loaded(document);
+		replace(document, equivalence, 2, 1, "x\ny");
+
+		Document copy= new Document(document.get());
+		DocumentEquivalenceClass copied= equivalence.copy(copy);
+		assertHashes(copy, copied);
+
+		// the copy is independent of the original
+		replace(copy, copied, 0, 0, "new\n");
+		assertHashes(copy, copied);
+		assertHashes(document, equivalence);
+
+		assertNull(equivalence.copy(new Document("a")));
+	}
+
+	private static DocumentEquivalenceClass loaded(IDocument document) {
+		DocumentEquivalenceClass equivalence= new DocumentEquivalenceClass(document);
+		for (int line= 0; line < equivalence.getCount(); line++) {
+			equivalence.getHash(line);
+		}
+		return equivalence;
+	}
+
+	private static void replace(IDocument document, DocumentEquivalenceClass equivalence, int offset, int length, String text) throws BadLocationException {
+		equivalence.update(new DocumentEvent(document, offset, length, text));
+		document.replace(offset, length, text);
+	}
+
+	private static void assertHashes(IDocument document, DocumentEquivalenceClass equivalence) {
+		DocumentEquivalenceClass expected= new DocumentEquivalenceClass(new Document(document.get()));
+		assertEquals(expected.getCount(), equivalence.getCount());
+		for (int line= 0; line < expected.getCount(); line++) {
+			assertEquals(expected.getHash(line), equivalence.getHash(line));
+		}
+	}
+}
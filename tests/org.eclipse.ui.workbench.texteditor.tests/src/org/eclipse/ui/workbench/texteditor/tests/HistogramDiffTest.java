@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.source.LineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.HistogramDiff;
+import org.eclipse.ui.internal.texteditor.quickdiff.QuickDiffRangeDifference;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+
+/**
+ * Tests for the {@link HistogramDiff}.
+ */
+public class HistogramDiffTest {
+
+	@Test
+	public void testEqualDocuments() {
+		List<QuickDiffRangeDifference> diffs= diff("a\nb\nc", "a\nb\nc");
+		assertEquals(1, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.NOCHANGE, 0, 3, 0, 3);
+	}
+
+	@Test
+	public void testInsertion() {
+		List<QuickDiffRangeDifference> diffs= diff("a\nb\nc", "a\nb\nx\ny\nc");
+		assertEquals(3, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.NOCHANGE, 0, 2, 0, 2);
+		assertRange(diffs.get(1), RangeDifference.CHANGE, 2, 0, 2, 2);
+		assertRange(diffs.get(2), RangeDifference.NOCHANGE, 2, 1, 4, 1);
+	}
+
+	@Test
+	public void testDeletion() {
+		List<QuickDiffRangeDifference> diffs= diff("a\nb\nc\nd", "a\nd");
+		assertEquals(3, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.NOCHANGE, 0, 1, 0, 1);
+		assertRange(diffs.get(1), RangeDifference.CHANGE, 1, 2, 1, 0);
+		assertRange(diffs.get(2), RangeDifference.NOCHANGE, 3, 1, 1, 1);
+	}
+
+	@Test
+	public void testUniqueLinesInSameOrder() {
+		// "bar" is unique on both sides, but crosses the unique braces in the middle
+		List<QuickDiffRangeDifference> diffs= diff("{\nfoo\n}\n{\nbar\n}", "{\nbar\n}\n{\nbaz\n}");
+		assertEquals(5, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.NOCHANGE, 0, 1, 0, 1);
+		assertRange(diffs.get(1), RangeDifference.CHANGE, 1, 1, 1, 1);
+		assertRange(diffs.get(2), RangeDifference.NOCHANGE, 2, 2, 2, 2);
+		assertRange(diffs.get(3), RangeDifference.CHANGE, 4, 1, 4, 1);
+		assertRange(diffs.get(4), RangeDifference.NOCHANGE, 5, 1, 5, 1);
+	}
+
+	@Test
+	public void testOnlyCommonLines() {
+		List<QuickDiffRangeDifference> diffs= diff("x\nx\nx", "x\ny\nx");
+		assertValid(diffs, 3, 3);
+		assertEquals(2, unchangedLines(diffs));
+	}
+
+	@Test
+	public void testLineRanges() {
+		DocumentEquivalenceClass left= new DocumentEquivalenceClass(new Document("a\nb\nc\nd\ne"));
+		DocumentEquivalenceClass right= new DocumentEquivalenceClass(new Document("a\nb\nx\nd\ne"));
+		List<QuickDiffRangeDifference> diffs= HistogramDiff.findRanges(null, left, new LineRange(1, 3), right, new LineRange(1, 3));
+		assertEquals(3, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.NOCHANGE, 0, 1, 0, 1);
+		assertRange(diffs.get(1), RangeDifference.CHANGE, 1, 1, 1, 1);
+		assertRange(diffs.get(2), RangeDifference.NOCHANGE, 2, 1, 2, 1);
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random= new Random(42);
+		for (int i= 0; i < 500; i++) {
+			int alphabet= 1 + random.nextInt(20);
+			List<String> left= new ArrayList<>();
+			for (int line= random.nextInt(40); line > 0; line--) {
+				left.add("l" + random.nextInt(alphabet));
+			}
+			List<String> right= new ArrayList<>(left);
+			for (int edit= random.nextInt(5); edit > 0; edit--) {
+				if (right.isEmpty() || random.nextBoolean()) {
+					right.add(random.nextInt(right.size() + 1), "r" + random.nextInt(alphabet));
+				} else {
+					right.remove(random.nextInt(right.size()));
+				}
+			}
+
+			String leftText= String.join("\n", left);
+			String rightText= String.join("\n", right);
+			List<QuickDiffRangeDifference> diffs= diff(leftText, rightText);
+			assertValid(diffs, new Document(leftText).getNumberOfLines(), new Document(rightText).getNumberOfLines());
+			for (QuickDiffRangeDifference d : diffs) {
+				if (d.kind() == RangeDifference.NOCHANGE) {
+					assertEquals(lines(leftText, d.leftStart(), d.leftLength()), lines(rightText, d.rightStart(), d.rightLength()));
+				}
+			}
+		}
+	}
+
+	@Test(expected= OperationCanceledException.class)
+	public void testCancel() {
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		DocumentEquivalenceClass left= new DocumentEquivalenceClass(new Document("a"));
+		DocumentEquivalenceClass right= new DocumentEquivalenceClass(new Document("b"));
+		HistogramDiff.findRanges(monitor, left, null, right, null);
+	}
+
+	private static List<QuickDiffRangeDifference> diff(String left, String right) {
+		return HistogramDiff.findRanges(null, new DocumentEquivalenceClass(new Document(left)), null, new DocumentEquivalenceClass(new Document(right)), null);
+	}
+
+	private static void assertRange(QuickDiffRangeDifference diff, int kind, int leftStart, int leftLength, int rightStart, int rightLength) {
+		assertEquals(kind, diff.kind());
+		assertEquals(leftStart, diff.leftStart());
+		assertEquals(leftLength, diff.leftLength());
+		assertEquals(rightStart, diff.rightStart());
+		assertEquals(rightLength, diff.rightLength());
+	}
+
+	private static void assertValid(List<QuickDiffRangeDifference> diffs, int leftLines, int rightLines) {
+		int left= 0, right= 0, kind= -1;
+		for (QuickDiffRangeDifference d : diffs) {
+			assertEquals(left, d.leftStart());
+			assertEquals(right, d.rightStart());
+			assertNotEquals(kind, d.kind());
+			assertTrue(d.leftLength() + d.rightLength() > 0);
+			if (d.kind() == RangeDifference.NOCHANGE) {
+				assertEquals(d.leftLength(), d.rightLength());
+			}
+			left= d.leftEnd();
+			right= d.rightEnd();
+			kind= d.kind();
+		}
+		assertEquals(leftLines, left);
+		assertEquals(rightLines, right);
+	}
+
+	private static int unchangedLines(List<QuickDiffRangeDifference> diffs) {
+		int lines= 0;
+		for (QuickDiffRangeDifference d : diffs) {
+			if (d.kind() == RangeDifference.NOCHANGE) {
+				lines+= d.leftLength();
+			}
+		}
+		return lines;
+	}
+
+	private static List<String> lines(String text, int start, int length) {
+		return Arrays.asList(text.split("\n", -1)).subList(start, start + length);
+	}
+}